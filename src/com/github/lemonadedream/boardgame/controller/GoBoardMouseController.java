@@ -3,34 +3,54 @@ package com.github.lemonadedream.boardgame.controller;
 import java.awt.Point;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
 import javax.swing.JOptionPane;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
 
 import com.github.lemonadedream.boardgame.view.panel.mainGamePanel.GoPanel;
 import com.github.lemonadedream.boardgame.view.component.TimePiece;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoAI.GoMctsPlayer;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoAI.GoOpeningBook;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoAI.GoOwnership;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoAI.GoOwnershipEstimator;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoAI.GoTactics;
 import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoBoard;
-import com.github.lemonadedream.boardgame.module.GoGameModel.GoLogic.GoPlaceProcessor;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoLogic.GoMoveChecker;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoLogic.GoScore;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoLogic.GoScorer;
 import com.github.lemonadedream.boardgame.module.GoGameModel.GoLogic.GoWinLose;
 
 /**
- * Χ
- * ʵεȷϻ:
- * 1. ״ε: жϺϷ  ʾ
- * 2. εͬλ: ȷ    ػ
+ * 围棋棋盘鼠标控制器
+ * 实现两次点击确认机制:
+ * 1. 首次点击: 判断合法性 → 显示辅助线
+ * 2. 二次点击同位置: 确认落子 → 更新棋盘 → 重绘
+ * 设置定式库后，右键点击棋盘给出定式提示: 库中最常见的着法显示辅助线，再点一次即可落子
+ * 每手之后用GoTactics读征子，对方先走就会被吃掉的棋块在棋盘上标出
  */
 public class GoBoardMouseController extends MouseAdapter {
-
-    // صӿ(֪ͨⲿ¼)
+    // 终局估计死子的时间预算（毫秒）
+    private static final long SCORE_ESTIMATE_MILLIS = 1000;
+    // 电脑落子时为步时、对局时间预留的余量（毫秒），保证在计时耗尽前落子
+    private static final long COMPUTER_SAFETY_MILLIS = 2000;
+    // 电脑每手至少思考的时间（毫秒）
+    private static final long COMPUTER_MIN_MILLIS = 100;
+
+    // 回调接口(用于通知外部组件落子事件)
     public interface BoardClickListener {
         void onBoardClicked(int row, int col, MouseEvent e);
     }
 
-    // Ϸصӿ
+    // 游戏结束回调接口
     public interface GameEndListener {
         /**
-         * Ϸص
+         * 游戏结束回调
          * 
-         * @param winnerColor ʤɫGoBoard.BLACK  GoBoard.WHITE
-         * @param reason      ԭ"޷""ʱľ"""ȣ
+         * @param winnerColor 胜方颜色（GoBoard.BLACK 或 GoBoard.WHITE）
+         * @param reason      结束原因（"无法落子"、"时间耗尽"、"认输"等）
          */
         void onGameEnd(int winnerColor, String reason);
     }
@@ -39,37 +59,58 @@ public class GoBoardMouseController extends MouseAdapter {
     private final BoardClickListener listener;
     private final GameEndListener gameEndListener;
     private final GoBoard boardModel;
-    private final GoPlaceProcessor processor;
+    private final GoMoveChecker processor;
     private final GoWinLose winLoseChecker;
 
-    // ʱ
-    private final TimePiece matchTimer; // Ծʱ
-    private final TimePiece moveTimer; // ʱ
+    // 时间控制器
+    private final TimePiece matchTimer; // 对局总时间
+    private final TimePiece moveTimer; // 单步用时
 
-    // ״̬: ȷϵλ(nullʾ޴ȷ)
+    // 状态管理: 待确认的落子位置(null表示无待确认落子)
     private Point pendingMove = null;
-    // ǰɫ(1=, 2=)
+    // 当前落子颜色(1=黑, 2=白)
     private int currentColor = GoBoard.BLACK;
-    // ǷѿʼϷ(״ʱʱ)
+    // 是否已开始游戏(用于首次落子时启动计时器)
     private boolean gameStarted = false;
+    // 当前落子方的合法点位图(供悬停预览使用)，按棋盘版本和颜色懒更新
+    private final long[] legalMask = new long[GoMoveChecker.MASK_WORDS];
+    private int legalMaskVersion = -1;
+    private int legalMaskColor = 0;
+
+    // 电脑棋手及其执子颜色(EMPTY表示双方都由人下)
+    private GoMctsPlayer computerPlayer = null;
+    private int computerColor = GoBoard.EMPTY;
+    // 电脑搜索与终局估计的序号，悔棋、重置、终局后递增，过期的结果直接丢弃
+    private int searchToken = 0;
+    // 对局是否已经结束
+    private boolean gameOver = false;
+    // 对局是否暂停中
+    private boolean paused = false;
+    // 轮到人下时电脑是否在后台思考
+    private boolean ponderingEnabled = true;
+    // 定式库(null表示不提供定式提示)
+    private GoOpeningBook openingBook = null;
+    // 征子提示
+    private final GoTactics tactics = new GoTactics();
+    private boolean captureWarningsEnabled = true;
 
     /**
-     * 캯
+     * 构造函数
      * 
-     * @param panel    Χʵ
-     * @param listener ¼(Ϊnull)
+     * @param panel    围棋面板实例
+     * @param listener 点击事件监听器(可为null)
      */
     public GoBoardMouseController(GoPanel panel, BoardClickListener listener) {
         this(panel, listener, null, null, null);
     }
 
     /**
-     * 캯(ʱ)
+     * 构造函数(带时间控制)
      * 
-     * @param panel      Χʵ
-     * @param listener   ¼(Ϊnull)
-     * @param matchTimer Ծʱʱ(Ϊnull)
-     * @param moveTimer  ʱʱ(Ϊnull)
+     * @param panel      围棋面板实例
+     * @param listener   点击事件监听器(可为null)
+     * @param matchTimer 对局总时间计时器(可为null)
+     * @param moveTimer  单步用时计时器(可为null)
      */
     public GoBoardMouseController(GoPanel panel, BoardClickListener listener,
             TimePiece matchTimer, TimePiece moveTimer) {
@@ -77,13 +118,13 @@ public class GoBoardMouseController extends MouseAdapter {
     }
 
     /**
-     * 캯(ʱƺϷ)
+     * 完整构造函数(带时间控制和游戏结束监听)
      * 
-     * @param panel           Χʵ
-     * @param listener        ¼(Ϊnull)
-     * @param matchTimer      Ծʱʱ(Ϊnull)
-     * @param moveTimer       ʱʱ(Ϊnull)
-     * @param gameEndListener Ϸ(Ϊnull)
+     * @param panel           围棋面板实例
+     * @param listener        点击事件监听器(可为null)
+     * @param matchTimer      对局总时间计时器(可为null)
+     * @param moveTimer       单步用时计时器(可为null)
+     * @param gameEndListener 游戏结束监听器(可为null)
      */
     public GoBoardMouseController(GoPanel panel, BoardClickListener listener,
             TimePiece matchTimer, TimePiece moveTimer, GameEndListener gameEndListener) {
@@ -94,34 +135,49 @@ public class GoBoardMouseController extends MouseAdapter {
         this.matchTimer = matchTimer;
         this.moveTimer = moveTimer;
 
-        // ʼʤж
-        this.processor = new GoPlaceProcessor(boardModel);
+        // 初始化处理器和胜负判断器
+        this.processor = GoMoveChecker.create(boardModel, GoMoveChecker.defaultBackend());
         this.winLoseChecker = new GoWinLose(processor);
 
-        // עΪ
+        // 将控制器注册为面板的鼠标监听器
         this.panel.addMouseListener(this);
 
-        // עᲽʱľ
+        // 注册步时耗尽监听器
         if (moveTimer != null) {
             moveTimer.setTimeExpiredListener(() -> {
-                handleGameEnd(3 - currentColor, "ʱľ");
+                handleGameEnd(3 - currentColor, "步时耗尽");
             });
         }
 
-        // עԾʱľ
+        // 注册对局时间耗尽监听器
         if (matchTimer != null) {
             matchTimer.setTimeExpiredListener(() -> {
-                handleGameEnd(3 - currentColor, "Ծʱľ");
+                handleGameEnd(3 - currentColor, "对局时间耗尽");
             });
         }
     }
 
     @Override
     public void mouseClicked(MouseEvent e) {
-        // תΪ߼
+        // 终局后、复盘中不接受落子（复盘时棋盘停在历史中途，落子会截断其后的记录）
+        if (gameOver || panel.getCurrentMode() == GoPanel.PanelMode.REPLAY) {
+            return;
+        }
+        // 电脑思考期间不接受点击
+        if (isComputerTurn()) {
+            return;
+        }
+
+        // 右键: 定式提示
+        if (SwingUtilities.isRightMouseButton(e)) {
+            showOpeningHint();
+            return;
+        }
+
+        // 将像素坐标转换为棋盘逻辑坐标
         Point boardPos = panel.pixelToBoard(e.getX(), e.getY());
         if (boardPos == null) {
-            // ,ȷ״̬
+            // 点击在棋盘外,清除待确认状态
             clearPendingMove();
             return;
         }
@@ -129,126 +185,135 @@ public class GoBoardMouseController extends MouseAdapter {
         int row = boardPos.x;
         int col = boardPos.y;
 
-        // жǷΪεͬһλ
+        // 判断是否为二次点击同一位置
         if (pendingMove != null && pendingMove.x == row && pendingMove.y == col) {
-            // εȷ: ִӲ
+            // 二次点击确认: 执行落子并更新棋盘
             confirmMove(row, col);
         } else {
-            // ״ελ: Ϸ
+            // 首次点击或点击新位置: 检查合法性
             attemptMove(row, col);
         }
 
-        // ֪ͨconfirmMoveɹ֪ͨ
+        // 不在这里通知监听器，而是在confirmMove成功后才通知
     }
 
     /**
-     * ״ε: Ӳʾ
+     * 首次点击: 尝试落子并显示辅助线
      */
     private void attemptMove(int row, int col) {
-        // ʱGoPlaceProcessorϷ(method=0,鲻)
-        GoPlaceProcessor processor = new GoPlaceProcessor(boardModel);
+        // 检查合法性(method=0,仅检查不更新)
         int checkResult = processor.check(row, col, currentColor, 0);
 
         if (checkResult == 0) {
-            // Ϸ: ȷλòʾ
+            // 合法落子: 保存待确认位置并显示辅助线
             pendingMove = new Point(row, col);
             panel.showAuxiliaryLine(row, col);
-            System.out.println("Ԥ: (" + row + "," + col + "), ٴεȷ");
+            System.out.println("落子预览: (" + row + "," + col + "), 再次点击确认");
         } else {
-            // Ϸ: ȷ״̬ʾ
+            // 不合法: 清除待确认状态并提示错误
             clearPendingMove();
             String errorMsg = getErrorMessage(checkResult);
-            System.err.println("Ƿ: " + errorMsg);
-            // TODO: ͨUIʾû(絯״̬)
+            System.err.println("非法落子: " + errorMsg);
+            // TODO: 可通过UI提示用户(如弹窗或状态栏)
         }
     }
 
     /**
-     * ε: ȷӲ
+     * 二次点击: 确认落子并更新棋盘
      */
     private void confirmMove(int row, int col) {
-        // ʱGoPlaceProcessorִ(method=1,״̬)
-        GoPlaceProcessor processor = new GoPlaceProcessor(boardModel);
+        // 执行落子(method=1,更新棋盘状态)
         int checkResult = processor.check(row, col, currentColor, 1);
 
         if (checkResult == 0) {
-            // === ʱ߼ ===
-            // ״ʱԾּʱ
+            // === 时间控制逻辑 ===
+            // 首次落子时启动对局计时器
             if (!gameStarted) {
                 gameStarted = true;
                 if (matchTimer != null) {
                     matchTimer.start();
-                    System.out.println("Ծּʱ");
+                    System.out.println("对局计时器已启动");
                 }
                 if (moveTimer != null) {
                     moveTimer.start();
-                    System.out.println("ʱʱ");
+                    System.out.println("步时计时器已启动");
                 }
             } else {
-                // ״: òʱʱ
+                // 非首次落子: 重置步时计时器
                 if (moveTimer != null) {
-                    moveTimer.stop(); // ֹͣ
-                    moveTimer.start(); // 
-                    System.out.println("ʱʱ");
+                    moveTimer.stop(); // 停止并重置
+                    moveTimer.start(); // 重新启动
+                    System.out.println("步时计时器已重置");
                 }
             }
 
-            // ӳɹ: лɫظߡػ
-            currentColor = 3 - currentColor; // ڰл(1?2)
+            // 落子成功: 切换颜色、隐藏辅助线、触发重绘
+            currentColor = 3 - currentColor; // 黑白切换(1?2)
 
-            // ĵǰԷɫ
+            // 更新聊天区的当前发言方颜色
             if (panel.getComponentsAdder() != null) {
                 panel.getComponentsAdder().setCurrentColor(currentColor);
             }
 
             clearPendingMove();
+            updateCaptureWarnings();
             panel.refreshBoard();
 
-            // ֪ͨ(ӳɹŵ)
+            // 通知监听器(落子成功后才调用)
             if (listener != null) {
                 listener.onBoardClicked(row, col, null);
             }
 
-            System.out.println("ӳɹ: (" + row + "," + col + ")");
+            System.out.println("落子成功: (" + row + "," + col + ")");
 
-            // === ʤж ===
+            // === 胜负判断 ===
             checkGameEnd();
 
+            // 轮到电脑时开始搜索，轮到人时电脑在后台思考
+            startComputerMove();
+            startPondering();
+
         } else {
-            // ϲӦ(״μͨ),Դ쳣
+            // 理论上不应出现(首次检查已通过),但仍处理异常情况
             clearPendingMove();
-            System.err.println("ʧ(״̬쳣): " + getErrorMessage(checkResult));
+            System.err.println("落子失败(状态异常): " + getErrorMessage(checkResult));
         }
     }
 
     /**
-     * ϷǷ
+     * 检查游戏是否结束
      */
     private void checkGameEnd() {
-        // ʱľ TimePiece ֻǷ޷
+        // 时间耗尽由 TimePiece 监听器主动触发，这里只检查是否无法落子
         checkNoLegalMoves();
     }
 
     /**
-     * 鵱ǰǷ޺Ϸ
+     * 检查当前玩家是否无合法落子
      */
     private void checkNoLegalMoves() {
-        // ʹ GoWinLose.hasNoLegalMove жϵǰɫǷ޷
+        // 使用 GoWinLose.hasNoLegalMove 判断当前颜色是否无法落子
         if (winLoseChecker.hasNoLegalMove(currentColor)) {
-            // ǰ޷ӣԷʤ
+            // 当前玩家无法落子，则对方获胜
             int winner = 3 - currentColor;
-            handleGameEnd(winner, "Է޷");
+            handleGameEnd(winner, "对方无法落子");
         }
     }
 
     /**
-     * Ϸ
+     * 处理游戏结束
      * 
-     * @param winnerColor ʤɫ
-     * @param reason      ԭ
+     * @param winnerColor 胜方颜色
+     * @param reason      结束原因
      */
     private void handleGameEnd(int winnerColor, String reason) {
-        // ֹͣʱ
+        // 终局后不再接受电脑的落子
+        gameOver = true;
+        cancelComputerMove();
+        stopPondering();
+        panel.setWarningPoints(List.of());
+
+        // 停止计时器
         if (matchTimer != null) {
             matchTimer.stop();
         }
@@ -256,44 +321,252 @@ public class GoBoardMouseController extends MouseAdapter {
             moveTimer.stop();
         }
 
-        // ˫ѡʾϸϢ
-        winLoseChecker.PiecesCount();
+        // 计算双方得分，随结果一起显示：先用随机对局估计死子，再把死子按提走处理后数子
+        // 估计要跑满时间预算，放在后台线程上，完成后回到事件线程弹出结果；期间离开对局则不再显示
+        GoOwnershipEstimator estimator = new GoOwnershipEstimator(boardModel.copy());
+        estimator.setTimeBudgetMillis(SCORE_ESTIMATE_MILLIS);
+        int color = currentColor;
+        int token = searchToken;
+        new SwingWorker<GoOwnership, Void>() {
+            @Override
+            protected GoOwnership doInBackground() {
+                return estimator.estimate(color);
+            }
+
+            @Override
+            protected void done() {
+                if (token != searchToken) {
+                    return;
+                }
+                try {
+                    showGameResult(winnerColor, reason, get());
+                } catch (InterruptedException | ExecutionException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * 显示终局结果与得分，并询问是否进入复盘
+     *
+     * @param ownership 死子估计结果
+     */
+    private void showGameResult(int winnerColor, String reason, GoOwnership ownership) {
+        GoScore score = winLoseChecker.score(GoScorer.DEFAULT_KOMI, ownership.getDeadMask());
 
-        String winnerName = (winnerColor == GoBoard.BLACK) ? "ڷ" : "׷";
-        System.out.println("Ϸ: " + winnerName + "ʤ (" + reason + ")");
+        String winnerName = (winnerColor == GoBoard.BLACK) ? "黑方" : "白方";
+        System.out.println("游戏结束: " + winnerName + "获胜 (" + reason + ")");
 
-        // ԻѯǷ븴
+        // 弹出对话框询问是否进入复盘
         int choice = JOptionPane.showConfirmDialog(
                 panel,
-                winnerName + "ʤ\nԭ" + reason + "\n\nǷ븴ģʽ?",
-                "Ϸ",
+                winnerName + "获胜！\n原因：" + reason + "\n" + score
+                        + "\n（估计死子" + ownership.getDeadCount() + "颗，已按提走计算）\n\n是否进入复盘模式?",
+                "游戏结束",
                 JOptionPane.YES_NO_OPTION,
                 JOptionPane.INFORMATION_MESSAGE);
 
         if (choice == JOptionPane.YES_OPTION) {
-            // 븴ģʽ
+            // 进入复盘模式
             panel.enterReplayMode();
-            System.out.println("ѽ븴ģʽ");
+            System.out.println("已进入复盘模式");
         } else {
-            System.out.println("ûѡ񲻽븴ģʽ");
-            // 븴̣ѡ񷵻
-            // ӷ߼
+            System.out.println("用户选择不进入复盘模式");
+            // 不进入复盘，可以选择返回主界面
+            // 这里可以添加返回主界面的逻辑
         }
     }
 
     /**
-     * ֶϷ书ܵã
+     * 手动触发游戏结束（供认输功能调用）
      * 
-     * @param reason ԭ
+     * @param reason 结束原因
      */
     public void triggerGameEnd(String reason) {
-        // ʱǰɫ䣬ԷӮ
+        // 认输时，当前颜色输，对方赢
         int winner = 3 - currentColor;
         handleGameEnd(winner, reason);
     }
 
     /**
-     * ȷ״̬ظ
+     * 设置电脑棋手
+     * 
+     * @param color  电脑执子颜色(GoBoard.BLACK 或 GoBoard.WHITE)，EMPTY 表示取消电脑棋手
+     * @param player 电脑棋手实例(color 为 EMPTY 时可为null)
+     */
+    public void setComputerPlayer(int color, GoMctsPlayer player) {
+        cancelComputerMove();
+        stopPondering();
+        this.computerColor = color;
+        this.computerPlayer = player;
+        // 电脑执黑时立即开始第一手，否则在人思考时后台思考
+        startComputerMove();
+        startPondering();
+    }
+
+    /**
+     * 设置轮到人下时电脑是否在后台思考
+     */
+    public void setPonderingEnabled(boolean enabled) {
+        this.ponderingEnabled = enabled;
+        if (enabled) {
+            startPondering();
+        } else {
+            stopPondering();
+        }
+    }
+
+    /**
+     * 轮到人下时让电脑在后台思考当前局面(搜索使用棋盘副本)
+     * 人确认落子后，电脑沿用这一手在后台思考中的搜索结果；悔棋等改动棋盘后也应调用
+     */
+    public void startPondering() {
+        if (!ponderingEnabled || computerPlayer == null || gameOver || paused
+                || currentColor == computerColor) {
+            return;
+        }
+        computerPlayer.startPondering(boardModel.copy(), currentColor);
+    }
+
+    /**
+     * 停止电脑的后台思考(暂停、悔棋、终局时调用)
+     */
+    public void stopPondering() {
+        if (computerPlayer != null) {
+            computerPlayer.stopPondering();
+        }
+    }
+
+    /**
+     * 设置定式库(供定式提示使用，null表示关闭提示)
+     */
+    public void setOpeningBook(GoOpeningBook book) {
+        this.openingBook = book;
+    }
+
+    /**
+     * 定式提示: 在控制台列出当前局面的库中着法，并把最常见的合法着法设为待确认落子(显示辅助线)
+     *
+     * @return 库中的候选着法(按出现次数从多到少)，不在库中时为空表
+     */
+    public List<GoOpeningBook.Candidate> showOpeningHint() {
+        if (openingBook == null || gameOver) {
+            return List.of();
+        }
+        List<GoOpeningBook.Candidate> candidates = openingBook.lookup(boardModel, currentColor);
+        if (candidates.isEmpty()) {
+            System.out.println("定式提示: 当前局面不在定式库中");
+            return candidates;
+        }
+        System.out.println("定式提示: " + candidates);
+        for (GoOpeningBook.Candidate c : candidates) {
+            int row = c.move / GoBoard.BOARD_SIZE;
+            int col = c.move % GoBoard.BOARD_SIZE;
+            if (processor.check(row, col, currentColor, 0) == 0) {
+                attemptMove(row, col);
+                break;
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * 设置是否显示征子提示
+     */
+    public void setCaptureWarningsEnabled(boolean enabled) {
+        this.captureWarningsEnabled = enabled;
+        updateCaptureWarnings();
+    }
+
+    /**
+     * 按当前局面重新计算征子提示(落子、悔棋后调用)
+     * 双方气数不超过两口的棋块逐个读征子，对方先走就会被吃掉的棋块交给面板标出
+     */
+    public void updateCaptureWarnings() {
+        List<Point> points = new ArrayList<>();
+        if (captureWarningsEnabled && !gameOver) {
+            for (int pos : tactics.capturableStones(boardModel, currentColor)) {
+                points.add(new Point(pos / GoBoard.BOARD_SIZE, pos % GoBoard.BOARD_SIZE));
+            }
+        }
+        panel.setWarningPoints(points);
+    }
+
+    /**
+     * 当前是否轮到电脑落子
+     */
+    public boolean isComputerTurn() {
+        return computerPlayer != null && currentColor == computerColor && !gameOver;
+    }
+
+    /**
+     * 轮到电脑时在后台线程搜索，搜索结果回到事件线程后按正常流程确认落子
+     * 搜索使用棋盘副本，不影响界面读取棋盘
+     */
+    private void startComputerMove() {
+        if (!isComputerTurn()) {
+            return;
+        }
+        GoBoard snapshot = boardModel.copy();
+        int color = currentColor;
+        long budget = computerBudget();
+        int token = ++searchToken;
+        GoMctsPlayer player = computerPlayer;
+        // 在事件线程上先取得搜索编号，搜索线程拿到锁之前的cancelComputerMove也能让它立即结束
+        int searchId = player.nextSearchId();
+        Thread thread = new Thread(() -> {
+            int pos = player.genMove(snapshot, color, budget, searchId);
+            System.out.println("电脑思考完毕: 随机对局" + player.getLastPlayouts() + "局(沿用后台思考"
+                    + player.getLastReusedVisits() + "局), 胜率"
+                    + String.format("%.1f%%", player.getLastWinRate() * 100));
+            SwingUtilities.invokeLater(() -> applyComputerMove(token, pos));
+        }, "GoMcts-Move");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * 电脑本手可用的时间：不超过思考时间，并在步时与对局时间耗尽前留出余量
+     */
+    private long computerBudget() {
+        long budget = computerPlayer.getThinkMillis();
+        if (moveTimer != null) {
+            budget = Math.min(budget, moveTimer.getRemainingTime() - COMPUTER_SAFETY_MILLIS);
+        }
+        if (matchTimer != null) {
+            budget = Math.min(budget, matchTimer.getRemainingTime() - COMPUTER_SAFETY_MILLIS);
+        }
+        return Math.max(COMPUTER_MIN_MILLIS, budget);
+    }
+
+    /**
+     * 在事件线程上落下电脑选出的一手(已过期的搜索结果直接丢弃)
+     */
+    private void applyComputerMove(int token, int pos) {
+        if (token != searchToken || !isComputerTurn()) {
+            return;
+        }
+        if (pos == GoBoard.PASS) {
+            // 没有合法点，由无法落子的判断结束对局
+            checkNoLegalMoves();
+            return;
+        }
+        confirmMove(pos / GoBoard.BOARD_SIZE, pos % GoBoard.BOARD_SIZE);
+    }
+
+    /**
+     * 放弃正在进行的电脑搜索(悔棋、重置、终局时调用)
+     */
+    public void cancelComputerMove() {
+        searchToken++;
+        if (computerPlayer != null) {
+            computerPlayer.stop();
+        }
+    }
+
+    /**
+     * 清除待确认状态并隐藏辅助线
      */
     private void clearPendingMove() {
         pendingMove = null;
@@ -301,30 +574,51 @@ public class GoBoardMouseController extends MouseAdapter {
     }
 
     /**
-     * GoPlaceProcessorȡϢ
+     * 根据GoMoveChecker返回码获取错误信息
      */
     private String getErrorMessage(int code) {
         switch (code) {
             case 1:
-                return "λѱռ";
+                return "位置已被占用";
             case 2:
-                return "ٹ";
+                return "触犯打劫规则";
             case 3:
-                return "Ӻͨ(ֹɱ)";
+                return "落子后该连通块无气(禁止自杀)";
             default:
-                return "δ֪";
+                return "未知错误";
         }
     }
 
     /**
-     * ȡǰɫ
+     * 获取当前落子方的合法点位图(棋盘或落子方变化后首次调用时重新计算)
+     * 
+     * @return 按点位编码逐位存放的位图，用GoMoveChecker.isLegal查询
+     */
+    public long[] getLegalMask() {
+        if (legalMaskVersion != boardModel.getVersion() || legalMaskColor != currentColor) {
+            processor.legalMoves(currentColor, legalMask);
+            legalMaskVersion = boardModel.getVersion();
+            legalMaskColor = currentColor;
+        }
+        return legalMask;
+    }
+
+    /**
+     * 判断当前落子方能否在指定位置落子(用于悬停预览)
+     */
+    public boolean isLegalPoint(int row, int col) {
+        return GoMoveChecker.isLegal(getLegalMask(), GoBoard.toPos(row, col));
+    }
+
+    /**
+     * 获取当前落子颜色
      */
     public int getCurrentColor() {
         return currentColor;
     }
 
     /**
-     * ֶõǰɫ(ڻ)
+     * 手动设置当前落子颜色(用于悔棋或重置)
      */
     public void setCurrentColor(int color) {
         if (color == GoBoard.BLACK || color == GoBoard.WHITE) {
@@ -333,21 +627,26 @@ public class GoBoardMouseController extends MouseAdapter {
     }
 
     /**
-     * лǰɫ(ڻ)
+     * 切换当前落子颜色(用于悔棋)
      */
     public void switchColor() {
         this.currentColor = 3 - this.currentColor;
     }
 
     /**
-     * ÿ״̬(ȷ)
+     * 重置控制器状态(清除待确认落子)
      */
     public void reset() {
+        cancelComputerMove();
+        stopPondering();
         clearPendingMove();
         currentColor = GoBoard.BLACK;
         gameStarted = false;
+        gameOver = false;
+        paused = false;
+        panel.setWarningPoints(List.of());
 
-        // üʱ
+        // 重置计时器
         if (matchTimer != null) {
             matchTimer.stop();
         }
@@ -357,9 +656,28 @@ public class GoBoardMouseController extends MouseAdapter {
     }
 
     /**
-     * ͣϷ(ͣʱ)
+     * 离开对局界面时调用：停止电脑的搜索与后台思考，并关闭电脑的搜索线程池（下次搜索时按需重建）
+     * 关闭要等正在进行的搜索退出，放在后台线程上，不阻塞事件线程；
+     * 棋手由各局共用，关闭前下一局已经开始搜索或后台思考时不再关闭
+     */
+    public void releaseComputerPlayer() {
+        reset();
+        GoMctsPlayer player = computerPlayer;
+        if (player != null) {
+            int activity = player.getActivity();
+            Thread thread = new Thread(() -> player.shutdownIfIdle(activity), "GoMcts-Shutdown");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    /**
+     * 暂停游戏(暂停计时器，放弃电脑正在进行的搜索并停止后台思考)
      */
     public void pauseGame() {
+        paused = true;
+        cancelComputerMove();
+        stopPondering();
         if (matchTimer != null) {
             matchTimer.pause();
         }
@@ -369,9 +687,11 @@ public class GoBoardMouseController extends MouseAdapter {
     }
 
     /**
-     * Ϸ(ָʱ)
+     * 继续游戏(恢复计时器，轮到电脑时重新搜索，轮到人下时恢复后台思考)
      */
     public void resumeGame() {
+        paused = false;
+        startPondering();
         if (gameStarted) {
             if (matchTimer != null) {
                 matchTimer.start();
@@ -380,5 +700,7 @@ public class GoBoardMouseController extends MouseAdapter {
                 moveTimer.start();
             }
         }
+        // 暂停时放弃了搜索，计时器恢复后按剩余时间重新搜索
+        startComputerMove();
     }
 }
\ No newline at end of file
@@ -4,19 +4,19 @@ import javax.swing.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoBoard;
 import com.github.lemonadedream.boardgame.view.MainWindow;
-import com.github.lemonadedream.boardgame.view.component.TimePiece;
 import com.github.lemonadedream.boardgame.view.panel.mainGamePanel.GoPanel;
 
 /**
- * GoGameController: ΧϷť
- * Ϸеĸְť¼ͣ塢䡢ֵáɾ͵
+ * GoGameController: 围棋游戏按钮控制器
+ * 负责处理游戏中的各种按钮事件：暂停、悔棋、认输、充值、设置、成就等
  */
 public class GoGameButtonController implements ActionListener {
     private MainWindow mainWindow;
     private GoPanel goPanel;
     private GoComponentsAdder componentsAdder;
-    private boolean isPaused = false; // Ϸͣ״̬
+    private boolean isPaused = false; // 游戏暂停状态
 
     public GoGameButtonController(MainWindow mainWindow, GoPanel goPanel, GoComponentsAdder componentsAdder) {
         this.mainWindow = mainWindow;
@@ -28,10 +28,10 @@ public class GoGameButtonController implements ActionListener {
     public void actionPerformed(ActionEvent e) {
         String command = e.getActionCommand();
 
-        // 鵱ǰģʽ
+        // 检查当前面板模式
         GoPanel.PanelMode currentMode = goPanel.getCurrentMode();
 
-        // ģʽֻ˳͵ť
+        // 复盘模式下只允许退出和导航按钮
         if (currentMode == GoPanel.PanelMode.REPLAY) {
             switch (command) {
                 case "exit":
@@ -44,13 +44,13 @@ public class GoGameButtonController implements ActionListener {
                     handleReplayNext();
                     break;
                 default:
-                    // ģʽºť
+                    // 复盘模式下忽略其他按钮
                     break;
             }
             return;
         }
 
-        // Ծģʽµİť
+        // 对局模式下的按钮处理
         switch (command) {
             case "undo":
                 handleUndo(1);
@@ -76,144 +76,122 @@ public class GoGameButtonController implements ActionListener {
     }
 
     /**
-     * һװť
+     * 处理上一首按钮
      */
     private void handleMusicPrevious() {
         MusicPlayer.getInstance().previous();
     }
 
     /**
-     * ť
+     * 处理静音按钮
      */
     private void handleMusicMute() {
         MusicPlayer.getInstance().toggleMute();
     }
 
     /**
-     * һװť
+     * 处理下一首按钮
      */
     private void handleMusicNext() {
         MusicPlayer.getInstance().next();
     }
 
     /**
-     * ͣť
+     * 处理暂停按钮
      */
     private void handlePause(ActionEvent e) {
         if (!isPaused) {
             isPaused = true;
 
-            // ͣʱ
-            TimePiece matchTimer = componentsAdder.getMatchTimePiece();
-            TimePiece moveTimer = componentsAdder.getMoveTimePiece();
+            // 暂停计时器并停止电脑的后台思考
+            goPanel.getMouseController().pauseGame();
 
-            if (matchTimer != null) {
-                matchTimer.pause();
-            }
-            if (moveTimer != null) {
-                moveTimer.pause();
-            }
-
-            // ޸İťıΪ""
+            // 修改按钮文本为"继续"
             JButton pauseButton = (JButton) e.getSource();
-            pauseButton.setText("");
+            pauseButton.setText("继续");
 
-            // ѡʾͣʾ
-            JOptionPane.showMessageDialog(goPanel, "Ϸͣ", "ʾ", JOptionPane.INFORMATION_MESSAGE);
+            // 可选：显示暂停提示
+            JOptionPane.showMessageDialog(goPanel, "游戏已暂停", "提示", JOptionPane.INFORMATION_MESSAGE);
         }
     }
 
     /**
-     * ťͣ״ָ̬
+     * 处理继续按钮（从暂停状态恢复）
      */
     private void handleResume(ActionEvent e) {
         if (isPaused) {
             isPaused = false;
 
-            // ָʱʹstartָ
-            TimePiece matchTimer = componentsAdder.getMatchTimePiece();
-            TimePiece moveTimer = componentsAdder.getMoveTimePiece();
-
-            if (matchTimer != null) {
-                matchTimer.start();
-            }
-            if (moveTimer != null) {
-                moveTimer.start();
-            }
+            // 恢复计时器（对局开始后才恢复），轮到人下时恢复后台思考
+            goPanel.getMouseController().resumeGame();
 
-            // ޸İťı"ͣ"
+            // 修改按钮文本回"暂停"
             JButton pauseButton = (JButton) e.getSource();
-            pauseButton.setText("ͣ");
+            pauseButton.setText("暂停");
         }
     }
 
     /**
-     * 尴ť
-     * ֻеֵԼ壬֣ʱ
+     * 处理悔棋按钮
+     * 只有当轮到自己（黑棋，先手）时才允许悔棋
      */
     private void handleUndo(int who) {
         if (isPaused) {
-            JOptionPane.showMessageDialog(goPanel, "ϷͣУ޷", "ʾ", JOptionPane.WARNING_MESSAGE);
+            JOptionPane.showMessageDialog(goPanel, "游戏暂停中，无法悔棋", "提示", JOptionPane.WARNING_MESSAGE);
             return;
         }
 
-        // ȡǰֵ˭
+        // 获取当前轮到谁下棋
         int currentColor = goPanel.getMouseController().getCurrentColor();
 
-        // ǷֵԼ = 1
-        if (currentColor != 1) { // 1 ʾ壨ң
-            JOptionPane.showMessageDialog(goPanel, "ֵֻԼʱ", "ʾ", JOptionPane.WARNING_MESSAGE);
+        // 检查是否轮到自己（黑棋 = 1）
+        if (currentColor != 1) { // 1 表示黑棋（先手玩家）
+            JOptionPane.showMessageDialog(goPanel, "只能在轮到自己时悔棋", "提示", JOptionPane.WARNING_MESSAGE);
             return;
         }
 
-        // Ƿ㹻ʷ¼Ի
-        // Ҫ2ܻ壨Լһ + Էһ
+        // 检查是否有足够的历史记录可以悔棋
+        // 需要至少有2步棋才能悔棋（回退自己的一步 + 对方的一步）
         if (goPanel.getBoardModel().stackTop < 1) {
-            JOptionPane.showMessageDialog(goPanel, "޷壬ǰû㹻Ĳ", "ʾ", JOptionPane.WARNING_MESSAGE);
+            JOptionPane.showMessageDialog(goPanel, "无法悔棋，当前没有足够的步数", "提示", JOptionPane.WARNING_MESSAGE);
             return;
         }
 
-        // 
+        // 检查悔棋次数
         if (goPanel.getBoardModel().undoCount[currentColor - 1] <= 0) {
-            JOptionPane.showMessageDialog(goPanel, "þ", "ʾ", JOptionPane.WARNING_MESSAGE);
+            JOptionPane.showMessageDialog(goPanel, "悔棋次数已用尽", "提示", JOptionPane.WARNING_MESSAGE);
             return;
         }
 
-        // ȷ϶Ի
+        // 弹出确认对话框
         int confirm = JOptionPane.showConfirmDialog(
                 goPanel,
-                "ȷҪ𣿽ͶԷһ",
-                "ȷ",
+                "确定要悔棋吗？将撤销你和对方的最后一步",
+                "悔棋确认",
                 JOptionPane.YES_NO_OPTION);
 
         if (confirm == JOptionPane.YES_OPTION) {
-            // ٻ
+            // 减少悔棋次数
             goPanel.getBoardModel().undoCount[currentColor - 1]--;
 
-            // ǰֵ壬˵Ѿ˰
-            // ʷջ״̬[...] [2] [2] <- stackTop
-            // Ŀ꣺ָº2֮ǰ״̬
+            // 当前轮到黑棋，说明棋盘已经下完了白棋
+            // 对局历史：[...] [黑2] [白2] <- stackTop
+            // 目标：恢复到下黑2之前的状态
 
-            // һΣ2״ֻ̬ջָ룬ָ
-            goPanel.getBoardModel().boardStatusPopOnly();
+            GoBoard boardModel = goPanel.getBoardModel();
 
-            // ڶΣ2״ֻ̬ջָ룬ָ
-            goPanel.getBoardModel().boardStatusPopOnly();
+            // 棋盘即将改动，先停止电脑对旧局面的后台思考
+            goPanel.getMouseController().stopPondering();
 
-            // stackTopָº2֮ǰ״ָ̬״̬
-            if (goPanel.getBoardModel().stackTop >= 0) {
-                // ֶָ״̬
-                int[][] historyStatus = goPanel.getBoardModel().historyStatusStack[goPanel.getBoardModel().stackTop];
-                for (int i = 1; i <= 19; i++) {
-                    for (int j = 1; j <= 19; j++) {
-                        goPanel.getBoardModel().curStatus[i][j] = historyStatus[i][j];
-                    }
-                }
-            }
+            // 第一次：按对局历史撤销白2（只改动落子点和被提的棋子）
+            boardModel.boardStatusPop();
+
+            // 第二次：撤销黑2
+            boardModel.boardStatusPop();
 
-            // Ȼֵ壨ԼԲҪлɫ
+            // 悔棋后仍然轮到黑棋（自己），所以不需要切换颜色
 
-            // »غ2壬غ2
+            // 更新回合数（回退2步棋，回合数减2）
             JLabel roundLabel = componentsAdder.getRoundLabel();
             if (roundLabel != null) {
                 int currentRound = Integer.parseInt(roundLabel.getText());
@@ -222,114 +200,97 @@ public class GoGameButtonController implements ActionListener {
                 }
             }
 
-            // ͳƣ
-            updatePieceCount();
+            // 棋子数量由棋盘模型的计数监听器在悔棋时刷新
 
-            // ˢʾ
+            // 刷新棋盘显示，电脑改为思考悔棋后的局面
+            goPanel.getMouseController().updateCaptureWarnings();
             goPanel.refreshBoard();
+            goPanel.getMouseController().startPondering();
 
-            JOptionPane.showMessageDialog(goPanel, "ѻ", "ʾ", JOptionPane.INFORMATION_MESSAGE);
+            JOptionPane.showMessageDialog(goPanel, "已悔棋", "提示", JOptionPane.INFORMATION_MESSAGE);
         }
     }
 
     /**
-     * ʾ
-     */
-    private void updatePieceCount() {
-        int blackCount = 0;
-        int whiteCount = 0;
-        int[][] status = goPanel.getBoardModel().getCurStatus();
-        for (int i = 1; i <= 19; i++) {
-            for (int j = 1; j <= 19; j++) {
-                if (status[i][j] == 1) { // BLACK
-                    blackCount++;
-                } else if (status[i][j] == 2) { // WHITE
-                    whiteCount++;
-                }
-            }
-        }
-
-        JLabel pieceLabel = componentsAdder.getPieceCountLabel();
-        if (pieceLabel != null) {
-            pieceLabel.setText(String.format(":%d :%d", blackCount, whiteCount));
-        }
-    }
-
-    /**
-     * 䰴ť
+     * 处理认输按钮
      */
     private void handleSurrender() {
-        // ȷ϶Ի
+        // 弹出确认对话框
         int confirm = JOptionPane.showConfirmDialog(
                 goPanel,
-                "ȷҪ",
-                "ȷ",
+                "确定要认输吗？",
+                "认输确认",
                 JOptionPane.YES_NO_OPTION);
 
         if (confirm == JOptionPane.YES_OPTION) {
-            // Ϸ
-            goPanel.getMouseController().triggerGameEnd("");
+            // 调用鼠标控制器的游戏结束方法
+            goPanel.getMouseController().triggerGameEnd("认输");
         }
     }
 
     /**
-     * ֵť
+     * 处理充值按钮
      */
     private void handleRecharge() {
-        JOptionPane.showMessageDialog(goPanel, "ֵδ", "ʾ", JOptionPane.INFORMATION_MESSAGE);
+        JOptionPane.showMessageDialog(goPanel, "充值功能暂未开放", "提示", JOptionPane.INFORMATION_MESSAGE);
     }
 
     /**
-     * ðť
+     * 处理设置按钮
      */
     private void handleSettings() {
-        // תý
-        ActionEvent settingsEvent = new ActionEvent(this, ActionEvent.ACTION_PERFORMED, "");
+        // 跳转到设置界面
+        ActionEvent settingsEvent = new ActionEvent(this, ActionEvent.ACTION_PERFORMED, "设置");
         mainWindow.switchPanel(settingsEvent);
     }
 
     /**
-     * ɾͰť
+     * 处理成就按钮
      */
     private void handleAchievements() {
-        // תɾͽ
-        ActionEvent achievementsEvent = new ActionEvent(this, ActionEvent.ACTION_PERFORMED, "ɾ");
+        // 跳转到成就界面
+        ActionEvent achievementsEvent = new ActionEvent(this, ActionEvent.ACTION_PERFORMED, "成就");
         mainWindow.switchPanel(achievementsEvent);
     }
 
     /**
-     * ϷǷͣ
+     * 检查游戏是否暂停
      */
     public boolean isPaused() {
         return isPaused;
     }
 
     /**
-     * ͣ״̬ⲿã
+     * 设置暂停状态（供外部调用）
      */
     public void setPaused(boolean paused) {
         this.isPaused = paused;
     }
 
-    // ========== ģʽ˳ť ==========
+    // ========== 新增：复盘模式和退出按钮处理 ==========
 
     /**
-     * ˳ť
-     * ۵ǰǶԾģʽǸģʽ
+     * 处理退出按钮
+     * 无论当前是对局模式还是复盘模式，都返回主界面
      */
     private void handleExit() {
-        // ڸģʽ˳
+        // 如果在复盘模式，先退出复盘
         if (goPanel.getCurrentMode() == GoPanel.PanelMode.REPLAY) {
             goPanel.exitReplayMode();
         }
 
-        // 
-        ActionEvent mainPanelEvent = new ActionEvent(this, ActionEvent.ACTION_PERFORMED, "");
+        // 停止电脑的搜索与后台思考，不在回到主界面后继续占用处理器
+        if (goPanel.getMouseController() != null) {
+            goPanel.getMouseController().releaseComputerPlayer();
+        }
+
+        // 返回主界面
+        ActionEvent mainPanelEvent = new ActionEvent(this, ActionEvent.ACTION_PERFORMED, "返回");
         mainWindow.switchPanel(mainPanelEvent);
     }
 
     /**
-     * "һ"ť
+     * 处理复盘"上一步"按钮
      */
     private void handleReplayPrev() {
         ReplayController replayController = goPanel.getReplayController();
@@ -342,12 +303,12 @@ public class GoGameButtonController implements ActionListener {
             goPanel.refreshBoard();
             updateReplayInfo();
         } else {
-            JOptionPane.showMessageDialog(goPanel, "Ѿǵһ", "ʾ", JOptionPane.INFORMATION_MESSAGE);
+            JOptionPane.showMessageDialog(goPanel, "已经是第一步了", "提示", JOptionPane.INFORMATION_MESSAGE);
         }
     }
 
     /**
-     * "һ"ť
+     * 处理复盘"下一步"按钮
      */
     private void handleReplayNext() {
         ReplayController replayController = goPanel.getReplayController();
@@ -360,12 +321,12 @@ public class GoGameButtonController implements ActionListener {
             goPanel.refreshBoard();
             updateReplayInfo();
         } else {
-            JOptionPane.showMessageDialog(goPanel, "Ѿһ", "ʾ", JOptionPane.INFORMATION_MESSAGE);
+            JOptionPane.showMessageDialog(goPanel, "已经是最后一步了", "提示", JOptionPane.INFORMATION_MESSAGE);
         }
     }
 
     /**
-     * ¸ʱĻغϢʾ
+     * 更新复盘时的回合信息显示
      */
     private void updateReplayInfo() {
         ReplayController replayController = goPanel.getReplayController();
@@ -373,15 +334,12 @@ public class GoGameButtonController implements ActionListener {
             return;
         }
 
-        // »غϱǩʾǰ
+        // 更新回合标签显示当前步数
         JLabel roundLabel = componentsAdder.getRoundLabel();
         if (roundLabel != null) {
-            roundLabel.setText(String.format(": %d/%d",
+            roundLabel.setText(String.format("步数: %d/%d",
                     replayController.getCurrentStep(),
                     replayController.getMaxStep()));
         }
-
-        // 
-        updatePieceCount();
     }
 }
@@ -7,29 +7,29 @@ import java.util.ArrayList;
 import java.util.List;
 
 /**
- * MusicPlayer: ֲſ
- * ֧ѭšлĿȹ
- * ʹõģʽȷȫֻһʵ
+ * MusicPlayer: 音乐播放控制器
+ * 支持循环播放、切换曲目、静音等功能
+ * 使用单例模式确保全局只有一个播放器实例
  */
 public class MusicPlayer {
     private static MusicPlayer instance;
 
-    // ļб·
+    // 音乐文件列表（相对路径）
     private List<String> musicFiles;
     private int currentIndex = 0;
 
-    // ſ
+    // 播放控制
     private Clip clip;
     private boolean isMuted = false;
-    private float volume = 0.8f; // Ĭ80%
+    private float volume = 0.8f; // 默认音量80%
 
-    // ˽й캯
+    // 私有构造函数
     private MusicPlayer() {
         initMusicList();
     }
 
     /**
-     * ȡʵ
+     * 获取单例实例
      */
     public static MusicPlayer getInstance() {
         if (instance == null) {
@@ -39,8 +39,8 @@ public class MusicPlayer {
     }
 
     /**
-     * ʼб
-     * µļ
+     * 初始化音乐列表
+     * 可以轻松添加新的音乐文件
      */
     private void initMusicList() {
         musicFiles = new ArrayList<>();
@@ -50,34 +50,34 @@ public class MusicPlayer {
         musicFiles.add("/resources/music/23 - White Palace.mp3");
         musicFiles.add("/resources/music/25 - Radiance.mp3");
 
-        // ֻ·
+        // 添加新音乐只需在这里添加路径即可
         // musicFiles.add("/resources/music/new_song.mp3");
     }
 
     /**
-     * ʼŵǰĿ
+     * 开始播放当前曲目
      */
     public void play() {
         if (musicFiles.isEmpty()) {
             return;
         }
 
-        stop(); // ֹͣǰ
+        stop(); // 停止当前播放
 
         try {
             String musicPath = musicFiles.get(currentIndex);
             InputStream audioSrc = getClass().getResourceAsStream(musicPath);
 
             if (audioSrc == null) {
-                System.err.println("޷ҵļ: " + musicPath);
+                System.err.println("无法找到音乐文件: " + musicPath);
                 return;
             }
 
-            // ʹBufferedInputStream߶ȡЧ
+            // 使用BufferedInputStream提高读取效率
             InputStream bufferedIn = new BufferedInputStream(audioSrc);
             AudioInputStream audioStream = AudioSystem.getAudioInputStream(bufferedIn);
 
-            // תƵʽ֧MP3
+            // 转换音频格式以支持MP3
             AudioFormat baseFormat = audioStream.getFormat();
             AudioFormat decodedFormat = new AudioFormat(
                     AudioFormat.Encoding.PCM_SIGNED,
@@ -93,13 +93,13 @@ public class MusicPlayer {
             clip = AudioSystem.getClip();
             clip.open(decodedStream);
 
-            // 
+            // 设置音量
             setVolume(volume);
 
-            // ѭŵǰĿ
+            // 循环播放当前曲目
             clip.loop(Clip.LOOP_CONTINUOUSLY);
 
-            // Ӧþ״̬
+            // 应用静音状态
             if (isMuted) {
                 mute();
             } else {
@@ -107,13 +107,13 @@ public class MusicPlayer {
             }
 
         } catch (Exception e) {
-            System.err.println("ʱ: " + e.getMessage());
+            System.err.println("播放音乐时出错: " + e.getMessage());
             e.printStackTrace();
         }
     }
 
     /**
-     * ֹͣ
+     * 停止播放
      */
     public void stop() {
         if (clip != null && clip.isRunning()) {
@@ -123,7 +123,7 @@ public class MusicPlayer {
     }
 
     /**
-     * һ
+     * 播放下一首
      */
     public void next() {
         if (musicFiles.isEmpty()) {
@@ -134,7 +134,7 @@ public class MusicPlayer {
     }
 
     /**
-     * һ
+     * 播放上一首
      */
     public void previous() {
         if (musicFiles.isEmpty()) {
@@ -145,7 +145,7 @@ public class MusicPlayer {
     }
 
     /**
-     * л״̬
+     * 切换静音状态
      */
     public void toggleMute() {
         if (isMuted) {
@@ -156,7 +156,7 @@ public class MusicPlayer {
     }
 
     /**
-     * 
+     * 静音
      */
     public void mute() {
         isMuted = true;
@@ -166,7 +166,7 @@ public class MusicPlayer {
     }
 
     /**
-     * ȡ
+     * 取消静音
      */
     public void unmute() {
         isMuted = false;
@@ -176,9 +176,9 @@ public class MusicPlayer {
     }
 
     /**
-     * 
+     * 设置音量
      * 
-     * @param volume ֵ 0.0f ~ 1.0f
+     * @param volume 音量值 0.0f ~ 1.0f
      */
     public void setVolume(float volume) {
         this.volume = Math.max(0.0f, Math.min(1.0f, volume));
@@ -189,45 +189,45 @@ public class MusicPlayer {
                 float dB = (float) (Math.log(this.volume) / Math.log(10.0) * 20.0);
                 gainControl.setValue(dB);
             } catch (Exception e) {
-                System.err.println("ʧ: " + e.getMessage());
+                System.err.println("设置音量失败: " + e.getMessage());
             }
         }
     }
 
     /**
-     * ȡǰ
+     * 获取当前音乐名称
      */
     public String getCurrentMusicName() {
         if (musicFiles.isEmpty()) {
-            return "";
+            return "无音乐";
         }
         String path = musicFiles.get(currentIndex);
         return path.substring(path.lastIndexOf("/") + 1);
     }
 
     /**
-     * ȡ״̬
+     * 获取静音状态
      */
     public boolean isMuted() {
         return isMuted;
     }
 
     /**
-     * ȡǰ
+     * 获取当前音乐索引
      */
     public int getCurrentIndex() {
         return currentIndex;
     }
 
     /**
-     * ȡ
+     * 获取音乐总数
      */
     public int getMusicCount() {
         return musicFiles.size();
     }
 
     /**
-     * ͷԴ
+     * 释放资源
      */
     public void dispose() {
         stop();
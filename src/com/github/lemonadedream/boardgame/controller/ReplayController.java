@@ -3,24 +3,24 @@ package com.github.lemonadedream.boardgame.controller;
 import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoBoard;
 
 /**
- * ̿
- * ̹еײ
+ * 复盘控制器
+ * 负责管理复盘过程中的棋谱播放，沿棋盘的对局历史撤销、重做来前进后退
  */
 public class ReplayController {
     private GoBoard boardModel;
-    private int currentStep = -1; // ǰ̵ڼ-1ʾʼ״̬
-    private int maxStep; // ܲ
+    private int currentStep = -1; // 当前复盘到第几步（-1表示初始状态）
+    private int maxStep; // 总步数
 
     public ReplayController(GoBoard boardModel) {
         this.boardModel = boardModel;
         this.maxStep = boardModel.stackTop;
-        this.currentStep = maxStep; // Ĭϴһʼ
+        this.currentStep = maxStep; // 默认从最后一步开始
     }
 
     /**
-     * һ
+     * 下一步
      * 
-     * @return Ƿɹǰ
+     * @return 是否成功前进
      */
     public boolean nextStep() {
         if (currentStep < maxStep) {
@@ -32,9 +32,9 @@ public class ReplayController {
     }
 
     /**
-     * һ
+     * 上一步
      * 
-     * @return Ƿɹ
+     * @return 是否成功后退
      */
     public boolean prevStep() {
         if (currentStep > -1) {
@@ -50,7 +50,7 @@ public class ReplayController {
     }
 
     /**
-     * һ
+     * 跳到第一步
      */
     public void jumpToFirst() {
         currentStep = -1;
@@ -58,7 +58,7 @@ public class ReplayController {
     }
 
     /**
-     * һ
+     * 跳到最后一步
      */
     public void jumpToLast() {
         currentStep = maxStep;
@@ -68,9 +68,9 @@ public class ReplayController {
     }
 
     /**
-     * ָ
+     * 跳到指定步
      * 
-     * @param step -1ʾʼ״̬
+     * @param step 步数（-1表示初始状态）
      */
     public void jumpToStep(int step) {
         if (step >= -1 && step <= maxStep) {
@@ -84,28 +84,29 @@ public class ReplayController {
     }
 
     /**
-     * ָָ״̬
+     * 恢复到指定步的棋盘状态（只撤销或重做两步之间的增量）
      */
     private void restoreToStep(int step) {
-        for (int i = 1; i <= 19; i++) {
-            for (int j = 1; j <= 19; j++) {
-                boardModel.curStatus[i][j] = boardModel.historyStatusStack[step][i][j];
-            }
+        // 历史不够长（已被截断）时停在能到达的位置，不在事件线程上空转
+        while (boardModel.getMoveCount() > step + 1) {
+            if (!boardModel.undo())
+                break;
+        }
+        while (boardModel.getMoveCount() < step + 1) {
+            if (!boardModel.redo())
+                break;
         }
+        boardModel.fireCountsChanged();
     }
 
     /**
-     * 
+     * 回到开局时的棋盘
      */
     private void clearBoard() {
-        for (int i = 1; i <= 19; i++) {
-            for (int j = 1; j <= 19; j++) {
-                boardModel.curStatus[i][j] = GoBoard.EMPTY;
-            }
-        }
+        restoreToStep(-1);
     }
 
-    // Getter
+    // Getter方法
     public int getCurrentStep() {
         return currentStep;
     }
@@ -0,0 +1,104 @@
+package com.github.lemonadedream.boardgame.module.GoGameModel.GoAI;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * 蒙特卡洛搜索树的节点，由多个搜索线程共享，不加锁
+ * 访问数与胜局数用原子操作累加；子节点数组只在展开时用CAS发布一次，之后不再修改
+ *
+ * 虚拟损失：线程沿路径下行时先给每个节点记上若干次“已访问但未获胜”，
+ * 让其他线程暂时避开这条路径；回传结果时再把多记的访问数扣回
+ */
+final class GoMctsNode {
+    private static final AtomicIntegerFieldUpdater<GoMctsNode> VISITS = AtomicIntegerFieldUpdater
+            .newUpdater(GoMctsNode.class, "visits");
+    private static final AtomicIntegerFieldUpdater<GoMctsNode> WINS = AtomicIntegerFieldUpdater
+            .newUpdater(GoMctsNode.class, "wins");
+    private static final AtomicLongFieldUpdater<GoMctsNode> KEY = AtomicLongFieldUpdater.newUpdater(GoMctsNode.class,
+            "key");
+    private static final AtomicReferenceFieldUpdater<GoMctsNode, GoMctsNode[]> CHILDREN = AtomicReferenceFieldUpdater
+            .newUpdater(GoMctsNode.class, GoMctsNode[].class, "children");
+
+    // 走到这个节点的一手（GoBoard.PASS表示停一手）
+    final int move;
+    // 走这一手的颜色，胜局数按这一方统计
+    final int color;
+    private volatile int visits;
+    private volatile int wins;
+    private volatile GoMctsNode[] children;
+    // 走这一手后的局面键（置换表使用），第一次有线程走到这里时才记下，0表示尚未记下
+    private volatile long key;
+
+    GoMctsNode(int move, int color) {
+        this.move = move;
+        this.color = color;
+    }
+
+    int getVisits() {
+        return visits;
+    }
+
+    int getWins() {
+        return wins;
+    }
+
+    long getKey() {
+        return key;
+    }
+
+    /**
+     * 记下局面键，只有第一个调用者成功
+     *
+     * @return 记下成功返回true（调用者可以用置换表中的统计初始化这个节点）
+     */
+    boolean setKey(long positionKey) {
+        return KEY.compareAndSet(this, 0L, positionKey);
+    }
+
+    /**
+     * 用置换表中同一局面的统计作为先验，计入访问数与胜局数
+     */
+    void addPrior(int priorVisits, int priorWins) {
+        VISITS.addAndGet(this, priorVisits);
+        WINS.addAndGet(this, priorWins);
+    }
+
+    // 子节点数组，尚未展开时为null
+    GoMctsNode[] getChildren() {
+        return children;
+    }
+
+    /**
+     * 发布子节点，只有第一个调用者成功
+     *
+     * @return 发布成功返回true，已被其他线程展开返回false
+     */
+    boolean expand(GoMctsNode[] expanded) {
+        return CHILDREN.compareAndSet(this, null, expanded);
+    }
+
+    // 下行时记上虚拟损失
+    void addVirtualLoss(int loss) {
+        VISITS.addAndGet(this, loss);
+    }
+
+    /**
+     * 回传一次随机对局的结果，同时扣除下行时记上的虚拟损失
+     *
+     * @param win  走这一手的一方是否获胜
+     * @param loss 下行时记上的虚拟损失
+     */
+    void update(boolean win, int loss) {
+        VISITS.addAndGet(this, 1 - loss);
+        if (win)
+            WINS.incrementAndGet(this);
+    }
+
+    // 走这一手的一方的胜率，没有访问时为0
+    double winRate() {
+        int v = visits;
+        return v == 0 ? 0.0 : (double) wins / v;
+    }
+}
@@ -0,0 +1,569 @@
+package com.github.lemonadedream.boardgame.module.GoGameModel.GoAI;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoBoard;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoGeometry;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoPatternCodes;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoLogic.GoMoveChecker;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoLogic.GoPlaceProcessor;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoLogic.GoScorer;
+
+/**
+ * 蒙特卡洛树搜索电脑棋手
+ * 所有搜索线程共用一棵树（树并行），节点统计用原子操作更新，下行时加虚拟损失分散线程，全程不加锁；
+ * 树内用UCT选点，叶子上用GoPlayout下随机对局到终局，按数子法判定胜负
+ *
+ * 根节点的候选点由GoPlaceProcessor生成（含超级劫判断），树内与随机对局只判断单劫
+ *
+ * 根节点的候选点按3×3棋形权重从高到低排列，未访问的子节点按这个顺序先被访问；
+ * 打开棋形随机对局后，叶子上的随机对局也按棋形权重抽样
+ *
+ * 设置置换表后，每次随机对局的结果也按局面键累加到表中；节点第一次被走到时，
+ * 用表中同一局面（可能来自其他着法顺序或上一手的搜索）的统计作为先验，减少重复的随机对局
+ * 后台思考：startPondering在对方思考时用同一组线程搜索对方面对的局面，直到stopPondering或下一次genMove；
+ * genMove时如果对方实际下的一手在后台思考的树中，就保留这一手的子树（连同统计）作为新的根，继续搜索
+ *
+ * 设置定式库后，局面在库中且最常见的着法出现次数足够时直接按库落子，不再搜索
+ *
+ * 界面没有停一手，根节点不含停一手；树内双方都无处可下时才停一手
+ */
+public class GoMctsPlayer {
+    // 默认每手思考时间（毫秒）
+    public static final long DEFAULT_THINK_MILLIS = 5000;
+    // UCT探索系数
+    private static final double EXPLORATION = 0.7;
+    // 未访问子节点的估值，保证每个子节点先被访问一次
+    private static final double FIRST_PLAY_URGENCY = 10.0;
+    // 每次下行记上的虚拟损失
+    private static final int VIRTUAL_LOSS = 3;
+    // 节点访问数达到这个数才展开，避免为只访问一两次的节点分配子节点
+    private static final int EXPAND_VISITS = 8;
+    // 树内路径的最大长度
+    private static final int MAX_DEPTH = 1024;
+    // 随机数种子的递增量
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    // 从置换表取得的先验最多折合的访问数，避免旧统计压住新的搜索结果
+    private static final int PRIOR_CAP = 64;
+    // 后台思考最多进行的随机对局数，达到后停止，避免对方长考时搜索树无限增长
+    private static final int PONDER_MAX_PLAYOUTS = 200_000;
+    // 按定式库落子时，着法在库中至少出现的次数
+    private static final int BOOK_MIN_COUNT = 3;
+    // 后台思考使用的搜索编号（由ponderStopRequested控制，不受stop影响）
+    private static final int PONDER_SEARCH = -1;
+
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private long thinkMillis = DEFAULT_THINK_MILLIS;
+    // 最多进行的随机对局数，0表示只受时间限制
+    private int maxPlayouts = 0;
+    private double komi = GoScorer.DEFAULT_KOMI;
+    private long seed = GoOwnershipEstimator.DEFAULT_SEED;
+    // 置换表（可与其他搜索共用），null表示不使用
+    private GoTranspositionTable table = new GoTranspositionTable();
+    // 棋形权重表，随机对局是否按它抽样由patternPlayouts决定
+    private final GoPatternTable patternTable = GoPatternTable.getDefault();
+    private boolean patternPlayouts = true;
+    // 随机对局是否应对叫吃（GoTactics）
+    private boolean tacticalPlayouts = false;
+    // 定式库，null表示不使用
+    private GoOpeningBook openingBook;
+    private ExecutorService pool;
+    // 已发出的搜索编号与已被stop的最大编号：编号不超过stoppedUpTo的搜索应尽快结束
+    // 编号在启动搜索前就已取得，stop发生在搜索线程拿到锁之前也不会丢失
+    private final AtomicInteger issuedSearchIds = new AtomicInteger();
+    private final AtomicInteger stoppedUpTo = new AtomicInteger();
+    // 开始搜索或后台思考的次数（持锁递增），延迟执行的shutdownIfIdle按它判断期间是否有了新的工作
+    private volatile int activity = 0;
+    private long searchCount = 0;
+
+    // 后台思考的搜索树根节点与搜索任务，没有后台思考时ponderRoot为null
+    private GoMctsNode ponderRoot;
+    private final List<Future<?>> ponderWorkers = new ArrayList<>();
+    private volatile boolean ponderStopRequested = false;
+
+    // 上一次搜索的统计
+    private int lastPlayouts;
+    private double lastWinRate;
+    private int lastReusedVisits;
+
+    // 搜索线程数，下一次搜索时生效
+    public synchronized void setThreads(int threads) {
+        if (threads != this.threads && pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+        this.threads = Math.max(1, threads);
+    }
+
+    public long getThinkMillis() {
+        return thinkMillis;
+    }
+
+    // 每手思考时间（毫秒）
+    public void setThinkMillis(long millis) {
+        this.thinkMillis = millis;
+    }
+
+    // 每手最多进行的随机对局数，0表示只受时间限制
+    public void setMaxPlayouts(int playouts) {
+        this.maxPlayouts = playouts;
+    }
+
+    public void setKomi(double komi) {
+        this.komi = komi;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public GoTranspositionTable getTranspositionTable() {
+        return table;
+    }
+
+    // 设置置换表，多个棋手可以共用同一张表；null表示不使用
+    public synchronized void setTranspositionTable(GoTranspositionTable table) {
+        this.table = table;
+    }
+
+    // 随机对局是否按3×3棋形权重抽样（关闭时均匀随机，每秒对局数更多）
+    public void setPatternPlayouts(boolean enabled) {
+        this.patternPlayouts = enabled;
+    }
+
+    // 随机对局是否应对叫吃：被叫吃时先读征子找逃出的着法，对方新子只剩一口气时先提掉
+    public void setTacticalPlayouts(boolean enabled) {
+        this.tacticalPlayouts = enabled;
+    }
+
+    // 设置定式库，null表示不使用
+    public synchronized void setOpeningBook(GoOpeningBook book) {
+        this.openingBook = book;
+    }
+
+    // 上一次搜索完成的随机对局数
+    public int getLastPlayouts() {
+        return lastPlayouts;
+    }
+
+    // 上一次搜索从后台思考的树中保留下来的访问数，没有保留时为0
+    public int getLastReusedVisits() {
+        return lastReusedVisits;
+    }
+
+    // 上一次选出的着法在搜索中的胜率
+    public double getLastWinRate() {
+        return lastWinRate;
+    }
+
+    /**
+     * 取得下一次搜索的编号，在另一个线程上调用genMove之前先在本线程取得，之后的stop对它一定有效
+     */
+    public int nextSearchId() {
+        return issuedSearchIds.incrementAndGet();
+    }
+
+    /**
+     * 让正在进行以及已取得编号、尚未开始的搜索尽快结束并返回当前最好的着法（可在任意线程调用）
+     */
+    public void stop() {
+        int issued = issuedSearchIds.get();
+        stoppedUpTo.accumulateAndGet(issued, Math::max);
+    }
+
+    // 编号为searchId的搜索是否已被stop
+    private boolean isStopped(int searchId) {
+        return searchId <= stoppedUpTo.get();
+    }
+
+    // 开始搜索或后台思考的次数，作为shutdownIfIdle的参数（可在任意线程调用，不加锁）
+    public int getActivity() {
+        return activity;
+    }
+
+    /**
+     * 自取得activity以来没有开始新的搜索或后台思考时才关闭搜索线程池
+     * 棋手在多局之间共用时，上一局延迟执行的关闭不会停掉下一局已经开始的后台思考
+     *
+     * @param activity 决定关闭时getActivity的值
+     */
+    public synchronized void shutdownIfIdle(int activity) {
+        if (this.activity == activity)
+            shutdown();
+    }
+
+    // 关闭搜索线程池
+    public synchronized void shutdown() {
+        joinPondering();
+        ponderRoot = null;
+        if (pool != null) {
+            pool.shutdownNow();
+            pool = null;
+        }
+    }
+
+    /**
+     * 在对方思考时开始后台搜索（立即返回），之前的后台思考先停止
+     * 搜索一直进行到stopPondering、下一次genMove或达到对局数上限
+     *
+     * @param board 对方面对的局面，调用方应传入不会被其他线程修改的棋盘（如GoBoard.copy的副本）
+     * @param color 对方（将要落子一方）的颜色
+     */
+    public synchronized void startPondering(GoBoard board, int color) {
+        activity++;
+        joinPondering();
+        ponderRoot = null;
+        GoMctsNode[] children = rootChildren(board, color, patternTable);
+        // 对方没有选择时不必思考
+        if (children.length < 2)
+            return;
+        GoMctsNode root = new GoMctsNode(GoBoard.PASS, 3 - color);
+        root.expand(children);
+        GoGeometry geometry = board.getGeometry();
+        byte[] start = board.getPoints().clone();
+        int koPoint = GoPlayoutBoard.koPointOf(board);
+        GoPlayoutBoard rootBoard = new GoPlayoutBoard(geometry);
+        rootBoard.reset(start, koPoint);
+        root.setKey(rootBoard.positionKey(color));
+
+        ponderStopRequested = false;
+        ponderRoot = root;
+        long searchSeed = seed + (searchCount++) * GOLDEN_GAMMA;
+        ensurePool();
+        for (int i = 0; i < threads; i++) {
+            long workerSeed = searchSeed + i * 0x632BE59BD9B4E019L;
+            ponderWorkers.add(pool.submit(() -> search(root, start, koPoint, geometry, color, Long.MAX_VALUE,
+                    PONDER_MAX_PLAYOUTS, PONDER_SEARCH, workerSeed)));
+        }
+    }
+
+    /**
+     * 停止后台思考（可在任意线程调用，不等待搜索线程退出）
+     * 已经建立的搜索树保留到下一次genMove，对方的一手在树中时仍可沿用
+     */
+    public void stopPondering() {
+        ponderStopRequested = true;
+    }
+
+    // 停止后台思考并等待搜索线程退出
+    private void joinPondering() {
+        ponderStopRequested = true;
+        try {
+            for (Future<?> worker : ponderWorkers) {
+                try {
+                    worker.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("后台思考线程出错", e.getCause());
+                }
+            }
+        } finally {
+            ponderWorkers.clear();
+        }
+    }
+
+    /**
+     * 为棋盘的当前局面选一手（阻塞到时间用完、达到对局数或被stop）
+     * 搜索期间会反复读取board，调用方应传入不会被其他线程修改的棋盘（如GoBoard.copy的副本）
+     * 正在后台思考时先停止，对方的一手在后台思考的树中时沿用它的子树
+     *
+     * @param board        当前局面
+     * @param color        落子方颜色
+     * @param budgetMillis 本手可用的时间（毫秒），不超过思考时间
+     * @return 点位编码，没有合法点时为GoBoard.PASS
+     */
+    public int genMove(GoBoard board, int color, long budgetMillis) {
+        return genMove(board, color, budgetMillis, nextSearchId());
+    }
+
+    /**
+     * 同genMove，搜索编号由调用方事先用nextSearchId取得；编号已被stop时不再搜索，直接返回第一个候选点
+     *
+     * @param searchId 本次搜索的编号
+     */
+    public synchronized int genMove(GoBoard board, int color, long budgetMillis, int searchId) {
+        activity++;
+        GoMctsNode ponderTree = ponderRoot;
+        joinPondering();
+        ponderRoot = null;
+        lastReusedVisits = 0;
+
+        int bookMove = bookMove(board, color);
+        if (bookMove != GoBoard.PASS)
+            return bookMove;
+
+        GoGeometry geometry = board.getGeometry();
+        byte[] start = board.getPoints().clone();
+        int koPoint = GoPlayoutBoard.koPointOf(board);
+        GoPlayoutBoard rootBoard = new GoPlayoutBoard(geometry);
+        rootBoard.reset(start, koPoint);
+        long rootKey = rootBoard.positionKey(color);
+
+        GoMctsNode root = new GoMctsNode(GoBoard.PASS, 3 - color);
+        GoMctsNode reused = findPondered(ponderTree, rootKey);
+        GoMctsNode[] children = reused == null ? null : reusedChildren(reused, board, color);
+        if (children != null) {
+            lastReusedVisits = reused.getVisits();
+            root.addPrior(lastReusedVisits, 0);
+        } else {
+            children = rootChildren(board, color, patternTable);
+        }
+        if (children.length == 0) {
+            lastPlayouts = 0;
+            lastWinRate = 0.0;
+            return GoBoard.PASS;
+        }
+        root.expand(children);
+        if (children.length == 1) {
+            lastPlayouts = 0;
+            lastWinRate = 0.0;
+            return children[0].move;
+        }
+
+        root.setKey(rootKey);
+        if (table != null && lastReusedVisits == 0)
+            preferBestMove(children, GoTranspositionTable.bestMove(table.probe(rootKey)));
+        long deadline = System.nanoTime() + Math.min(budgetMillis, thinkMillis) * 1_000_000L;
+        long searchSeed = seed + (searchCount++) * GOLDEN_GAMMA;
+
+        ensurePool();
+        List<Future<?>> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            long workerSeed = searchSeed + i * 0x632BE59BD9B4E019L;
+            workers.add(pool.submit(
+                    () -> search(root, start, koPoint, geometry, color, deadline, maxPlayouts, searchId, workerSeed)));
+        }
+        for (Future<?> worker : workers) {
+            try {
+                worker.get();
+            } catch (InterruptedException e) {
+                stoppedUpTo.accumulateAndGet(searchId, Math::max);
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("搜索线程出错", e.getCause());
+            }
+        }
+
+        GoMctsNode best = children[0];
+        for (GoMctsNode child : children) {
+            if (child.getVisits() > best.getVisits())
+                best = child;
+        }
+        lastPlayouts = root.getVisits() - lastReusedVisits;
+        lastWinRate = best.winRate();
+        if (table != null)
+            table.setBestMove(rootKey, best.move);
+        return best.move;
+    }
+
+    // 定式库中当前局面最常见的合法着法，没有时返回GoBoard.PASS
+    private int bookMove(GoBoard board, int color) {
+        if (openingBook == null)
+            return GoBoard.PASS;
+        GoOpeningBook.Candidate c = openingBook.best(board, color, BOOK_MIN_COUNT);
+        if (c == null || new GoPlaceProcessor(board).check(c.move / GoBoard.BOARD_SIZE, c.move % GoBoard.BOARD_SIZE,
+                color, 0) != 0)
+            return GoBoard.PASS;
+        lastPlayouts = 0;
+        lastWinRate = c.winRate();
+        return c.move;
+    }
+
+    private void ensurePool() {
+        if (pool == null) {
+            pool = Executors.newFixedThreadPool(threads, r -> {
+                Thread t = new Thread(r, "GoMcts-Search");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+
+    // 在后台思考的树中找出对方实际下的一手（按局面键匹配），没有或未展开时返回null
+    private static GoMctsNode findPondered(GoMctsNode ponderTree, long rootKey) {
+        if (ponderTree == null || ponderTree.getChildren() == null)
+            return null;
+        for (GoMctsNode child : ponderTree.getChildren()) {
+            if (child.getKey() == rootKey)
+                return child.getChildren() != null ? child : null;
+        }
+        return null;
+    }
+
+    /**
+     * 沿用子树的子节点作为根节点的候选点：去掉停一手和GoPlaceProcessor判定不合法的点（树内只判断单劫）
+     *
+     * @return 候选点，一个都不剩时返回null
+     */
+    private static GoMctsNode[] reusedChildren(GoMctsNode reused, GoBoard board, int color) {
+        long[] mask = new long[GoMoveChecker.MASK_WORDS];
+        new GoPlaceProcessor(board).legalMoves(color, mask);
+        List<GoMctsNode> moves = new ArrayList<>();
+        for (GoMctsNode child : reused.getChildren()) {
+            if (child.move != GoBoard.PASS && GoMoveChecker.isLegal(mask, child.move))
+                moves.add(child);
+        }
+        return moves.isEmpty() ? null : moves.toArray(new GoMctsNode[0]);
+    }
+
+    // 根节点的候选点：GoPlaceProcessor判定合法且不填自己眼的点，全是眼时保留眼位；按棋形权重从高到低排列
+    private static GoMctsNode[] rootChildren(GoBoard board, int color, GoPatternTable patternTable) {
+        long[] mask = new long[GoMoveChecker.MASK_WORDS];
+        new GoPlaceProcessor(board).legalMoves(color, mask);
+        GoPlayoutBoard eyes = new GoPlayoutBoard(board.getGeometry());
+        eyes.reset(board);
+        GoGeometry geometry = board.getGeometry();
+        List<GoMctsNode> moves = new ArrayList<>();
+        List<GoMctsNode> eyeMoves = new ArrayList<>();
+        for (int i = 0; i < geometry.pointCount(); i++) {
+            int pos = geometry.point(i);
+            if (!GoMoveChecker.isLegal(mask, pos))
+                continue;
+            if (eyes.isOwnEye(pos, color))
+                eyeMoves.add(new GoMctsNode(pos, color));
+            else
+                moves.add(new GoMctsNode(pos, color));
+        }
+        List<GoMctsNode> candidates = moves.isEmpty() ? eyeMoves : moves;
+        GoPatternCodes patterns = board.getPatternCodes();
+        candidates.sort((a, b) -> Integer.compare(patternTable.weight(patterns.code(b.move), color),
+                patternTable.weight(patterns.code(a.move), color)));
+        return candidates.toArray(new GoMctsNode[0]);
+    }
+
+    // 把置换表记录的最佳着法排到第一个，未访问的子节点按顺序先被访问
+    private static void preferBestMove(GoMctsNode[] children, int move) {
+        for (int i = 1; i < children.length; i++) {
+            if (children[i].move == move) {
+                GoMctsNode tmp = children[0];
+                children[0] = children[i];
+                children[i] = tmp;
+                return;
+            }
+        }
+    }
+
+    /**
+     * 单个搜索线程：反复执行选点、展开、随机对局、回传，直到超时、达到对局数或被stop（后台思考时为stopPondering）
+     *
+     * @param limit    根节点访问数上限，0表示只受时间限制
+     * @param searchId 搜索编号，后台思考为PONDER_SEARCH
+     */
+    private void search(GoMctsNode root, byte[] start, int koPoint, GoGeometry geometry, int toMove,
+            long deadline, int limit, int searchId, long workerSeed) {
+        boolean ponder = searchId == PONDER_SEARCH;
+        GoPlayout playout = new GoPlayout(geometry);
+        if (patternPlayouts)
+            playout.setPatternTable(patternTable);
+        playout.setTactics(tacticalPlayouts);
+        GoPlayoutBoard board = playout.getBoard();
+        GoMctsNode[] path = new GoMctsNode[MAX_DEPTH];
+        GoTranspositionTable table = this.table;
+        long playoutSeed = workerSeed;
+        while (!(ponder ? ponderStopRequested : isStopped(searchId)) && System.nanoTime() < deadline
+                && (limit == 0 || root.getVisits() < limit)) {
+            board.reset(start, koPoint);
+            int color = toMove;
+            int depth = 0;
+            int passes = 0;
+            GoMctsNode node = root;
+            node.addVirtualLoss(VIRTUAL_LOSS);
+            path[depth++] = node;
+
+            // 选点：沿UCT值最大的子节点下行
+            GoMctsNode[] children;
+            while ((children = node.getChildren()) != null && passes < 2 && depth < MAX_DEPTH) {
+                node = select(node, children);
+                node.addVirtualLoss(VIRTUAL_LOSS);
+                path[depth++] = node;
+                if (node.move == GoBoard.PASS) {
+                    board.pass();
+                    passes++;
+                } else {
+                    board.play(node.move, color);
+                    passes = 0;
+                }
+                color = 3 - color;
+                // 局面键不论是否使用置换表都要记下，沿用后台思考的子树时按它匹配对方的一手
+                if (node.getKey() == 0 && node.setKey(board.positionKey(color)) && table != null)
+                    seedFromTable(node, table);
+            }
+
+            if (passes < 2) {
+                // 展开：访问够多的叶子生成子节点，本次仍从叶子开始随机对局
+                if (node.getChildren() == null && node.getVisits() >= EXPAND_VISITS)
+                    node.expand(expand(board, color));
+                playout.setSeed(playoutSeed++);
+                playout.run(color);
+            }
+
+            // 回传：每个节点按走到它的一方统计胜负
+            int winner = board.score(komi) > 0 ? GoBoard.BLACK : GoBoard.WHITE;
+            for (int i = 0; i < depth; i++) {
+                boolean win = path[i].color == winner;
+                path[i].update(win, VIRTUAL_LOSS);
+                if (table != null)
+                    table.update(path[i].getKey(), 1, win ? 1 : 0);
+            }
+        }
+    }
+
+    // 节点第一次被走到时，把置换表中同一局面的统计（按上限折算）作为先验
+    private static void seedFromTable(GoMctsNode node, GoTranspositionTable table) {
+        long data = table.probe(node.getKey());
+        int visits = GoTranspositionTable.visits(data);
+        if (visits == 0)
+            return;
+        int wins = GoTranspositionTable.wins(data);
+        if (visits > PRIOR_CAP) {
+            wins = (int) ((long) wins * PRIOR_CAP / visits);
+            visits = PRIOR_CAP;
+        }
+        node.addPrior(visits, wins);
+    }
+
+    // 按UCT值选出子节点，未访问过的子节点优先
+    private static GoMctsNode select(GoMctsNode node, GoMctsNode[] children) {
+        double logParent = Math.log(Math.max(1, node.getVisits()));
+        GoMctsNode best = children[0];
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (GoMctsNode child : children) {
+            int visits = child.getVisits();
+            double value = visits == 0 ? FIRST_PLAY_URGENCY
+                    : (double) child.getWins() / visits + EXPLORATION * Math.sqrt(logParent / visits);
+            if (value > bestValue) {
+                bestValue = value;
+                best = child;
+            }
+        }
+        return best;
+    }
+
+    // 生成叶子局面下一方的子节点：合法且不填自己眼的点，没有时只有停一手
+    private static GoMctsNode[] expand(GoPlayoutBoard board, int color) {
+        int count = 0;
+        for (int i = 0; i < board.emptyCount(); i++) {
+            int pos = board.emptyAt(i);
+            if (!board.isOwnEye(pos, color) && board.check(pos, color) == 0)
+                count++;
+        }
+        if (count == 0)
+            return new GoMctsNode[] { new GoMctsNode(GoBoard.PASS, color) };
+        GoMctsNode[] children = new GoMctsNode[count];
+        count = 0;
+        for (int i = 0; i < board.emptyCount(); i++) {
+            int pos = board.emptyAt(i);
+            if (!board.isOwnEye(pos, color) && board.check(pos, color) == 0)
+                children[count++] = new GoMctsNode(pos, color);
+        }
+        return children;
+    }
+}
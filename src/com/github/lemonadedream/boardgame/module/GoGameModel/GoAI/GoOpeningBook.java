@@ -0,0 +1,184 @@
+package com.github.lemonadedream.boardgame.module.GoGameModel.GoAI;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoBoard;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoSymmetry;
+
+/**
+ * 定式库：按规范化局面键（GoSymmetry）存放开局各局面下的候选着法、出现次数与胜局数
+ * 库文件按键排序，打开时整体内存映射，查询在映射区上二分查找，打开不读入内容、不占堆内存
+ *
+ * 文件布局（大端序）：int 魔数"GOB1"，short 版本，short 收录的最大手数，int 条目数，
+ * 之后每个条目20字节：long 局面键，short 规范形式下的着法，short 保留，int 出现次数，int 胜局数（按落子方统计）
+ * 同一局面的条目相邻，按出现次数从多到少排列。文件由GoOpeningBookBuilder生成
+ */
+public class GoOpeningBook implements Closeable {
+    static final int MAGIC = 0x474F4231;
+    static final short VERSION = 1;
+    static final int HEADER_BYTES = 12;
+    static final int ENTRY_BYTES = 20;
+
+    /**
+     * 一个候选着法（已变换回查询局面的方向）
+     */
+    public static final class Candidate {
+        public final int move;
+        public final int count;
+        public final int wins;
+
+        Candidate(int move, int count, int wins) {
+            this.move = move;
+            this.count = count;
+            this.wins = wins;
+        }
+
+        // 落子方的胜率
+        public double winRate() {
+            return count == 0 ? 0.0 : (double) wins / count;
+        }
+
+        @Override
+        public String toString() {
+            int x = move / GoBoard.BOARD_SIZE;
+            int y = move % GoBoard.BOARD_SIZE;
+            return String.format("(%d,%d) %d次 胜率%.1f%%", x, y, count, winRate() * 100);
+        }
+    }
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int entries;
+    private final int maxDepth;
+
+    private GoOpeningBook(FileChannel channel, MappedByteBuffer buffer) throws IOException {
+        this.channel = channel;
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC)
+            throw new IOException("不是定式库文件");
+        if (buffer.getShort(4) != VERSION)
+            throw new IOException("不支持的定式库版本 " + buffer.getShort(4));
+        this.maxDepth = buffer.getShort(6);
+        this.entries = buffer.getInt(8);
+        if ((long) HEADER_BYTES + (long) entries * ENTRY_BYTES > buffer.capacity())
+            throw new IOException("定式库文件不完整");
+    }
+
+    /**
+     * 打开定式库文件（内存映射，只读）
+     */
+    public static GoOpeningBook open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            if (channel.size() > Integer.MAX_VALUE)
+                throw new IOException("定式库文件超过2GB: " + path);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new GoOpeningBook(channel, buffer);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // 条目数
+    public int size() {
+        return entries;
+    }
+
+    // 收录的最大手数，超过这个手数的局面不在库中
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * 查询局面下的全部候选着法（按出现次数从多到少）
+     *
+     * @param board 当前局面
+     * @param color 将要落子的一方
+     * @return 不在库中时为空表
+     */
+    public List<Candidate> lookup(GoBoard board, int color) {
+        List<Candidate> result = new ArrayList<>();
+        if (board.stackTop + 1 > maxDepth)
+            return result;
+        GoSymmetry symmetry = GoSymmetry.of(board.getGeometry().getSize());
+        byte[] points = board.getPoints();
+        int s = symmetry.canonical(points, color);
+        long key = symmetry.key(points, s, color);
+        int back = GoSymmetry.inverse(s);
+        for (int i = firstIndex(key); i < entries && keyAt(i) == key; i++) {
+            int move = symmetry.transform(back, moveAt(i));
+            // 对称局面下不同的规范着法可能变回同一点，也可能已被占（键冲突），都跳过
+            if (points[move] == GoBoard.EMPTY && !contains(result, move))
+                result.add(new Candidate(move, countAt(i), winsAt(i)));
+        }
+        return result;
+    }
+
+    /**
+     * 查询局面下出现次数最多的着法
+     *
+     * @param minCount 最少出现次数，次数不足时视为不在库中
+     * @return 候选着法，没有时为null
+     */
+    public Candidate best(GoBoard board, int color, int minCount) {
+        List<Candidate> candidates = lookup(board, color);
+        if (candidates.isEmpty() || candidates.get(0).count < minCount)
+            return null;
+        return candidates.get(0);
+    }
+
+    private static boolean contains(List<Candidate> candidates, int move) {
+        for (Candidate c : candidates) {
+            if (c.move == move)
+                return true;
+        }
+        return false;
+    }
+
+    // 二分查找键的第一个条目，没有时返回键应插入的位置
+    private int firstIndex(long key) {
+        int lo = 0;
+        int hi = entries;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keyAt(mid) < key)
+                lo = mid + 1;
+            else
+                hi = mid;
+        }
+        return lo;
+    }
+
+    private int offset(int i) {
+        return HEADER_BYTES + i * ENTRY_BYTES;
+    }
+
+    private long keyAt(int i) {
+        return buffer.getLong(offset(i));
+    }
+
+    private int moveAt(int i) {
+        return buffer.getShort(offset(i) + 8);
+    }
+
+    private int countAt(int i) {
+        return buffer.getInt(offset(i) + 12);
+    }
+
+    private int winsAt(int i) {
+        return buffer.getInt(offset(i) + 16);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
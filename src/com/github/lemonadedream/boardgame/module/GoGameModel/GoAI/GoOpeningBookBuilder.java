@@ -0,0 +1,119 @@
+package com.github.lemonadedream.boardgame.module.GoGameModel.GoAI;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoBoard;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoSymmetry;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoRecord.GoGameRecord;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoRecord.GoRecordFile;
+
+/**
+ * 由对局记录生成定式库：重放每局的前若干手，按规范化局面键累计每个着法的出现次数与落子方的胜局数，
+ * 最后按键排序写成GoOpeningBook的文件格式
+ */
+public class GoOpeningBookBuilder {
+    private final int maxDepth;
+    // 规范键 -> (规范着法 -> {出现次数, 胜局数})
+    private final Map<Long, Map<Integer, int[]>> positions = new HashMap<>();
+    private long games = 0;
+
+    /**
+     * @param maxDepth 每局收录的手数
+     */
+    public GoOpeningBookBuilder(int maxDepth) {
+        this.maxDepth = maxDepth;
+    }
+
+    // 已收录的局数
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * 收录对局记录文件中的全部对局
+     */
+    public void addAll(Path recordFile) throws IOException {
+        GoGameRecord record = new GoGameRecord();
+        try (GoRecordFile file = new GoRecordFile(recordFile)) {
+            while (file.next()) {
+                file.read(record);
+                add(record);
+            }
+        }
+    }
+
+    /**
+     * 收录一局的前maxDepth手（遇到认输或记录中不合法的着法时停止）
+     */
+    public void add(GoGameRecord record) {
+        GoBoard board = new GoBoard(record.getSize());
+        GoSymmetry symmetry = GoSymmetry.of(record.getSize());
+        byte[] points = board.getPoints();
+        int depth = Math.min(maxDepth, record.getMoveCount());
+        for (int i = 0; i < depth; i++) {
+            int pos = record.getMovePos(i);
+            int color = record.getMoveColor(i);
+            if (pos == GoGameRecord.RESIGN)
+                break;
+            if (pos != GoBoard.PASS) {
+                if (points[pos] != GoBoard.EMPTY)
+                    break;
+                int s = symmetry.canonical(points, color);
+                long key = symmetry.key(points, s, color);
+                int[] stats = positions.computeIfAbsent(key, k -> new HashMap<>())
+                        .computeIfAbsent(symmetry.canonicalMove(points, color, pos), m -> new int[2]);
+                stats[0]++;
+                if (record.getWinner() == color)
+                    stats[1]++;
+            }
+            board.play(pos, color);
+        }
+        games++;
+    }
+
+    /**
+     * 写出定式库文件
+     *
+     * @param minCount 出现次数少于这个数的着法不写入
+     * @return 写入的条目数
+     */
+    public int write(Path path, int minCount) throws IOException {
+        List<Long> keys = new ArrayList<>(positions.keySet());
+        keys.sort(Long::compare);
+        List<long[]> entries = new ArrayList<>();
+        for (long key : keys) {
+            List<long[]> moves = new ArrayList<>();
+            for (Map.Entry<Integer, int[]> e : positions.get(key).entrySet()) {
+                int[] stats = e.getValue();
+                if (stats[0] >= minCount)
+                    moves.add(new long[] { key, e.getKey(), stats[0], stats[1] });
+            }
+            moves.sort((a, b) -> a[2] != b[2] ? Long.compare(b[2], a[2]) : Long.compare(a[1], b[1]));
+            entries.addAll(moves);
+        }
+
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(path), 1 << 16))) {
+            out.writeInt(GoOpeningBook.MAGIC);
+            out.writeShort(GoOpeningBook.VERSION);
+            out.writeShort(maxDepth);
+            out.writeInt(entries.size());
+            for (long[] e : entries) {
+                out.writeLong(e[0]);
+                out.writeShort((int) e[1]);
+                out.writeShort(0);
+                out.writeInt((int) e[2]);
+                out.writeInt((int) e[3]);
+            }
+        }
+        return entries.size();
+    }
+}
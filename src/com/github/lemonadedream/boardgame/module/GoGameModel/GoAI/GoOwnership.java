@@ -0,0 +1,90 @@
+package com.github.lemonadedream.boardgame.module.GoGameModel.GoAI;
+
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoBoard;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoGeometry;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoLogic.GoMoveChecker;
+
+/**
+ * 归属估计结果：每个点在随机对局终局时归黑、归白的比例
+ * 归属值在[-1, 1]之间，正数偏向黑方，负数偏向白方
+ */
+public class GoOwnership {
+    // 对方的归属值超过这个数（约75%的对局归对方）时认为棋子已死
+    public static final double DEAD_THRESHOLD = 0.5;
+
+    private final byte[] board;
+    private final GoGeometry geometry;
+    // 每个点归黑的次数减去归白的次数
+    private final int[] tally;
+    private final int playouts;
+
+    GoOwnership(byte[] board, GoGeometry geometry, int[] tally, int playouts) {
+        this.board = board;
+        this.geometry = geometry;
+        this.tally = tally;
+        this.playouts = playouts;
+    }
+
+    // 实际完成的随机对局数
+    public int getPlayouts() {
+        return playouts;
+    }
+
+    /**
+     * 取出点位的归属值
+     *
+     * @return [-1, 1]，正数偏向黑方；没有完成任何对局时为0
+     */
+    public double getOwnership(int pos) {
+        return playouts == 0 ? 0.0 : (double) tally[pos] / playouts;
+    }
+
+    /**
+     * 判断点位上的棋子是否为死子（多数随机对局中该点最终归对方）
+     */
+    public boolean isDead(int pos) {
+        int color = board[pos];
+        if (color == GoBoard.BLACK)
+            return getOwnership(pos) < -DEAD_THRESHOLD;
+        if (color == GoBoard.WHITE)
+            return getOwnership(pos) > DEAD_THRESHOLD;
+        return false;
+    }
+
+    /**
+     * 取出建议的死子位图，可直接交给GoScorer.score数子
+     *
+     * @return 长度为GoMoveChecker.MASK_WORDS的位图
+     */
+    public long[] getDeadMask() {
+        long[] mask = new long[GoMoveChecker.MASK_WORDS];
+        for (int i = 0; i < geometry.pointCount(); i++) {
+            int pos = geometry.point(i);
+            if (isDead(pos))
+                mask[pos >>> 6] |= 1L << pos;
+        }
+        return mask;
+    }
+
+    // 建议的死子个数
+    public int getDeadCount() {
+        int count = 0;
+        for (int i = 0; i < geometry.pointCount(); i++) {
+            if (isDead(geometry.point(i)))
+                count++;
+        }
+        return count;
+    }
+
+    /**
+     * 按归属期望估计数子法下黑方领先的目数（负数表示白方领先）
+     *
+     * @param komi 贴目
+     */
+    public double getEstimatedMargin(double komi) {
+        double sum = 0.0;
+        for (int i = 0; i < geometry.pointCount(); i++)
+            sum += getOwnership(geometry.point(i));
+        return sum - komi;
+    }
+}
@@ -0,0 +1,142 @@
+package com.github.lemonadedream.boardgame.module.GoGameModel.GoAI;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoBoard;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoGeometry;
+
+/**
+ * 蒙特卡洛归属估计：从当前局面出发在所有核心上并行跑大量随机对局（GoPlayout），统计每个点最终归谁
+ *
+ * 第i局的随机数只由种子和i决定，与线程数、任务拆分方式无关；
+ * 在不设时间预算（或预算足够跑完全部对局）时，相同种子得到完全相同的结果
+ */
+public class GoOwnershipEstimator {
+    // 默认种子
+    public static final long DEFAULT_SEED = 20240229L;
+    // 单个任务不再拆分的对局数
+    private static final int LEAF_PLAYOUTS = 32;
+
+    private final GoBoard boardModel;
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+    private long seed = DEFAULT_SEED;
+    private int playouts = 2000;
+    // 时间预算（毫秒），0表示不限
+    private long timeBudgetMillis = 0;
+
+    public GoOwnershipEstimator(GoBoard boardModel) {
+        this.boardModel = boardModel;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    // 最多进行的随机对局数
+    public void setPlayouts(int playouts) {
+        this.playouts = playouts;
+    }
+
+    /**
+     * 设置时间预算，超时后不再开始新的随机对局，已完成的对局照常计入结果
+     *
+     * @param millis 毫秒，0表示不限
+     */
+    public void setTimeBudgetMillis(long millis) {
+        this.timeBudgetMillis = millis;
+    }
+
+    // 使用独立的线程池（默认使用公共池）
+    public void setPool(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * 估计当前局面的归属（应在修改棋盘的线程上调用，开始时会复制一份局面）
+     *
+     * @param toMove 下一手的颜色
+     */
+    public GoOwnership estimate(int toMove) {
+        byte[] start = boardModel.getPoints().clone();
+        int koPoint = GoPlayoutBoard.koPointOf(boardModel);
+        GoGeometry geometry = boardModel.getGeometry();
+        long deadline = timeBudgetMillis > 0 ? System.nanoTime() + timeBudgetMillis * 1_000_000L : Long.MAX_VALUE;
+        int[] tally = pool.invoke(new PlayoutTask(start, koPoint, geometry, toMove, seed, 0, playouts, deadline));
+        if (tally == null)
+            tally = new int[GoBoard.POINT_COUNT + 1];
+        int done = tally[GoBoard.POINT_COUNT];
+        return new GoOwnership(start, geometry, tally, done);
+    }
+
+    /**
+     * 把一段对局编号拆成两半并行执行，结果为各点归属计数之和，最后一格为完成的对局数
+     * 开始执行时已经超时的任务直接返回null，不再分配缓冲区
+     */
+    private static class PlayoutTask extends RecursiveTask<int[]> {
+        private final byte[] start;
+        private final int koPoint;
+        private final GoGeometry geometry;
+        private final int toMove;
+        private final long seed;
+        private final int from;
+        private final int to;
+        private final long deadline;
+
+        PlayoutTask(byte[] start, int koPoint, GoGeometry geometry, int toMove, long seed, int from, int to,
+                long deadline) {
+            this.start = start;
+            this.koPoint = koPoint;
+            this.geometry = geometry;
+            this.toMove = toMove;
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+            this.deadline = deadline;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (System.nanoTime() > deadline)
+                return null;
+            if (to - from > LEAF_PLAYOUTS) {
+                int mid = (from + to) >>> 1;
+                PlayoutTask left = new PlayoutTask(start, koPoint, geometry, toMove, seed, from, mid, deadline);
+                PlayoutTask right = new PlayoutTask(start, koPoint, geometry, toMove, seed, mid, to, deadline);
+                left.fork();
+                int[] result = right.compute();
+                int[] other = left.join();
+                if (result == null || other == null)
+                    return result == null ? other : result;
+                for (int i = 0; i < result.length; i++)
+                    result[i] += other[i];
+                return result;
+            }
+            int[] tally = new int[GoBoard.POINT_COUNT + 1];
+            GoPlayout playout = new GoPlayout(geometry);
+            GoPlayoutBoard board = playout.getBoard();
+            for (int i = from; i < to; i++) {
+                if (System.nanoTime() > deadline)
+                    break;
+                board.reset(start, koPoint);
+                playout.setSeed(seed + i * 0x9E3779B97F4A7C15L);
+                playout.run(toMove);
+                accumulate(board, geometry, tally);
+                tally[GoBoard.POINT_COUNT]++;
+            }
+            return tally;
+        }
+    }
+
+    // 终局时棋子归其颜色，四邻同色的空点归该色
+    private static void accumulate(GoPlayoutBoard board, GoGeometry geometry, int[] tally) {
+        for (int i = 0; i < geometry.pointCount(); i++) {
+            int pos = geometry.point(i);
+            int c = board.ownerAt(pos);
+            if (c == GoBoard.BLACK)
+                tally[pos]++;
+            else if (c == GoBoard.WHITE)
+                tally[pos]--;
+        }
+    }
+}
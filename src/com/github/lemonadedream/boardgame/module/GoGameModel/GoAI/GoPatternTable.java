@@ -0,0 +1,104 @@
+package com.github.lemonadedream.boardgame.module.GoGameModel.GoAI;
+
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoBoard;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoPatternCodes;
+
+/**
+ * 3×3棋形权重表：对全部4^8种邻域编码预先算好黑、白落子的权重，查询为一次数组访问
+ * 编码由GoPatternCodes增量维护，随机对局和电脑棋手按权重抽样候选点
+ *
+ * 权重以100为基准：靠近对方棋子、扳、断等接触战的棋形加权，填自己的眼、
+ * 钻进对方的眼、空旷的一二线降权
+ */
+public final class GoPatternTable {
+    // 基准权重
+    public static final int BASE_WEIGHT = 100;
+    // 邻点中上、左、右、下四个正交方向在编码中的序号
+    private static final int[] ORTHOGONAL = { 1, 3, 4, 6 };
+    // 四个角：对角点序号及夹着它的两个正交点序号
+    private static final int[][] CORNERS = { { 0, 1, 3 }, { 2, 1, 4 }, { 5, 6, 3 }, { 7, 6, 4 } };
+
+    private static GoPatternTable defaultTable;
+
+    // 按(颜色 - 1) << 16 | 编码存放的权重
+    private final int[] weights = new int[2 * GoPatternCodes.CODE_COUNT];
+
+    private GoPatternTable() {
+        for (int code = 0; code < GoPatternCodes.CODE_COUNT; code++) {
+            weights[code] = evaluate(code, GoBoard.BLACK);
+            weights[GoPatternCodes.CODE_COUNT | code] = evaluate(code, GoBoard.WHITE);
+        }
+    }
+
+    // 取出共用的默认权重表（第一次调用时生成）
+    public static synchronized GoPatternTable getDefault() {
+        if (defaultTable == null)
+            defaultTable = new GoPatternTable();
+        return defaultTable;
+    }
+
+    /**
+     * 取出在某个邻域落子的权重
+     *
+     * @param code  点位的邻域编码
+     * @param color 落子颜色
+     */
+    public int weight(int code, int color) {
+        return weights[((color - 1) << 16) | code];
+    }
+
+    // 取出编码中第k个邻点的状态
+    private static int stateAt(int code, int k) {
+        return (code >>> (2 * k)) & 3;
+    }
+
+    // 按棋形规则计算权重
+    private static int evaluate(int code, int color) {
+        int opponent = 3 - color;
+        int own = 0;
+        int opp = 0;
+        int wall = 0;
+        for (int k : ORTHOGONAL) {
+            int state = stateAt(code, k);
+            if (state == color)
+                own++;
+            else if (state == opponent)
+                opp++;
+            else if (state == GoPatternCodes.WALL_STATE)
+                wall++;
+        }
+        // 四周全是自己的棋子：填自己的眼
+        if (own + wall == 4)
+            return 1;
+        // 四周全是对方的棋子：钻进对方的眼，多数情况下是自杀或送吃
+        if (opp + wall == 4)
+            return 2;
+
+        int weight = BASE_WEIGHT;
+        if (opp > 0 && own > 0)
+            weight *= 4; // 扳、挡、断等双方棋子都挨着的接触战
+        else if (opp > 0)
+            weight *= 2; // 靠、碰
+        for (int[] corner : CORNERS) {
+            // 两个正交点都是对方棋子而夹着的对角点不是：切断点
+            if (stateAt(code, corner[1]) == opponent && stateAt(code, corner[2]) == opponent
+                    && stateAt(code, corner[0]) != opponent) {
+                weight *= 3;
+                break;
+            }
+        }
+        if (wall > 0 && own == 0 && opp == 0 && isEmptyExceptWalls(code))
+            weight /= 2; // 空旷的边线
+        return weight;
+    }
+
+    // 邻域内除墙外全是空点
+    private static boolean isEmptyExceptWalls(int code) {
+        for (int k = 0; k < GoPatternCodes.OFFSETS.length; k++) {
+            int state = stateAt(code, k);
+            if (state != GoBoard.EMPTY && state != GoPatternCodes.WALL_STATE)
+                return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,172 @@
+package com.github.lemonadedream.boardgame.module.GoGameModel.GoAI;
+
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoBoard;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoGeometry;
+
+/**
+ * 轻量随机对局：双方轮流下随机的合法且不填自己眼的点，找不到就停一手，连续两次停一手即终局
+ * 棋盘与随机数都在实例内部，重复运行不分配内存；每个线程使用自己的实例
+ *
+ * 用法：getBoard().reset(...)摆好局面，setSeed设定种子，run下到终局，再用getBoard().score数子
+ *
+ * 设置棋形权重表后，每手先按3×3棋形权重抽样若干次，都不合适时再退回均匀随机
+ * 打开战术计算后，对方上一手叫吃了己方棋块时先找逃出的着法，上一手的子只剩一口气时先提掉
+ */
+public class GoPlayout {
+    // 随机数状态的递增量（SplitMix64）
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    // 每手按棋形权重抽样的最多次数
+    private static final int PATTERN_TRIES = 8;
+    // 随机对局中每次战术计算的最多节点数
+    private static final int TACTICS_NODE_LIMIT = 200;
+
+    private final GoPlayoutBoard board;
+    // 打劫可能来回提子，限制总步数保证结束
+    private final int maxMoves;
+    private long state;
+    // 战术计算，null表示不使用
+    private GoTactics tactics;
+    // 对方的上一手，停一手时为GoBoard.PASS
+    private int lastMove = GoBoard.PASS;
+
+    public GoPlayout(GoGeometry geometry) {
+        this.board = new GoPlayoutBoard(geometry);
+        this.maxMoves = geometry.pointCount() * 3;
+    }
+
+    public GoPlayoutBoard getBoard() {
+        return board;
+    }
+
+    /**
+     * 设置棋形权重表，下一次重置棋盘时生效
+     *
+     * @param table 权重表，null表示均匀随机
+     */
+    public void setPatternTable(GoPatternTable table) {
+        board.setPatternTable(table);
+    }
+
+    // 是否在随机对局中应对叫吃（每手多花一些时间，对局质量更高）
+    public void setTactics(boolean enabled) {
+        if (!enabled) {
+            tactics = null;
+        } else if (tactics == null) {
+            tactics = new GoTactics();
+            tactics.setNodeLimit(TACTICS_NODE_LIMIT);
+        }
+    }
+
+    // 设定随机种子，相同的局面和种子得到完全相同的对局
+    public void setSeed(long seed) {
+        this.state = seed;
+    }
+
+    /**
+     * 从棋盘当前局面下到终局
+     *
+     * @param color 下一手的颜色
+     * @return 实际落子的手数（不含停一手）
+     */
+    public int run(int color) {
+        int passes = 0;
+        int played = 0;
+        lastMove = GoBoard.PASS;
+        for (int m = 0; m < maxMoves && passes < 2; m++) {
+            int pos = selectMove(color);
+            if (pos == GoBoard.PASS) {
+                board.pass();
+                passes++;
+            } else {
+                board.play(pos, color);
+                played++;
+                passes = 0;
+            }
+            lastMove = pos;
+            color = 3 - color;
+        }
+        return played;
+    }
+
+    /**
+     * 选出下一手：打开战术计算时先应对叫吃，有棋形权重表时再按权重抽样，
+     * 否则（或抽到的点都不合适时）从空点列表的随机位置开始依次找第一个合法且不填自己眼的点
+     *
+     * @return 点位编码，找不到时为GoBoard.PASS
+     */
+    public int selectMove(int color) {
+        if (tactics != null && lastMove != GoBoard.PASS) {
+            int pos = tacticalMove(color);
+            if (pos != GoBoard.PASS)
+                return pos;
+        }
+        if (board.hasPatterns()) {
+            for (int t = 0; t < PATTERN_TRIES; t++) {
+                long total = board.patternTotal(color);
+                if (total == 0)
+                    break;
+                int pos = board.samplePattern(color, nextLong(total));
+                if (!board.isOwnEye(pos, color) && board.check(pos, color) == 0)
+                    return pos;
+            }
+        }
+        int count = board.emptyCount();
+        if (count == 0)
+            return GoBoard.PASS;
+        int first = nextInt(count);
+        for (int k = 0; k < count; k++) {
+            int i = first + k;
+            int pos = board.emptyAt(i < count ? i : i - count);
+            if (!board.isOwnEye(pos, color) && board.check(pos, color) == 0)
+                return pos;
+        }
+        return GoBoard.PASS;
+    }
+
+    /**
+     * 应对对方的上一手：先救被叫吃的己方棋块，再提掉只剩一口气的对方新子
+     * 只在有棋块只剩一口气时才做战术计算，平常每手只多查几个邻点的气数
+     *
+     * @return 点位编码，不需要应对或应对不了时为GoBoard.PASS
+     */
+    private int tacticalMove(int color) {
+        GoGeometry geometry = board.getGeometry();
+        for (int k = 0; k < geometry.neighbourCount(lastMove); k++) {
+            int n = geometry.neighbour(lastMove, k);
+            if (board.getPoint(n) != color || !board.isInAtari(n))
+                continue;
+            tactics.reset(board);
+            if (tactics.canEscape(n) == GoTactics.Result.ESCAPES) {
+                int pos = tactics.getBestMove();
+                if (pos != GoBoard.PASS && board.check(pos, color) == 0)
+                    return pos;
+            }
+        }
+        if (board.isInAtari(lastMove)) {
+            tactics.reset(board);
+            if (tactics.canCapture(lastMove) == GoTactics.Result.CAPTURED) {
+                int pos = tactics.getBestMove();
+                if (board.check(pos, color) == 0)
+                    return pos;
+            }
+        }
+        return GoBoard.PASS;
+    }
+
+    // 取出[0, bound)内的随机整数
+    int nextInt(int bound) {
+        return (int) (((nextLong() >>> 32) * bound) >>> 32);
+    }
+
+    // 取出[0, bound)内的随机长整数
+    long nextLong(long bound) {
+        return (nextLong() >>> 1) % bound;
+    }
+
+    private long nextLong() {
+        long z = (state += GOLDEN_GAMMA);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,410 @@
+package com.github.lemonadedream.boardgame.module.GoGameModel.GoAI;
+
+import java.util.Arrays;
+
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoBoard;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoChains;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoGeometry;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoMoveHistory;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoPatternCodes;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoZobrist;
+
+/**
+ * 随机对局专用的轻量棋盘：可反复重置，落子、提子、列空点都不分配内存
+ * 与GoBoard使用相同的一维布局和GoChains棋串追踪，提子、自杀的判断与GoPlaceProcessor一致；
+ * 不保存对局历史，打劫只禁止立即回提（单劫），不做超级劫判断
+ *
+ * 设置棋形权重表后，同时维护每个点的3×3邻域编码与双方的落子权重（按行求和），
+ * 按权重抽取候选点只需扫过行和与一行内的点
+ *
+ * 每个线程使用自己的实例
+ */
+public class GoPlayoutBoard {
+    // 对角方向的偏移，用于判断眼位
+    private static final int[] DIAGONALS = { -GoBoard.BOARD_SIZE - 1, -GoBoard.BOARD_SIZE + 1,
+            GoBoard.BOARD_SIZE - 1, GoBoard.BOARD_SIZE + 1 };
+
+    private final GoGeometry geometry;
+    private final byte[] points = new byte[GoBoard.POINT_COUNT];
+    private final GoChains chains = new GoChains(points);
+    // 空点列表及每个点在列表中的下标，落子、提子时O(1)增删
+    private final int[] empty;
+    private final int[] emptyIndex = new int[GoBoard.POINT_COUNT];
+    private int emptyCount;
+    // 禁止立即回提的劫点，没有时为GoBoard.PASS
+    private int koPoint = GoBoard.PASS;
+    // 盘面的Zobrist哈希（与GoBoard.getHash相同的算法），随落子、提子增量更新
+    private long hash;
+    // 判断合法性时记下将被提走的对方棋串
+    private final int[] capturedHeads = new int[4];
+    private int capturedCount;
+    // 棋形权重表，null表示不按棋形抽样（此时不维护邻域编码）
+    private GoPatternTable patternTable;
+    private final GoPatternCodes patterns = new GoPatternCodes();
+    // 按颜色存放的每个点的落子权重（有子的点为0）、每行权重之和与总和
+    private final int[][] weights = new int[3][GoBoard.POINT_COUNT];
+    private final long[][] rowSums = new long[3][GoBoard.BOARD_SIZE];
+    private final long[] totals = new long[3];
+
+    public GoPlayoutBoard(GoGeometry geometry) {
+        this.geometry = geometry;
+        this.empty = new int[geometry.pointCount()];
+        // 棋盘外的点全部当作墙，较小的棋盘也沿用同一布局
+        for (int pos = 0; pos < GoBoard.POINT_COUNT; pos++)
+            points[pos] = GoBoard.WALL;
+    }
+
+    public GoGeometry getGeometry() {
+        return geometry;
+    }
+
+    // 取出点位上的状态
+    public int getPoint(int pos) {
+        return points[pos];
+    }
+
+    // 一维棋盘数组（内部数组，只读）
+    byte[] getPoints() {
+        return points;
+    }
+
+    // 点位上棋子所在棋串的伪气数（同一空点可能重复计算），空点为0
+    public int libertiesAt(int pos) {
+        int head = chains.headOf(pos);
+        return head == GoChains.NONE ? 0 : chains.liberties(head);
+    }
+
+    /**
+     * 点位上棋子所在棋串是否恰好只剩一口气（按不同的空点计，不是伪气）
+     * 只剩一口气时伪气等于串中挨着这口气的棋子数，至多为4，伪气更多的棋串不必遍历
+     */
+    public boolean isInAtari(int pos) {
+        int head = chains.headOf(pos);
+        if (head == GoChains.NONE)
+            return false;
+        int pseudo = chains.liberties(head);
+        if (pseudo == 0 || pseudo > 4)
+            return false;
+        if (pseudo == 1)
+            return true;
+        int liberty = GoBoard.PASS;
+        int p = head;
+        do {
+            for (int dir : GoBoard.DIRECTIONS) {
+                int n = p + dir;
+                if (points[n] != GoBoard.EMPTY)
+                    continue;
+                if (liberty == GoBoard.PASS)
+                    liberty = n;
+                else if (n != liberty)
+                    return false;
+            }
+            p = chains.nextStone(p);
+        } while (p != head);
+        return true;
+    }
+
+    // 当前空点数
+    public int emptyCount() {
+        return emptyCount;
+    }
+
+    // 空点列表中的第i个点（顺序随落子、提子变化）
+    public int emptyAt(int i) {
+        return empty[i];
+    }
+
+    public int getKoPoint() {
+        return koPoint;
+    }
+
+    /**
+     * 取出置换表使用的局面键：盘面哈希加上轮到哪一方和劫点
+     *
+     * @param toMove 下一手的颜色
+     */
+    public long positionKey(int toMove) {
+        return hash ^ GoZobrist.moverKey(3 - toMove) ^ GoZobrist.koKey(koPoint);
+    }
+
+    /**
+     * 重置为给定的局面
+     *
+     * @param start  一维棋盘数组（只读取棋盘内的点）
+     * @param koPoint 禁止立即回提的劫点，没有时为GoBoard.PASS
+     */
+    public void reset(byte[] start, int koPoint) {
+        emptyCount = 0;
+        hash = 0L;
+        for (int i = 0; i < geometry.pointCount(); i++) {
+            int pos = geometry.point(i);
+            points[pos] = start[pos];
+            if (points[pos] == GoBoard.EMPTY)
+                addEmpty(pos);
+            else
+                hash ^= GoZobrist.key(pos, points[pos]);
+        }
+        chains.rebuild();
+        this.koPoint = koPoint;
+        if (patternTable != null)
+            rebuildWeights();
+    }
+
+    /**
+     * 设置棋形权重表，下一次reset时生效
+     *
+     * @param table 权重表，null表示不按棋形抽样
+     */
+    public void setPatternTable(GoPatternTable table) {
+        this.patternTable = table;
+    }
+
+    public boolean hasPatterns() {
+        return patternTable != null;
+    }
+
+    // 某一方全部空点的权重之和
+    public long patternTotal(int color) {
+        return totals[color];
+    }
+
+    /**
+     * 按棋形权重抽取一个空点（不判断合法性）：先按行和选行，再在行内选点
+     *
+     * @param color 落子颜色
+     * @param r     [0, patternTotal(color))内的随机数
+     */
+    public int samplePattern(int color, long r) {
+        long[] rows = rowSums[color];
+        int x = 1;
+        while (x < GoBoard.BOARD_SIZE - 2 && r >= rows[x]) {
+            r -= rows[x];
+            x++;
+        }
+        int[] w = weights[color];
+        int pos = GoBoard.toPos(x, 1);
+        int last = GoBoard.toPos(x, GoBoard.BOARD_SIZE - 2);
+        while (pos < last && r >= w[pos]) {
+            r -= w[pos];
+            pos++;
+        }
+        return pos;
+    }
+
+    // 重新计算全部邻域编码与权重
+    private void rebuildWeights() {
+        patterns.rebuild(points);
+        for (int color = GoBoard.BLACK; color <= GoBoard.WHITE; color++) {
+            Arrays.fill(rowSums[color], 0L);
+            totals[color] = 0L;
+            for (int i = 0; i < geometry.pointCount(); i++)
+                weights[color][geometry.point(i)] = 0;
+        }
+        for (int i = 0; i < geometry.pointCount(); i++)
+            refreshWeight(geometry.point(i));
+    }
+
+    // 点位状态变化后，它和8个邻点的权重都可能变化
+    private void patternChanged(int pos) {
+        patterns.update(pos, points[pos]);
+        refreshWeight(pos);
+        for (int offset : GoPatternCodes.OFFSETS) {
+            if (points[pos + offset] != GoBoard.WALL)
+                refreshWeight(pos + offset);
+        }
+    }
+
+    private void refreshWeight(int pos) {
+        int row = pos / GoBoard.BOARD_SIZE;
+        for (int color = GoBoard.BLACK; color <= GoBoard.WHITE; color++) {
+            int w = points[pos] == GoBoard.EMPTY ? patternTable.weight(patterns.code(pos), color) : 0;
+            int delta = w - weights[color][pos];
+            if (delta != 0) {
+                weights[color][pos] = w;
+                rowSums[color][row] += delta;
+                totals[color] += delta;
+            }
+        }
+    }
+
+    /**
+     * 重置为棋盘的当前局面，若最后一手是提一子的劫，则同时记下劫点
+     */
+    public void reset(GoBoard board) {
+        reset(board.getPoints(), koPointOf(board));
+    }
+
+    // 最后一手单子提单子且落下的棋子只剩一口气时，被提的点就是劫点
+    static int koPointOf(GoBoard board) {
+        int m = board.getMoveCount() - 1;
+        if (m < 0)
+            return GoBoard.PASS;
+        GoMoveHistory history = board.getHistory();
+        int pos = history.getPos(m);
+        if (pos == GoBoard.PASS || history.captureEnd(m) - history.captureStart(m) != 1)
+            return GoBoard.PASS;
+        GoChains boardChains = board.getChains();
+        int head = boardChains.headOf(pos);
+        if (head == GoChains.NONE || boardChains.sizeOf(head) != 1 || boardChains.liberties(head) != 1)
+            return GoBoard.PASS;
+        return history.getCapture(history.captureStart(m));
+    }
+
+    /**
+     * 判断落子的合法性，不修改棋盘
+     *
+     * @return 与GoPlaceProcessor.check相同的状态码：0合法，1已有棋子，2打劫，3自杀
+     */
+    public int check(int pos, int color) {
+        if (points[pos] != GoBoard.EMPTY)
+            return 1;
+        // 与GoPlaceProcessor相同：只看四个邻点所属的棋串，不落子就判断能否提子、是否自杀
+        boolean hasLiberty = false;
+        capturedCount = 0;
+        for (int k = 0; k < geometry.neighbourCount(pos); k++) {
+            int n = geometry.neighbour(pos, k);
+            int c = points[n];
+            if (c == GoBoard.EMPTY) {
+                hasLiberty = true;
+                continue;
+            }
+            int head = chains.headOf(n);
+            int shared = chains.adjacentCount(pos, head);
+            if (c == color) {
+                if (chains.liberties(head) > shared)
+                    hasLiberty = true;
+            } else if (chains.liberties(head) == shared && !isCaptured(head)) {
+                capturedHeads[capturedCount++] = head;
+            }
+        }
+        if (capturedCount == 0 && !hasLiberty)
+            return 3;
+        if (pos == koPoint)
+            return 2;
+        return 0;
+    }
+
+    private boolean isCaptured(int head) {
+        for (int i = 0; i < capturedCount; i++) {
+            if (capturedHeads[i] == head)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * 落子并提走无气的对方棋串（调用前应已用check判断合法）
+     *
+     * @return 提走的棋子数
+     */
+    public int play(int pos, int color) {
+        points[pos] = (byte) color;
+        removeEmpty(pos);
+        chains.addStone(pos);
+        hash ^= GoZobrist.key(pos, color);
+        if (patternTable != null)
+            patternChanged(pos);
+        int captured = 0;
+        int lastCaptured = GoBoard.PASS;
+        for (int k = 0; k < geometry.neighbourCount(pos); k++) {
+            int head = chains.headOf(geometry.neighbour(pos, k));
+            if (head != GoChains.NONE && points[head] != color && chains.liberties(head) == 0) {
+                // 被提的棋子重新成为空点
+                int p = head;
+                do {
+                    addEmpty(p);
+                    hash ^= GoZobrist.key(p, 3 - color);
+                    p = chains.nextStone(p);
+                } while (p != head);
+                lastCaptured = head;
+                captured += chains.removeChain(head);
+            }
+        }
+        // 被提的点都追加在空点列表末尾
+        if (patternTable != null) {
+            for (int i = emptyCount - captured; i < emptyCount; i++)
+                patternChanged(empty[i]);
+        }
+        // 单子提单子且自身只剩一口气，对方不能立即回提
+        int own = chains.headOf(pos);
+        if (captured == 1 && chains.sizeOf(own) == 1 && chains.liberties(own) == 1)
+            koPoint = lastCaptured;
+        else
+            koPoint = GoBoard.PASS;
+        return captured;
+    }
+
+    // 停一手，劫点随之解除
+    public void pass() {
+        koPoint = GoBoard.PASS;
+    }
+
+    /**
+     * 判断空点是否为己方的眼：四邻都是己方棋子，且对角上的对方棋子不多
+     * 中腹最多一个，边角上一个都不能有
+     */
+    public boolean isOwnEye(int pos, int color) {
+        for (int k = 0; k < geometry.neighbourCount(pos); k++) {
+            if (points[geometry.neighbour(pos, k)] != color)
+                return false;
+        }
+        int opponent = 0;
+        int edge = 0;
+        for (int d : DIAGONALS) {
+            int n = pos + d;
+            if (points[n] == GoBoard.WALL)
+                edge = 1;
+            else if (points[n] == 3 - color)
+                opponent++;
+        }
+        return opponent + edge < 2;
+    }
+
+    /**
+     * 点位在终局时的归属：棋子归其颜色，四邻同色的空点归该色，其余为EMPTY
+     */
+    public int ownerAt(int pos) {
+        int c = points[pos];
+        if (c != GoBoard.EMPTY)
+            return c;
+        int borders = 0;
+        for (int k = 0; k < geometry.neighbourCount(pos); k++)
+            borders |= 1 << points[geometry.neighbour(pos, k)];
+        if (borders == 1 << GoBoard.BLACK)
+            return GoBoard.BLACK;
+        if (borders == 1 << GoBoard.WHITE)
+            return GoBoard.WHITE;
+        return GoBoard.EMPTY;
+    }
+
+    /**
+     * 按数子法计算黑方领先的子数（负数表示白方领先）
+     * 随机对局下到终局后空点基本都是单色包围的眼，按ownerAt判定即可
+     *
+     * @param komi 贴目
+     */
+    public double score(double komi) {
+        int margin = 0;
+        for (int i = 0; i < geometry.pointCount(); i++) {
+            int owner = ownerAt(geometry.point(i));
+            if (owner == GoBoard.BLACK)
+                margin++;
+            else if (owner == GoBoard.WHITE)
+                margin--;
+        }
+        return margin - komi;
+    }
+
+    private void addEmpty(int pos) {
+        emptyIndex[pos] = emptyCount;
+        empty[emptyCount++] = pos;
+    }
+
+    // 用列表末尾的点填补被删除的位置
+    private void removeEmpty(int pos) {
+        int i = emptyIndex[pos];
+        int last = empty[--emptyCount];
+        empty[i] = last;
+        emptyIndex[last] = i;
+    }
+}
@@ -0,0 +1,341 @@
+package com.github.lemonadedream.boardgame.module.GoGameModel.GoAI;
+
+import java.util.Arrays;
+
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoBoard;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoChains;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoGeometry;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoIntStack;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoMarks;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoZobrist;
+
+/**
+ * 征子与吃子的战术计算：判断一块气紧的棋能否被吃掉、能否逃出
+ * 在自带的可悔棋棋盘（GoUndoBoard）上落子、悔棋，提子、自杀、单劫的判断与GoPlaceProcessor一致；
+ * 每次计算限定节点数，同一次计算内按局面哈希缓存结论
+ *
+ * 搜索只考虑目标棋块相关的着法：攻方紧气（目标剩两口气时在两口气上叫吃），
+ * 守方长出（在剩下的气上落子）或提掉叫吃着目标的对方棋块；目标长到三口气即算逃出
+ * 因此能读出征子、连续叫吃和靠提子解围的简单对杀，枷吃等不紧气的手段与更复杂的死活交给GoMctsPlayer
+ *
+ * 用法：reset摆好局面，再调用canCapture或canEscape；每个线程使用自己的实例
+ */
+public class GoTactics {
+    /**
+     * 计算结论
+     */
+    public enum Result {
+        CAPTURED, // 被吃掉
+        ESCAPES, // 逃出
+        UNKNOWN // 超出节点数或深度，未能读完
+    }
+
+    // 默认每次计算的最多节点数
+    public static final int DEFAULT_NODE_LIMIT = 2000;
+    // 最大搜索深度，19路征子从一角到另一角不到80手
+    private static final int MAX_DEPTH = 160;
+    // 每个节点最多的候选着法数
+    private static final int MAX_CANDIDATES = 8;
+    // 目标长到这么多口气即算逃出
+    private static final int SAFE_LIBERTIES = 3;
+    // 缓存表的大小（2的幂）
+    private static final int CACHE_BITS = 12;
+    private static final int CACHE_MASK = (1 << CACHE_BITS) - 1;
+    // 搜索中的结论：吃掉、逃出、未读完
+    private static final int CAPTURED = 1;
+    private static final int ESCAPES = 0;
+    private static final int UNKNOWN = -1;
+
+    private final GoUndoBoard board = new GoUndoBoard(MAX_DEPTH + 1);
+    // 找提子着法时标记已查过的对方棋块
+    private final GoMarks chainMarks = new GoMarks(GoBoard.POINT_COUNT);
+    private final int[][] candidates = new int[MAX_DEPTH + 1][MAX_CANDIDATES];
+
+    // 按局面哈希缓存本次计算的结论，stamp不等于本次计算的序号即视为空
+    private final long[] cacheKeys = new long[1 << CACHE_BITS];
+    private final boolean[] cacheCaptured = new boolean[1 << CACHE_BITS];
+    private final int[] cacheStamp = new int[1 << CACHE_BITS];
+    private int solveId = 0;
+
+    private int nodeLimit = DEFAULT_NODE_LIMIT;
+    private int nodes;
+    private int target;
+    private int defender;
+    private int bestMove = GoBoard.PASS;
+
+    // 每次计算的最多节点数，超过时结论为UNKNOWN
+    public void setNodeLimit(int nodeLimit) {
+        this.nodeLimit = Math.max(1, nodeLimit);
+    }
+
+    // 上一次计算访问的节点数
+    public int getNodes() {
+        return nodes;
+    }
+
+    /**
+     * 上一次计算中先走一方的最佳着法：
+     * canCapture得出CAPTURED时为吃子的着法，canEscape得出ESCAPES时为逃出的着法（可能为GoBoard.PASS，即不必应）
+     */
+    public int getBestMove() {
+        return bestMove;
+    }
+
+    /**
+     * 摆好局面
+     *
+     * @param start   一维棋盘数组（整个复制，四周的墙随之复制）
+     * @param koPoint 禁止立即回提的劫点，没有时为GoBoard.PASS
+     */
+    public void reset(byte[] start, int koPoint) {
+        // 缓存只在一次计算内有效，哈希只需记录相对起始局面的变化
+        board.reset(start, koPoint, 0L);
+    }
+
+    /**
+     * 摆成棋盘的当前局面，若最后一手是提一子的劫，则同时记下劫点
+     */
+    public void reset(GoBoard goBoard) {
+        reset(goBoard.getPoints(), GoPlayoutBoard.koPointOf(goBoard));
+    }
+
+    /**
+     * 摆成随机对局棋盘的当前局面
+     */
+    public void reset(GoPlayoutBoard playoutBoard) {
+        reset(playoutBoard.getPoints(), playoutBoard.getKoPoint());
+    }
+
+    /**
+     * 攻方先走，能否吃掉pos所在的棋块
+     *
+     * @param pos 目标棋块中的任一棋子
+     */
+    public Result canCapture(int pos) {
+        if (!begin(pos))
+            return Result.CAPTURED;
+        return toResult(attack(0));
+    }
+
+    /**
+     * 守方（pos所在棋块的一方）先走，能否逃出
+     *
+     * @param pos 目标棋块中的任一棋子
+     */
+    public Result canEscape(int pos) {
+        if (!begin(pos))
+            return Result.CAPTURED;
+        return toResult(defend(0));
+    }
+
+    /**
+     * 找出棋盘上对方先走就能吃掉的全部棋块（只查气数不超过两口的棋块），供界面提示
+     * 轮到toMove时，对方的棋块按当前劫点计算；toMove自己的棋块按对方抢先一手计算，不受当前劫点限制
+     *
+     * @return 这些棋块的全部棋子点位
+     */
+    public int[] capturableStones(GoBoard goBoard, int toMove) {
+        GoGeometry geometry = goBoard.getGeometry();
+        GoChains chains = goBoard.getChains();
+        int ko = GoPlayoutBoard.koPointOf(goBoard);
+        GoIntStack found = new GoIntStack();
+        for (int i = 0; i < geometry.pointCount(); i++) {
+            int pos = geometry.point(i);
+            // 伪气会重复计算同一个空点（每口气至多算4次），这里只排除伪气多到不可能少于三口气的棋块，
+            // 真实气数交给canCapture，三口气以上时它直接按逃出返回
+            if (chains.headOf(pos) != pos || chains.liberties(pos) > 4 * (SAFE_LIBERTIES - 1))
+                continue;
+            reset(goBoard.getPoints(), goBoard.getPoint(pos) == toMove ? GoBoard.PASS : ko);
+            if (canCapture(pos) != Result.CAPTURED)
+                continue;
+            int p = pos;
+            do {
+                found.push(p);
+                p = chains.nextStone(p);
+            } while (p != pos);
+        }
+        int[] stones = new int[found.size()];
+        for (int i = 0; i < stones.length; i++)
+            stones[i] = found.get(i);
+        return stones;
+    }
+
+    // 开始一次计算，点位上没有棋子时返回false
+    private boolean begin(int pos) {
+        nodes = 0;
+        bestMove = GoBoard.PASS;
+        if (++solveId == 0) {
+            Arrays.fill(cacheStamp, 0);
+            solveId = 1;
+        }
+        int c = board.points[pos];
+        if (c != GoBoard.BLACK && c != GoBoard.WHITE)
+            return false;
+        target = pos;
+        defender = c;
+        return true;
+    }
+
+    private static Result toResult(int value) {
+        return value == CAPTURED ? Result.CAPTURED : value == ESCAPES ? Result.ESCAPES : Result.UNKNOWN;
+    }
+
+    // 攻方走：目标一口气直接提，三口气以上算逃出，两口气时依次在两口气上叫吃
+    private int attack(int depth) {
+        int libs = board.collect(target, SAFE_LIBERTIES, false);
+        if (libs >= SAFE_LIBERTIES)
+            return ESCAPES;
+        if (libs == 1) {
+            // 提不了只可能是劫，按逃出计
+            int last = board.liberties[0];
+            if (!legal(last, 3 - defender))
+                return ESCAPES;
+            if (depth == 0)
+                bestMove = last;
+            return CAPTURED;
+        }
+        if (depth >= MAX_DEPTH)
+            return UNKNOWN;
+        int cached = probe(3 - defender);
+        if (cached != UNKNOWN)
+            return cached;
+        if (++nodes > nodeLimit)
+            return UNKNOWN;
+
+        int[] moves = candidates[depth];
+        moves[0] = board.liberties[0];
+        moves[1] = board.liberties[1];
+        int result = ESCAPES;
+        for (int i = 0; i < 2; i++) {
+            if (!board.play(moves[i], 3 - defender, false))
+                continue;
+            int r = defend(depth + 1);
+            board.undo();
+            if (r == CAPTURED) {
+                if (depth == 0)
+                    bestMove = moves[i];
+                result = CAPTURED;
+                break;
+            }
+            if (r == UNKNOWN)
+                result = UNKNOWN;
+        }
+        store(3 - defender, result);
+        return result;
+    }
+
+    // 守方走：在气上长出，或提掉叫吃着目标的对方棋块；两口气时还可以不应
+    private int defend(int depth) {
+        if (board.points[target] != defender)
+            return CAPTURED;
+        int libs = board.collect(target, SAFE_LIBERTIES, true);
+        if (libs >= SAFE_LIBERTIES)
+            return ESCAPES;
+        if (depth >= MAX_DEPTH)
+            return UNKNOWN;
+        int cached = probe(defender);
+        if (cached != UNKNOWN)
+            return cached;
+        if (++nodes > nodeLimit)
+            return UNKNOWN;
+
+        int[] moves = candidates[depth];
+        int count = 0;
+        for (int i = 0; i < libs; i++)
+            moves[count++] = board.liberties[i];
+        count = addCaptures(moves, count);
+
+        int result = CAPTURED;
+        for (int i = 0; i < count; i++) {
+            if (!board.play(moves[i], defender, false))
+                continue;
+            int r = attack(depth + 1);
+            board.undo();
+            if (r == ESCAPES) {
+                if (depth == 0)
+                    bestMove = moves[i];
+                result = ESCAPES;
+                break;
+            }
+            if (r == UNKNOWN)
+                result = UNKNOWN;
+        }
+        if (result != ESCAPES && libs >= 2 && board.pass()) {
+            // 不应：攻方接着走
+            int r = attack(depth + 1);
+            board.undo();
+            if (r == ESCAPES) {
+                if (depth == 0)
+                    bestMove = GoBoard.PASS;
+                result = ESCAPES;
+            } else if (r == UNKNOWN) {
+                result = UNKNOWN;
+            }
+        }
+        store(defender, result);
+        return result;
+    }
+
+    // 在stones中的目标棋块周围找出只剩一口气的对方棋块，把提它的点追加为候选
+    private int addCaptures(int[] moves, int count) {
+        int attacker = 3 - defender;
+        int targetStones = board.stoneCount;
+        chainMarks.next();
+        for (int i = 0; i < targetStones && count < MAX_CANDIDATES; i++) {
+            int p = board.stones[i];
+            for (int dir : GoBoard.DIRECTIONS) {
+                int n = p + dir;
+                if (board.points[n] != attacker || chainMarks.isMarked(n))
+                    continue;
+                int lib = board.singleLiberty(n, chainMarks);
+                if (lib != GoBoard.PASS && !contains(moves, count, lib) && count < MAX_CANDIDATES)
+                    moves[count++] = lib;
+            }
+        }
+        return count;
+    }
+
+    private static boolean contains(int[] moves, int count, int pos) {
+        for (int i = 0; i < count; i++) {
+            if (moves[i] == pos)
+                return true;
+        }
+        return false;
+    }
+
+    // 判断落子是否合法（试下后悔棋）
+    private boolean legal(int pos, int color) {
+        if (!board.play(pos, color, false))
+            return false;
+        board.undo();
+        return true;
+    }
+
+    private int slot(long key) {
+        return (int) (key ^ (key >>> 32)) & CACHE_MASK;
+    }
+
+    // 局面键：盘面哈希加上轮到哪一方和劫点
+    private long key(int toMove) {
+        return board.getHash() ^ GoZobrist.moverKey(3 - toMove) ^ GoZobrist.koKey(board.getKoPoint());
+    }
+
+    private int probe(int toMove) {
+        long key = key(toMove);
+        int i = slot(key);
+        if (cacheStamp[i] != solveId || cacheKeys[i] != key)
+            return UNKNOWN;
+        return cacheCaptured[i] ? CAPTURED : ESCAPES;
+    }
+
+    // 只缓存读完的结论
+    private void store(int toMove, int result) {
+        if (result == UNKNOWN)
+            return;
+        long key = key(toMove);
+        int i = slot(key);
+        cacheKeys[i] = key;
+        cacheCaptured[i] = result == CAPTURED;
+        cacheStamp[i] = solveId;
+    }
+}
@@ -0,0 +1,211 @@
+package com.github.lemonadedream.boardgame.module.GoGameModel.GoAI;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 置换表：按64位局面键存放搜索统计（访问数、胜局数、最佳着法），多个搜索线程共享，不加锁
+ * 不同着法顺序到达的同一局面共用一条记录，局面键由GoPlayoutBoard.positionKey生成
+ *
+ * 表的大小固定（由内存预算决定），每两个槽组成一个桶；
+ * 每条记录占两个long：数据，以及键与数据的异或。读取时用两者还原出键并校验，
+ * 另一线程写到一半的记录校验不通过，按未命中处理，因此不需要锁。
+ * 并发累加时偶尔丢失一次更新，对统计结果的影响可以忽略
+ */
+public class GoTranspositionTable {
+    // 替换策略：桶已满时新局面替换哪一条记录
+    public enum ReplacementPolicy {
+        ALWAYS, // 总是写入，替换桶中访问数较少的一条
+        KEEP_VISITED // 分两层：第一个槽保留访问数最多的记录，新局面只写入第二个槽，访问数超过第一个槽后两者交换
+    }
+
+    // 默认内存预算：32MB
+    public static final long DEFAULT_BYTES = 32L << 20;
+
+    // 数据的位布局：低10位最佳着法，中间27位胜局数，高27位访问数
+    private static final int MOVE_BITS = 10;
+    private static final int COUNT_BITS = 27;
+    private static final long MOVE_MASK = (1L << MOVE_BITS) - 1;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+    private static final int WINS_SHIFT = MOVE_BITS;
+    private static final int VISITS_SHIFT = MOVE_BITS + COUNT_BITS;
+    // 没有最佳着法时的编码
+    public static final int NO_MOVE = (int) MOVE_MASK;
+
+    private final ReplacementPolicy policy;
+    // 每条记录在数组中占两格：[2i]为数据，[2i+1]为键与数据的异或
+    private final AtomicLongArray slots;
+    // 槽数掩码（槽数为2的幂）
+    private final int mask;
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+
+    public GoTranspositionTable() {
+        this(DEFAULT_BYTES, ReplacementPolicy.KEEP_VISITED);
+    }
+
+    /**
+     * @param bytes  内存预算（字节），槽数取不超过预算的最大2的幂
+     * @param policy 替换策略
+     */
+    public GoTranspositionTable(long bytes, ReplacementPolicy policy) {
+        long entries = Math.max(2, bytes / 16);
+        int count = Integer.highestOneBit((int) Math.min(entries, 1 << 28));
+        this.slots = new AtomicLongArray(count * 2);
+        this.mask = count - 1;
+        this.policy = policy;
+    }
+
+    // 表中的槽数
+    public int capacity() {
+        return mask + 1;
+    }
+
+    // 实际占用的内存（字节）
+    public long sizeInBytes() {
+        return (long) capacity() * 16;
+    }
+
+    public ReplacementPolicy getPolicy() {
+        return policy;
+    }
+
+    // 清空全部记录与命中统计（不应与搜索同时进行）
+    public void clear() {
+        for (int i = 0; i < slots.length(); i++)
+            slots.set(i, 0L);
+        probes.reset();
+        hits.reset();
+    }
+
+    // 查找的命中率
+    public double hitRate() {
+        long p = probes.sum();
+        return p == 0 ? 0.0 : (double) hits.sum() / p;
+    }
+
+    /**
+     * 查找局面的记录
+     *
+     * @param key 局面键
+     * @return 打包的数据，用visits、wins、bestMove解读；未命中时为0
+     */
+    public long probe(long key) {
+        probes.increment();
+        int bucket = bucketOf(key);
+        for (int i = bucket; i < bucket + 2; i++) {
+            long data = slots.get(i * 2);
+            if (data != 0 && (slots.get(i * 2 + 1) ^ data) == key) {
+                hits.increment();
+                return data;
+            }
+        }
+        return 0L;
+    }
+
+    // 数据中的访问数
+    public static int visits(long data) {
+        return (int) ((data >>> VISITS_SHIFT) & COUNT_MASK);
+    }
+
+    // 数据中的胜局数（按走到这个局面的一方统计）
+    public static int wins(long data) {
+        return (int) ((data >>> WINS_SHIFT) & COUNT_MASK);
+    }
+
+    // 数据中的最佳着法，没有时为NO_MOVE
+    public static int bestMove(long data) {
+        return (int) (data & MOVE_MASK);
+    }
+
+    /**
+     * 累加局面的访问数与胜局数，局面不在表中时按替换策略新建记录
+     *
+     * @param key    局面键
+     * @param visits 增加的访问数
+     * @param wins   增加的胜局数
+     */
+    public void update(long key, int visits, int wins) {
+        int bucket = bucketOf(key);
+        int i = find(bucket, key);
+        if (i >= 0) {
+            long data = slots.get(i * 2);
+            write(i, key, pack(visits(data) + visits, wins(data) + wins, bestMove(data)));
+            promote(bucket);
+        } else {
+            write(victim(bucket), key, pack(visits, wins, NO_MOVE));
+        }
+    }
+
+    /**
+     * 记录局面的最佳着法，局面不在表中时新建记录
+     *
+     * @param key  局面键
+     * @param move 点位编码
+     */
+    public void setBestMove(long key, int move) {
+        int bucket = bucketOf(key);
+        int i = find(bucket, key);
+        if (i >= 0) {
+            long data = slots.get(i * 2);
+            write(i, key, pack(visits(data), wins(data), move));
+        } else {
+            write(victim(bucket), key, pack(0, 0, move));
+        }
+    }
+
+    private int bucketOf(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask & ~1;
+    }
+
+    // 在桶中找到局面所在的槽，找不到返回-1
+    private int find(int bucket, long key) {
+        for (int i = bucket; i < bucket + 2; i++) {
+            long data = slots.get(i * 2);
+            if (data != 0 && (slots.get(i * 2 + 1) ^ data) == key)
+                return i;
+        }
+        return -1;
+    }
+
+    // 按替换策略选出被新局面替换的槽
+    private int victim(int bucket) {
+        long first = slots.get(bucket * 2);
+        long second = slots.get(bucket * 2 + 2);
+        if (first == 0)
+            return bucket;
+        if (policy == ReplacementPolicy.KEEP_VISITED || second == 0)
+            return bucket + 1;
+        return visits(first) <= visits(second) ? bucket : bucket + 1;
+    }
+
+    // 分两层时，第二个槽的访问数超过第一个槽就交换两条记录
+    private void promote(int bucket) {
+        if (policy != ReplacementPolicy.KEEP_VISITED)
+            return;
+        long first = slots.get(bucket * 2);
+        long firstCheck = slots.get(bucket * 2 + 1);
+        long second = slots.get(bucket * 2 + 2);
+        long secondCheck = slots.get(bucket * 2 + 3);
+        if (second != 0 && visits(second) > visits(first)) {
+            slots.set(bucket * 2, second);
+            slots.set(bucket * 2 + 1, secondCheck);
+            slots.set(bucket * 2 + 2, first);
+            slots.set(bucket * 2 + 3, firstCheck);
+        }
+    }
+
+    private void write(int i, long key, long data) {
+        slots.set(i * 2, data);
+        slots.set(i * 2 + 1, key ^ data);
+    }
+
+    // 打包数据，计数超过上限时饱和；保证非0，0表示空槽
+    private static long pack(int visits, int wins, int move) {
+        long v = Math.min(visits, COUNT_MASK);
+        long w = Math.min(wins, COUNT_MASK);
+        long data = (v << VISITS_SHIFT) | (w << WINS_SHIFT) | (move & MOVE_MASK);
+        return data == 0 ? NO_MOVE : data;
+    }
+}
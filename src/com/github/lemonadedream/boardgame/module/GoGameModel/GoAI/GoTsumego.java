@@ -0,0 +1,104 @@
+package com.github.lemonadedream.boardgame.module.GoGameModel.GoAI;
+
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoBoard;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoChains;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoGeometry;
+
+/**
+ * 一道死活题：局面、双方只能在其中落子的区域、攻守双方与先走的一方，以及要吃掉（或做活）的目标棋块
+ * 构造时复制棋盘（连同对局历史，超级劫据此判断），之后与原棋盘无关，可以交给其他线程计算
+ */
+public final class GoTsumego {
+    // 区域内最多的点数
+    public static final int MAX_REGION = 64;
+
+    private final GoBoard board;
+    private final int[] region;
+    private final int attacker;
+    private final int toMove;
+    private final int target;
+
+    /**
+     * 以区域内最大的守方棋块为目标
+     *
+     * @param board    局面（复制，不修改）
+     * @param region   按点位编码的区域标记，双方只能在区域内的空点落子
+     * @param attacker 攻方颜色
+     * @param toMove   先走的一方
+     */
+    public GoTsumego(GoBoard board, boolean[] region, int attacker, int toMove) {
+        this(board, region, attacker, toMove, largestChain(board, region, 3 - attacker));
+    }
+
+    /**
+     * @param target 目标棋块中的任一守方棋子
+     */
+    public GoTsumego(GoBoard board, boolean[] region, int attacker, int toMove, int target) {
+        if (attacker != GoBoard.BLACK && attacker != GoBoard.WHITE)
+            throw new IllegalArgumentException("攻方颜色错误: " + attacker);
+        if (toMove != GoBoard.BLACK && toMove != GoBoard.WHITE)
+            throw new IllegalArgumentException("先走一方颜色错误: " + toMove);
+        if (target == GoBoard.PASS || board.getPoint(target) != 3 - attacker)
+            throw new IllegalArgumentException("目标不是守方棋子");
+        GoGeometry geometry = board.getGeometry();
+        int count = 0;
+        for (int i = 0; i < geometry.pointCount(); i++) {
+            if (region[geometry.point(i)])
+                count++;
+        }
+        if (count == 0 || count > MAX_REGION)
+            throw new IllegalArgumentException("区域应有1到" + MAX_REGION + "个点: " + count);
+        this.region = new int[count];
+        count = 0;
+        for (int i = 0; i < geometry.pointCount(); i++) {
+            if (region[geometry.point(i)])
+                this.region[count++] = geometry.point(i);
+        }
+        this.board = board.copy();
+        this.attacker = attacker;
+        this.toMove = toMove;
+        this.target = target;
+    }
+
+    // 区域内有棋子的守方棋块中子数最多的一块，没有时为GoBoard.PASS
+    private static int largestChain(GoBoard board, boolean[] region, int defender) {
+        GoGeometry geometry = board.getGeometry();
+        GoChains chains = board.getChains();
+        int best = GoBoard.PASS;
+        for (int i = 0; i < geometry.pointCount(); i++) {
+            int pos = geometry.point(i);
+            if (!region[pos] || board.getPoint(pos) != defender)
+                continue;
+            int head = chains.headOf(pos);
+            if (best == GoBoard.PASS || chains.sizeOf(head) > chains.sizeOf(chains.headOf(best)))
+                best = pos;
+        }
+        return best;
+    }
+
+    // 题目局面的副本（只读）
+    GoBoard getBoard() {
+        return board;
+    }
+
+    // 区域内的全部点位
+    int[] getRegion() {
+        return region;
+    }
+
+    public int getAttacker() {
+        return attacker;
+    }
+
+    public int getDefender() {
+        return 3 - attacker;
+    }
+
+    public int getToMove() {
+        return toMove;
+    }
+
+    public int getTarget() {
+        return target;
+    }
+}
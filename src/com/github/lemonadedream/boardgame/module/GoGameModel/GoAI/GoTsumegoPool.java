@@ -0,0 +1,76 @@
+package com.github.lemonadedream.boardgame.module.GoGameModel.GoAI;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 死活题的并行求解：固定数量的工作线程，每个线程持有自己的GoTsumegoSolver（含置换表），
+ * 提交的题目依次交给空闲的线程，多道题同时求解
+ */
+public class GoTsumegoPool implements AutoCloseable {
+    private final ExecutorService pool;
+    private final ThreadLocal<GoTsumegoSolver> solvers;
+
+    // 工作线程数等于核心数，求解限制取默认值
+    public GoTsumegoPool() {
+        this(Runtime.getRuntime().availableProcessors(), GoTsumegoSolver.DEFAULT_TABLE_BYTES,
+                GoTsumegoSolver.DEFAULT_NODE_LIMIT, GoTsumegoSolver.DEFAULT_TIME_MILLIS);
+    }
+
+    /**
+     * @param threads    工作线程数
+     * @param tableBytes 每个线程的置换表大小（字节）
+     * @param nodeLimit  每道题的最多节点数
+     * @param millis     每道题的时间上限（毫秒）
+     */
+    public GoTsumegoPool(int threads, long tableBytes, long nodeLimit, long millis) {
+        this.pool = Executors.newFixedThreadPool(Math.max(1, threads), r -> {
+            Thread t = new Thread(r, "GoTsumego-Solver");
+            t.setDaemon(true);
+            return t;
+        });
+        this.solvers = ThreadLocal.withInitial(() -> {
+            GoTsumegoSolver solver = new GoTsumegoSolver(tableBytes);
+            solver.setNodeLimit(nodeLimit);
+            solver.setTimeMillis(millis);
+            return solver;
+        });
+    }
+
+    /**
+     * 提交一道题，立即返回
+     */
+    public Future<GoTsumegoSolver.Solution> submit(GoTsumego problem) {
+        return pool.submit(() -> solvers.get().solve(problem));
+    }
+
+    /**
+     * 并行求解全部题目并等待完成
+     *
+     * @return 与题目顺序相同的结果
+     */
+    public List<GoTsumegoSolver.Solution> solveAll(List<GoTsumego> problems) throws InterruptedException {
+        List<Future<GoTsumegoSolver.Solution>> futures = new ArrayList<>();
+        for (GoTsumego problem : problems)
+            futures.add(submit(problem));
+        List<GoTsumegoSolver.Solution> solutions = new ArrayList<>();
+        for (Future<GoTsumegoSolver.Solution> future : futures) {
+            try {
+                solutions.add(future.get());
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("死活题求解出错", e.getCause());
+            }
+        }
+        return solutions;
+    }
+
+    // 停止接受新题，正在求解的题目做完后线程退出
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,543 @@
+package com.github.lemonadedream.boardgame.module.GoGameModel.GoAI;
+
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoBoard;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoGeometry;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoIntStack;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoZobrist;
+
+/**
+ * 死活题求解：用df-pn（深度优先证明数搜索）证明目标棋块被杀、活棋还是劫
+ *
+ * 双方只在区域内的空点落子，守方也可以停一手（攻方只在无处可下时停一手）；落子的合法性与GoPlaceProcessor相同（已有棋子、自杀、超级劫，
+ * 超级劫按题目棋盘的规则，与对局历史和搜索路径上的局面比较）
+ * 目标棋块被提即攻方胜；目标按Benson算法无条件活、或双方连续停一手（含双活）即守方胜
+ *
+ * 劫用"劫材无限"的一方来区分：一方劫材无限时不受超级劫限制，可以立即回提
+ * 先让守方劫材无限求解，攻方仍能杀即为KILL；再让攻方劫材无限求解，守方仍能活即为LIVE；都不成立为KO
+ * 超过最大深度的局面判给劫材无限的一方，两次求解的结论因此都偏保守
+ *
+ * 置换表大小固定，满了按搜索量替换；每次求解受节点数与时间限制，超出时结论为UNKNOWN
+ * 置换表中的结论不区分到达局面的路径（超级劫与路径有关），与其他df-pn实现一样接受这一点误差
+ * 每个线程使用自己的实例，多道题并行求解见GoTsumegoPool
+ */
+public class GoTsumegoSolver {
+    /**
+     * 求解结论
+     */
+    public enum Result {
+        KILL, // 攻方能吃掉目标
+        LIVE, // 守方能活（含双活）
+        KO, // 结果取决于劫争
+        UNKNOWN // 超出节点数或时间，未能证明
+    }
+
+    /**
+     * 一次求解的结果
+     */
+    public static final class Solution {
+        public final Result result;
+        // 先走一方的正解（KILL时先走的攻方、LIVE时先走的守方、KO时先走一方开劫的着法），其余为GoBoard.PASS
+        public final int move;
+        public final long nodes;
+        public final long millis;
+
+        Solution(Result result, int move, long nodes, long millis) {
+            this.result = result;
+            this.move = move;
+            this.nodes = nodes;
+            this.millis = millis;
+        }
+
+        @Override
+        public String toString() {
+            String where = move == GoBoard.PASS ? "-"
+                    : "(" + move / GoBoard.BOARD_SIZE + "," + move % GoBoard.BOARD_SIZE + ")";
+            return String.format("%s %s，%d节点，%d毫秒", result, where, nodes, millis);
+        }
+    }
+
+    // 默认每道题的最多节点数
+    public static final long DEFAULT_NODE_LIMIT = 5_000_000L;
+    // 默认每道题的时间上限（毫秒）
+    public static final long DEFAULT_TIME_MILLIS = 30_000L;
+    // 默认置换表大小
+    public static final long DEFAULT_TABLE_BYTES = 16L << 20;
+
+    // 最大搜索深度
+    private static final int MAX_DEPTH = 200;
+    // 证明数的无穷大，求和时按此封顶
+    private static final int INF = 100_000_000;
+    // 每个置换表条目的字节数：键8 + 证明数4 + 反证数4 + 搜索量4 + 代次4
+    private static final int ENTRY_BYTES = 24;
+    // 上一手是停一手、攻方劫材无限时局面键另加的随机数
+    private static final long PASS_KEY = 0x5851F42D4C957F2DL;
+    private static final long FAVOUR_KEY = 0x14057B7EF767814FL;
+    // 每隔多少节点检查一次时间
+    private static final int TIME_CHECK_MASK = 1023;
+
+    // 置换表：两个条目一组，代次不等于本次求解的条目视为空
+    private final long[] tableKeys;
+    private final int[] tablePhi;
+    private final int[] tableDelta;
+    private final int[] tableWork;
+    private final int[] tableStamp;
+    private final int tableMask;
+    private int stamp = 0;
+
+    private final GoUndoBoard board = new GoUndoBoard(MAX_DEPTH + 1);
+    // 每层的候选着法、子节点的局面键与当前的证明数、反证数
+    private final int[][] moves = new int[MAX_DEPTH + 1][GoTsumego.MAX_REGION + 1];
+    private final long[][] childKeys = new long[MAX_DEPTH + 1][GoTsumego.MAX_REGION + 1];
+    private final int[][] childPhi = new int[MAX_DEPTH + 1][GoTsumego.MAX_REGION + 1];
+    private final int[][] childDelta = new int[MAX_DEPTH + 1][GoTsumego.MAX_REGION + 1];
+    // 搜索路径：每层走的着法与走后判重用的键
+    private final int[] line = new int[MAX_DEPTH + 1];
+    private final long[] pathKeys = new long[MAX_DEPTH + 1];
+
+    // Benson算法用的缓冲
+    private final int[] blockOf = new int[GoBoard.POINT_COUNT];
+    private final int[] areaOf = new int[GoBoard.POINT_COUNT];
+    private final GoIntStack stack = new GoIntStack();
+    private final int[] vital = new int[GoBoard.POINT_COUNT * 4];
+    private final int[] vitalCount = new int[GoBoard.POINT_COUNT];
+    private final int[] adjacentArea = new int[GoBoard.POINT_COUNT * 4];
+    private final int[] adjacentBlock = new int[GoBoard.POINT_COUNT * 4];
+    private final boolean[] blockAlive = new boolean[GoBoard.POINT_COUNT];
+    private final boolean[] areaHealthy = new boolean[GoBoard.POINT_COUNT];
+    private final int[] healthyCount = new int[GoBoard.POINT_COUNT];
+    private final int[] adjacent = new int[4];
+
+    // 当前题目
+    private GoTsumego problem;
+    private GoGeometry geometry;
+    private int[] region;
+    private int attacker;
+    private int defender;
+    private int target;
+    private boolean situational;
+    // 劫材无限、不受超级劫限制的一方
+    private int favoured;
+
+    // 求解限制与统计
+    private long nodeLimit = DEFAULT_NODE_LIMIT;
+    private long timeMillis = DEFAULT_TIME_MILLIS;
+    private long nodes;
+    private long deadline;
+    private boolean aborted;
+    // mid返回的证明数与反证数
+    private int resultPhi;
+    private int resultDelta;
+
+    public GoTsumegoSolver() {
+        this(DEFAULT_TABLE_BYTES);
+    }
+
+    /**
+     * @param tableBytes 置换表大小（字节），按条目数取不超过它的2的幂
+     */
+    public GoTsumegoSolver(long tableBytes) {
+        long entries = Math.max(2, tableBytes / ENTRY_BYTES);
+        int size = Integer.highestOneBit((int) Math.min(entries, 1 << 30));
+        tableKeys = new long[size];
+        tablePhi = new int[size];
+        tableDelta = new int[size];
+        tableWork = new int[size];
+        tableStamp = new int[size];
+        tableMask = size - 2;
+    }
+
+    // 每道题的最多节点数（两次求解合计）
+    public void setNodeLimit(long nodeLimit) {
+        this.nodeLimit = Math.max(1, nodeLimit);
+    }
+
+    // 每道题的时间上限（毫秒）
+    public void setTimeMillis(long millis) {
+        this.timeMillis = Math.max(1, millis);
+    }
+
+    /**
+     * 求解一道死活题
+     */
+    public Solution solve(GoTsumego problem) {
+        long start = System.nanoTime();
+        this.problem = problem;
+        this.geometry = problem.getBoard().getGeometry();
+        this.region = problem.getRegion();
+        this.attacker = problem.getAttacker();
+        this.defender = problem.getDefender();
+        this.target = problem.getTarget();
+        this.situational = problem.getBoard().getKoRule() == GoBoard.KoRule.SITUATIONAL;
+        nodes = 0;
+        deadline = start + timeMillis * 1_000_000L;
+        aborted = false;
+
+        int toMove = problem.getToMove();
+        Result result;
+        int move = GoBoard.PASS;
+        // 守方劫材无限时攻方仍能杀
+        int killer = prove(defender, toMove);
+        if (aborted) {
+            result = Result.UNKNOWN;
+        } else if (killer == attacker) {
+            result = Result.KILL;
+            move = toMove == attacker ? line[0] : GoBoard.PASS;
+        } else {
+            int defenderMove = toMove == defender ? line[0] : GoBoard.PASS;
+            // 攻方劫材无限时守方仍能活
+            int winner = prove(attacker, toMove);
+            if (aborted) {
+                result = Result.UNKNOWN;
+            } else if (winner == defender) {
+                result = Result.LIVE;
+                move = toMove == defender ? line[0] : GoBoard.PASS;
+            } else {
+                result = Result.KO;
+                move = toMove == attacker ? line[0] : defenderMove;
+            }
+        }
+        this.problem = null;
+        return new Solution(result, move, nodes, (System.nanoTime() - start) / 1_000_000L);
+    }
+
+    /**
+     * 在给定一方劫材无限时求解
+     *
+     * @return 胜方颜色（中止时无意义）；先走一方胜时其正解记在line[0]
+     */
+    private int prove(int favoured, int toMove) {
+        this.favoured = favoured;
+        if (++stamp == 0)
+            stamp = 1;
+        GoBoard start = problem.getBoard();
+        board.reset(start.getPoints(), GoBoard.PASS, start.getHash());
+        line[0] = GoBoard.PASS;
+        mid(0, toMove, INF, INF);
+        if (aborted)
+            return GoBoard.EMPTY;
+        if (resultPhi != 0)
+            return 3 - toMove;
+        // 先走一方胜：找出使对方必败的子节点
+        int n = generate(0, toMove);
+        for (int i = 0; i < n; i++) {
+            if (childDelta[0][i] == 0) {
+                line[0] = moves[0][i];
+                break;
+            }
+        }
+        return toMove;
+    }
+
+    /**
+     * df-pn的一次展开（phi为落子方获胜的证明数，delta为反证数）
+     * 在phi、delta都低于阈值时反复选出delta最小的子节点深入，结果记在resultPhi、resultDelta并存入置换表
+     *
+     * @param depth 已走的手数
+     * @param color 落子方
+     */
+    private void mid(int depth, int color, int thPhi, int thDelta) {
+        if (++nodes > nodeLimit || ((nodes & TIME_CHECK_MASK) == 0 && System.nanoTime() > deadline)) {
+            aborted = true;
+            return;
+        }
+        long key = nodeKey(depth, color);
+        int winner = terminal(depth);
+        if (winner != GoBoard.EMPTY) {
+            resultPhi = winner == color ? 0 : INF;
+            resultDelta = winner == color ? INF : 0;
+            store(key, resultPhi, resultDelta, 1);
+            return;
+        }
+
+        long startNodes = nodes;
+        int n = generate(depth, color);
+        int[] phis = childPhi[depth];
+        int[] deltas = childDelta[depth];
+        int phi;
+        int delta;
+        while (true) {
+            // phi取子节点delta的最小值，delta取子节点phi之和
+            int best = 0;
+            int second = INF;
+            long sum = 0;
+            for (int i = 0; i < n; i++) {
+                sum += phis[i];
+                if (deltas[i] < deltas[best]) {
+                    second = deltas[best];
+                    best = i;
+                } else if (i != best && deltas[i] < second) {
+                    second = deltas[i];
+                }
+            }
+            phi = deltas[best];
+            delta = (int) Math.min(sum, INF);
+            if (phi == 0)
+                delta = INF;
+            if (phi >= thPhi || delta >= thDelta)
+                break;
+
+            int childThPhi = (int) Math.min((long) thDelta - delta + phis[best], INF);
+            int childThDelta = Math.min(thPhi, second >= INF ? INF : second + 1);
+            makeMove(depth, moves[depth][best], color);
+            mid(depth + 1, 3 - color, childThPhi, childThDelta);
+            board.undo();
+            if (aborted)
+                return;
+            phis[best] = resultPhi;
+            deltas[best] = resultDelta;
+        }
+        store(key, phi, delta, nodes - startNodes);
+        resultPhi = phi;
+        resultDelta = delta;
+    }
+
+    /**
+     * 列出落子方的合法着法（区域内的空点），并从置换表取出各子节点的初值
+     * 守方总可以停一手；攻方停一手后守方跟着停一手即告活，对攻方没有好处，只在无处可下时停一手
+     *
+     * @return 着法数（至少有停一手或一个落子）
+     */
+    private int generate(int depth, int color) {
+        int[] list = moves[depth];
+        int n = 0;
+        for (int pos : region) {
+            if (board.points[pos] != GoBoard.EMPTY || !makeMove(depth, pos, color))
+                continue;
+            list[n] = pos;
+            initChild(depth, n++, color);
+            board.undo();
+        }
+        if ((color == defender || n == 0) && makeMove(depth, GoBoard.PASS, color)) {
+            list[n] = GoBoard.PASS;
+            initChild(depth, n++, color);
+            board.undo();
+        }
+        return n;
+    }
+
+    // 子节点的初值：置换表中有则沿用，目标已被提的直接定为攻方胜，其余为(1, 1)
+    private void initChild(int depth, int i, int color) {
+        int childColor = 3 - color;
+        long key = nodeKey(depth + 1, childColor);
+        childKeys[depth][i] = key;
+        int slot = probe(key);
+        if (slot >= 0) {
+            childPhi[depth][i] = tablePhi[slot];
+            childDelta[depth][i] = tableDelta[slot];
+        } else if (board.points[target] != defender) {
+            childPhi[depth][i] = childColor == attacker ? 0 : INF;
+            childDelta[depth][i] = childColor == attacker ? INF : 0;
+        } else {
+            childPhi[depth][i] = 1;
+            childDelta[depth][i] = 1;
+        }
+    }
+
+    /**
+     * 走一手（停一手也记入路径），不合法时棋盘不变
+     * 劫材无限的一方不受超级劫限制，另一方走成对局历史或搜索路径上出现过的局面即不合法
+     */
+    private boolean makeMove(int depth, int pos, int color) {
+        if (pos == GoBoard.PASS) {
+            if (!board.pass())
+                return false;
+            line[depth] = GoBoard.PASS;
+            pathKeys[depth] = 0L;
+            return true;
+        }
+        if (!board.play(pos, color, true))
+            return false;
+        long key = repetitionKey(board.getHash(), color);
+        if (color != favoured && isRepeated(depth, key, color)) {
+            board.undo();
+            return false;
+        }
+        line[depth] = pos;
+        pathKeys[depth] = key;
+        return true;
+    }
+
+    // 与GoBoard的超级劫规则相同的判重键
+    private long repetitionKey(long hash, int mover) {
+        return situational ? hash ^ GoZobrist.moverKey(mover) : hash;
+    }
+
+    private boolean isRepeated(int depth, long key, int mover) {
+        if (problem.getBoard().isRepeatedHash(board.getHash(), mover))
+            return true;
+        for (int d = 0; d < depth; d++) {
+            if (line[d] != GoBoard.PASS && pathKeys[d] == key)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * 判断局面是否已分出胜负
+     *
+     * @return 胜方颜色，未分出时为GoBoard.EMPTY
+     */
+    private int terminal(int depth) {
+        if (board.points[target] != defender)
+            return attacker;
+        if (depth >= 2 && line[depth - 1] == GoBoard.PASS && line[depth - 2] == GoBoard.PASS)
+            return defender;
+        if (depth >= MAX_DEPTH)
+            return favoured;
+        if (isUnconditionallyAlive())
+            return defender;
+        return GoBoard.EMPTY;
+    }
+
+    // 局面键：盘面哈希加上轮到哪一方、上一手是否停一手、哪一方劫材无限
+    private long nodeKey(int depth, int color) {
+        long key = board.getHash() ^ GoZobrist.moverKey(3 - color);
+        if (depth > 0 && line[depth - 1] == GoBoard.PASS)
+            key ^= PASS_KEY;
+        if (favoured == attacker)
+            key ^= FAVOUR_KEY;
+        return key;
+    }
+
+    /**
+     * Benson算法：判断目标棋块是否无条件活（对方怎么下、守方全部停一手都吃不掉）
+     * 守方棋块之外的连通区域中，空点全是某棋块的气的区域对该棋块"关键"；
+     * 反复去掉关键区域不足两个的棋块、以及挨着已去掉棋块的区域，剩下的棋块无条件活
+     */
+    private boolean isUnconditionallyAlive() {
+        byte[] points = board.points;
+        for (int i = 0; i < geometry.pointCount(); i++) {
+            int pos = geometry.point(i);
+            blockOf[pos] = -1;
+            areaOf[pos] = -1;
+        }
+        // 给守方棋块和其余的连通区域编号
+        int blocks = 0;
+        int areas = 0;
+        for (int i = 0; i < geometry.pointCount(); i++) {
+            int pos = geometry.point(i);
+            if (points[pos] == defender) {
+                if (blockOf[pos] < 0)
+                    label(pos, true, blocks++);
+            } else if (areaOf[pos] < 0) {
+                vitalCount[areas] = -1;
+                label(pos, false, areas++);
+            }
+        }
+        // 每个区域的关键棋块：区域内每个空点相邻棋块的交集；同时记下区域与棋块的相邻关系
+        int pairs = 0;
+        for (int i = 0; i < geometry.pointCount(); i++) {
+            int pos = geometry.point(i);
+            int area = areaOf[pos];
+            if (area < 0)
+                continue;
+            int count = 0;
+            for (int k = 0; k < geometry.neighbourCount(pos); k++) {
+                int block = blockOf[geometry.neighbour(pos, k)];
+                if (block >= 0 && !contains(adjacent, count, block)) {
+                    adjacent[count++] = block;
+                    adjacentArea[pairs] = area;
+                    adjacentBlock[pairs++] = block;
+                }
+            }
+            if (points[pos] != GoBoard.EMPTY)
+                continue;
+            if (vitalCount[area] < 0) {
+                System.arraycopy(adjacent, 0, vital, area * 4, count);
+                vitalCount[area] = count;
+            } else {
+                int kept = 0;
+                for (int v = 0; v < vitalCount[area]; v++) {
+                    int block = vital[area * 4 + v];
+                    if (contains(adjacent, count, block))
+                        vital[area * 4 + kept++] = block;
+                }
+                vitalCount[area] = kept;
+            }
+        }
+
+        for (int b = 0; b < blocks; b++)
+            blockAlive[b] = true;
+        for (int a = 0; a < areas; a++)
+            areaHealthy[a] = true;
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int b = 0; b < blocks; b++)
+                healthyCount[b] = 0;
+            for (int a = 0; a < areas; a++) {
+                if (!areaHealthy[a])
+                    continue;
+                for (int v = 0; v < vitalCount[a]; v++)
+                    healthyCount[vital[a * 4 + v]]++;
+            }
+            for (int b = 0; b < blocks; b++) {
+                if (blockAlive[b] && healthyCount[b] < 2) {
+                    blockAlive[b] = false;
+                    changed = true;
+                }
+            }
+            for (int p = 0; p < pairs; p++) {
+                if (!blockAlive[adjacentBlock[p]])
+                    areaHealthy[adjacentArea[p]] = false;
+            }
+        }
+        return blockAlive[blockOf[target]];
+    }
+
+    // 从pos出发给守方棋块（block为true）或其余区域编号
+    private void label(int pos, boolean block, int id) {
+        byte[] points = board.points;
+        int[] ids = block ? blockOf : areaOf;
+        stack.clear();
+        stack.push(pos);
+        ids[pos] = id;
+        while (!stack.isEmpty()) {
+            int p = stack.pop();
+            for (int k = 0; k < geometry.neighbourCount(p); k++) {
+                int n = geometry.neighbour(p, k);
+                if (ids[n] < 0 && (points[n] == defender) == block) {
+                    ids[n] = id;
+                    stack.push(n);
+                }
+            }
+        }
+    }
+
+    private static boolean contains(int[] values, int count, int value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value)
+                return true;
+        }
+        return false;
+    }
+
+    // 查找置换表，返回条目下标，没有时返回-1
+    private int probe(long key) {
+        int i = (int) (key ^ (key >>> 32)) & tableMask;
+        if (tableStamp[i] == stamp && tableKeys[i] == key)
+            return i;
+        if (tableStamp[i + 1] == stamp && tableKeys[i + 1] == key)
+            return i + 1;
+        return -1;
+    }
+
+    // 写入置换表：同键覆盖，否则优先占用空位，再替换两者中搜索量较小的一个
+    private void store(long key, int phi, int delta, long work) {
+        int i = probe(key);
+        if (i < 0) {
+            int first = (int) (key ^ (key >>> 32)) & tableMask;
+            if (tableStamp[first] != stamp)
+                i = first;
+            else if (tableStamp[first + 1] != stamp)
+                i = first + 1;
+            else
+                i = tableWork[first] <= tableWork[first + 1] ? first : first + 1;
+        }
+        tableKeys[i] = key;
+        tablePhi[i] = phi;
+        tableDelta[i] = delta;
+        tableWork[i] = (int) Math.min(work, Integer.MAX_VALUE);
+        tableStamp[i] = stamp;
+    }
+}
@@ -0,0 +1,227 @@
+package com.github.lemonadedream.boardgame.module.GoGameModel.GoAI;
+
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoBoard;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoIntStack;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoMarks;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoZobrist;
+
+/**
+ * 深度优先搜索用的可悔棋棋盘：落子只记录落子点、提走的子、原劫点和原哈希，悔棋按记录还原，不复制棋盘
+ * 提子、自杀、单劫的判断与GoPlaceProcessor一致，超级劫由调用方按需要另行判断
+ * 供GoTactics与GoTsumegoSolver使用，每个线程使用自己的实例
+ */
+class GoUndoBoard {
+    final byte[] points = new byte[GoBoard.POINT_COUNT];
+    private int koPoint = GoBoard.PASS;
+    private long hash;
+
+    // 悔棋记录：每一手的落子点（停一手为PASS）、原劫点、原哈希，以及提走的子在captures中的起点
+    private final int[] undoPos;
+    private final int[] undoKo;
+    private final long[] undoHash;
+    private final int[] undoCaptureStart;
+    private final GoIntStack captures = new GoIntStack();
+    private int undoTop = 0;
+
+    // 洪水填充用的标记与栈
+    private final GoMarks marks = new GoMarks(GoBoard.POINT_COUNT);
+    private final GoIntStack stack = new GoIntStack();
+    // collect的结果：气与棋子
+    final int[] liberties = new int[GoBoard.POINT_COUNT];
+    final int[] stones = new int[GoBoard.POINT_COUNT];
+    int stoneCount;
+
+    /**
+     * @param maxDepth 最多连续落子（含停一手）的手数
+     */
+    GoUndoBoard(int maxDepth) {
+        undoPos = new int[maxDepth];
+        undoKo = new int[maxDepth];
+        undoHash = new long[maxDepth];
+        undoCaptureStart = new int[maxDepth];
+    }
+
+    /**
+     * 摆好局面，清空悔棋记录
+     *
+     * @param start   一维棋盘数组（整个复制，四周的墙随之复制）
+     * @param koPoint 禁止立即回提的劫点，没有时为GoBoard.PASS
+     * @param hash    局面的起始哈希，只在一次搜索内比较时可以从0开始
+     */
+    void reset(byte[] start, int koPoint, long hash) {
+        System.arraycopy(start, 0, points, 0, GoBoard.POINT_COUNT);
+        this.koPoint = koPoint;
+        this.hash = hash;
+        undoTop = 0;
+        captures.clear();
+    }
+
+    int getKoPoint() {
+        return koPoint;
+    }
+
+    long getHash() {
+        return hash;
+    }
+
+    // 已落下（尚未悔棋）的手数
+    int depth() {
+        return undoTop;
+    }
+
+    /**
+     * 落子并提走无气的对方棋块，不合法（已有棋子、打劫、自杀）或悔棋记录已满时棋盘不变
+     *
+     * @param ignoreKo 是否忽略单劫（调用方另行判断超级劫时使用）
+     * @return 是否合法
+     */
+    boolean play(int pos, int color, boolean ignoreKo) {
+        if (points[pos] != GoBoard.EMPTY || (!ignoreKo && pos == koPoint) || undoTop == undoPos.length)
+            return false;
+        record(pos);
+        points[pos] = (byte) color;
+        hash ^= GoZobrist.key(pos, color);
+        int opponent = 3 - color;
+        int captured = 0;
+        int lastCaptured = GoBoard.PASS;
+        for (int dir : GoBoard.DIRECTIONS) {
+            int n = pos + dir;
+            if (points[n] == opponent && collect(n, 1, false) == 0) {
+                captured += remove(n);
+                lastCaptured = n;
+            }
+        }
+        if (captured == 0 && collect(pos, 1, false) == 0) {
+            undo();
+            return false;
+        }
+        // 单子提单子且自身只剩一口气，对方不能立即回提
+        koPoint = GoBoard.PASS;
+        if (captured == 1 && collect(pos, 2, true) == 1 && stoneCount == 1)
+            koPoint = lastCaptured;
+        return true;
+    }
+
+    /**
+     * 停一手，劫点随之解除
+     *
+     * @return 悔棋记录已满时返回false
+     */
+    boolean pass() {
+        if (undoTop == undoPos.length)
+            return false;
+        record(GoBoard.PASS);
+        koPoint = GoBoard.PASS;
+        return true;
+    }
+
+    private void record(int pos) {
+        undoPos[undoTop] = pos;
+        undoKo[undoTop] = koPoint;
+        undoHash[undoTop] = hash;
+        undoCaptureStart[undoTop] = captures.size();
+        undoTop++;
+    }
+
+    // 撤销最后一手，被提的子按落子方的对方颜色放回
+    void undo() {
+        undoTop--;
+        int pos = undoPos[undoTop];
+        if (pos != GoBoard.PASS) {
+            int opponent = 3 - points[pos];
+            points[pos] = GoBoard.EMPTY;
+            int start = undoCaptureStart[undoTop];
+            while (captures.size() > start)
+                points[captures.pop()] = (byte) opponent;
+        }
+        koPoint = undoKo[undoTop];
+        hash = undoHash[undoTop];
+    }
+
+    // 提走pos所在的棋块，被提的子记入captures
+    private int remove(int pos) {
+        int color = points[pos];
+        int count = 0;
+        stack.clear();
+        stack.push(pos);
+        points[pos] = GoBoard.EMPTY;
+        while (!stack.isEmpty()) {
+            int p = stack.pop();
+            captures.push(p);
+            hash ^= GoZobrist.key(p, color);
+            count++;
+            for (int dir : GoBoard.DIRECTIONS) {
+                int n = p + dir;
+                if (points[n] == color) {
+                    points[n] = GoBoard.EMPTY;
+                    stack.push(n);
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 洪水填充pos所在的棋块，把气记入liberties（最多max口）
+     *
+     * @param keepStones 是否把棋块的全部棋子记入stones（此时不在max口气时提前停止）
+     * @return 气数（不超过max）；keepStones时棋子数记在stoneCount
+     */
+    int collect(int pos, int max, boolean keepStones) {
+        int color = points[pos];
+        int libs = 0;
+        stoneCount = 0;
+        marks.next();
+        stack.clear();
+        stack.push(pos);
+        marks.mark(pos);
+        while (!stack.isEmpty()) {
+            int p = stack.pop();
+            if (keepStones)
+                stones[stoneCount++] = p;
+            for (int dir : GoBoard.DIRECTIONS) {
+                int n = p + dir;
+                int c = points[n];
+                if (c == GoBoard.EMPTY) {
+                    if (marks.markIfNew(n) && libs < max)
+                        liberties[libs++] = n;
+                    if (libs >= max && !keepStones)
+                        return libs;
+                } else if (c == color && marks.markIfNew(n)) {
+                    stack.push(n);
+                }
+            }
+        }
+        return libs;
+    }
+
+    /**
+     * 棋块只剩一口气时返回这口气，否则返回GoBoard.PASS
+     * 走过的子记入seen；找到第二口气即停止，同一棋块没走到的子可能再查一次，结论不变
+     */
+    int singleLiberty(int pos, GoMarks seen) {
+        int color = points[pos];
+        int lib = GoBoard.PASS;
+        marks.next();
+        stack.clear();
+        stack.push(pos);
+        seen.mark(pos);
+        while (!stack.isEmpty()) {
+            int p = stack.pop();
+            for (int dir : GoBoard.DIRECTIONS) {
+                int n = p + dir;
+                int c = points[n];
+                if (c == GoBoard.EMPTY) {
+                    if (marks.markIfNew(n)) {
+                        if (lib != GoBoard.PASS)
+                            return GoBoard.PASS;
+                        lib = n;
+                    }
+                } else if (c == color && seen.markIfNew(n)) {
+                    stack.push(n);
+                }
+            }
+        }
+        return lib;
+    }
+}
@@ -0,0 +1,266 @@
+package com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents;
+
+/**
+ * 位棋盘：黑、白、空三种状态各用一个361位的集合表示，打包在long[6]中
+ * 位序号 b = (x - 1) * 19 + (y - 1)，同一行左右相邻的点相差1，上下相邻的点相差19
+ * 棋块扩展、数气、提子都通过整段移位和掩码完成，不逐点遍历
+ */
+public class GoBitBoard {
+    // 有效棋盘的边长
+    public static final int SIZE = 19;
+    // 有效点位数
+    public static final int BITS = SIZE * SIZE;
+    // 每个集合占用的long个数
+    public static final int WORDS = (BITS + 63) / 64;
+
+    // 棋盘内的全部点位
+    private static final long[] BOARD_MASK = new long[WORDS];
+    // 去掉第一列（y = 1）的点位，左右移位后用来切掉换行的位
+    private static final long[] NOT_FIRST_COL = new long[WORDS];
+    // 去掉最后一列（y = 19）的点位
+    private static final long[] NOT_LAST_COL = new long[WORDS];
+    // 每个点位四个邻点的位序号，越界为-1
+    private static final int[] NEIGHBOURS = new int[BITS * 4];
+
+    static {
+        for (int b = 0; b < BITS; b++) {
+            setBit(BOARD_MASK, b);
+            int y = b % SIZE;
+            if (y != 0)
+                setBit(NOT_FIRST_COL, b);
+            if (y != SIZE - 1)
+                setBit(NOT_LAST_COL, b);
+            int x = b / SIZE;
+            NEIGHBOURS[b * 4] = x > 0 ? b - SIZE : -1;
+            NEIGHBOURS[b * 4 + 1] = x < SIZE - 1 ? b + SIZE : -1;
+            NEIGHBOURS[b * 4 + 2] = y > 0 ? b - 1 : -1;
+            NEIGHBOURS[b * 4 + 3] = y < SIZE - 1 ? b + 1 : -1;
+        }
+    }
+
+    // 黑子、白子、空点集合
+    private final long[] black = new long[WORDS];
+    private final long[] white = new long[WORDS];
+    private final long[] empty = new long[WORDS];
+    // 当前局面的Zobrist哈希（与GoBoard使用同一套键，可直接比较）
+    private long hash = 0L;
+
+    // 最近一次check得到的待提棋子集合与落子后的局面哈希
+    private final long[] captured = new long[WORDS];
+    private long candidateHash = 0L;
+
+    // 洪水填充用的缓冲区，避免每次检查都分配数组
+    private final long[] group = new long[WORDS];
+    private final long[] grown = new long[WORDS];
+    private final long[] shifted = new long[WORDS];
+
+    public GoBitBoard() {
+        clear();
+    }
+
+    // 由坐标计算位序号
+    public static int bitOf(int x, int y) {
+        return (x - 1) * SIZE + (y - 1);
+    }
+
+    // 由位序号计算一维棋盘的点位编码
+    public static int posOf(int bit) {
+        return GoBoard.toPos(bit / SIZE + 1, bit % SIZE + 1);
+    }
+
+    private static boolean testBit(long[] set, int b) {
+        return (set[b >>> 6] & (1L << b)) != 0;
+    }
+
+    private static void setBit(long[] set, int b) {
+        set[b >>> 6] |= 1L << b;
+    }
+
+    private static void clearBit(long[] set, int b) {
+        set[b >>> 6] &= ~(1L << b);
+    }
+
+    /**
+     * 清空棋盘
+     */
+    public void clear() {
+        for (int i = 0; i < WORDS; i++) {
+            black[i] = 0L;
+            white[i] = 0L;
+            empty[i] = BOARD_MASK[i];
+        }
+        hash = 0L;
+    }
+
+    /**
+     * 从一维棋盘复制当前局面
+     * 小于19路的棋盘，有效区域之外的点在一维棋盘上是墙，这里既不算棋子也不算空点，
+     * 因而不会被当成气，落在上面的检查也按已被占用处理
+     */
+    public void loadFrom(GoBoard board) {
+        clear();
+        for (int b = 0; b < BITS; b++) {
+            int color = board.getPoint(posOf(b));
+            if (color == GoBoard.BLACK || color == GoBoard.WHITE)
+                setBit(color == GoBoard.BLACK ? black : white, b);
+            if (color != GoBoard.EMPTY)
+                clearBit(empty, b);
+        }
+        hash = board.getHash();
+    }
+
+    // 取出坐标上的状态
+    public int get(int x, int y) {
+        int b = bitOf(x, y);
+        if (testBit(black, b))
+            return GoBoard.BLACK;
+        if (testBit(white, b))
+            return GoBoard.WHITE;
+        return GoBoard.EMPTY;
+    }
+
+    public long getHash() {
+        return hash;
+    }
+
+    // 最近一次check通过后，落子（含提子）得到的局面哈希
+    public long getCandidateHash() {
+        return candidateHash;
+    }
+
+    /**
+     * 向四个方向各扩展一格：dst = src | 上 | 下 | 左 | 右，并限制在棋盘内
+     */
+    private void dilate(long[] src, long[] dst) {
+        for (int i = 0; i < WORDS; i++)
+            dst[i] = src[i];
+        // 右移一格（y + 1），从上一行末尾换行过来的位落在第一列，需切掉
+        for (int i = WORDS - 1; i >= 0; i--)
+            shifted[i] = (src[i] << 1) | (i > 0 ? src[i - 1] >>> 63 : 0L);
+        for (int i = 0; i < WORDS; i++)
+            dst[i] |= shifted[i] & NOT_FIRST_COL[i];
+        // 左移一格（y - 1），换行的位落在最后一列
+        for (int i = 0; i < WORDS; i++)
+            shifted[i] = (src[i] >>> 1) | (i < WORDS - 1 ? src[i + 1] << 63 : 0L);
+        for (int i = 0; i < WORDS; i++)
+            dst[i] |= shifted[i] & NOT_LAST_COL[i];
+        // 下移一行（x + 1）与上移一行（x - 1）
+        for (int i = WORDS - 1; i >= 0; i--)
+            dst[i] |= (src[i] << SIZE) | (i > 0 ? src[i - 1] >>> (64 - SIZE) : 0L);
+        for (int i = 0; i < WORDS; i++)
+            dst[i] |= (src[i] >>> SIZE) | (i < WORDS - 1 ? src[i + 1] << (64 - SIZE) : 0L);
+        for (int i = 0; i < WORDS; i++)
+            dst[i] &= BOARD_MASK[i];
+    }
+
+    /**
+     * 从一个棋子出发洪水填充出整块棋，结果放在group中
+     *
+     * @param b      起点位序号
+     * @param stones 同色棋子集合
+     */
+    private void floodGroup(int b, long[] stones) {
+        for (int i = 0; i < WORDS; i++)
+            group[i] = 0L;
+        setBit(group, b);
+        while (true) {
+            dilate(group, grown);
+            boolean changed = false;
+            for (int i = 0; i < WORDS; i++) {
+                long g = grown[i] & stones[i];
+                if (g != group[i]) {
+                    group[i] = g;
+                    changed = true;
+                }
+            }
+            if (!changed)
+                return;
+        }
+    }
+
+    // 判断group在除去点位except之外是否还有气
+    private boolean groupHasLibertyExcept(int except) {
+        dilate(group, grown);
+        clearBit(grown, except);
+        for (int i = 0; i < WORDS; i++) {
+            if ((grown[i] & empty[i]) != 0)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * 判断落子是否合法（不含打劫判断），并记下待提棋子与落子后的局面哈希
+     *
+     * @return 0-合法 1-位置已被占用 3-落子后无气（自杀）
+     */
+    public int check(int x, int y, int color) {
+        int b = bitOf(x, y);
+        if (!testBit(empty, b))
+            return 1;
+        long[] own = (color == GoBoard.BLACK) ? black : white;
+        long[] opp = (color == GoBoard.BLACK) ? white : black;
+        for (int i = 0; i < WORDS; i++)
+            captured[i] = 0L;
+
+        boolean hasLiberty = false;
+        boolean hasCaptured = false;
+        for (int k = 0; k < 4; k++) {
+            int n = NEIGHBOURS[b * 4 + k];
+            if (n < 0)
+                continue;
+            if (testBit(empty, n)) {
+                hasLiberty = true;
+            } else if (testBit(opp, n)) {
+                if (testBit(captured, n))
+                    continue;
+                floodGroup(n, opp);
+                if (!groupHasLibertyExcept(b)) {
+                    for (int i = 0; i < WORDS; i++)
+                        captured[i] |= group[i];
+                    hasCaptured = true;
+                }
+            } else if (!hasLiberty) {
+                floodGroup(n, own);
+                if (groupHasLibertyExcept(b))
+                    hasLiberty = true;
+            }
+        }
+        if (!hasLiberty && !hasCaptured)
+            return 3;
+
+        candidateHash = hash ^ GoZobrist.key(posOf(b), color);
+        int oppColor = 3 - color;
+        for (int i = 0; i < WORDS; i++) {
+            long v = captured[i];
+            while (v != 0) {
+                candidateHash ^= GoZobrist.key(posOf((i << 6) + Long.numberOfTrailingZeros(v)), oppColor);
+                v &= v - 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * 落子并提走无气的对方棋块（不判断打劫）
+     *
+     * @return 提走的棋子数，落子不合法时返回-1且不改变棋盘
+     */
+    public int play(int x, int y, int color) {
+        if (check(x, y, color) != 0)
+            return -1;
+        int b = bitOf(x, y);
+        long[] own = (color == GoBoard.BLACK) ? black : white;
+        long[] opp = (color == GoBoard.BLACK) ? white : black;
+        setBit(own, b);
+        clearBit(empty, b);
+        int count = 0;
+        for (int i = 0; i < WORDS; i++) {
+            opp[i] &= ~captured[i];
+            empty[i] |= captured[i];
+            count += Long.bitCount(captured[i]);
+        }
+        hash = candidateHash;
+        return count;
+    }
+}
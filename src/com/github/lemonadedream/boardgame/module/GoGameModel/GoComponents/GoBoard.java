@@ -1,92 +1,577 @@
 package com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class GoBoard {
-    // ̴Сǽ
+    // 超级劫规则
+    public enum KoRule {
+        POSITIONAL, // 局面超级劫：盘面重复即禁止
+        SITUATIONAL // 情境超级劫：盘面重复且轮到同一方下才禁止
+    }
+
+    // 计数变化监听器，在确认落子、悔棋、复盘跳转等之后收到最新的计数
+    public interface CountListener {
+        /**
+         * @param blackStones    盘上黑子数
+         * @param whiteStones    盘上白子数
+         * @param blackPrisoners 黑方提走的白子数
+         * @param whitePrisoners 白方提走的黑子数
+         * @param blackArea      黑方粗略地盘（黑子 + 四邻全为黑子的空点）
+         * @param whiteArea      白方粗略地盘
+         */
+        void countsChanged(int blackStones, int whiteStones, int blackPrisoners, int whitePrisoners,
+                int blackArea, int whiteArea);
+    }
+
+    // 棋盘大小（包括墙）
     public static final int BOARD_SIZE = 21;
-    // 
-    public static final int MAX_STEP = 1000;
+    // 一维棋盘的点位总数，点位编码为 x * BOARD_SIZE + y
+    public static final int POINT_COUNT = BOARD_SIZE * BOARD_SIZE;
+    // 上下左右四个邻点相对点位编码的偏移
+    public static final int[] DIRECTIONS = { -BOARD_SIZE, BOARD_SIZE, -1, 1 };
 
-    // λ״̬
+    // 位置状态常量
     public static final int WALL = -1;
     public static final int EMPTY = 0;
     public static final int BLACK = 1;
     public static final int WHITE = 2;
     public static final int MUTUAL_PLACE = 100;
+    // 停一手（虚着）的点位编码，(0,0)是墙，不会与真实落子冲突
+    public static final int PASS = 0;
 
-    // ¼ǰ״̬ÿλӵı
-    public int[][] curStatus = new int[BOARD_SIZE][BOARD_SIZE];
-    // ¼ʷ״̬ջ
+    // 记录当前的棋盘状态：一维连续数组，四周一圈为墙，按点位编码访问
+    private final byte[] points = new byte[POINT_COUNT];
+    // 已确认的最后一手在对局历史中的下标（-1表示还没有落子）
     public int stackTop = -1;
-    public int[][][] historyStatusStack = new int[MAX_STEP][BOARD_SIZE][BOARD_SIZE];
-    // ˫Ļ
+    // 存放双方的悔棋次数
     public int[] undoCount = { 1, 1 };
+    // 棋串追踪表，随棋盘状态增量更新
+    private final GoChains chains = new GoChains(points);
+    // 棋盘几何表（全部点位与邻点）
+    private final GoGeometry geometry;
+    // 每个点位的3×3邻域编码，随棋盘状态增量更新
+    private final GoPatternCodes patterns = new GoPatternCodes();
+    // 二维视图（兼容旧调用），仅在棋盘变化后被读取时才重新生成
+    private final int[][] statusView = new int[BOARD_SIZE][BOARD_SIZE];
+    private int version = 0;
+    private int viewVersion = -1;
+
+    // 当前局面的Zobrist哈希，随落子、提子增量更新
+    private long hash = 0L;
+    // 最近一次落子的颜色
+    private int lastMover = EMPTY;
+    // 历史局面集合，存放已确认各手落子后按当前超级劫规则生成的键
+    private final GoPositionSet historyKeys = new GoPositionSet();
+    // 当前采用的超级劫规则
+    private KoRule koRule = KoRule.POSITIONAL;
+
+    // 按颜色下标存放的盘上棋子数、提子数、粗略地盘，随落子、提子、撤销增量维护
+    private final int[] stoneCount = new int[3];
+    private final int[] prisonerCount = new int[3];
+    private final int[] areaCount = new int[3];
+    // 每个点当前计入哪一方的粗略地盘（EMPTY表示不计入任何一方）
+    private final byte[] areaOwner = new byte[POINT_COUNT];
+    private final List<CountListener> countListeners = new ArrayList<>();
+
+    // 对局历史（按手存放增量），前stackTop + 1手为已确认的对局，其后为试下的手
+    private final GoMoveHistory history = new GoMoveHistory();
+    // 当前局面位于历史中的手数，小于history.size()时其后的手可以重做
+    private int moveCount = 0;
+
+    // 由坐标计算点位编码
+    public static int toPos(int x, int y) {
+        return x * BOARD_SIZE + y;
+    }
+
+    // 取出点位上的状态
+    public int getPoint(int pos) {
+        return points[pos];
+    }
+
+    // 取出坐标上的状态
+    public int getPoint(int x, int y) {
+        return points[x * BOARD_SIZE + y];
+    }
+
+    // 取出棋盘版本号，每次棋盘内容变化都会递增（供外部缓存判断是否需要重新同步）
+    public int getVersion() {
+        return version;
+    }
+
+    // 取出一维棋盘数组（供规则引擎直接读取，不可修改）
+    public byte[] getPoints() {
+        return points;
+    }
 
-    // ȡǰ״̬
+    /**
+     * 取出当前棋盘状态的二维视图
+     * 视图是一维棋盘的只读拷贝，修改它不会影响棋盘；新代码应使用getPoint
+     */
     public int[][] getCurStatus() {
-        return curStatus;
+        if (viewVersion != version) {
+            for (int i = 0; i < BOARD_SIZE; i++)
+                for (int j = 0; j < BOARD_SIZE; j++)
+                    statusView[i][j] = points[i * BOARD_SIZE + j];
+            viewVersion = version;
+        }
+        return statusView;
+    }
+
+    // 取出棋串追踪表
+    public GoChains getChains() {
+        return chains;
+    }
+
+    // 取出棋盘几何表
+    public GoGeometry getGeometry() {
+        return geometry;
+    }
+
+    // 取出3×3邻域编码表
+    public GoPatternCodes getPatternCodes() {
+        return patterns;
+    }
+
+    // 取出当前局面的Zobrist哈希
+    public long getHash() {
+        return hash;
+    }
+
+    // 取出对局历史
+    public GoMoveHistory getHistory() {
+        return history;
+    }
+
+    // 取出当前的超级劫规则
+    public KoRule getKoRule() {
+        return koRule;
+    }
+
+    /**
+     * 切换超级劫规则，并按新规则重建历史局面集合
+     * 
+     * @param rule 局面超级劫或情境超级劫
+     */
+    public void setKoRule(KoRule rule) {
+        this.koRule = rule;
+        historyKeys.clear();
+        for (int top = 0; top <= stackTop; top++)
+            if (history.getPos(top) != PASS)
+                historyKeys.add(historyKey(top));
+    }
+
+    // 对局历史中第top手落子后的局面按当前规则生成的键
+    private long historyKey(int top) {
+        return repetitionKey(history.getHash(top), history.getColor(top));
+    }
+
+    // 按当前超级劫规则生成用于判重的键
+    private long repetitionKey(long positionHash, int mover) {
+        if (koRule == KoRule.SITUATIONAL)
+            return positionHash ^ GoZobrist.moverKey(mover);
+        return positionHash;
+    }
+
+    /**
+     * 判断某一方落子后得到的局面哈希是否在历史中出现过（O(1)查找）
+     * 出现过只说明可能重复，仍需逐点比较排除哈希碰撞
+     * 
+     * @param positionHash 落子后的局面哈希
+     * @param mover        落子方颜色
+     */
+    public boolean isRepeatedHash(long positionHash, int mover) {
+        return historyKeys.contains(repetitionKey(positionHash, mover));
     }
 
-    // ȡʷ״̬ջ
-    public int[][] getHistoryStatusTop() {
-        if (stackTop >= 0)
-            return historyStatusStack[stackTop];
-        else
-            return null;
+    /**
+     * 判断对局历史中的某一手是否与给定局面哈希匹配（用于逐点比较前的筛选）
+     * 
+     * @param top          对局历史中的手数下标
+     * @param positionHash 局面哈希
+     * @param mover        落子方颜色
+     */
+    public boolean historyMatches(int top, long positionHash, int mover) {
+        return history.getPos(top) != PASS && historyKey(top) == repetitionKey(positionHash, mover);
     }
 
-    // ǰ״̬뵽ʷ״̬ջ
+    /**
+     * 取出对局历史中第step手之后的棋盘状态（由最近的快照加增量恢复，不改变当前棋盘）
+     * 
+     * @param step 手数下标，-1表示开局时的局面
+     * @param out  存放结果的一维棋盘数组
+     */
+    public void copyHistoryStatus(int step, byte[] out) {
+        history.positionAt(step, out);
+    }
+
+    // 确认最近一手：把它计入对局历史，并登记落子后的局面用于判断超级劫
     public void boardStatusPush() {
         ++stackTop;
-        for (int i = 1; i <= 19; i++)
-            for (int j = 1; j <= 19; j++)
-                historyStatusStack[stackTop][i][j] = curStatus[i][j];
+        history.keyframe(stackTop, points);
+        if (history.getPos(stackTop) != PASS)
+            historyKeys.add(historyKey(stackTop));
+        fireCountsChanged();
     }
 
-    // ʷ״̬ջָɵǰ״̬
+    // 撤销已确认的最后一手，回到落子前的局面
     public void boardStatusPop() {
         if (stackTop >= 0) {
-            for (int i = 1; i <= 19; i++)
-                for (int j = 1; j <= 19; j++)
-                    curStatus[i][j] = historyStatusStack[stackTop][i][j];
-            --stackTop;
+            boardStatusPopOnly();
+            undo();
+            fireCountsChanged();
         }
     }
 
-    // ջָ״̬ĳʷ״̬
+    // 仅取消最后一手的确认，不改变棋盘（之后应调用undo撤销这一手）
     public void boardStatusPopOnly() {
         if (stackTop >= 0) {
+            if (history.getPos(stackTop) != PASS)
+                historyKeys.remove(historyKey(stackTop));
             --stackTop;
         }
     }
 
     /**
-     * xyӷŽƳǰ״̬
+     * 用给定的棋盘状态覆盖当前状态（摆放局面时使用）
+     * 覆盖后的局面作为新的开局局面，此前的对局历史一并清空
+     * 
+     * @param status 要恢复的棋盘状态，为null时清空棋盘
+     */
+    public void restoreStatus(byte[] status) {
+        moveCount = 0;
+        stackTop = -1;
+        historyKeys.clear();
+        hash = 0L;
+        for (int pos = 0; pos < POINT_COUNT; pos++) {
+            if (points[pos] == WALL)
+                continue;
+            points[pos] = (status == null) ? EMPTY : status[pos];
+            hash ^= GoZobrist.key(pos, points[pos]);
+        }
+        history.reset(points);
+        version++;
+        chains.rebuild();
+        patterns.rebuild(points);
+        prisonerCount[BLACK] = prisonerCount[WHITE] = 0;
+        recount();
+        fireCountsChanged();
+    }
+
+    /**
+     * 在坐标x，y落下一子，并提走因此无气的对方棋串（调用前应已判断合法性）
+     * 
+     * @param x     棋盘横坐标
+     * @param y     棋盘纵坐标
+     * @param color 棋子颜色
+     * @return 提走的棋子数
+     */
+    public int play(int x, int y, int color) {
+        return play(toPos(x, y), color);
+    }
+
+    /**
+     * 按点位编码落子（或停一手），只把落子点和被提的棋子记入对局历史，可由undo撤销
+     * 当前局面之后原有的可重做记录会被丢弃
+     * 
+     * @param pos   点位编码，PASS表示停一手
+     * @param color 棋子颜色
+     * @return 提走的棋子数
+     */
+    public int play(int pos, int color) {
+        history.truncate(moveCount);
+        history.append(pos, color, lastMover);
+        moveCount++;
+        lastMover = color;
+        if (pos == PASS) {
+            history.setHash(hash);
+            return 0;
+        }
+
+        version++;
+        points[pos] = (byte) color;
+        chains.addStone(pos);
+        patterns.update(pos, color);
+        hash ^= GoZobrist.key(pos, color);
+        int captured = 0;
+        for (int dir : DIRECTIONS) {
+            int head = chains.headOf(pos + dir);
+            if (head != GoChains.NONE && head != chains.headOf(pos) && chains.liberties(head) == 0) {
+                hash ^= chains.chainKey(head);
+                // 先记下被提的棋子再从棋盘上拿走
+                int p = head;
+                do {
+                    history.addCapture(p);
+                    patterns.update(p, EMPTY);
+                    p = chains.nextStone(p);
+                } while (p != head);
+                captured += chains.removeChain(head);
+            }
+        }
+        history.setHash(hash);
+        applyCounts(moveCount - 1, 1);
+        return captured;
+    }
+
+    /**
+     * 撤销最近一手：拿走落下的棋子，按历史放回被提的棋子（这一手仍保留在历史中，可由redo重做）
+     * 
+     * @return 已回到历史起点无法撤销时返回false
+     */
+    public boolean undo() {
+        if (moveCount == 0)
+            return false;
+        int m = --moveCount;
+        int pos = history.getPos(m);
+        int color = history.getColor(m);
+        lastMover = history.getPrevMover(m);
+        if (pos == PASS)
+            return true;
+
+        version++;
+        hash ^= GoZobrist.key(pos, color);
+        chains.removeStone(pos);
+        patterns.update(pos, EMPTY);
+        for (int i = history.captureStart(m); i < history.captureEnd(m); i++) {
+            int p = history.getCapture(i);
+            points[p] = (byte) (3 - color);
+            chains.addStone(p);
+            patterns.update(p, 3 - color);
+            hash ^= GoZobrist.key(p, 3 - color);
+        }
+        applyCounts(m, -1);
+        return true;
+    }
+
+    /**
+     * 重做被undo撤销的下一手（复盘前进时使用）
+     * 
+     * @return 没有可重做的手时返回false
+     */
+    public boolean redo() {
+        if (moveCount == history.size())
+            return false;
+        int m = moveCount++;
+        int pos = history.getPos(m);
+        int color = history.getColor(m);
+        lastMover = color;
+        if (pos == PASS)
+            return true;
+
+        version++;
+        points[pos] = (byte) color;
+        chains.addStone(pos);
+        patterns.update(pos, color);
+        for (int i = history.captureStart(m); i < history.captureEnd(m); i++) {
+            // 同一棋串的棋子连续存放，整串提走后其余棋子已不在盘上
+            int head = chains.headOf(history.getCapture(i));
+            if (head != GoChains.NONE)
+                chains.removeChain(head);
+            patterns.update(history.getCapture(i), EMPTY);
+        }
+        hash = history.getHash(m);
+        applyCounts(m, 1);
+        return true;
+    }
+
+    /**
+     * 按历史中第m手的增量更新计数（棋盘已完成落子或撤销之后调用）
+     * 
+     * @param m    手数下标
+     * @param sign 1表示落下这一手，-1表示撤销这一手
+     */
+    private void applyCounts(int m, int sign) {
+        int pos = history.getPos(m);
+        int color = history.getColor(m);
+        int captured = history.captureEnd(m) - history.captureStart(m);
+        stoneCount[color] += sign;
+        stoneCount[3 - color] -= sign * captured;
+        prisonerCount[color] += sign * captured;
+        refreshArea(pos);
+        for (int i = history.captureStart(m); i < history.captureEnd(m); i++)
+            refreshArea(history.getCapture(i));
+    }
+
+    /**
+     * 取出某一方到当前局面为止提走的对方棋子数
+     * 
+     * @param color 提子一方的颜色
+     */
+    public int getPrisoners(int color) {
+        return prisonerCount[color];
+    }
+
+    // 取出盘上某一方的棋子数
+    public int getStoneCount(int color) {
+        return stoneCount[color];
+    }
+
+    /**
+     * 取出某一方的粗略地盘：盘上棋子加上四邻全是该方棋子的空点
+     * 只作为对局中的形势参考，终局数子应使用GoScorer
+     */
+    public int getAreaEstimate(int color) {
+        return areaCount[color];
+    }
+
+    public void addCountListener(CountListener listener) {
+        countListeners.add(listener);
+    }
+
+    public void removeCountListener(CountListener listener) {
+        countListeners.remove(listener);
+    }
+
+    // 把当前计数通知给所有监听器
+    public void fireCountsChanged() {
+        for (CountListener listener : countListeners) {
+            listener.countsChanged(stoneCount[BLACK], stoneCount[WHITE], prisonerCount[BLACK],
+                    prisonerCount[WHITE], areaCount[BLACK], areaCount[WHITE]);
+        }
+    }
+
+    // 重新判定点位计入哪一方的粗略地盘
+    private void refreshAreaPoint(int pos) {
+        int owner = points[pos];
+        if (owner == EMPTY) {
+            int borders = 0;
+            for (int k = 0; k < geometry.neighbourCount(pos); k++)
+                borders |= 1 << points[geometry.neighbour(pos, k)];
+            if (borders == 1 << BLACK)
+                owner = BLACK;
+            else if (borders == 1 << WHITE)
+                owner = WHITE;
+        }
+        if (owner != areaOwner[pos]) {
+            areaCount[areaOwner[pos]]--;
+            areaCount[owner]++;
+            areaOwner[pos] = (byte) owner;
+        }
+    }
+
+    // 点位状态变化后，它自己和四个邻点的地盘归属都可能变化
+    private void refreshArea(int pos) {
+        refreshAreaPoint(pos);
+        for (int k = 0; k < geometry.neighbourCount(pos); k++)
+            refreshAreaPoint(geometry.neighbour(pos, k));
+    }
+
+    // 按整个棋盘重新统计棋子数和地盘（整盘覆盖后调用，提子数不变）
+    private void recount() {
+        stoneCount[BLACK] = stoneCount[WHITE] = 0;
+        areaCount[EMPTY] = areaCount[BLACK] = areaCount[WHITE] = 0;
+        for (int i = 0; i < geometry.pointCount(); i++) {
+            int pos = geometry.point(i);
+            if (points[pos] != EMPTY)
+                stoneCount[points[pos]]++;
+            areaOwner[pos] = EMPTY;
+            areaCount[EMPTY]++;
+        }
+        for (int i = 0; i < geometry.pointCount(); i++)
+            refreshAreaPoint(geometry.point(i));
+    }
+
+    // 取出当前局面在对局历史中的手数
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * 提走坐标x，y所在的整块棋串
      * 
-     * @param x      ̺
-     * @param y      
-     * @param color  ɫ
-     * @param method 1Ž0Ƴ
+     * @return 提走的棋子数
+     */
+    public int removeChain(int x, int y) {
+        int head = chains.headOf(toPos(x, y));
+        if (head == GoChains.NONE)
+            return 0;
+        version++;
+        hash ^= chains.chainKey(head);
+        int p = head;
+        do {
+            patterns.update(p, EMPTY);
+            p = chains.nextStone(p);
+        } while (p != head);
+        int count = chains.removeChain(head);
+        recount();
+        return count;
+    }
+
+    /**
+     * 将坐标x，y的棋子放进或移出当前状态
+     * 
+     * @param x      棋盘横坐标
+     * @param y      棋盘纵坐标
+     * @param color  棋子颜色
+     * @param method 操作方法（1放进0移出）
      */
     public void piecesChange(int x, int y, int color, int method) {
         if (x < 0 || y < 0 || x >= BOARD_SIZE || y >= BOARD_SIZE)
             return;
+        int pos = toPos(x, y);
+        if (points[pos] == WALL)
+            return;
+        version++;
+        hash ^= GoZobrist.key(pos, points[pos]);
         if (method == 1) {
-            curStatus[x][y] = color;
+            if (points[pos] == EMPTY) {
+                points[pos] = (byte) color;
+                chains.addStone(pos);
+            } else {
+                points[pos] = (byte) color;
+                chains.rebuild();
+            }
         } else if (method == 0) {
-            curStatus[x][y] = EMPTY;
+            points[pos] = EMPTY;
+            chains.rebuild();
         }
+        hash ^= GoZobrist.key(pos, points[pos]);
+        patterns.update(pos, points[pos]);
+        recount();
     }
 
     public GoBoard() {
-        // ʼ̣߽ΪǽڲΪ
+        this(GoGeometry.MAX_SIZE);
+    }
+
+    /**
+     * 指定边长的棋盘（供对局测试等使用，界面固定为19路）
+     * 仍使用21×21的一维布局，1..size以外的点位都是墙
+     *
+     * @param size 边长，1到GoGeometry.MAX_SIZE
+     */
+    public GoBoard(int size) {
+        this.geometry = GoGeometry.of(size);
+        // 初始化棋盘，棋盘以外为墙，内部为空
         for (int i = 0; i < BOARD_SIZE; i++) {
             for (int j = 0; j < BOARD_SIZE; j++) {
-                if (i == 0 || i == BOARD_SIZE - 1 || j == 0 || j == BOARD_SIZE - 1) {
-                    curStatus[i][j] = WALL;
+                if (i < 1 || i > size || j < 1 || j > size) {
+                    points[toPos(i, j)] = WALL;
                 } else {
-                    curStatus[i][j] = EMPTY;
+                    points[toPos(i, j)] = EMPTY;
                 }
             }
         }
+        history.reset(points);
+        patterns.rebuild(points);
+        recount();
+    }
+
+    /**
+     * 复制一份独立的棋盘：从开局局面出发重放已确认的各手，超级劫历史、提子数等随之一致
+     * 复制品不带计数监听器，可以交给其他线程搜索
+     */
+    public GoBoard copy() {
+        GoBoard board = new GoBoard(geometry.getSize());
+        board.koRule = koRule;
+        board.undoCount = undoCount.clone();
+        byte[] base = new byte[POINT_COUNT];
+        history.positionAt(-1, base);
+        board.restoreStatus(base);
+        for (int m = 0; m <= stackTop; m++) {
+            board.play(history.getPos(m), history.getColor(m));
+            board.boardStatusPush();
+        }
+        return board;
     }
 }
\ No newline at end of file
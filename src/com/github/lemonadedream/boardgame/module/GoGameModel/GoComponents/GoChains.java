@@ -0,0 +1,260 @@
+package com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents;
+
+/**
+ * 棋串（连通块）追踪表
+ * 每个棋子通过环形链表挂在所属棋串上，棋串的代表点记录棋子数与伪气数，
+ * 落子和提子时增量维护，判断提子、自杀时只需查看四个邻点所属的棋串记录
+ *
+ * 伪气：棋串中每个棋子相邻空点个数之和（同一个空点可能被重复计算），
+ * 伪气为0当且仅当棋串无气
+ */
+public class GoChains {
+    private static final int POINT_COUNT = GoBoard.POINT_COUNT;
+    private static final int[] DIRECTIONS = GoBoard.DIRECTIONS;
+    // 空点或墙所属的棋串编号
+    public static final int NONE = -1;
+
+    // 被追踪的棋盘状态（与GoBoard共享同一数组）
+    private final byte[] board;
+    // 每个点所属棋串的代表点
+    private final int[] head = new int[POINT_COUNT];
+    // 棋串环形链表中的下一个棋子
+    private final int[] next = new int[POINT_COUNT];
+    // 棋串伪气数（仅代表点有效）
+    private final int[] libs = new int[POINT_COUNT];
+    // 棋串棋子数（仅代表点有效）
+    private final int[] size = new int[POINT_COUNT];
+    // 拆分棋串时暂存成员的缓冲区
+    private final int[] scratch = new int[POINT_COUNT];
+
+    public GoChains(byte[] board) {
+        this.board = board;
+        for (int i = 0; i < POINT_COUNT; i++)
+            head[i] = NONE;
+    }
+
+    // 取出某个点位的状态
+    private int colorAt(int pos) {
+        return board[pos];
+    }
+
+    private static boolean isStone(int color) {
+        return color == GoBoard.BLACK || color == GoBoard.WHITE;
+    }
+
+    /**
+     * 取出点位所属棋串的代表点
+     *
+     * @param pos 点位编码
+     * @return 代表点编码，空点或墙返回NONE
+     */
+    public int headOf(int pos) {
+        return head[pos];
+    }
+
+    /**
+     * 取出棋串的伪气数
+     *
+     * @param chainHead 棋串代表点
+     */
+    public int liberties(int chainHead) {
+        return libs[chainHead];
+    }
+
+    /**
+     * 取出棋串的棋子数
+     *
+     * @param chainHead 棋串代表点
+     */
+    public int sizeOf(int chainHead) {
+        return size[chainHead];
+    }
+
+    /**
+     * 取出同一棋串中的下一个棋子，从任意棋子出发沿链表走一圈即遍历整个棋串
+     */
+    public int nextStone(int pos) {
+        return next[pos];
+    }
+
+    /**
+     * 计算整块棋串的Zobrist键（所有棋子键的异或），提子时用于更新局面哈希
+     *
+     * @param chainHead 棋串代表点
+     */
+    public long chainKey(int chainHead) {
+        int color = colorAt(chainHead);
+        long key = 0L;
+        int p = chainHead;
+        do {
+            key ^= GoZobrist.key(p, color);
+            p = next[p];
+        } while (p != chainHead);
+        return key;
+    }
+
+    /**
+     * 统计点位pos有几个邻点属于指定棋串
+     * 伪气中来自pos的部分恰好等于这个数，用于不落子就判断提子和自杀
+     */
+    public int adjacentCount(int pos, int chainHead) {
+        int count = 0;
+        for (int dir : DIRECTIONS) {
+            if (head[pos + dir] == chainHead)
+                count++;
+        }
+        return count;
+    }
+
+    /**
+     * 登记一个新放上棋盘的棋子（调用前棋盘上该点已是棋子颜色）
+     * 扣除相邻棋串的伪气，并与同色相邻棋串合并，不处理提子
+     *
+     * @param pos 点位编码
+     */
+    public void addStone(int pos) {
+        int color = colorAt(pos);
+        head[pos] = pos;
+        next[pos] = pos;
+        size[pos] = 1;
+        libs[pos] = 0;
+        for (int dir : DIRECTIONS) {
+            int n = pos + dir;
+            int c = colorAt(n);
+            if (c == GoBoard.EMPTY) {
+                libs[pos]++;
+            } else if (isStone(c)) {
+                libs[head[n]]--; // 原来的空点被占，相邻棋串少一口伪气
+            }
+        }
+        for (int dir : DIRECTIONS) {
+            int n = pos + dir;
+            if (colorAt(n) == color && head[n] != head[pos]) {
+                merge(head[pos], head[n]);
+            }
+        }
+    }
+
+    /**
+     * 提走整块棋串，棋盘上对应位置置空，并归还相邻棋串的伪气
+     *
+     * @param chainHead 棋串代表点
+     * @return 提走的棋子数
+     */
+    public int removeChain(int chainHead) {
+        int count = 0;
+        int p = chainHead;
+        // 第一遍：清空棋盘并解除归属
+        do {
+            board[p] = GoBoard.EMPTY;
+            head[p] = NONE;
+            count++;
+            p = next[p];
+        } while (p != chainHead);
+        // 第二遍：每个被提的点都成为相邻棋子的气
+        do {
+            for (int dir : DIRECTIONS) {
+                int n = p + dir;
+                if (head[n] != NONE)
+                    libs[head[n]]++;
+            }
+            p = next[p];
+        } while (p != chainHead);
+        return count;
+    }
+
+    /**
+     * 从棋盘上拿走单个棋子（悔棋时撤销落子），棋盘上该点置空
+     * 原棋串可能因此断开，剩余成员按连通关系重新组串，代价与棋串大小成正比
+     *
+     * @param pos 点位编码
+     */
+    public void removeStone(int pos) {
+        int color = colorAt(pos);
+        // 暂存同串的其他成员并解除归属
+        int count = 0;
+        for (int p = next[pos]; p != pos; p = next[p])
+            scratch[count++] = p;
+        board[pos] = GoBoard.EMPTY;
+        head[pos] = NONE;
+        for (int i = 0; i < count; i++)
+            head[scratch[i]] = NONE;
+        // 腾出的空点成为相邻对方棋串的气（同串成员稍后重新计算）
+        for (int dir : DIRECTIONS) {
+            int n = pos + dir;
+            if (head[n] != NONE)
+                libs[head[n]]++;
+        }
+        // 剩余成员重新组串
+        for (int i = 0; i < count; i++) {
+            int m = scratch[i];
+            head[m] = m;
+            next[m] = m;
+            size[m] = 1;
+            libs[m] = 0;
+            for (int dir : DIRECTIONS) {
+                if (colorAt(m + dir) == GoBoard.EMPTY)
+                    libs[m]++;
+            }
+            for (int dir : DIRECTIONS) {
+                int n = m + dir;
+                if (colorAt(n) == color && head[n] != NONE && head[n] != head[m]) {
+                    merge(head[m], head[n]);
+                }
+            }
+        }
+    }
+
+    /**
+     * 按当前棋盘状态重新建立全部棋串记录（整盘恢复历史状态后调用）
+     */
+    public void rebuild() {
+        for (int i = 0; i < POINT_COUNT; i++)
+            head[i] = NONE;
+        for (int pos = 0; pos < POINT_COUNT; pos++) {
+            int color = colorAt(pos);
+            if (!isStone(color))
+                continue;
+            head[pos] = pos;
+            next[pos] = pos;
+            size[pos] = 1;
+            libs[pos] = 0;
+            for (int dir : DIRECTIONS) {
+                if (colorAt(pos + dir) == GoBoard.EMPTY)
+                    libs[pos]++;
+            }
+            // 只与已登记过的同色棋子合并，原有棋子不会因此失去伪气
+            for (int dir : DIRECTIONS) {
+                int n = pos + dir;
+                if (colorAt(n) == color && head[n] != NONE && head[n] != head[pos]) {
+                    merge(head[pos], head[n]);
+                }
+            }
+        }
+    }
+
+    /**
+     * 合并两个棋串，把小棋串挂到大棋串上
+     *
+     * @return 合并后的代表点
+     */
+    private int merge(int a, int b) {
+        if (size[a] < size[b]) {
+            int tmp = a;
+            a = b;
+            b = tmp;
+        }
+        int p = b;
+        do {
+            head[p] = a;
+            p = next[p];
+        } while (p != b);
+        // 拼接两个环形链表
+        int tmp = next[a];
+        next[a] = next[b];
+        next[b] = tmp;
+        size[a] += size[b];
+        libs[a] += libs[b];
+        return a;
+    }
+}
@@ -0,0 +1,82 @@
+package com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents;
+
+/**
+ * 棋盘几何表：某个棋盘大小下的全部点位与每个点位在棋盘内的邻点
+ * 所有大小共用21×21的一维布局（点位编码 x * 21 + y，有效区域为1..size），
+ * 每个大小的表只在第一次用到时生成并缓存，规则引擎遍历时只查表，不再判断越界或分配数组
+ */
+public final class GoGeometry {
+    // 支持的最大边长（受一维布局四周的墙限制）
+    public static final int MAX_SIZE = GoBoard.BOARD_SIZE - 2;
+
+    private static final GoGeometry[] CACHE = new GoGeometry[MAX_SIZE + 1];
+
+    // 边长
+    private final int size;
+    // 棋盘内全部点位，按行优先排列
+    private final int[] points;
+    // 每个点位在棋盘内的邻点数
+    private final int[] neighbourCount = new int[GoBoard.POINT_COUNT];
+    // 每个点位的邻点编码，每点占4格，前neighbourCount个有效
+    private final int[] neighbours = new int[GoBoard.POINT_COUNT * 4];
+
+    private GoGeometry(int size) {
+        this.size = size;
+        this.points = new int[size * size];
+        int i = 0;
+        for (int x = 1; x <= size; x++) {
+            for (int y = 1; y <= size; y++) {
+                int pos = GoBoard.toPos(x, y);
+                points[i++] = pos;
+                for (int dir : GoBoard.DIRECTIONS) {
+                    if (contains(pos + dir))
+                        neighbours[pos * 4 + neighbourCount[pos]++] = pos + dir;
+                }
+            }
+        }
+    }
+
+    /**
+     * 取出指定边长的几何表
+     *
+     * @param size 边长，1到MAX_SIZE
+     */
+    public static synchronized GoGeometry of(int size) {
+        if (size < 1 || size > MAX_SIZE)
+            throw new IllegalArgumentException("不支持的棋盘大小: " + size);
+        if (CACHE[size] == null)
+            CACHE[size] = new GoGeometry(size);
+        return CACHE[size];
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    // 棋盘内的点位数
+    public int pointCount() {
+        return points.length;
+    }
+
+    // 按行优先顺序取出第i个点位
+    public int point(int i) {
+        return points[i];
+    }
+
+    // 判断点位是否在棋盘内
+    public boolean contains(int pos) {
+        int x = pos / GoBoard.BOARD_SIZE;
+        int y = pos % GoBoard.BOARD_SIZE;
+        return x >= 1 && x <= size && y >= 1 && y <= size;
+    }
+
+    // 点位在棋盘内的邻点数（角2，边3，其余4）
+    public int neighbourCount(int pos) {
+        return neighbourCount[pos];
+    }
+
+    // 点位的第k个邻点
+    public int neighbour(int pos, int k) {
+        return neighbours[pos * 4 + k];
+    }
+}
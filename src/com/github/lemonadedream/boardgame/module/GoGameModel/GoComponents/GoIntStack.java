@@ -0,0 +1,47 @@
+package com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents;
+
+import java.util.Arrays;
+
+/**
+ * 可复用的int栈，用来代替Stack<Integer>做洪水填充
+ * 元素不装箱；clear只重置栈顶，容量够用后不再分配数组
+ */
+public class GoIntStack {
+    private int[] items;
+    private int size = 0;
+
+    public GoIntStack() {
+        this(GoBoard.POINT_COUNT);
+    }
+
+    public GoIntStack(int capacity) {
+        this.items = new int[capacity];
+    }
+
+    public void push(int value) {
+        if (size == items.length)
+            items = Arrays.copyOf(items, size * 2);
+        items[size++] = value;
+    }
+
+    public int pop() {
+        return items[--size];
+    }
+
+    // 按压入顺序取出第i个元素
+    public int get(int i) {
+        return items[i];
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+}
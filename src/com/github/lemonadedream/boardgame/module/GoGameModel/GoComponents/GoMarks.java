@@ -0,0 +1,52 @@
+package com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents;
+
+import java.util.Arrays;
+
+/**
+ * 按代次标记的访问表
+ * 每次遍历前调用next()换一代，上一代的标记自动作废，不需要清空或重新分配数组
+ */
+public class GoMarks {
+    // 每个点位最近一次被标记时的代次
+    private final int[] stamp;
+    // 当前代次，0保留给“从未标记”
+    private int generation = 0;
+
+    /**
+     * @param capacity 可标记的点位数
+     */
+    public GoMarks(int capacity) {
+        this.stamp = new int[capacity];
+    }
+
+    /**
+     * 开始新的一代，之前的标记全部作废
+     */
+    public void next() {
+        if (++generation == 0) {
+            // 代次用尽一轮后才真正清空一次
+            Arrays.fill(stamp, 0);
+            generation = 1;
+        }
+    }
+
+    public boolean isMarked(int pos) {
+        return stamp[pos] == generation;
+    }
+
+    public void mark(int pos) {
+        stamp[pos] = generation;
+    }
+
+    /**
+     * 标记点位
+     *
+     * @return 此前本代尚未标记时返回true
+     */
+    public boolean markIfNew(int pos) {
+        if (stamp[pos] == generation)
+            return false;
+        stamp[pos] = generation;
+        return true;
+    }
+}
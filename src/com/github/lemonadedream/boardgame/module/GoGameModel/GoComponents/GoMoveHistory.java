@@ -0,0 +1,166 @@
+package com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents;
+
+import java.util.Arrays;
+
+/**
+ * 对局历史：按手存放增量（落子点、颜色、被提棋子），每隔若干手存一帧整盘快照
+ * 内存只随实际手数增长；恢复任意一手的局面时从最近的快照出发补上其后的增量
+ */
+public class GoMoveHistory {
+    // 快照间隔（手数）
+    public static final int KEYFRAME_INTERVAL = 32;
+
+    // 已记录的手数
+    private int size = 0;
+    // 每一手的落子点、颜色、此前的落子方、落子后的局面哈希，以及提子在captureLog中的起始下标
+    private int[] movePos = new int[64];
+    private int[] moveColor = new int[64];
+    private int[] movePrevMover = new int[64];
+    private long[] moveHash = new long[64];
+    private int[] moveCaptureStart = new int[64];
+    // 被提棋子的点位，按手顺序连续存放
+    private int captureTop = 0;
+    private int[] captureLog = new int[64];
+
+    // 第0手之前的局面（一般为空棋盘）
+    private final byte[] base = new byte[GoBoard.POINT_COUNT];
+    // 第k帧快照为第 (k + 1) * KEYFRAME_INTERVAL - 1 手之后的局面，前keyframeCount帧有效
+    private byte[][] keyframes = new byte[4][];
+    private int keyframeCount = 0;
+
+    /**
+     * 清空历史，并以给定局面作为第0手之前的局面
+     *
+     * @param status 起始局面（一维棋盘数组）
+     */
+    public void reset(byte[] status) {
+        System.arraycopy(status, 0, base, 0, GoBoard.POINT_COUNT);
+        size = 0;
+        captureTop = 0;
+        keyframeCount = 0;
+    }
+
+    // 取出已记录的手数
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 丢弃第n手（含）之后的记录
+     */
+    public void truncate(int n) {
+        if (n >= size)
+            return;
+        size = n;
+        captureTop = moveCaptureStart[n];
+        keyframeCount = Math.min(keyframeCount, n / KEYFRAME_INTERVAL);
+    }
+
+    /**
+     * 在末尾追加一手，其后用addCapture登记这一手提走的棋子
+     *
+     * @param pos       点位编码，GoBoard.PASS表示停一手
+     * @param color     落子颜色
+     * @param prevMover 此前的落子方
+     */
+    public void append(int pos, int color, int prevMover) {
+        if (size == movePos.length) {
+            movePos = Arrays.copyOf(movePos, size * 2);
+            moveColor = Arrays.copyOf(moveColor, size * 2);
+            movePrevMover = Arrays.copyOf(movePrevMover, size * 2);
+            moveHash = Arrays.copyOf(moveHash, size * 2);
+            moveCaptureStart = Arrays.copyOf(moveCaptureStart, size * 2);
+        }
+        movePos[size] = pos;
+        moveColor[size] = color;
+        movePrevMover[size] = prevMover;
+        moveCaptureStart[size] = captureTop;
+        size++;
+    }
+
+    // 登记最后一手提走的一颗棋子
+    public void addCapture(int pos) {
+        if (captureTop == captureLog.length)
+            captureLog = Arrays.copyOf(captureLog, captureTop * 2);
+        captureLog[captureTop++] = pos;
+    }
+
+    // 登记最后一手落子后的局面哈希
+    public void setHash(long hash) {
+        moveHash[size - 1] = hash;
+    }
+
+    public int getPos(int index) {
+        return movePos[index];
+    }
+
+    public int getColor(int index) {
+        return moveColor[index];
+    }
+
+    public int getPrevMover(int index) {
+        return movePrevMover[index];
+    }
+
+    public long getHash(int index) {
+        return moveHash[index];
+    }
+
+    // 第index手提子记录的起止下标 [start, end)
+    public int captureStart(int index) {
+        return moveCaptureStart[index];
+    }
+
+    public int captureEnd(int index) {
+        return index + 1 < size ? moveCaptureStart[index + 1] : captureTop;
+    }
+
+    public int getCapture(int i) {
+        return captureLog[i];
+    }
+
+    /**
+     * 记下第index手之后的整盘快照（只在每隔KEYFRAME_INTERVAL手且前面的快照都有效时记录）
+     *
+     * @param index  手数下标
+     * @param status 第index手之后的局面
+     */
+    public void keyframe(int index, byte[] status) {
+        if ((index + 1) % KEYFRAME_INTERVAL != 0)
+            return;
+        int k = (index + 1) / KEYFRAME_INTERVAL - 1;
+        if (k != keyframeCount)
+            return;
+        if (k == keyframes.length)
+            keyframes = Arrays.copyOf(keyframes, k * 2);
+        if (keyframes[k] == null)
+            keyframes[k] = new byte[GoBoard.POINT_COUNT];
+        System.arraycopy(status, 0, keyframes[k], 0, GoBoard.POINT_COUNT);
+        keyframeCount++;
+    }
+
+    /**
+     * 恢复第index手之后的局面：取最近的快照，再依次补上其后的落子和提子
+     *
+     * @param index 手数下标，-1表示第0手之前的局面
+     * @param out   存放结果的一维棋盘数组
+     */
+    public void positionAt(int index, byte[] out) {
+        int k = Math.min(keyframeCount, (index + 1) / KEYFRAME_INTERVAL);
+        int from;
+        if (k > 0) {
+            System.arraycopy(keyframes[k - 1], 0, out, 0, GoBoard.POINT_COUNT);
+            from = k * KEYFRAME_INTERVAL;
+        } else {
+            System.arraycopy(base, 0, out, 0, GoBoard.POINT_COUNT);
+            from = 0;
+        }
+        for (int m = from; m <= index; m++) {
+            if (movePos[m] == GoBoard.PASS)
+                continue;
+            out[movePos[m]] = (byte) moveColor[m];
+            for (int i = captureStart(m); i < captureEnd(m); i++)
+                out[captureLog[i]] = GoBoard.EMPTY;
+        }
+    }
+}
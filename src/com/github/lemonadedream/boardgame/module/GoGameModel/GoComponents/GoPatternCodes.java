@@ -0,0 +1,61 @@
+package com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents;
+
+/**
+ * 每个点位周围3×3邻域的编码，随落子、提子增量维护
+ * 编码按8个邻点各占2位（空0、黑1、白2、墙3），某个点变化时只需改写它8个邻点编码中对应的2位，
+ * 查询某点的棋形只需取出编码查表，不必重新扫描邻域
+ */
+public class GoPatternCodes {
+    // 8个邻点相对点位编码的偏移，依次为左上、上、右上、左、右、左下、下、右下（第k个邻点占编码的第2k、2k+1位）
+    public static final int[] OFFSETS = { -GoBoard.BOARD_SIZE - 1, -GoBoard.BOARD_SIZE, -GoBoard.BOARD_SIZE + 1,
+            -1, 1, GoBoard.BOARD_SIZE - 1, GoBoard.BOARD_SIZE, GoBoard.BOARD_SIZE + 1 };
+    // 编码的取值个数（4^8）
+    public static final int CODE_COUNT = 1 << 16;
+    // 墙在编码中的取值
+    public static final int WALL_STATE = 3;
+
+    private final char[] codes = new char[GoBoard.POINT_COUNT];
+
+    // 取出点位的邻域编码
+    public int code(int pos) {
+        return codes[pos];
+    }
+
+    // 点位状态在编码中的取值
+    private static int stateOf(int color) {
+        return color == GoBoard.WALL ? WALL_STATE : color;
+    }
+
+    /**
+     * 按整个棋盘重新计算全部编码（整盘覆盖后调用）
+     *
+     * @param points 一维棋盘数组
+     */
+    public void rebuild(byte[] points) {
+        for (int x = 1; x < GoBoard.BOARD_SIZE - 1; x++) {
+            for (int y = 1; y < GoBoard.BOARD_SIZE - 1; y++) {
+                int pos = GoBoard.toPos(x, y);
+                int code = 0;
+                for (int k = 0; k < OFFSETS.length; k++)
+                    code |= stateOf(points[pos + OFFSETS[k]]) << (2 * k);
+                codes[pos] = (char) code;
+            }
+        }
+    }
+
+    /**
+     * 点位状态变化后改写8个邻点的编码
+     *
+     * @param pos   变化的点位
+     * @param color 变化后的状态（EMPTY、BLACK或WHITE）
+     */
+    public void update(int pos, int color) {
+        int state = stateOf(color);
+        for (int k = 0; k < OFFSETS.length; k++) {
+            // pos是邻点n的第k个邻点
+            int n = pos - OFFSETS[k];
+            int shift = 2 * k;
+            codes[n] = (char) ((codes[n] & ~(3 << shift)) | (state << shift));
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents;
+
+/**
+ * 历史局面哈希集合（允许重复，记录每个哈希出现的次数）
+ * 开放寻址线性探测，直接存放long，不产生装箱对象；删除时后移填补空位，不留墓碑
+ */
+public class GoPositionSet {
+    // 哈希槽，counts为0表示空槽
+    private long[] keys;
+    private int[] counts;
+    // 掩码（容量始终为2的幂）
+    private int mask;
+    // 已占用的槽数
+    private int used;
+
+    public GoPositionSet() {
+        this(64);
+    }
+
+    /**
+     * @param expected 预计存放的局面数
+     */
+    public GoPositionSet(int expected) {
+        int capacity = 16;
+        while (capacity < expected * 2)
+            capacity <<= 1;
+        keys = new long[capacity];
+        counts = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    // 打散哈希的低位，避免相近的键落在相邻槽中
+    private static int slot(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    /**
+     * 加入一个局面哈希
+     */
+    public void add(long key) {
+        if ((used + 1) * 2 > keys.length)
+            grow();
+        int i = slot(key, mask);
+        while (counts[i] != 0) {
+            if (keys[i] == key) {
+                counts[i]++;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        counts[i] = 1;
+        used++;
+    }
+
+    /**
+     * 移除一个局面哈希（出现多次时只减少一次计数）
+     */
+    public void remove(long key) {
+        int i = slot(key, mask);
+        while (counts[i] != 0) {
+            if (keys[i] == key) {
+                if (--counts[i] == 0) {
+                    used--;
+                    shiftBack(i);
+                }
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    /**
+     * 判断局面哈希是否出现过
+     */
+    public boolean contains(long key) {
+        int i = slot(key, mask);
+        while (counts[i] != 0) {
+            if (keys[i] == key)
+                return true;
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * 清空集合
+     */
+    public void clear() {
+        for (int i = 0; i < counts.length; i++)
+            counts[i] = 0;
+        used = 0;
+    }
+
+    // 删除槽位后，把探测链上后面的元素前移，保证查找不会提前中断
+    private void shiftBack(int hole) {
+        int i = (hole + 1) & mask;
+        while (counts[i] != 0) {
+            int home = slot(keys[i], mask);
+            // 元素的理想位置不在(hole, i]区间内时可以前移到空位
+            if (((i - home) & mask) >= ((i - hole) & mask)) {
+                keys[hole] = keys[i];
+                counts[hole] = counts[i];
+                counts[i] = 0;
+                hole = i;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    // 扩容为原来的两倍并重新放置所有元素
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldCounts = counts;
+        keys = new long[oldKeys.length * 2];
+        counts = new int[oldKeys.length * 2];
+        mask = keys.length - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldCounts[j] == 0)
+                continue;
+            int i = slot(oldKeys[j], mask);
+            while (counts[i] != 0)
+                i = (i + 1) & mask;
+            keys[i] = oldKeys[j];
+            counts[i] = oldCounts[j];
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents;
+
+/**
+ * 棋盘的8种对称变换（4种旋转 × 是否翻转）与局面的规范化键
+ * 同一局面经旋转、翻转得到的8个局面取Zobrist键最小的一个作为规范形式，
+ * 定式库等按规范键存取，对称的着法序列共用一条记录
+ *
+ * 每个边长的变换表只在第一次用到时生成并缓存
+ */
+public final class GoSymmetry {
+    // 对称变换的个数
+    public static final int COUNT = 8;
+
+    private static final GoSymmetry[] CACHE = new GoSymmetry[GoGeometry.MAX_SIZE + 1];
+
+    private final GoGeometry geometry;
+    // 第s种变换把点位p变到transforms[s][p]（棋盘外的点位和停一手不变）
+    private final int[][] transforms = new int[COUNT][GoBoard.POINT_COUNT];
+    // 不同边长的同一摆法键不同
+    private final long sizeKey;
+
+    private GoSymmetry(int size) {
+        this.geometry = GoGeometry.of(size);
+        this.sizeKey = size * 0x9E3779B97F4A7C15L;
+        for (int s = 0; s < COUNT; s++) {
+            for (int pos = 0; pos < GoBoard.POINT_COUNT; pos++)
+                transforms[s][pos] = pos;
+            for (int i = 0; i < geometry.pointCount(); i++) {
+                int pos = geometry.point(i);
+                int x = pos / GoBoard.BOARD_SIZE - 1;
+                int y = pos % GoBoard.BOARD_SIZE - 1;
+                // 先按需翻转，再旋转(s & 3)个90度
+                if ((s & 4) != 0)
+                    x = size - 1 - x;
+                for (int r = 0; r < (s & 3); r++) {
+                    int t = x;
+                    x = y;
+                    y = size - 1 - t;
+                }
+                transforms[s][pos] = GoBoard.toPos(x + 1, y + 1);
+            }
+        }
+    }
+
+    /**
+     * 取出指定边长的对称变换表
+     *
+     * @param size 边长，1到GoGeometry.MAX_SIZE
+     */
+    public static synchronized GoSymmetry of(int size) {
+        if (CACHE[size] == null)
+            CACHE[size] = new GoSymmetry(size);
+        return CACHE[size];
+    }
+
+    // 第s种变换下点位的像
+    public int transform(int s, int pos) {
+        return transforms[s][pos];
+    }
+
+    // 第s种变换的逆变换
+    public static int inverse(int s) {
+        // 带翻转的变换都是自身的逆；纯旋转的逆为反向旋转
+        return (s & 4) != 0 ? s : (4 - s) & 3;
+    }
+
+    /**
+     * 第s种变换后局面的键
+     *
+     * @param points 一维棋盘数组
+     * @param toMove 将要落子的一方
+     */
+    public long key(byte[] points, int s, int toMove) {
+        long h = sizeKey ^ GoZobrist.moverKey(3 - toMove);
+        int[] t = transforms[s];
+        for (int i = 0; i < geometry.pointCount(); i++) {
+            int pos = geometry.point(i);
+            int c = points[pos];
+            if (c != GoBoard.EMPTY)
+                h ^= GoZobrist.key(t[pos], c);
+        }
+        return h;
+    }
+
+    /**
+     * 找出把局面变为规范形式的变换（8个键中最小者对应的变换）
+     *
+     * @param points 一维棋盘数组
+     * @param toMove 将要落子的一方
+     * @return 变换序号，用key取出规范键，用transform把着法变到规范形式
+     */
+    public int canonical(byte[] points, int toMove) {
+        long[] keys = keys(points, toMove);
+        int best = 0;
+        for (int s = 1; s < COUNT; s++) {
+            if (keys[s] < keys[best])
+                best = s;
+        }
+        return best;
+    }
+
+    /**
+     * 着法在规范形式下的点位
+     * 局面自身对称时有多个变换都得到规范形式，取其中使着法点位最小的一个，互相对称的着法因此合并为同一点
+     *
+     * @param points 一维棋盘数组
+     * @param toMove 将要落子的一方
+     * @param pos    着法的点位
+     */
+    public int canonicalMove(byte[] points, int toMove, int pos) {
+        long[] keys = keys(points, toMove);
+        long min = keys[0];
+        for (int s = 1; s < COUNT; s++)
+            min = Math.min(min, keys[s]);
+        int move = Integer.MAX_VALUE;
+        for (int s = 0; s < COUNT; s++) {
+            if (keys[s] == min)
+                move = Math.min(move, transforms[s][pos]);
+        }
+        return move;
+    }
+
+    // 8种变换下局面的键
+    private long[] keys(byte[] points, int toMove) {
+        long[] keys = new long[COUNT];
+        long mover = sizeKey ^ GoZobrist.moverKey(3 - toMove);
+        for (int s = 0; s < COUNT; s++)
+            keys[s] = mover;
+        for (int i = 0; i < geometry.pointCount(); i++) {
+            int pos = geometry.point(i);
+            int c = points[pos];
+            if (c == GoBoard.EMPTY)
+                continue;
+            for (int s = 0; s < COUNT; s++)
+                keys[s] ^= GoZobrist.key(transforms[s][pos], c);
+        }
+        return keys;
+    }
+}
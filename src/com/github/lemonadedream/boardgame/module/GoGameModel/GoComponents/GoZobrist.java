@@ -0,0 +1,67 @@
+package com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents;
+
+import java.util.SplittableRandom;
+
+/**
+ * Zobrist哈希随机键表
+ * 局面哈希为盘上所有棋子键的异或，落子、提子时只需异或变化的点即可增量更新
+ */
+public final class GoZobrist {
+    // 固定种子，保证每次运行得到相同的键（便于记录和比对哈希）
+    private static final long SEED = 0x5EED_60B0_A2D5L;
+
+    // 黑子、白子在每个点位上的键
+    private static final long[] BLACK_KEYS = new long[GoBoard.POINT_COUNT];
+    private static final long[] WHITE_KEYS = new long[GoBoard.POINT_COUNT];
+    // 行棋方的键（情境超级劫区分轮到谁下）
+    private static final long BLACK_MOVER_KEY;
+    private static final long WHITE_MOVER_KEY;
+    // 劫点的键（置换表区分禁止立即回提的点）
+    private static final long[] KO_KEYS = new long[GoBoard.POINT_COUNT];
+
+    static {
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int i = 0; i < GoBoard.POINT_COUNT; i++) {
+            BLACK_KEYS[i] = random.nextLong();
+            WHITE_KEYS[i] = random.nextLong();
+        }
+        BLACK_MOVER_KEY = random.nextLong();
+        WHITE_MOVER_KEY = random.nextLong();
+        // 劫点的键排在最后生成，不改变已有的棋子键
+        for (int i = 0; i < GoBoard.POINT_COUNT; i++)
+            KO_KEYS[i] = random.nextLong();
+    }
+
+    private GoZobrist() {
+    }
+
+    /**
+     * 取出棋子在点位上的键
+     *
+     * @param pos   点位编码
+     * @param color 棋子颜色，非黑白时返回0
+     */
+    public static long key(int pos, int color) {
+        if (color == GoBoard.BLACK)
+            return BLACK_KEYS[pos];
+        if (color == GoBoard.WHITE)
+            return WHITE_KEYS[pos];
+        return 0L;
+    }
+
+    /**
+     * 取出刚落子一方的键
+     */
+    public static long moverKey(int color) {
+        return color == GoBoard.BLACK ? BLACK_MOVER_KEY : WHITE_MOVER_KEY;
+    }
+
+    /**
+     * 取出劫点的键
+     *
+     * @param pos 劫点编码，GoBoard.PASS表示没有劫点，返回0
+     */
+    public static long koKey(int pos) {
+        return pos == GoBoard.PASS ? 0L : KO_KEYS[pos];
+    }
+}
@@ -0,0 +1,63 @@
+package com.github.lemonadedream.boardgame.module.GoGameModel.GoLogic;
+
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoBitBoard;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoBoard;
+
+/*
+ * 基于位棋盘的落子逻辑
+ * 提子与自杀判断在GoBitBoard上用移位洪水填充完成，打劫判断、历史记录仍由GoBoard负责，
+ * 因此与GoPlaceProcessor共用同一个棋盘模型，结果完全一致
+ */
+public class GoBitboardProcessor implements GoMoveChecker {
+    // 棋盘模型实例
+    private final GoBoard boardModel;
+    // 与棋盘模型同步的位棋盘
+    private final GoBitBoard bits = new GoBitBoard();
+    // 哈希命中时借用数组实现做逐点比较
+    private final GoPlaceProcessor koChecker;
+    // 位棋盘同步时棋盘模型的版本号
+    private int syncedVersion = -1;
+
+    public GoBitboardProcessor(GoBoard boardModel) {
+        this.boardModel = boardModel;
+        this.koChecker = new GoPlaceProcessor(boardModel);
+    }
+
+    @Override
+    public GoBoard getBoardModel() {
+        return boardModel;
+    }
+
+    // 棋盘模型被其他途径修改过（悔棋、复盘等）时重新同步位棋盘
+    private void sync() {
+        if (syncedVersion != boardModel.getVersion()) {
+            bits.loadFrom(boardModel);
+            syncedVersion = boardModel.getVersion();
+        }
+    }
+
+    @Override
+    public int check(int x, int y, int color, int method) {
+        sync();
+        // 第一步: 占用、提子与自杀判断
+        int result = bits.check(x, y, color);
+        if (result != 0) {
+            return result;
+        }
+
+        // 第二步: 超级劫判断，哈希命中时才逐点比较（不试走，不影响可重做的历史）
+        long candidate = bits.getCandidateHash();
+        if (boardModel.isRepeatedHash(candidate, color) && koChecker.koCheck(GoBoard.toPos(x, y), color, candidate)) {
+            return 2;
+        }
+
+        if (method == 1) {
+            // 正式落子：位棋盘与棋盘模型同步更新
+            bits.play(x, y, color);
+            boardModel.play(x, y, color);
+            boardModel.boardStatusPush();
+            syncedVersion = boardModel.getVersion();
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,94 @@
+package com.github.lemonadedream.boardgame.module.GoGameModel.GoLogic;
+
+import java.util.Arrays;
+
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoBoard;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoGeometry;
+
+/**
+ * 落子合法性检查接口
+ * 数组棋盘（GoPlaceProcessor）与位棋盘（GoBitboardProcessor）两种实现返回相同的状态码，
+ * Swing界面和无界面工具都可以按需选择其中一种
+ */
+public interface GoMoveChecker {
+    // 合法点位图所需的long个数（按一维棋盘的点位编码逐位存放）
+    int MASK_WORDS = (GoBoard.POINT_COUNT + 63) / 64;
+
+    // 规则引擎的棋盘实现
+    enum Backend {
+        ARRAY, // 一维数组棋盘 + 棋串追踪表
+        BITBOARD // 位棋盘，移位掩码洪水填充
+    }
+
+    /**
+     * 分析在坐标和颜色下的合法性
+     * 
+     * @param x      落子点的x坐标
+     * @param y      落子点的y坐标
+     * @param color  落子颜色
+     * @param method 落子方法，0只判断合法性，1在合法时执行落子
+     * @return 0-合法落子 1-位置已被占用 2-触犯了打劫规则 3-落子构成的连通块没有气
+     */
+    int check(int x, int y, int color, int method);
+
+    // 取出被检查的棋盘模型
+    GoBoard getBoardModel();
+
+    /**
+     * 算出某一方的全部合法落子点，结果按点位编码写入位图
+     * 
+     * @param color 落子颜色
+     * @param mask  长度为MASK_WORDS的位图，会被整体覆盖
+     * @return 合法落子点个数
+     */
+    default int legalMoves(int color, long[] mask) {
+        Arrays.fill(mask, 0L);
+        GoGeometry geometry = getBoardModel().getGeometry();
+        int count = 0;
+        for (int i = 0; i < geometry.pointCount(); i++) {
+            int pos = geometry.point(i);
+            if (check(pos / GoBoard.BOARD_SIZE, pos % GoBoard.BOARD_SIZE, color, 0) == 0) {
+                mask[pos >>> 6] |= 1L << pos;
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 判断某一方是否还有合法落子点（找到一个即返回）
+     */
+    default boolean hasLegalMove(int color) {
+        GoGeometry geometry = getBoardModel().getGeometry();
+        for (int i = 0; i < geometry.pointCount(); i++) {
+            int pos = geometry.point(i);
+            if (check(pos / GoBoard.BOARD_SIZE, pos % GoBoard.BOARD_SIZE, color, 0) == 0)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * 查询位图中某个点位是否合法
+     */
+    static boolean isLegal(long[] mask, int pos) {
+        return (mask[pos >>> 6] & (1L << pos)) != 0;
+    }
+
+    /**
+     * 按指定实现创建检查器
+     */
+    static GoMoveChecker create(GoBoard boardModel, Backend backend) {
+        if (backend == Backend.BITBOARD)
+            return new GoBitboardProcessor(boardModel);
+        return new GoPlaceProcessor(boardModel);
+    }
+
+    /**
+     * 默认实现，可通过启动参数 -Dboardgame.go.backend=bitboard 切换为位棋盘
+     */
+    static Backend defaultBackend() {
+        String name = System.getProperty("boardgame.go.backend", "array");
+        return "bitboard".equalsIgnoreCase(name) ? Backend.BITBOARD : Backend.ARRAY;
+    }
+}
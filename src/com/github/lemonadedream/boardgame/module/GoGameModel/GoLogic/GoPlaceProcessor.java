@@ -1,203 +1,224 @@
 package com.github.lemonadedream.boardgame.module.GoGameModel.GoLogic;
 
-import java.util.Stack;
+import java.util.Arrays;
 
 import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoBoard;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoChains;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoGeometry;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoZobrist;
 
 /*
- * Χ߼
+ * 处理围棋的落子逻辑
  */
-public class GoPlaceProcessor {
-    // ģʵ
+public class GoPlaceProcessor implements GoMoveChecker {
+    // 棋盘模型实例
     private GoBoard boardModel;
-    // ʱ״̬
-    private int[][] board;
-
-    // 캯ʵ
+    // 一维棋盘状态引用
+    private byte[] board;
+    // 棋盘几何表，遍历点位和邻点时查表
+    private final GoGeometry geometry;
+    // 本次落子将提走的对方棋串代表点（最多四个方向）
+    private final int[] capturedHeads = new int[4];
+    private int capturedCount = 0;
+    // 由对局历史恢复出的局面与落子后的局面，哈希命中时用来逐点比较
+    private byte[] historyStatus;
+    private byte[] trialStatus;
+
+    // 构造函数，传入棋盘实例
     public GoPlaceProcessor(GoBoard boardModel) {
         this.boardModel = boardModel;
-        this.board = boardModel.getCurStatus();
+        this.board = boardModel.getPoints();
+        this.geometry = boardModel.getGeometry();
     }
 
+    @Override
     public GoBoard getBoardModel() {
         return this.boardModel;
     }
 
     /**
-     * ɫµĺϷ
+     * 分析在坐标和颜色下的合法性
      * 
-     * @param x      ӵx
-     * @param y      ӵy
-     * @param color  ɫ
-     * @param method ӷ0ʾڳжӺϷԣ1ʾѾжϹϷԵӣҪִи¹ܣ
-     * @return һжӵ״̬״̬жϺϷԼϷ
-     *         0-Ϸ
-     *         1-λѱռ
-     *         2-˴ٹ
-     *         3-ӹɵͨû
+     * @param x      落子点的x坐标
+     * @param y      落子点的y坐标
+     * @param color  落子颜色
+     * @param method 落子方法，如果是0表示在初次判断落子合法性，1则表示已经判断过合法性的棋子（需要执行更新功能）
+     * @return 返回一个数字判断落子的状态，根据状态判断合法，以及不合法的类型
+     *         0-合法落子
+     *         1-位置已被占用
+     *         2-触犯了打劫规则
+     *         3-落子构成的连通块没有气
      */
+    @Override
     public int check(int x, int y, int color, int method) {
-        // 
-        if (board[x][y] != GoBoard.EMPTY) {
-            return 1; // // ӵѾˣλѱռ
+        int result = evaluate(GoBoard.toPos(x, y), color);
+        if (result == 0 && method == 1) {
+            // 正式落子：更新棋盘与棋串记录，并压入历史状态栈
+            boardModel.play(x, y, color);
+            boardModel.boardStatusPush(); // 将当前状态压入历史状态栈
         }
+        return result;
+    }
 
-        // ʼ״̬method=0ʱĻָ޸board֮ǰ棩
-        int[][][] capturedStates = null;
-        if (method == 0) {
-            // ״̬
-            capturedStates = new int[1][21][21];
-            for (int i = 0; i < 21; i++) {
-                for (int j = 0; j < 21; j++) {
-                    capturedStates[0][i][j] = board[i][j];
-                }
+    /**
+     * 一次扫描算出某一方全部合法落子点
+     * 每个空点只查看四个邻点的棋串记录与一次哈希查找，不试走、不复制棋盘
+     */
+    @Override
+    public int legalMoves(int color, long[] mask) {
+        Arrays.fill(mask, 0L);
+        int count = 0;
+        for (int i = 0; i < geometry.pointCount(); i++) {
+            int pos = geometry.point(i);
+            if (board[pos] == GoBoard.EMPTY && evaluate(pos, color) == 0) {
+                mask[pos >>> 6] |= 1L << pos;
+                count++;
             }
         }
+        return count;
+    }
 
-        // ʱжϺ߼Ϸ
-        board[x][y] = color;
-
-        // һ: ԳԵΧɫ
-        int[][] directions = { { -1, 0 }, { 1, 0 }, { 0, -1 }, { 0, 1 } };
-        boolean hasCaptured = false; // ¼Ƿ˳
-        for (int[] dir : directions) {
-            int cx = x + dir[0];
-            int cy = y + dir[1];
-            if (board[cx][cy] == GoBoard.WALL)
-                continue; // Խ
-            if (board[cx][cy] == 3 - color) {
-                // ɫӣǷ
-                if (libertyCheck(cx, cy, 0) == false) {
-                    // ɫɾͨ
-                    libertyCheck(cx, cy, 1);
-                    hasCaptured = true; // ˳
-                }
-            }
+    /**
+     * 判断某一方是否还有合法落子点，找到第一个就返回
+     */
+    @Override
+    public boolean hasLegalMove(int color) {
+        for (int i = 0; i < geometry.pointCount(); i++) {
+            int pos = geometry.point(i);
+            if (board[pos] == GoBoard.EMPTY && evaluate(pos, color) == 0)
+                return true;
         }
+        return false;
+    }
 
-        // ڶ: ûгӣԼǷֹɱ
-        if (!hasCaptured) {
-            if (libertyCheck(x, y, 0) == false) {
-                if (method == 0) {
-                    // ָ״̬
-                    for (int i = 0; i < 21; i++) {
-                        for (int j = 0; j < 21; j++) {
-                            board[i][j] = capturedStates[0][i][j];
-                        }
-                    }
-                }
-                return 3;
-            }
+    /**
+     * 对单个点位做完整的合法性判断，不修改棋盘
+     * 
+     * @param pos   点位编码
+     * @param color 落子颜色
+     * @return 与check相同的状态码
+     */
+    private int evaluate(int pos, int color) {
+        // 基础规则
+        if (board[pos] != GoBoard.EMPTY) {
+            return 1; // // 落子点已经有棋子了，位置已被占用
         }
 
-        // : Ƿ񴥷ٹ
-        if (koCheck() == true) {
-            if (method == 0) {
-                // ָ״̬
-                for (int i = 0; i < 21; i++) {
-                    for (int j = 0; j < 21; j++) {
-                        board[i][j] = capturedStates[0][i][j];
-                    }
-                }
+        GoChains chains = boardModel.getChains();
+
+        // 第一步: 只看四个邻点所属的棋串，不落子就判断能否提子、是否自杀
+        // 邻串中有k个棋子挨着落子点，则它来自落子点的伪气恰好为k
+        boolean hasLiberty = false; // 落子后自身是否有气
+        capturedCount = 0; // 将被提走的对方棋串数
+        // 邻点表只含棋盘内的点，无需再判断越界
+        for (int k = 0; k < geometry.neighbourCount(pos); k++) {
+            int n = geometry.neighbour(pos, k);
+            int c = board[n];
+            if (c == GoBoard.EMPTY) {
+                hasLiberty = true; // 紧挨空点，落子后必有气
+                continue;
+            }
+            int head = chains.headOf(n);
+            int shared = chains.adjacentCount(pos, head);
+            if (c == color) {
+                // 同色棋串在落子点之外还有气，连上后仍有气
+                if (chains.liberties(head) > shared)
+                    hasLiberty = true;
+            } else if (chains.liberties(head) == shared && !isCaptured(head)) {
+                // 对方棋串只剩落子点这一口气，将被提走
+                capturedHeads[capturedCount++] = head;
             }
+        }
+
+        // 第二步: 如果没有吃子且自身无气，禁止自杀
+        if (capturedCount == 0 && !hasLiberty) {
+            return 3;
+        }
+
+        // 第三步: 用Zobrist哈希增量算出落子后的局面哈希，检查是否触发打劫规则
+        long candidate = boardModel.getHash() ^ GoZobrist.key(pos, color);
+        for (int i = 0; i < capturedCount; i++)
+            candidate ^= chains.chainKey(capturedHeads[i]);
+        if (boardModel.isRepeatedHash(candidate, color) && koCheck(pos, color, candidate)) {
+            // 哈希命中时才逐点比较，排除哈希碰撞
             return 2;
         }
+        return 0; // 状态合法
+    }
 
-        if (method == 1) {
-            // ´״̬
-            for (int i = 1; i <= 19; i++)
-                for (int j = 1; j <= 19; j++)
-                    boardModel.curStatus[i][j] = board[i][j]; // ͬģ
-            boardModel.boardStatusPush(); // ǰ״̬ѹʷ״̬ջ
-        } else {
-            // method=0ʱָ״̬
-            for (int i = 0; i < 21; i++) {
-                for (int j = 0; j < 21; j++) {
-                    board[i][j] = capturedStates[0][i][j];
-                }
-            }
+    // 判断棋串是否已记录为将被提走（同一棋串可能从多个方向挨着落子点）
+    private boolean isCaptured(int head) {
+        for (int i = 0; i < capturedCount; i++) {
+            if (capturedHeads[i] == head)
+                return true;
         }
-        return 0; // ״̬Ϸ
+        return false;
     }
 
     /**
-     * жǷ񴥷ٹ
+     * 判断在pos落子后是否触犯打劫规则（超级劫）
+     * 不在棋盘模型上试走（试走会截断复盘时可重做的历史）：在trialStatus上放下这一子、去掉将被提走的棋串后逐点比较
+     * 只与当前局面及其之前的局面比较，复盘后退时其后已确认的手不算重复
+     * 
+     * @param pos   落子点
+     * @param mover 落子方颜色
+     * @param hash  落子后的局面哈希
      */
-    boolean koCheck() {
-        // ʷջе״̬
-        for (int top = 0; top <= boardModel.stackTop; top++) {
-            int[][] koMatchedBoard = boardModel.historyStatusStack[top];
-            boolean theSame = true;
-
-            // Ƚϵǰ״̬ʷ״ֻ̬ȽЧ1-19Ƚϱ߽磩
-            for (int i = 1; i <= 19; i++) {
-                for (int j = 1; j <= 19; j++) {
-                    if (koMatchedBoard[i][j] != board[i][j]) {
-                        theSame = false;
-                        i = 100;
-                        j = 100; // ѭ
-                    }
-                }
-            }
+    boolean koCheck(int pos, int mover, long hash) {
+        if (historyStatus == null) {
+            historyStatus = new byte[GoBoard.POINT_COUNT];
+            trialStatus = new byte[GoBoard.POINT_COUNT];
+        }
+        System.arraycopy(board, 0, trialStatus, 0, GoBoard.POINT_COUNT);
+        trialStatus[pos] = (byte) mover;
+        GoChains chains = boardModel.getChains();
+        for (int k = 0; k < geometry.neighbourCount(pos); k++) {
+            int n = geometry.neighbour(pos, k);
+            if (board[n] != 3 - mover)
+                continue;
+            int head = chains.headOf(n);
+            if (chains.liberties(head) != chains.adjacentCount(pos, head))
+                continue;
+            int p = head;
+            do {
+                trialStatus[p] = GoBoard.EMPTY;
+                p = chains.nextStone(p);
+            } while (p != head);
+        }
 
-            if (theSame) {
-                return true; // ظ״̬ٹ
+        // 遍历对局历史中哈希相同的局面
+        int last = Math.min(boardModel.stackTop, boardModel.getMoveCount() - 1);
+        for (int top = 0; top <= last; top++) {
+            if (!boardModel.historyMatches(top, hash, mover))
+                continue;
+            boardModel.copyHistoryStatus(top, historyStatus);
+            // 四周的墙在所有局面中都相同，可以直接整段比较
+            if (Arrays.equals(historyStatus, trialStatus)) {
+                return true; // 发现重复状态，触犯打劫规则
             }
         }
 
-        return false; // δظ״̬
+        return false; // 未发现重复状态
     }
 
     /**
-     * жͨΧǷ
+     * 判断落子连通块周围的气是否存在
      * 
-     * @param x      ̺
-     * @param y      
-     * @param method ⷽ01ʾɾͨͨ
+     * @param x      棋盘横坐标
+     * @param y      棋盘纵坐标
+     * @param method 检测方法，0无特殊操作，1表示删除此连通块连通块气
      */
     public boolean libertyCheck(int x, int y, int method) {
-        /* ԭֻҪͨ鸽һ */
-        // ¼ÿǷʹ
-        boolean[] st = new boolean[21 * 21];
-        // ʼÿ㶼ûзʹ
-        for (int i = 0; i < 21 * 21; i++)
-            st[i] = false;
-        // ¼ͨɫ
-        int blockColor = board[x][y];
-        // ȱͨ
-        Stack<Integer> tmpStack = new Stack<>(); // ջĵ
-        tmpStack.push(x * 21 + y);
-        st[x * 21 + y] = true;
-        while (tmpStack.empty() == false) {
-            int code = tmpStack.pop();
-            st[code] = true; // Ѿ
-            int px = code / 21;
-            int py = code % 21;
-
-            // ĸ
-            int[][] directions = { { -1, 0 }, { 1, 0 }, { 0, -1 }, { 0, 1 } };
-            for (int[] dir : directions) {
-                int cx = px + dir[0];
-                int cy = py + dir[1];
-                if (board[cx][cy] == GoBoard.WALL)
-                    continue; // Խ
-                if (board[cx][cy] == GoBoard.EMPTY) {
-                    return true; // ֱֹ
-                } else if (board[cx][cy] == blockColor && st[cx * 21 + cy] == false) {
-                    tmpStack.push(cx * 21 + cy); // ͬɫδʣջм
-                }
-            }
-        }
-        // ûҵ
+        /* 直接读取棋串追踪表记录的伪气数，伪气为0即无气 */
+        GoChains chains = boardModel.getChains();
+        int head = chains.headOf(GoBoard.toPos(x, y));
+        if (head == GoChains.NONE)
+            return true; // 空点不构成棋串
+        if (chains.liberties(head) > 0)
+            return true;
         if (method == 1) {
-            // ҪɾĲɾͨ
-            for (int i = 1; i <= 19; i++) {
-                for (int j = 1; j <= 19; j++) {
-                    if (st[i * 21 + j]) {
-                        board[i][j] = GoBoard.EMPTY; // ɾǹͨ
-                    }
-                }
-            }
+            // 如果是要求删除的操作，则删除连通块的棋子
+            boardModel.removeChain(x, y);
         }
         return false;
     }
@@ -0,0 +1,114 @@
+package com.github.lemonadedream.boardgame.module.GoGameModel.GoLogic;
+
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoBoard;
+
+/**
+ * 一次数子的结果
+ * 同时给出数子法（中国规则：子 + 空）与数目法（日本规则：空 + 提子）的得分，贴目从白方一侧计入
+ */
+public class GoScore {
+    // 盘上棋子数
+    private final int blackStones;
+    private final int whiteStones;
+    // 只与一方棋子相邻的空点数（围空）
+    private final int blackTerritory;
+    private final int whiteTerritory;
+    // 同时与双方相邻或不与任何棋子相邻的空点数（单官）
+    private final int neutral;
+    // 提走的对方棋子数
+    private final int blackPrisoners;
+    private final int whitePrisoners;
+    // 贴目
+    private final double komi;
+
+    public GoScore(int blackStones, int whiteStones, int blackTerritory, int whiteTerritory, int neutral,
+            int blackPrisoners, int whitePrisoners, double komi) {
+        this.blackStones = blackStones;
+        this.whiteStones = whiteStones;
+        this.blackTerritory = blackTerritory;
+        this.whiteTerritory = whiteTerritory;
+        this.neutral = neutral;
+        this.blackPrisoners = blackPrisoners;
+        this.whitePrisoners = whitePrisoners;
+        this.komi = komi;
+    }
+
+    public int getStones(int color) {
+        return color == GoBoard.BLACK ? blackStones : whiteStones;
+    }
+
+    public int getTerritory(int color) {
+        return color == GoBoard.BLACK ? blackTerritory : whiteTerritory;
+    }
+
+    public int getPrisoners(int color) {
+        return color == GoBoard.BLACK ? blackPrisoners : whitePrisoners;
+    }
+
+    public int getNeutral() {
+        return neutral;
+    }
+
+    public double getKomi() {
+        return komi;
+    }
+
+    /**
+     * 数子法得分：盘上棋子 + 围空，白方加上贴目
+     */
+    public double getAreaScore(int color) {
+        int area = getStones(color) + getTerritory(color);
+        return color == GoBoard.WHITE ? area + komi : area;
+    }
+
+    /**
+     * 数目法得分：围空 + 提子，白方加上贴目
+     */
+    public double getTerritoryScore(int color) {
+        int points = getTerritory(color) + getPrisoners(color);
+        return color == GoBoard.WHITE ? points + komi : points;
+    }
+
+    // 数子法下黑方领先的目数（负数表示白方领先）
+    public double getAreaMargin() {
+        return getAreaScore(GoBoard.BLACK) - getAreaScore(GoBoard.WHITE);
+    }
+
+    // 数目法下黑方领先的目数（负数表示白方领先）
+    public double getTerritoryMargin() {
+        return getTerritoryScore(GoBoard.BLACK) - getTerritoryScore(GoBoard.WHITE);
+    }
+
+    /**
+     * 按数子法判断胜方
+     *
+     * @return GoBoard.BLACK、GoBoard.WHITE，平局返回GoBoard.EMPTY
+     */
+    public int getAreaWinner() {
+        return winnerOf(getAreaMargin());
+    }
+
+    /**
+     * 按数目法判断胜方
+     *
+     * @return GoBoard.BLACK、GoBoard.WHITE，平局返回GoBoard.EMPTY
+     */
+    public int getTerritoryWinner() {
+        return winnerOf(getTerritoryMargin());
+    }
+
+    private static int winnerOf(double margin) {
+        if (margin > 0)
+            return GoBoard.BLACK;
+        if (margin < 0)
+            return GoBoard.WHITE;
+        return GoBoard.EMPTY;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("数子法 黑%.1f 白%.1f，数目法 黑%.1f 白%.1f（贴目%.1f）",
+                getAreaScore(GoBoard.BLACK), getAreaScore(GoBoard.WHITE),
+                getTerritoryScore(GoBoard.BLACK), getTerritoryScore(GoBoard.WHITE), komi);
+    }
+}
@@ -0,0 +1,139 @@
+package com.github.lemonadedream.boardgame.module.GoGameModel.GoLogic;
+
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoBoard;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoGeometry;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoIntStack;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoMarks;
+
+/**
+ * 数子器：一次遍历把空点按连通区域编号，按区域四周棋子的颜色判定归属
+ * 用显式栈做洪水填充，每个点只进栈一次；缓冲区在构造时分配，之后每手都可以实时数子
+ */
+public class GoScorer {
+    // 默认贴目（数子法黑贴3又3/4子）
+    public static final double DEFAULT_KOMI = 7.5;
+
+    private final GoBoard boardModel;
+    private final byte[] board;
+    private final GoGeometry geometry;
+    // 已编号的空点（按代次标记）
+    private final GoMarks visited = new GoMarks(GoBoard.POINT_COUNT);
+    // 洪水填充的待访问点与本区域的全部点
+    private final GoIntStack pending = new GoIntStack();
+    private final GoIntStack region = new GoIntStack();
+    // 最近一次数子时每个点的归属：棋子为其颜色，空点为所属一方，单官为GoBoard.EMPTY
+    private final int[] owner = new int[GoBoard.POINT_COUNT];
+    // 本次数子使用的死子位图
+    private long[] deadMask;
+
+    public GoScorer(GoBoard boardModel) {
+        this.boardModel = boardModel;
+        this.board = boardModel.getPoints();
+        this.geometry = boardModel.getGeometry();
+    }
+
+    /**
+     * 按默认贴目数子
+     */
+    public GoScore score() {
+        return score(DEFAULT_KOMI);
+    }
+
+    /**
+     * 数出当前局面的双方得分（盘上棋子都视为活棋）
+     *
+     * @param komi 贴目
+     */
+    public GoScore score(double komi) {
+        return score(komi, null);
+    }
+
+    /**
+     * 数出当前局面的双方得分
+     * 死子按提走处理：计入对方的提子，所在的点与相连的空点一起判定归属
+     *
+     * @param komi     贴目
+     * @param deadMask 死子位图（按点位编码逐位存放，与合法点位图格式相同），为null时视为全部活棋
+     */
+    public GoScore score(double komi, long[] deadMask) {
+        this.deadMask = deadMask;
+        int[] stones = new int[3];
+        int[] territory = new int[3];
+        int[] prisoners = { 0, boardModel.getPrisoners(GoBoard.BLACK), boardModel.getPrisoners(GoBoard.WHITE) };
+        int neutral = 0;
+        visited.next();
+        for (int i = 0; i < geometry.pointCount(); i++) {
+            int pos = geometry.point(i);
+            int c = board[pos];
+            if (c != GoBoard.EMPTY && !isDead(pos)) {
+                stones[c]++;
+                owner[pos] = c;
+                continue;
+            }
+            if (visited.isMarked(pos))
+                continue;
+            // 新的空区域：填充整块，记下四周出现过的活棋颜色
+            int borders = fillRegion(pos);
+            int regionOwner = GoBoard.EMPTY;
+            if (borders == 1 << GoBoard.BLACK)
+                regionOwner = GoBoard.BLACK;
+            else if (borders == 1 << GoBoard.WHITE)
+                regionOwner = GoBoard.WHITE;
+            for (int k = 0; k < region.size(); k++) {
+                int p = region.get(k);
+                owner[p] = regionOwner;
+                if (board[p] != GoBoard.EMPTY)
+                    prisoners[3 - board[p]]++;
+            }
+            if (regionOwner == GoBoard.EMPTY)
+                neutral += region.size();
+            else
+                territory[regionOwner] += region.size();
+        }
+        return new GoScore(stones[GoBoard.BLACK], stones[GoBoard.WHITE],
+                territory[GoBoard.BLACK], territory[GoBoard.WHITE], neutral,
+                prisoners[GoBoard.BLACK], prisoners[GoBoard.WHITE], komi);
+    }
+
+    /**
+     * 取出最近一次数子时点位的归属
+     *
+     * @return 棋子为其颜色，空点为所属一方，单官为GoBoard.EMPTY
+     */
+    public int getOwner(int pos) {
+        return owner[pos];
+    }
+
+    // 判断点位上的棋子是否被标为死子
+    private boolean isDead(int pos) {
+        return deadMask != null && (deadMask[pos >>> 6] & (1L << pos)) != 0;
+    }
+
+    /**
+     * 从一个空点（或死子）出发填充相连的空区域，区域内的点依次记入region
+     *
+     * @return 区域四周棋子颜色的位集合（1 << 颜色）
+     */
+    private int fillRegion(int start) {
+        int borders = 0;
+        region.clear();
+        pending.clear();
+        pending.push(start);
+        visited.mark(start);
+        while (!pending.isEmpty()) {
+            int pos = pending.pop();
+            region.push(pos);
+            for (int k = 0; k < geometry.neighbourCount(pos); k++) {
+                int n = geometry.neighbour(pos, k);
+                int c = board[n];
+                if (c == GoBoard.EMPTY || isDead(n)) {
+                    if (visited.markIfNew(n))
+                        pending.push(n);
+                } else {
+                    borders |= 1 << c;
+                }
+            }
+        }
+        return borders;
+    }
+}
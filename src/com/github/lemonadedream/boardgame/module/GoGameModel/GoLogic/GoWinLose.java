@@ -1,115 +1,53 @@
 package com.github.lemonadedream.boardgame.module.GoGameModel.GoLogic;
 
-import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoBoard;
-
 public class GoWinLose {
-    GoPlaceProcessor pro;
-    int[][] board;
-    boolean[][] visited;
-    int[][] status;
+    GoMoveChecker pro;
+    // 数子器，缓冲区随本对象复用
+    GoScorer scorer;
 
-    // 캯Ӵʵ
-    public GoWinLose(GoPlaceProcessor processor) {
+    // 构造函数，传入落子处理器实例
+    public GoWinLose(GoMoveChecker processor) {
         this.pro = processor;
-        this.visited = new boolean[21][21];
-        this.board = processor.getBoardModel().getCurStatus();
-        this.status = new int[21][21];
+        this.scorer = new GoScorer(processor.getBoardModel());
     }
 
     /**
-     * ʤѷʱ˫
+     * 计算当前局面双方的得分（按默认贴目）
+     * 
+     * @return 同时包含数子法与数目法结果的得分
      */
-    public void PiecesCount() {
-        int[][] board = pro.getBoardModel().getCurStatus();
-        // λԤ, ֻӳ1 / 2ʱŽ
-        int total = 0;
-        for (int i = 1; i <= 19; i++)
-            for (int j = 1; j <= 19; j++)
-                if (board[i][j] == GoBoard.BLACK || board[i][j] == GoBoard.WHITE)
-                    total++;
-        if (total >= 181) {
-            for (int i = 1; i <= 19; i++) {
-                for (int j = 1; j <= 19; j++) {
-                    if (board[i][j] == GoBoard.EMPTY && (status[i][j] == 0))
-                        dfs(i, j);
-                }
-            }
-        }
-
-        // ˫
-        float blackCount = 0;
-        float whiteCount = 0;
-        for (int i = 1; i <= 19; i++) {
-            for (int j = 1; j <= 19; j++) {
-                if (board[i][j] == GoBoard.BLACK || status[i][j] == 1) {
-                    blackCount++;
-                } else if (board[i][j] == GoBoard.WHITE || status[i][j] == 2) {
-                    whiteCount++;
-                } else if (status[i][j] == 3) {
-                    blackCount += 0.5;
-                    whiteCount += 0.5;
-                }
-            }
-        }
-
-        System.out.println("ڷ: " + blackCount + "ȥ3.5 " + (blackCount - 3.5));
-        System.out.println("׷: " + whiteCount);
-        // TODO  ʾ
+    public GoScore score() {
+        return scorer.score();
     }
 
     /**
-     * ȷһյ״̬,ͬʱstatus, 1ʾ,2ʾ,3ʾͬ
+     * 计算当前局面双方的得分
+     * 
+     * @param komi 贴目
      */
-    void dfs(int x, int y) {
-        int direct[][] = { { 0, 1 }, { 1, 0 }, { 0, -1 }, { -1, 0 } };
-        visited[x][y] = true;
-        boolean libertyBlack = false;
-        boolean libertyWhite = false;
-        for (int i = 0; i < 4; i++) {
-            int newX = x + direct[i][0];
-            int newY = y + direct[i][1];
-            if (newX >= 1 && newX <= 19 && newY >= 1 && newY <= 19 && !visited[newX][newY]) {
-                if (board[newX][newY] == GoBoard.EMPTY) {
-                    dfs(newX, newY);
-                } else if (board[newX][newY] == GoBoard.BLACK) {
-                    libertyBlack = true;
-                    visited[newX][newY] = true;
-                } else if (board[newX][newY] == GoBoard.WHITE) {
-                    libertyWhite = true;
-                    visited[newX][newY] = true;
-                }
-            }
-        }
+    public GoScore score(double komi) {
+        return scorer.score(komi);
+    }
 
-        if (libertyBlack && !libertyWhite) {
-            status[x][y] = 1;
-        } else if (!libertyBlack && libertyWhite) {
-            status[x][y] = 2;
-        } else if (libertyBlack && libertyWhite) {
-            status[x][y] = 3;
-        } else {
-            status[x][y] = 0;
-        }
+    /**
+     * 把指定的棋子当作死子（按提走处理）计算得分
+     * 
+     * @param komi     贴目
+     * @param deadMask 死子位图，格式与合法点位图相同
+     */
+    public GoScore score(double komi, long[] deadMask) {
+        return scorer.score(komi, deadMask);
     }
 
     /**
-     * жָɫǷ޷ӣеǷںϷӣ
-     * ע⣺˷ֻ"Ƿ޷"ʱ䡢
+     * 判断指定颜色的玩家是否无法落子（扫描空点检查是否存在合法落子）
+     * 注意：此方法只检查"是否无法落子"，不检查时间、认输等其他结束条件
      * 
-     * @param color ҪɫGoBoard.BLACK  GoBoard.WHITE
-     * @return ɫ޷ӷ true򷵻 false
+     * @param color 要检查的颜色（GoBoard.BLACK 或 GoBoard.WHITE）
+     * @return 如果该颜色无法落子返回 true，否则返回 false
      */
     public boolean hasNoLegalMove(int color) {
-        // λãǷһϷ
-        for (int i = 1; i <= 19; i++) {
-            for (int j = 1; j <= 19; j++) {
-                // check  0 ʾϷ
-                if (pro.check(i, j, color, 0) == 0) {
-                    return false; // ֺϷӣɫԼ
-                }
-            }
-        }
-        // λö޷
-        return true;
+        // 一次扫描棋盘空位，找到第一个合法落子点即可停止
+        return !pro.hasLegalMove(color);
     }
 }
\ No newline at end of file
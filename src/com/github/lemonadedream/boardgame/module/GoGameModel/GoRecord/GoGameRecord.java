@@ -0,0 +1,313 @@
+package com.github.lemonadedream.boardgame.module.GoGameModel.GoRecord;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoBoard;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoGeometry;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoMoveHistory;
+
+/**
+ * 一局棋的紧凑记录：文件头信息（棋盘大小、贴目、结果、双方名字）与逐手着法，可选每手的搜索统计
+ * 每手占一个short：低10位为点位编码（GoBoard.PASS为停一手，RESIGN为认输），其上2位为颜色
+ * 同一个对象可以反复clear后重用，读取大量对局时不必为每局分配
+ *
+ * 编码后的记录布局（大端序，记录长度不含开头的int）：
+ * int 记录长度，byte 边长，byte 标志，byte 胜方，byte 结束原因，float 贴目，float 胜负差，int 手数，
+ * short+UTF-8 黑方名字，short+UTF-8 白方名字，short×手数 着法，有统计时每手再跟 int 访问数 + char 胜率
+ */
+public class GoGameRecord {
+    // 认输的点位编码
+    public static final int RESIGN = 0x3FF;
+    // 结束原因
+    public static final int REASON_SCORE = 0; // 终局数子
+    public static final int REASON_RESIGN = 1; // 认输
+    public static final int REASON_TIME = 2; // 超时
+    public static final int REASON_NO_MOVE = 3; // 无处可下
+    public static final int REASON_UNFINISHED = 4; // 未下完
+
+    // 标志位：带有每手的搜索统计
+    static final int FLAG_STATS = 1;
+    // 着法中点位编码所占的位
+    private static final int POS_BITS = 10;
+    private static final int POS_MASK = (1 << POS_BITS) - 1;
+    // 记录中固定部分的字节数（不含开头的长度）
+    static final int FIXED_BYTES = 16;
+    // 每手搜索统计的字节数
+    static final int STATS_BYTES = 6;
+
+    private int size = GoGeometry.MAX_SIZE;
+    private double komi;
+    private int winner = GoBoard.EMPTY;
+    private int reason = REASON_UNFINISHED;
+    private double margin;
+    private String blackPlayer = "";
+    private String whitePlayer = "";
+
+    private int moveCount = 0;
+    private short[] moves = new short[256];
+    // 每手的访问数与胜率（按65535折算），hasStats为false时不使用
+    private boolean hasStats = false;
+    private int[] visits = new int[256];
+    private char[] winRates = new char[256];
+
+    // 清空着法与结果，保留已分配的数组
+    public void clear() {
+        size = GoGeometry.MAX_SIZE;
+        komi = 0.0;
+        winner = GoBoard.EMPTY;
+        reason = REASON_UNFINISHED;
+        margin = 0.0;
+        blackPlayer = "";
+        whitePlayer = "";
+        moveCount = 0;
+        hasStats = false;
+    }
+
+    /**
+     * 由棋盘的已确认对局生成记录（结果为未下完）
+     */
+    public static GoGameRecord of(GoBoard board) {
+        GoGameRecord record = new GoGameRecord();
+        record.setSize(board.getGeometry().getSize());
+        GoMoveHistory history = board.getHistory();
+        for (int m = 0; m <= board.stackTop; m++)
+            record.addMove(history.getPos(m), history.getColor(m));
+        return record;
+    }
+
+    /**
+     * 按记录重放出棋盘（停一手跳过，认输处停止）
+     */
+    public GoBoard toBoard() {
+        GoBoard board = new GoBoard(size);
+        for (int i = 0; i < moveCount; i++) {
+            int pos = getMovePos(i);
+            if (pos == RESIGN)
+                break;
+            if (pos == GoBoard.PASS)
+                continue;
+            board.play(pos, getMoveColor(i));
+            board.boardStatusPush();
+        }
+        return board;
+    }
+
+    // 追加一手
+    public void addMove(int pos, int color) {
+        ensureCapacity(moveCount + 1);
+        moves[moveCount] = encode(pos, color);
+        visits[moveCount] = 0;
+        winRates[moveCount] = 0;
+        moveCount++;
+    }
+
+    /**
+     * 追加一手及其搜索统计
+     *
+     * @param visits  选出这一手的搜索的访问数
+     * @param winRate 这一手在搜索中的胜率（0到1）
+     */
+    public void addMove(int pos, int color, int visits, double winRate) {
+        addMove(pos, color);
+        this.visits[moveCount - 1] = visits;
+        this.winRates[moveCount - 1] = (char) Math.round(Math.max(0.0, Math.min(1.0, winRate)) * 0xFFFF);
+        hasStats = true;
+    }
+
+    private void ensureCapacity(int n) {
+        if (n > moves.length) {
+            int capacity = Math.max(n, moves.length * 2);
+            moves = Arrays.copyOf(moves, capacity);
+            visits = Arrays.copyOf(visits, capacity);
+            winRates = Arrays.copyOf(winRates, capacity);
+        }
+    }
+
+    static short encode(int pos, int color) {
+        return (short) ((color << POS_BITS) | (pos & POS_MASK));
+    }
+
+    // 着法编码中的点位
+    public static int posOf(short move) {
+        return move & POS_MASK;
+    }
+
+    // 着法编码中的颜色
+    public static int colorOf(short move) {
+        return (move >>> POS_BITS) & 3;
+    }
+
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    public short getMove(int i) {
+        return moves[i];
+    }
+
+    public int getMovePos(int i) {
+        return posOf(moves[i]);
+    }
+
+    public int getMoveColor(int i) {
+        return colorOf(moves[i]);
+    }
+
+    public boolean hasStats() {
+        return hasStats;
+    }
+
+    // 第i手的搜索访问数，没有统计时为0
+    public int getVisits(int i) {
+        return hasStats ? visits[i] : 0;
+    }
+
+    // 第i手的搜索胜率，没有统计时为0
+    public double getWinRate(int i) {
+        return hasStats ? winRates[i] / (double) 0xFFFF : 0.0;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        GoGeometry.of(size);
+        this.size = size;
+    }
+
+    public double getKomi() {
+        return komi;
+    }
+
+    public void setKomi(double komi) {
+        this.komi = komi;
+    }
+
+    // 胜方颜色，和棋或未下完为GoBoard.EMPTY
+    public int getWinner() {
+        return winner;
+    }
+
+    public int getReason() {
+        return reason;
+    }
+
+    // 数子法胜负差（黑减白，已扣贴目），非数子结束时为0
+    public double getMargin() {
+        return margin;
+    }
+
+    /**
+     * 设置对局结果
+     *
+     * @param winner 胜方颜色，和棋为GoBoard.EMPTY
+     * @param reason 结束原因（REASON_*）
+     * @param margin 数子法胜负差
+     */
+    public void setResult(int winner, int reason, double margin) {
+        this.winner = winner;
+        this.reason = reason;
+        this.margin = margin;
+    }
+
+    public String getBlackPlayer() {
+        return blackPlayer;
+    }
+
+    public String getWhitePlayer() {
+        return whitePlayer;
+    }
+
+    public void setPlayers(String black, String white) {
+        this.blackPlayer = black == null ? "" : black;
+        this.whitePlayer = white == null ? "" : white;
+    }
+
+    /**
+     * 编码为一条记录（含开头的长度）
+     *
+     * @return 编码后的字节数
+     */
+    int encodeTo(ByteBuffer out) {
+        byte[] black = blackPlayer.getBytes(StandardCharsets.UTF_8);
+        byte[] white = whitePlayer.getBytes(StandardCharsets.UTF_8);
+        int length = FIXED_BYTES + 4 + black.length + white.length + moveCount * (hasStats ? 2 + STATS_BYTES : 2);
+        out.putInt(length);
+        out.put((byte) size);
+        out.put((byte) (hasStats ? FLAG_STATS : 0));
+        out.put((byte) winner);
+        out.put((byte) reason);
+        out.putFloat((float) komi);
+        out.putFloat((float) margin);
+        out.putInt(moveCount);
+        out.putShort((short) black.length);
+        out.put(black);
+        out.putShort((short) white.length);
+        out.put(white);
+        for (int i = 0; i < moveCount; i++)
+            out.putShort(moves[i]);
+        if (hasStats) {
+            for (int i = 0; i < moveCount; i++) {
+                out.putInt(visits[i]);
+                out.putChar(winRates[i]);
+            }
+        }
+        return length + 4;
+    }
+
+    // 编码后的最大字节数（名字按每字符3字节估计）
+    int maxEncodedBytes() {
+        return 4 + FIXED_BYTES + 4 + 3 * (blackPlayer.length() + whitePlayer.length())
+                + moveCount * (2 + STATS_BYTES);
+    }
+
+    /**
+     * 从缓冲区的当前位置解码一条记录（不含开头的长度），覆盖本对象原有内容
+     *
+     * @param in     缓冲区，读完后位置移到记录末尾
+     * @param length 记录长度
+     */
+    void decodeFrom(ByteBuffer in, int length) {
+        int end = in.position() + length;
+        size = in.get();
+        int flags = in.get();
+        winner = in.get();
+        reason = in.get();
+        komi = in.getFloat();
+        margin = in.getFloat();
+        int count = in.getInt();
+        blackPlayer = readName(in);
+        whitePlayer = readName(in);
+        ensureCapacity(count);
+        moveCount = count;
+        for (int i = 0; i < count; i++)
+            moves[i] = in.getShort();
+        hasStats = (flags & FLAG_STATS) != 0;
+        if (hasStats) {
+            for (int i = 0; i < count; i++) {
+                visits[i] = in.getInt();
+                winRates[i] = in.getChar();
+            }
+        }
+        in.position(end);
+    }
+
+    static String readName(ByteBuffer in) {
+        int n = in.getShort() & 0xFFFF;
+        if (n == 0)
+            return "";
+        byte[] bytes = new byte[n];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String toString() {
+        String result = winner == GoBoard.EMPTY ? "无胜负" : (winner == GoBoard.BLACK ? "黑胜" : "白胜");
+        return String.format("%d路 %s 对 %s，%d手，%s（原因%d，差%.1f，贴目%.1f）", size, blackPlayer, whitePlayer, moveCount,
+                result, reason, margin, komi);
+    }
+}
@@ -0,0 +1,175 @@
+package com.github.lemonadedream.boardgame.module.GoGameModel.GoRecord;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 以内存映射方式读取对局记录文件：游标逐局前进，直接从映射区读取头信息与着法，不解码、不复制整局
+ * 文件按窗口分段映射（每段至多WINDOW_BYTES），游标越过窗口时重新映射，文件大小不受int范围限制
+ *
+ * 典型用法：
+ * while (file.next()) { for (int i = 0; i < file.getMoveCount(); i++) file.getMove(i); }
+ */
+public class GoRecordFile implements Closeable {
+    // 每个映射窗口的最大字节数
+    private static final long WINDOW_BYTES = 256L << 20;
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private MappedByteBuffer window;
+    private long windowStart;
+
+    // 当前记录在文件中的位置（指向记录长度），以及下一条记录的位置
+    private long recordStart = -1;
+    private long nextStart = GoRecordWriter.HEADER_BYTES;
+    // 当前记录在窗口中的偏移、长度，以及着法区的偏移
+    private int base;
+    private int length;
+    private int movesOffset;
+
+    public GoRecordFile(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            GoRecordWriter.checkHeader(channel, path);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        this.fileSize = channel.size();
+    }
+
+    /**
+     * 游标移到下一局
+     *
+     * @return 已到文件末尾（或末尾的记录不完整）时返回false
+     */
+    public boolean next() throws IOException {
+        return moveTo(nextStart);
+    }
+
+    /**
+     * 游标移到文件中指定位置的记录（位置取自getPosition）
+     *
+     * @return 位置处没有完整记录时返回false
+     */
+    public boolean seek(long position) throws IOException {
+        return moveTo(position);
+    }
+
+    // 当前记录在文件中的位置
+    public long getPosition() {
+        return recordStart;
+    }
+
+    private boolean moveTo(long start) throws IOException {
+        if (start + 4 > fileSize)
+            return false;
+        ensureMapped(start, 4);
+        int len = window.getInt((int) (start - windowStart));
+        if (len < GoGameRecord.FIXED_BYTES || start + 4 + len > fileSize)
+            return false;
+        ensureMapped(start, 4 + len);
+        recordStart = start;
+        nextStart = start + 4 + len;
+        length = len;
+        base = (int) (start - windowStart) + 4;
+        int names = base + GoGameRecord.FIXED_BYTES;
+        names += 2 + (window.getShort(names) & 0xFFFF);
+        names += 2 + (window.getShort(names) & 0xFFFF);
+        movesOffset = names;
+        return true;
+    }
+
+    // 保证文件中[start, start + bytes)落在当前窗口内
+    private void ensureMapped(long start, int bytes) throws IOException {
+        if (window != null && start >= windowStart && start + bytes <= windowStart + window.capacity())
+            return;
+        long size = Math.min(fileSize - start, Math.max(WINDOW_BYTES, bytes));
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start, size);
+        windowStart = start;
+    }
+
+    public int getSize() {
+        return window.get(base);
+    }
+
+    public boolean hasStats() {
+        return (window.get(base + 1) & GoGameRecord.FLAG_STATS) != 0;
+    }
+
+    public int getWinner() {
+        return window.get(base + 2);
+    }
+
+    public int getReason() {
+        return window.get(base + 3);
+    }
+
+    public double getKomi() {
+        return window.getFloat(base + 4);
+    }
+
+    public double getMargin() {
+        return window.getFloat(base + 8);
+    }
+
+    public int getMoveCount() {
+        return window.getInt(base + 12);
+    }
+
+    // 第i手的着法编码，用GoGameRecord.posOf、colorOf拆开
+    public short getMove(int i) {
+        return window.getShort(movesOffset + 2 * i);
+    }
+
+    // 第i手的搜索访问数，没有统计时为0
+    public int getVisits(int i) {
+        if (!hasStats())
+            return 0;
+        return window.getInt(statsOffset() + GoGameRecord.STATS_BYTES * i);
+    }
+
+    // 第i手的搜索胜率，没有统计时为0
+    public double getWinRate(int i) {
+        if (!hasStats())
+            return 0.0;
+        return window.getChar(statsOffset() + GoGameRecord.STATS_BYTES * i + 4) / (double) 0xFFFF;
+    }
+
+    private int statsOffset() {
+        return movesOffset + 2 * getMoveCount();
+    }
+
+    public String getBlackPlayer() {
+        ByteBuffer in = window.duplicate();
+        in.position(base + GoGameRecord.FIXED_BYTES);
+        return GoGameRecord.readName(in);
+    }
+
+    public String getWhitePlayer() {
+        ByteBuffer in = window.duplicate();
+        int names = base + GoGameRecord.FIXED_BYTES;
+        in.position(names + 2 + (window.getShort(names) & 0xFFFF));
+        return GoGameRecord.readName(in);
+    }
+
+    /**
+     * 把当前记录完整解码到into中
+     */
+    public void read(GoGameRecord into) {
+        ByteBuffer in = window.duplicate();
+        in.position(base);
+        into.decodeFrom(in, length);
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+}
@@ -0,0 +1,93 @@
+package com.github.lemonadedream.boardgame.module.GoGameModel.GoRecord;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 对局记录文件的顺序读取器：经缓冲区逐局读出，可以只跳过不解码
+ * 解码到调用方提供的GoGameRecord中，读取大量对局时不必为每局分配
+ * 需要随机访问或不想复制数据时使用GoRecordFile
+ */
+public class GoRecordReader implements Closeable {
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private final DataInputStream in;
+    private byte[] scratch = new byte[1 << 12];
+
+    public GoRecordReader(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            GoRecordWriter.checkHeader(channel, path);
+            channel.position(GoRecordWriter.HEADER_BYTES);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        this.in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel), BUFFER_BYTES));
+    }
+
+    /**
+     * 读出下一局
+     *
+     * @param into 存放结果的记录（原有内容被覆盖）
+     * @return 已到文件末尾（或末尾的记录不完整）时返回false
+     */
+    public boolean next(GoGameRecord into) throws IOException {
+        int length = readLength();
+        if (length < 0)
+            return false;
+        if (scratch.length < length)
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        try {
+            in.readFully(scratch, 0, length);
+        } catch (EOFException e) {
+            return false;
+        }
+        into.decodeFrom(ByteBuffer.wrap(scratch, 0, length), length);
+        return true;
+    }
+
+    /**
+     * 跳过下一局，不解码
+     *
+     * @return 已到文件末尾时返回false
+     */
+    public boolean skip() throws IOException {
+        int length = readLength();
+        if (length < 0)
+            return false;
+        int skipped = 0;
+        while (skipped < length) {
+            int n = in.skipBytes(length - skipped);
+            if (n <= 0)
+                return false;
+            skipped += n;
+        }
+        return true;
+    }
+
+    // 读出记录长度，文件结束时返回-1
+    private int readLength() throws IOException {
+        try {
+            int length = in.readInt();
+            if (length < GoGameRecord.FIXED_BYTES)
+                throw new IOException("对局记录已损坏（记录长度 " + length + "）");
+            return length;
+        } catch (EOFException e) {
+            return -1;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,123 @@
+package com.github.lemonadedream.boardgame.module.GoGameModel.GoRecord;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 对局记录文件的写入器：只在文件末尾追加，经缓冲区成批写出
+ * 新文件先写入文件头（魔数与版本）；已有文件校验文件头后接着追加
+ * 多个线程可以共用一个写入器，每条记录整体写入，不会交错
+ *
+ * 进程中途退出时文件末尾可能留下不完整的记录：读取时按文件结束处理，再次打开追加时截掉
+ */
+public class GoRecordWriter implements Closeable {
+    // 文件头：魔数"GOR1"与格式版本
+    static final int MAGIC = 0x474F5231;
+    static final short VERSION = 1;
+    static final int HEADER_BYTES = 6;
+    // 输出缓冲区大小
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private final OutputStream out;
+    private ByteBuffer scratch = ByteBuffer.allocate(1 << 12);
+    private long written = 0;
+
+    /**
+     * 打开文件准备追加，文件不存在时新建
+     *
+     * @throws IOException 已有文件不是对局记录文件时抛出
+     */
+    public GoRecordWriter(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.READ);
+        try {
+            if (channel.size() == 0) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+                header.putInt(MAGIC).putShort(VERSION).flip();
+                while (header.hasRemaining())
+                    channel.write(header);
+            } else {
+                checkHeader(channel, path);
+                long end = completeEnd(channel);
+                if (end < channel.size())
+                    channel.truncate(end);
+            }
+            channel.position(channel.size());
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        this.out = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_BYTES);
+    }
+
+    // 校验文件头，不符时抛出IOException
+    static void checkHeader(FileChannel channel, Path path) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        readFully(channel, header, 0);
+        header.flip();
+        if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC)
+            throw new IOException("不是对局记录文件: " + path);
+        short version = header.getShort();
+        if (version != VERSION)
+            throw new IOException("不支持的对局记录版本 " + version + ": " + path);
+    }
+
+    // 从文件的指定位置读满缓冲区（文件不够长时读到末尾为止）
+    static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        int n;
+        do {
+            n = channel.read(buffer, position + buffer.position());
+        } while (n > 0 && buffer.hasRemaining());
+    }
+
+    // 按记录长度逐条跳过，找出最后一条完整记录的末尾
+    private static long completeEnd(FileChannel channel) throws IOException {
+        long size = channel.size();
+        long pos = HEADER_BYTES;
+        ByteBuffer length = ByteBuffer.allocate(4);
+        while (pos + 4 <= size) {
+            length.clear();
+            readFully(channel, length, pos);
+            long next = pos + 4 + length.getInt(0);
+            if (length.getInt(0) < GoGameRecord.FIXED_BYTES || next > size)
+                break;
+            pos = next;
+        }
+        return pos;
+    }
+
+    /**
+     * 追加一局
+     */
+    public synchronized void write(GoGameRecord record) throws IOException {
+        int max = record.maxEncodedBytes();
+        if (scratch.capacity() < max)
+            scratch = ByteBuffer.allocate(Math.max(max, scratch.capacity() * 2));
+        scratch.clear();
+        int n = record.encodeTo(scratch);
+        out.write(scratch.array(), 0, n);
+        written++;
+    }
+
+    // 本写入器写入的局数
+    public synchronized long getWritten() {
+        return written;
+    }
+
+    // 把缓冲区中的记录写到文件
+    public synchronized void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,412 @@
+package com.github.lemonadedream.boardgame.module.GoGameModel.GoServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoBoard;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoGeometry;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoLogic.GoScorer;
+
+/**
+ * 多人对局服务器：一个线程用NIO选择器处理全部连接，帧格式见GoServerProtocol
+ * 客户端发JOIN后按棋盘边长两两配对（先到的执黑），每局的棋盘在服务器上，着法经GoPlaceProcessor判定后发给双方
+ *
+ * 对局逻辑只在选择器线程上运行，不需要加锁；一轮事件处理完后统一写出本轮产生的帧，
+ * 写不完的留在连接的写缓冲中等可写事件，积压超过上限的连接断开
+ * 对局中断线或认输判对方胜
+ *
+ * 用法：java ...GoGameServer [--port N]
+ */
+public class GoGameServer implements Runnable, AutoCloseable {
+    // 默认端口
+    public static final int DEFAULT_PORT = 7590;
+    // 等待接受的连接队列长度
+    private static final int BACKLOG = 4096;
+
+    private final Selector selector;
+    private final ServerSocketChannel server;
+    private final double komi;
+    private volatile boolean running = true;
+
+    // 每种边长最多一个等待配对的连接
+    private final GoServerConnection[] waiting = new GoServerConnection[GoGeometry.MAX_SIZE + 1];
+    // 本轮有待写出数据、待断开的连接
+    private final List<GoServerConnection> dirty = new ArrayList<>();
+    private final List<GoServerConnection> closing = new ArrayList<>();
+    private int nextGameId = 1;
+
+    // 统计（只由选择器线程写入）
+    private volatile int connectionCount;
+    private volatile int activeGames;
+    private volatile long finishedGames;
+    private volatile long movesPlayed;
+
+    public GoGameServer(InetSocketAddress address) throws IOException {
+        this(address, GoScorer.DEFAULT_KOMI);
+    }
+
+    /**
+     * 打开选择器并绑定端口（端口为0时由系统分配，见getPort）
+     *
+     * @param komi 各局的贴目
+     */
+    public GoGameServer(InetSocketAddress address, double komi) throws IOException {
+        this.komi = komi;
+        this.selector = Selector.open();
+        this.server = ServerSocketChannel.open();
+        try {
+            server.configureBlocking(false);
+            server.bind(address, BACKLOG);
+            server.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            server.close();
+            selector.close();
+            throw e;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = DEFAULT_PORT;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if ("--port".equals(args[i]))
+                port = Integer.parseInt(args[i + 1]);
+            else
+                throw new IllegalArgumentException("未知参数: " + args[i]);
+        }
+        try (GoGameServer gameServer = new GoGameServer(new InetSocketAddress(port))) {
+            System.out.println("对局服务器已启动，端口 " + gameServer.getPort());
+            gameServer.run();
+        }
+    }
+
+    // 实际监听的端口
+    public int getPort() throws IOException {
+        return ((InetSocketAddress) server.getLocalAddress()).getPort();
+    }
+
+    public int getConnectionCount() {
+        return connectionCount;
+    }
+
+    public int getActiveGames() {
+        return activeGames;
+    }
+
+    public long getFinishedGames() {
+        return finishedGames;
+    }
+
+    public long getMovesPlayed() {
+        return movesPlayed;
+    }
+
+    /**
+     * 选择器循环，直到close；退出时关闭全部连接
+     */
+    @Override
+    public void run() {
+        try {
+            while (running) {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid())
+                        continue;
+                    if (key.isAcceptable()) {
+                        acceptAll();
+                        continue;
+                    }
+                    GoServerConnection c = (GoServerConnection) key.attachment();
+                    if (key.isReadable())
+                        read(c);
+                    if (!c.closed && key.isValid() && key.isWritable())
+                        flush(c);
+                }
+                // 断开连接会给对手发终局帧，反复处理到两个列表都为空
+                while (!dirty.isEmpty() || !closing.isEmpty()) {
+                    flushDirty();
+                    reap();
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("对局服务器出错", e);
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                try {
+                    key.channel().close();
+                } catch (IOException ignored) {
+                    // 退出时尽量关闭，个别失败不影响其余连接
+                }
+            }
+            try {
+                selector.close();
+            } catch (IOException ignored) {
+                // 同上
+            }
+        }
+    }
+
+    // 停止选择器循环（可在任意线程调用）
+    @Override
+    public void close() {
+        running = false;
+        selector.wakeup();
+    }
+
+    // 接受全部排队的连接，文件描述符用完时留到下一轮
+    private void acceptAll() {
+        while (true) {
+            SocketChannel channel;
+            try {
+                channel = server.accept();
+                if (channel == null)
+                    return;
+            } catch (IOException e) {
+                System.err.println("接受连接失败: " + e.getMessage());
+                return;
+            }
+            try {
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+                key.attach(new GoServerConnection(channel, key));
+                connectionCount++;
+            } catch (IOException e) {
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                    // 连接尚未登记，关闭失败也无需处理
+                }
+            }
+        }
+    }
+
+    // 读出数据并处理其中全部完整的帧，不完整的留在读缓冲中
+    private void read(GoServerConnection c) {
+        ByteBuffer in = c.in;
+        try {
+            if (c.channel.read(in) < 0) {
+                kill(c);
+                return;
+            }
+        } catch (IOException e) {
+            kill(c);
+            return;
+        }
+        in.flip();
+        byte[] data = in.array();
+        while (!c.closed && in.remaining() >= GoServerProtocol.HEADER_BYTES) {
+            int p = in.position();
+            int length = in.getShort(p) & 0xFFFF;
+            if (length > GoServerProtocol.MAX_PAYLOAD) {
+                kill(c);
+                break;
+            }
+            if (in.remaining() < GoServerProtocol.HEADER_BYTES + length)
+                break;
+            handle(c, data[p + 2], data, p + GoServerProtocol.HEADER_BYTES, length);
+            in.position(p + GoServerProtocol.HEADER_BYTES + length);
+        }
+        in.compact();
+    }
+
+    private void handle(GoServerConnection c, int type, byte[] data, int offset, int length) {
+        switch (type) {
+            case GoServerProtocol.JOIN:
+                if (length != 1)
+                    kill(c);
+                else
+                    join(c, data[offset] & 0xFF);
+                break;
+            case GoServerProtocol.MOVE:
+                if (length != 2)
+                    kill(c);
+                else
+                    move(c, (data[offset] & 0xFF) << 8 | (data[offset + 1] & 0xFF));
+                break;
+            case GoServerProtocol.RESIGN:
+                if (length != 0)
+                    kill(c);
+                else if (c.game == null)
+                    reject(c, GoServerProtocol.REJECT_NOT_IN_GAME);
+                else
+                    endGame(c.game, c.color, GoServerProtocol.END_RESIGN);
+                break;
+            case GoServerProtocol.CHAT:
+                if (length > GoServerProtocol.MAX_CHAT_BYTES)
+                    kill(c);
+                else
+                    chat(c, data, offset, length);
+                break;
+            default:
+                kill(c);
+        }
+    }
+
+    // 按边长配对；已在对局中或已在等待时忽略
+    private void join(GoServerConnection c, int size) {
+        if (size < 1 || size > GoGeometry.MAX_SIZE) {
+            kill(c);
+            return;
+        }
+        if (c.game != null || c.waitingSize != 0)
+            return;
+        GoServerConnection other = waiting[size];
+        if (other == null) {
+            waiting[size] = c;
+            c.waitingSize = size;
+            return;
+        }
+        waiting[size] = null;
+        other.waitingSize = 0;
+        GoServerGame game = new GoServerGame(nextGameId++, size, komi, other, c);
+        for (int color = GoBoard.BLACK; color <= GoBoard.WHITE; color++) {
+            GoServerConnection player = game.players[color];
+            player.game = game;
+            player.color = color;
+            ByteBuffer out = output(player, GoServerProtocol.HEADER_BYTES + 6);
+            if (out != null)
+                GoServerProtocol.putMatched(out, game.id, color, size);
+        }
+        activeGames++;
+    }
+
+    private void move(GoServerConnection c, int pos) {
+        GoServerGame game = c.game;
+        if (game == null) {
+            reject(c, GoServerProtocol.REJECT_NOT_IN_GAME);
+            return;
+        }
+        int status = game.play(c.color, pos);
+        if (status != 0) {
+            reject(c, status);
+            return;
+        }
+        movesPlayed++;
+        for (int color = GoBoard.BLACK; color <= GoBoard.WHITE; color++) {
+            ByteBuffer out = output(game.players[color], GoServerProtocol.HEADER_BYTES + 5);
+            if (out != null)
+                GoServerProtocol.putMoved(out, c.color, pos, game.getMoveCount());
+        }
+        if (game.over)
+            endGame(game, 0, 0);
+    }
+
+    // 聊天发给对局双方（发言方以此确认）
+    private void chat(GoServerConnection c, byte[] data, int offset, int length) {
+        GoServerGame game = c.game;
+        if (game == null) {
+            reject(c, GoServerProtocol.REJECT_NOT_IN_GAME);
+            return;
+        }
+        for (int color = GoBoard.BLACK; color <= GoBoard.WHITE; color++) {
+            ByteBuffer out = output(game.players[color], GoServerProtocol.HEADER_BYTES + 1 + length);
+            if (out != null)
+                GoServerProtocol.putChatFrom(out, c.color, data, offset, length);
+        }
+    }
+
+    private void reject(GoServerConnection c, int reason) {
+        ByteBuffer out = output(c, GoServerProtocol.HEADER_BYTES + 1);
+        if (out != null)
+            GoServerProtocol.putRejected(out, reason);
+    }
+
+    /**
+     * 结束对局并通知双方，双方之后可以重新JOIN
+     *
+     * @param loser  认输或断线的一方，按数子终局时为0
+     * @param reason 认输或断线的原因
+     */
+    private void endGame(GoServerGame game, int loser, int reason) {
+        if (loser != 0)
+            game.forfeit(loser, reason);
+        for (int color = GoBoard.BLACK; color <= GoBoard.WHITE; color++) {
+            GoServerConnection player = game.players[color];
+            player.game = null;
+            ByteBuffer out = output(player, GoServerProtocol.HEADER_BYTES + 6);
+            if (out != null)
+                GoServerProtocol.putGameOver(out, game.winner, game.reason, game.doubledMargin);
+        }
+        activeGames--;
+        finishedGames++;
+    }
+
+    /**
+     * 取得连接的写缓冲并留出一帧的空间，连接登记到本轮待写出列表
+     *
+     * @return 连接已断开或积压超限（随即断开）时返回null
+     */
+    private ByteBuffer output(GoServerConnection c, int frameBytes) {
+        if (c.closed)
+            return null;
+        ByteBuffer out = c.reserve(frameBytes);
+        if (out == null) {
+            kill(c);
+            return null;
+        }
+        if (!c.dirty) {
+            c.dirty = true;
+            dirty.add(c);
+        }
+        return out;
+    }
+
+    private void flush(GoServerConnection c) {
+        try {
+            c.flush();
+        } catch (IOException e) {
+            kill(c);
+        }
+    }
+
+    private void flushDirty() {
+        for (int i = 0; i < dirty.size(); i++) {
+            GoServerConnection c = dirty.get(i);
+            c.dirty = false;
+            if (!c.closed)
+                flush(c);
+        }
+        dirty.clear();
+    }
+
+    // 标记为待断开，本轮事件处理完后由reap统一断开
+    private void kill(GoServerConnection c) {
+        if (!c.closed) {
+            c.closed = true;
+            closing.add(c);
+        }
+    }
+
+    // 断开待断开的连接：退出等待，对局中的判对方胜
+    private void reap() {
+        for (int i = 0; i < closing.size(); i++) {
+            GoServerConnection c = closing.get(i);
+            c.key.cancel();
+            try {
+                c.channel.close();
+            } catch (IOException ignored) {
+                // 连接已不可用，关闭失败也无需处理
+            }
+            connectionCount--;
+            if (c.waitingSize != 0) {
+                waiting[c.waitingSize] = null;
+                c.waitingSize = 0;
+            }
+            if (c.game != null)
+                endGame(c.game, c.color, GoServerProtocol.END_DISCONNECT);
+        }
+        closing.clear();
+    }
+}
@@ -0,0 +1,66 @@
+package com.github.lemonadedream.boardgame.module.GoGameModel.GoServer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+
+/**
+ * 服务器端的一条连接：读缓冲放未处理完的帧，写缓冲放尚未发出的帧
+ * 只在选择器线程上访问；空闲连接只占一个读缓冲与一个很小的写缓冲
+ */
+final class GoServerConnection {
+    // 写缓冲的初始大小与上限，对方长期不读、积压超过上限时断开
+    private static final int INITIAL_OUT_BYTES = 64;
+    static final int MAX_OUT_BYTES = 64 << 10;
+
+    final SocketChannel channel;
+    final SelectionKey key;
+    final ByteBuffer in = ByteBuffer.allocate(GoServerProtocol.HEADER_BYTES + GoServerProtocol.MAX_PAYLOAD);
+    // 写模式：position之前是待发出的字节
+    private ByteBuffer out = ByteBuffer.allocate(INITIAL_OUT_BYTES);
+    // 是否已在本轮待发送列表中
+    boolean dirty;
+    boolean closed;
+
+    // 等待配对时的棋盘边长，不在等待时为0
+    int waitingSize;
+    // 所在的对局与本方颜色
+    GoServerGame game;
+    int color;
+
+    GoServerConnection(SocketChannel channel, SelectionKey key) {
+        this.channel = channel;
+        this.key = key;
+    }
+
+    /**
+     * 为即将写入的一帧留出空间，写缓冲按需翻倍
+     *
+     * @return 写缓冲；积压超过上限时返回null，调用方应断开连接
+     */
+    ByteBuffer reserve(int frameBytes) {
+        if (out.remaining() >= frameBytes)
+            return out;
+        int need = out.position() + frameBytes;
+        if (need > MAX_OUT_BYTES)
+            return null;
+        ByteBuffer grown = ByteBuffer.allocate(Math.min(MAX_OUT_BYTES, Math.max(need, out.capacity() * 2)));
+        out.flip();
+        grown.put(out);
+        out = grown;
+        return out;
+    }
+
+    /**
+     * 尽量写出积压的字节，写不完时关注可写事件，写完后取消关注
+     */
+    void flush() throws IOException {
+        out.flip();
+        channel.write(out);
+        out.compact();
+        int ops = out.position() > 0 ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ;
+        if (key.interestOps() != ops)
+            key.interestOps(ops);
+    }
+}
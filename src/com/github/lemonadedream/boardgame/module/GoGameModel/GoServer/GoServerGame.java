@@ -0,0 +1,99 @@
+package com.github.lemonadedream.boardgame.module.GoGameModel.GoServer;
+
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoBoard;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoLogic.GoPlaceProcessor;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoLogic.GoScore;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoLogic.GoWinLose;
+
+/**
+ * 服务器上的一局棋：以服务器的GoBoard为准，每手由GoPlaceProcessor判定（含超级劫）
+ * 双方连续停一手或手数超过点数的3倍时按数子法终局（与GoTournament相同，不估计死子，盘上的子都按活棋计）
+ * 只在选择器线程上访问
+ */
+final class GoServerGame {
+    final int id;
+    final int size;
+    final double komi;
+    // 按颜色取双方的连接，下标0不用
+    final GoServerConnection[] players = new GoServerConnection[3];
+
+    private final GoBoard board;
+    private final GoPlaceProcessor processor;
+    private final GoWinLose winLose;
+    private final int maxMoves;
+    private int toMove = GoBoard.BLACK;
+    private int passes = 0;
+    private int moves = 0;
+
+    // 终局后的结果
+    boolean over;
+    int winner;
+    int reason;
+    int doubledMargin;
+
+    GoServerGame(int id, int size, double komi, GoServerConnection black, GoServerConnection white) {
+        this.id = id;
+        this.size = size;
+        this.komi = komi;
+        this.board = new GoBoard(size);
+        this.processor = new GoPlaceProcessor(board);
+        this.winLose = new GoWinLose(processor);
+        this.maxMoves = board.getGeometry().pointCount() * 3;
+        players[GoBoard.BLACK] = black;
+        players[GoBoard.WHITE] = white;
+    }
+
+    // 已下的手数（含停一手）
+    int getMoveCount() {
+        return moves;
+    }
+
+    /**
+     * 一方落子或停一手，合法时计入棋盘，必要时终局
+     *
+     * @return 0表示合法，否则为GoServerProtocol.REJECT_*
+     */
+    int play(int color, int pos) {
+        if (over)
+            return GoServerProtocol.REJECT_NOT_IN_GAME;
+        if (color != toMove)
+            return GoServerProtocol.REJECT_NOT_YOUR_TURN;
+        if (pos == GoBoard.PASS) {
+            board.play(GoBoard.PASS, color);
+            board.boardStatusPush();
+            passes++;
+        } else {
+            int x = pos / GoBoard.BOARD_SIZE;
+            int y = pos % GoBoard.BOARD_SIZE;
+            if (x < 1 || x > size || y < 1 || y > size)
+                return GoServerProtocol.REJECT_OFF_BOARD;
+            int status = processor.check(x, y, color, 1);
+            if (status != 0)
+                return status;
+            passes = 0;
+        }
+        moves++;
+        toMove = 3 - color;
+        if (passes >= 2 || moves >= maxMoves)
+            finishByScore();
+        return 0;
+    }
+
+    private void finishByScore() {
+        GoScore score = winLose.score(komi);
+        finish(score.getAreaWinner(), GoServerProtocol.END_SCORE, (int) Math.round(score.getAreaMargin() * 2));
+    }
+
+    // 一方认输或断线，另一方胜
+    void forfeit(int loser, int reason) {
+        if (!over)
+            finish(3 - loser, reason, 0);
+    }
+
+    private void finish(int winner, int reason, int doubledMargin) {
+        over = true;
+        this.winner = winner;
+        this.reason = reason;
+        this.doubledMargin = doubledMargin;
+    }
+}
@@ -0,0 +1,107 @@
+package com.github.lemonadedream.boardgame.module.GoGameModel.GoServer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 对局服务器的二进制帧格式（大端）：2字节负载长度 + 1字节类型 + 负载
+ *
+ * 客户端发出：
+ * JOIN   1字节棋盘边长，按边长配对
+ * MOVE   2字节点位编码（GoBoard.PASS表示停一手）
+ * RESIGN 无负载
+ * CHAT   UTF-8文字，至多MAX_CHAT_BYTES字节
+ *
+ * 服务器发出：
+ * MATCHED   4字节对局号 + 1字节本方颜色 + 1字节棋盘边长
+ * MOVED     1字节落子方颜色 + 2字节点位编码 + 2字节手数（同时发给双方，落子方以此确认）
+ * REJECTED  1字节原因（REJECT_*，1~3与GoPlaceProcessor.check的状态码相同）
+ * CHAT_FROM 1字节发言方颜色 + UTF-8文字
+ * GAME_OVER 1字节胜方颜色（平局为GoBoard.EMPTY） + 1字节结束原因（END_*） + 4字节数子法胜负差的两倍（黑减白）
+ *
+ * 帧格式不对、长度超限或类型未知时服务器直接断开连接
+ */
+public final class GoServerProtocol {
+    // 帧头字节数
+    public static final int HEADER_BYTES = 3;
+    // 负载最大字节数
+    public static final int MAX_PAYLOAD = 1024;
+    // 聊天文字最大字节数
+    public static final int MAX_CHAT_BYTES = 512;
+
+    // 客户端发出的帧
+    public static final int JOIN = 1;
+    public static final int MOVE = 2;
+    public static final int RESIGN = 3;
+    public static final int CHAT = 4;
+
+    // 服务器发出的帧
+    public static final int MATCHED = 16;
+    public static final int MOVED = 17;
+    public static final int REJECTED = 18;
+    public static final int CHAT_FROM = 19;
+    public static final int GAME_OVER = 20;
+
+    // 着法被拒绝的原因
+    public static final int REJECT_OCCUPIED = 1;
+    public static final int REJECT_KO = 2;
+    public static final int REJECT_SUICIDE = 3;
+    public static final int REJECT_NOT_YOUR_TURN = 4;
+    public static final int REJECT_OFF_BOARD = 5;
+    public static final int REJECT_NOT_IN_GAME = 6;
+
+    // 对局结束的原因
+    public static final int END_SCORE = 1;
+    public static final int END_RESIGN = 2;
+    public static final int END_DISCONNECT = 3;
+
+    private GoServerProtocol() {
+    }
+
+    // 写入帧头，之后由调用方写入length字节的负载
+    private static ByteBuffer header(ByteBuffer out, int type, int length) {
+        return out.putShort((short) length).put((byte) type);
+    }
+
+    public static void putJoin(ByteBuffer out, int size) {
+        header(out, JOIN, 1).put((byte) size);
+    }
+
+    public static void putMove(ByteBuffer out, int pos) {
+        header(out, MOVE, 2).putShort((short) pos);
+    }
+
+    public static void putResign(ByteBuffer out) {
+        header(out, RESIGN, 0);
+    }
+
+    /**
+     * 写入聊天帧，超出MAX_CHAT_BYTES的部分截掉（按字节截断，可能截断半个字符）
+     */
+    public static void putChat(ByteBuffer out, String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(bytes.length, MAX_CHAT_BYTES);
+        header(out, CHAT, length).put(bytes, 0, length);
+    }
+
+    static void putMatched(ByteBuffer out, int gameId, int color, int size) {
+        header(out, MATCHED, 6).putInt(gameId).put((byte) color).put((byte) size);
+    }
+
+    static void putMoved(ByteBuffer out, int color, int pos, int moveNumber) {
+        header(out, MOVED, 5).put((byte) color).putShort((short) pos).putShort((short) moveNumber);
+    }
+
+    static void putRejected(ByteBuffer out, int reason) {
+        header(out, REJECTED, 1).put((byte) reason);
+    }
+
+    // 转发聊天文字：text为收到的CHAT帧负载所在的数组
+    static void putChatFrom(ByteBuffer out, int color, byte[] text, int offset, int length) {
+        header(out, CHAT_FROM, length + 1).put((byte) color).put(text, offset, length);
+    }
+
+    static void putGameOver(ByteBuffer out, int winner, int reason, int doubledMargin) {
+        header(out, GAME_OVER, 6).put((byte) winner).put((byte) reason).putInt(doubledMargin);
+    }
+}
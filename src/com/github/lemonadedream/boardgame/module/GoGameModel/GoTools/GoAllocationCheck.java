@@ -0,0 +1,107 @@
+package com.github.lemonadedream.boardgame.module.GoGameModel.GoTools;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoBoard;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoGeometry;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoLogic.GoMoveChecker;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoLogic.GoWinLose;
+
+/**
+ * 规则引擎分配回归检查：预热后统计每次合法性判断在当前线程上分配的字节数
+ * 任一实现出现分配时以状态码1退出，可直接放进构建脚本
+ * 用法：java ...GoAllocationCheck [局面数] [每个局面的重复轮数]
+ */
+public class GoAllocationCheck {
+    // 每个局面之前先随机下的步数
+    private static final int OPENING_MOVES = 120;
+
+    public static void main(String[] args) {
+        int positions = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+
+        com.sun.management.ThreadMXBean threads = threadBean();
+        if (threads == null || !threads.isThreadAllocatedMemorySupported()) {
+            System.out.println("当前JVM不支持按线程统计分配量，跳过检查");
+            return;
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        boolean failed = false;
+        System.out.printf("%-10s %12s %14s %14s%n", "实现", "检查次数", "分配字节", "字节/次");
+        for (GoMoveChecker.Backend backend : GoMoveChecker.Backend.values()) {
+            // 第一遍只为预热，让JIT完成编译、各缓冲区扩到稳定容量
+            measure(threads, backend, positions, rounds);
+            long[] result = measure(threads, backend, positions, rounds);
+            double perCheck = (double) result[1] / result[0];
+            System.out.printf("%-10s %12d %14d %14.3f%n", backend, result[0], result[1], perCheck);
+            if (result[1] > 0)
+                failed = true;
+        }
+        if (failed) {
+            System.out.println("检查失败：合法性判断出现了堆分配");
+            System.exit(1);
+        }
+        System.out.println("检查通过：合法性判断不分配内存");
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean)
+            return (com.sun.management.ThreadMXBean) bean;
+        return null;
+    }
+
+    /**
+     * 在若干随机局面上反复做单点判断、合法点位图和无子可下判断
+     *
+     * @return {检查次数, 检查期间分配的字节数}
+     */
+    static long[] measure(com.sun.management.ThreadMXBean threads, GoMoveChecker.Backend backend, int positions,
+            int rounds) {
+        long threadId = Thread.currentThread().getId();
+        long[] mask = new long[GoMoveChecker.MASK_WORDS];
+        long checks = 0;
+        long allocated = 0;
+        for (int p = 0; p < positions; p++) {
+            GoMoveChecker checker = prepare(backend, new Random(p));
+            GoWinLose winLose = new GoWinLose(checker);
+            GoGeometry geometry = checker.getBoardModel().getGeometry();
+            int color = (p % 2 == 0) ? GoBoard.BLACK : GoBoard.WHITE;
+
+            // 读数本身的开销单独量一次，从结果中扣除
+            long before = threads.getThreadAllocatedBytes(threadId);
+            long overhead = threads.getThreadAllocatedBytes(threadId) - before;
+
+            before = threads.getThreadAllocatedBytes(threadId);
+            for (int r = 0; r < rounds; r++) {
+                for (int i = 0; i < geometry.pointCount(); i++) {
+                    int pos = geometry.point(i);
+                    checker.check(pos / GoBoard.BOARD_SIZE, pos % GoBoard.BOARD_SIZE, color, 0);
+                }
+                checker.legalMoves(color, mask);
+                winLose.hasNoLegalMove(color);
+                checks += geometry.pointCount() + 2;
+            }
+            allocated += Math.max(0, threads.getThreadAllocatedBytes(threadId) - before - overhead);
+        }
+        return new long[] { checks, allocated };
+    }
+
+    // 用固定种子随机下若干步，得到一个有提子、有劫的中盘局面
+    private static GoMoveChecker prepare(GoMoveChecker.Backend backend, Random random) {
+        GoMoveChecker checker = GoMoveChecker.create(new GoBoard(), backend);
+        int color = GoBoard.BLACK;
+        for (int step = 0; step < OPENING_MOVES; step++) {
+            for (int t = 0; t < 200; t++) {
+                int x = 1 + random.nextInt(19);
+                int y = 1 + random.nextInt(19);
+                if (checker.check(x, y, color, 1) == 0)
+                    break;
+            }
+            color = 3 - color;
+        }
+        return checker;
+    }
+}
@@ -0,0 +1,61 @@
+package com.github.lemonadedream.boardgame.module.GoGameModel.GoTools;
+
+import java.util.Random;
+
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoBoard;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoLogic.GoMoveChecker;
+
+/**
+ * 规则引擎实现对比：数组棋盘与位棋盘在相同随机对局上的每秒落子数
+ * 用法：java ...GoBackendBenchmark [对局数] [每局步数]
+ */
+public class GoBackendBenchmark {
+    // 每一步最多尝试的随机点数，找不到合法点就视为停一手
+    private static final int MAX_TRIES = 200;
+
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int movesPerGame = args.length > 1 ? Integer.parseInt(args[1]) : 250;
+
+        for (GoMoveChecker.Backend backend : GoMoveChecker.Backend.values()) {
+            // 预热一轮，让JIT完成编译
+            run(backend, games / 4 + 1, movesPerGame);
+        }
+        System.out.printf("%-10s %12s %12s %14s%n", "实现", "落子数", "检查次数", "落子/秒");
+        for (GoMoveChecker.Backend backend : GoMoveChecker.Backend.values()) {
+            long start = System.nanoTime();
+            long[] counts = run(backend, games, movesPerGame);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%-10s %12d %12d %14.0f%n", backend, counts[0], counts[1], counts[0] / seconds);
+        }
+    }
+
+    /**
+     * 用固定种子下若干局随机棋
+     *
+     * @return {落子数, 合法性检查次数}
+     */
+    static long[] run(GoMoveChecker.Backend backend, int games, int movesPerGame) {
+        long moves = 0;
+        long checks = 0;
+        for (int g = 0; g < games; g++) {
+            Random random = new Random(g);
+            GoMoveChecker checker = GoMoveChecker.create(new GoBoard(), backend);
+            int color = GoBoard.BLACK;
+            for (int step = 0; step < movesPerGame; step++) {
+                for (int t = 0; t < MAX_TRIES; t++) {
+                    int x = 1 + random.nextInt(19);
+                    int y = 1 + random.nextInt(19);
+                    checks++;
+                    if (checker.check(x, y, color, 0) == 0) {
+                        checker.check(x, y, color, 1);
+                        moves++;
+                        break;
+                    }
+                }
+                color = 3 - color;
+            }
+        }
+        return new long[] { moves, checks };
+    }
+}
@@ -0,0 +1,263 @@
+package com.github.lemonadedream.boardgame.module.GoGameModel.GoTools;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoBoard;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoGeometry;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoLogic.GoMoveChecker;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoLogic.GoPlaceProcessor;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoLogic.GoWinLose;
+
+/**
+ * 规则引擎基准测试套件
+ * 在布局、中盘、官子、劫争四个固定局面上测量各项操作的吞吐量、延迟分位数与每次操作的分配字节数，
+ * 结果可输出为CSV或JSON，并可与上一次的CSV结果对比
+ *
+ * 用法：java ...GoBenchmarkSuite [--batches N] [--format csv|json] [--out 文件] [--baseline 上次的csv]
+ */
+public class GoBenchmarkSuite {
+    // 每批执行的操作数，延迟按批平均后统计分位数，避免计时本身的开销淹没结果
+    private static final int BATCH_OPS = 64;
+    // 预热批数
+    private static final int WARMUP_BATCHES = 2000;
+
+    /**
+     * 被测操作：每调用一次完成一次操作
+     */
+    interface Operation {
+        void run();
+    }
+
+    /**
+     * 一项测量结果
+     */
+    static class Result {
+        final String position;
+        final String benchmark;
+        final double opsPerSecond;
+        final double p50;
+        final double p90;
+        final double p99;
+        final double bytesPerOp;
+
+        Result(String position, String benchmark, double opsPerSecond, double p50, double p90, double p99,
+                double bytesPerOp) {
+            this.position = position;
+            this.benchmark = benchmark;
+            this.opsPerSecond = opsPerSecond;
+            this.p50 = p50;
+            this.p90 = p90;
+            this.p99 = p99;
+            this.bytesPerOp = bytesPerOp;
+        }
+
+        String key() {
+            return position + "/" + benchmark;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int batches = 20000;
+        String format = "csv";
+        String out = null;
+        String baseline = null;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--batches":
+                    batches = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--format":
+                    format = args[i + 1];
+                    break;
+                case "--out":
+                    out = args[i + 1];
+                    break;
+                case "--baseline":
+                    baseline = args[i + 1];
+                    break;
+                default:
+                    throw new IllegalArgumentException("未知参数: " + args[i]);
+            }
+        }
+
+        List<Result> results = new ArrayList<>();
+        for (String name : GoPositions.NAMES) {
+            for (Map.Entry<String, Operation> entry : operations(name).entrySet())
+                results.add(measure(name, entry.getKey(), entry.getValue(), batches));
+        }
+
+        System.out.printf("%-8s %-16s %14s %10s %10s %10s %10s%n", "局面", "操作", "次/秒", "p50(ns)", "p90(ns)",
+                "p99(ns)", "字节/次");
+        for (Result r : results) {
+            System.out.printf("%-8s %-16s %14.0f %10.1f %10.1f %10.1f %10.2f%n", r.position, r.benchmark,
+                    r.opsPerSecond, r.p50, r.p90, r.p99, r.bytesPerOp);
+        }
+        if (out != null) {
+            String text = "json".equals(format) ? toJson(results) : toCsv(results);
+            Files.write(Paths.get(out), text.getBytes(StandardCharsets.UTF_8));
+            System.out.println("结果已写入 " + out);
+        }
+        if (baseline != null)
+            compare(results, baseline);
+    }
+
+    /**
+     * 在一个局面上准备全部被测操作，按名字排列
+     * 每个操作依次轮换棋盘上的点位，覆盖局面中的各种情况
+     */
+    static Map<String, Operation> operations(String name) {
+        Map<String, Operation> ops = new LinkedHashMap<>();
+        GoBoard board = GoPositions.byName(name);
+        int color = GoPositions.toMove(board);
+        GoGeometry geometry = board.getGeometry();
+        GoPlaceProcessor processor = new GoPlaceProcessor(board);
+        GoMoveChecker bitboard = GoMoveChecker.create(board, GoMoveChecker.Backend.BITBOARD);
+        GoWinLose winLose = new GoWinLose(processor);
+        long[] mask = new long[GoMoveChecker.MASK_WORDS];
+
+        // 合法点与棋子所在点，供试走和数气使用
+        processor.legalMoves(color, mask);
+        int[] legal = collect(geometry, mask, board, true);
+        int[] stones = collect(geometry, mask, board, false);
+        int[] cursor = new int[1];
+
+        ops.put("check", () -> {
+            int pos = geometry.point(cursor[0]++ % geometry.pointCount());
+            processor.check(pos / GoBoard.BOARD_SIZE, pos % GoBoard.BOARD_SIZE, color, 0);
+        });
+        ops.put("check.bitboard", () -> {
+            int pos = geometry.point(cursor[0]++ % geometry.pointCount());
+            bitboard.check(pos / GoBoard.BOARD_SIZE, pos % GoBoard.BOARD_SIZE, color, 0);
+        });
+        if (stones.length > 0) {
+            ops.put("libertyCheck", () -> {
+                int pos = stones[cursor[0]++ % stones.length];
+                processor.libertyCheck(pos / GoBoard.BOARD_SIZE, pos % GoBoard.BOARD_SIZE, 0);
+            });
+        }
+        if (legal.length > 0) {
+            // 落子再撤销的开销（合法性判断不再试走，这里单独计时）
+            ops.put("playUndo", () -> {
+                int pos = legal[cursor[0]++ % legal.length];
+                board.play(pos, color);
+                board.undo();
+            });
+        }
+        ops.put("legalMoves", () -> processor.legalMoves(color, mask));
+        ops.put("hasNoLegalMove", () -> winLose.hasNoLegalMove(color));
+        ops.put("score", () -> winLose.score());
+        return ops;
+    }
+
+    // 取出位图中的合法点（legal为true）或盘上的棋子（legal为false）
+    private static int[] collect(GoGeometry geometry, long[] mask, GoBoard board, boolean legal) {
+        int[] found = new int[geometry.pointCount()];
+        int count = 0;
+        for (int i = 0; i < geometry.pointCount(); i++) {
+            int pos = geometry.point(i);
+            boolean hit = legal ? GoMoveChecker.isLegal(mask, pos) : board.getPoint(pos) != GoBoard.EMPTY;
+            if (hit)
+                found[count++] = pos;
+        }
+        return Arrays.copyOf(found, count);
+    }
+
+    /**
+     * 预热后按批测量：吞吐量按总时间计算，延迟取每批的平均单次耗时再求分位数
+     */
+    static Result measure(String position, String benchmark, Operation op, int batches) {
+        for (int b = 0; b < WARMUP_BATCHES; b++) {
+            for (int i = 0; i < BATCH_OPS; i++)
+                op.run();
+        }
+        com.sun.management.ThreadMXBean threads = threadBean();
+        long threadId = Thread.currentThread().getId();
+        long[] samples = new long[batches];
+        long allocatedBefore = threads != null ? threads.getThreadAllocatedBytes(threadId) : 0L;
+        long start = System.nanoTime();
+        for (int b = 0; b < batches; b++) {
+            long t = System.nanoTime();
+            for (int i = 0; i < BATCH_OPS; i++)
+                op.run();
+            samples[b] = System.nanoTime() - t;
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads != null ? threads.getThreadAllocatedBytes(threadId) - allocatedBefore : 0L;
+
+        long total = (long) batches * BATCH_OPS;
+        Arrays.sort(samples);
+        return new Result(position, benchmark, total * 1e9 / elapsed,
+                percentile(samples, 0.50) / BATCH_OPS, percentile(samples, 0.90) / BATCH_OPS,
+                percentile(samples, 0.99) / BATCH_OPS, (double) allocated / total);
+    }
+
+    private static double percentile(long[] sorted, double q) {
+        int index = (int) Math.min(sorted.length - 1, Math.round(q * (sorted.length - 1)));
+        return sorted[index];
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+            if (threads.isThreadAllocatedMemorySupported()) {
+                threads.setThreadAllocatedMemoryEnabled(true);
+                return threads;
+            }
+        }
+        return null;
+    }
+
+    static String toCsv(List<Result> results) {
+        StringBuilder sb = new StringBuilder("position,benchmark,ops_per_sec,p50_ns,p90_ns,p99_ns,bytes_per_op\n");
+        for (Result r : results) {
+            sb.append(String.format(Locale.ROOT, "%s,%s,%.1f,%.2f,%.2f,%.2f,%.3f%n", r.position, r.benchmark,
+                    r.opsPerSecond, r.p50, r.p90, r.p99, r.bytesPerOp));
+        }
+        return sb.toString();
+    }
+
+    static String toJson(List<Result> results) {
+        StringBuilder sb = new StringBuilder("[\n");
+        for (int i = 0; i < results.size(); i++) {
+            Result r = results.get(i);
+            sb.append(String.format(Locale.ROOT,
+                    "  {\"position\": \"%s\", \"benchmark\": \"%s\", \"opsPerSec\": %.1f, "
+                            + "\"p50Ns\": %.2f, \"p90Ns\": %.2f, \"p99Ns\": %.2f, \"bytesPerOp\": %.3f}",
+                    r.position, r.benchmark, r.opsPerSecond, r.p50, r.p90, r.p99, r.bytesPerOp));
+            sb.append(i + 1 < results.size() ? ",\n" : "\n");
+        }
+        return sb.append("]\n").toString();
+    }
+
+    /**
+     * 与上一次的CSV结果对比吞吐量，打印变化百分比
+     */
+    static void compare(List<Result> results, String baselineFile) throws IOException {
+        Map<String, Double> before = new HashMap<>();
+        List<String> lines = Files.readAllLines(Paths.get(baselineFile), StandardCharsets.UTF_8);
+        for (int i = 1; i < lines.size(); i++) {
+            String[] cols = lines.get(i).split(",");
+            if (cols.length >= 3)
+                before.put(cols[0] + "/" + cols[1], Double.parseDouble(cols[2]));
+        }
+        System.out.println("与 " + baselineFile + " 对比（吞吐量变化）：");
+        for (Result r : results) {
+            Double old = before.get(r.key());
+            if (old == null || old == 0.0)
+                continue;
+            System.out.printf("%-26s %+8.1f%%%n", r.key(), (r.opsPerSecond / old - 1.0) * 100.0);
+        }
+    }
+}
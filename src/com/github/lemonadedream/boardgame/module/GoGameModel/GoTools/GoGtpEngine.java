@@ -0,0 +1,367 @@
+package com.github.lemonadedream.boardgame.module.GoGameModel.GoTools;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoAI.GoMctsPlayer;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoAI.GoOwnership;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoAI.GoOwnershipEstimator;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoAI.GoPlayoutBoard;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoBoard;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoGeometry;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoLogic.GoMoveChecker;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoLogic.GoPlaceProcessor;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoLogic.GoScore;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoLogic.GoScorer;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoLogic.GoWinLose;
+
+/**
+ * 无界面的GTP（Go Text Protocol 2）引擎：从标准输入读命令、向标准输出写回复，只用到模型层，不加载AWT
+ * 落子由GoPlaceProcessor判定（含超级劫），genmove由GoMctsPlayer搜索，final_score先估计死子再按数子法计算
+ *
+ * 命令由GoGtpReader流式解析，回复写进复用的缓冲区，除搜索与数子本身以外，读命令、判断落子与回复都不分配对象
+ * genmove与GoTournament相同：除了填自己的眼以外无处可下时停一手
+ *
+ * 用法：java ...GoGtpEngine [--engine 设置] [--threads N] [--komi K] [--size N]
+ * 设置的格式与GoTournament相同，如 playouts=5000,ms=10000,tactics=on
+ */
+public class GoGtpEngine {
+    // 引擎名与版本
+    private static final String NAME = "LemonadeDream Go";
+    private static final String VERSION = "1.0";
+    // final_score估计死子的时间（毫秒）
+    private static final long SCORE_ESTIMATE_MILLIS = 1000;
+
+    /**
+     * 支持的命令
+     */
+    private enum Command {
+        PROTOCOL_VERSION("protocol_version"),
+        NAME("name"),
+        VERSION("version"),
+        KNOWN_COMMAND("known_command"),
+        LIST_COMMANDS("list_commands"),
+        QUIT("quit"),
+        BOARDSIZE("boardsize"),
+        CLEAR_BOARD("clear_board"),
+        KOMI("komi"),
+        PLAY("play"),
+        GENMOVE("genmove"),
+        UNDO("undo"),
+        FINAL_SCORE("final_score"),
+        SHOWBOARD("showboard");
+
+        final String text;
+        final byte[] bytes;
+
+        Command(String text) {
+            this.text = text;
+            this.bytes = text.getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    // values()每次返回新数组，查找命令时用这份
+    private static final Command[] COMMANDS = Command.values();
+
+    private final GoMctsPlayer player;
+    private int size;
+    private double komi;
+    private GoBoard board;
+    private GoPlaceProcessor processor;
+    private GoWinLose winLose;
+    private GoPlayoutBoard eyes;
+    private final long[] mask = new long[GoMoveChecker.MASK_WORDS];
+
+    // 回复正文与编码后的字节
+    private final StringBuilder reply = new StringBuilder(1024);
+    private byte[] replyBytes = new byte[1024];
+    private boolean quit;
+
+    /**
+     * @param player 选点用的棋手（由本引擎独占，贴目随komi命令更新）
+     * @param size   初始棋盘边长
+     * @param komi   初始贴目
+     */
+    public GoGtpEngine(GoMctsPlayer player, int size, double komi) {
+        this.player = player;
+        this.komi = komi;
+        player.setKomi(komi);
+        newBoard(size);
+    }
+
+    public static void main(String[] args) throws IOException {
+        String spec = "";
+        int threads = Runtime.getRuntime().availableProcessors();
+        double komi = GoScorer.DEFAULT_KOMI;
+        int size = GoGeometry.MAX_SIZE;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--engine":
+                    spec = args[i + 1];
+                    break;
+                case "--threads":
+                    threads = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--komi":
+                    komi = Double.parseDouble(args[i + 1]);
+                    break;
+                case "--size":
+                    size = Integer.parseInt(args[i + 1]);
+                    break;
+                default:
+                    throw new IllegalArgumentException("未知参数: " + args[i]);
+            }
+        }
+        GoMctsPlayer player = GoTournament.EngineConfig.parse(spec).create(komi);
+        player.setThreads(threads);
+        try {
+            new GoGtpEngine(player, size, komi).run(System.in, System.out);
+        } finally {
+            player.shutdown();
+        }
+    }
+
+    /**
+     * 逐条处理命令，直到quit或输入结束
+     */
+    public void run(InputStream in, OutputStream out) throws IOException {
+        GoGtpReader reader = new GoGtpReader(in);
+        quit = false;
+        while (!quit && reader.next()) {
+            reply.setLength(0);
+            boolean ok = execute(reader);
+            send(out, reader.getId(), ok);
+        }
+    }
+
+    /**
+     * 执行一条命令，回复正文写进reply
+     *
+     * @return 成功返回true，失败时reply为错误信息
+     */
+    private boolean execute(GoGtpReader reader) {
+        if (reader.isOverflow() || reader.getTokenCount() == 0)
+            return fail("syntax error");
+        Command command = find(reader, 0);
+        if (command == null)
+            return fail("unknown command");
+        int args = reader.getArgCount();
+        switch (command) {
+            case PROTOCOL_VERSION:
+                reply.append(2);
+                return true;
+            case NAME:
+                reply.append(NAME);
+                return true;
+            case VERSION:
+                reply.append(VERSION);
+                return true;
+            case KNOWN_COMMAND:
+                if (args < 1)
+                    return fail("syntax error");
+                reply.append(find(reader, 1) != null);
+                return true;
+            case LIST_COMMANDS:
+                for (Command c : COMMANDS) {
+                    if (c != COMMANDS[0])
+                        reply.append('\n');
+                    reply.append(c.text);
+                }
+                return true;
+            case QUIT:
+                quit = true;
+                return true;
+            case BOARDSIZE:
+                return boardsize(reader, args);
+            case CLEAR_BOARD:
+                newBoard(size);
+                return true;
+            case KOMI:
+                return komi(reader, args);
+            case PLAY:
+                return play(reader, args);
+            case GENMOVE:
+                return genmove(reader, args);
+            case UNDO:
+                if (board.stackTop < 0)
+                    return fail("cannot undo");
+                board.boardStatusPop();
+                return true;
+            case FINAL_SCORE:
+                finalScore();
+                return true;
+            case SHOWBOARD:
+                showboard();
+                return true;
+            default:
+                return fail("unknown command");
+        }
+    }
+
+    // 第i个词对应的命令，不认识时为null
+    private static Command find(GoGtpReader reader, int i) {
+        for (Command c : COMMANDS) {
+            if (reader.tokenEquals(i, c.bytes))
+                return c;
+        }
+        return null;
+    }
+
+    private boolean boardsize(GoGtpReader reader, int args) {
+        if (args < 1)
+            return fail("syntax error");
+        int n = reader.parseInt(1);
+        if (n < 0)
+            return fail("syntax error");
+        if (n < 1 || n > GoGeometry.MAX_SIZE)
+            return fail("unacceptable size");
+        newBoard(n);
+        return true;
+    }
+
+    private boolean komi(GoGtpReader reader, int args) {
+        if (args < 1)
+            return fail("syntax error");
+        double k = reader.parseDecimal(1);
+        if (Double.isNaN(k))
+            return fail("syntax error");
+        komi = k;
+        player.setKomi(k);
+        return true;
+    }
+
+    private boolean play(GoGtpReader reader, int args) {
+        if (args < 2)
+            return fail("syntax error");
+        int color = reader.parseColor(1);
+        if (color == GoBoard.EMPTY)
+            return fail("syntax error");
+        int pos = reader.parseVertex(2, size);
+        if (pos < 0)
+            return fail("illegal move");
+        if (pos == GoBoard.PASS) {
+            pass(color);
+            return true;
+        }
+        if (processor.check(pos / GoBoard.BOARD_SIZE, pos % GoBoard.BOARD_SIZE, color, 1) != 0)
+            return fail("illegal move");
+        return true;
+    }
+
+    private boolean genmove(GoGtpReader reader, int args) {
+        if (args < 1)
+            return fail("syntax error");
+        int color = reader.parseColor(1);
+        if (color == GoBoard.EMPTY)
+            return fail("syntax error");
+        int pos = GoBoard.PASS;
+        if (GoTournament.hasUsefulMove(processor, eyes, color, mask))
+            pos = player.genMove(board, color, player.getThinkMillis());
+        if (pos == GoBoard.PASS)
+            pass(color);
+        else if (processor.check(pos / GoBoard.BOARD_SIZE, pos % GoBoard.BOARD_SIZE, color, 1) != 0)
+            throw new IllegalStateException("搜索给出的着法不合法: " + pos);
+        GoGtpReader.appendVertex(reply, pos, size);
+        return true;
+    }
+
+    // 停一手也计入对局历史，可以悔棋
+    private void pass(int color) {
+        board.play(GoBoard.PASS, color);
+        board.boardStatusPush();
+    }
+
+    // 估计死子后按数子法计算，回复形如 B+3.5、W+0.5，平局为0
+    private void finalScore() {
+        int toMove = board.stackTop < 0 ? GoBoard.BLACK : 3 - board.getHistory().getColor(board.stackTop);
+        GoOwnershipEstimator estimator = new GoOwnershipEstimator(board);
+        estimator.setTimeBudgetMillis(SCORE_ESTIMATE_MILLIS);
+        GoOwnership ownership = estimator.estimate(toMove);
+        GoScore score = winLose.score(komi, ownership.getDeadMask());
+        double margin = score.getAreaMargin();
+        if (margin == 0) {
+            reply.append('0');
+            return;
+        }
+        reply.append(margin > 0 ? "B+" : "W+").append(Math.abs(margin));
+    }
+
+    // 棋盘图：X黑子、O白子，四周标出GTP坐标
+    private void showboard() {
+        reply.append('\n');
+        appendColumns();
+        for (int row = size; row >= 1; row--) {
+            appendRowNumber(row);
+            int y = size + 1 - row;
+            for (int x = 1; x <= size; x++) {
+                int c = board.getPoint(x, y);
+                reply.append(' ').append(c == GoBoard.BLACK ? 'X' : c == GoBoard.WHITE ? 'O' : '.');
+            }
+            reply.append(' ').append(row).append('\n');
+        }
+        appendColumns();
+        reply.append("Black captured ").append(board.getPrisoners(GoBoard.BLACK))
+                .append(", White captured ").append(board.getPrisoners(GoBoard.WHITE));
+    }
+
+    private void appendColumns() {
+        reply.append("   ");
+        for (int x = 1; x <= size; x++)
+            reply.append(' ').append(GoGtpReader.columnName(x));
+        reply.append('\n');
+    }
+
+    private void appendRowNumber(int row) {
+        if (row < 10)
+            reply.append(' ');
+        reply.append(' ').append(row);
+    }
+
+    // 换一块空棋盘（棋盘大小可能改变），置换表随之清空
+    private void newBoard(int n) {
+        size = n;
+        board = new GoBoard(n);
+        processor = new GoPlaceProcessor(board);
+        winLose = new GoWinLose(processor);
+        eyes = new GoPlayoutBoard(board.getGeometry());
+        if (player.getTranspositionTable() != null)
+            player.getTranspositionTable().clear();
+    }
+
+    private boolean fail(String message) {
+        reply.setLength(0);
+        reply.append(message);
+        return false;
+    }
+
+    /**
+     * 写出一条回复：成功为"=[id] 正文"，失败为"?[id] 错误信息"，以空行结束
+     * 正文只含ASCII字符，逐字符写进复用的字节缓冲区
+     */
+    private void send(OutputStream out, int id, boolean ok) throws IOException {
+        int need = reply.length() + 16;
+        if (replyBytes.length < need)
+            replyBytes = new byte[Math.max(need, replyBytes.length * 2)];
+        int n = 0;
+        replyBytes[n++] = (byte) (ok ? '=' : '?');
+        if (id >= 0) {
+            int digits = 1;
+            for (int v = id; v >= 10; v /= 10)
+                digits++;
+            for (int k = n + digits - 1, v = id; k >= n; k--, v /= 10)
+                replyBytes[k] = (byte) ('0' + v % 10);
+            n += digits;
+        }
+        replyBytes[n++] = ' ';
+        for (int i = 0; i < reply.length(); i++) {
+            char c = reply.charAt(i);
+            replyBytes[n++] = (byte) (c < 128 ? c : '?');
+        }
+        replyBytes[n++] = '\n';
+        replyBytes[n++] = '\n';
+        out.write(replyBytes, 0, n);
+        out.flush();
+    }
+}
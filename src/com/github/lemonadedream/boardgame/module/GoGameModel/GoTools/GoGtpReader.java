@@ -0,0 +1,293 @@
+package com.github.lemonadedream.boardgame.module.GoGameModel.GoTools;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoBoard;
+
+/**
+ * GTP命令的流式读取：按字节从输入流读出一行命令，按GTP规定预处理后切分成词，
+ * 读入缓冲、行缓冲与词的起止位置都在构造时分配，之后读取与解析命令不再分配对象
+ *
+ * 预处理：去掉除制表符、换行以外的控制字符（含回车），制表符当作空格，#之后到行尾是注释，空行跳过
+ * 行首的词全为数字时是命令号，不计入命令词
+ */
+public class GoGtpReader {
+    // 一行命令最多的字节数，超出部分丢弃并标记为过长
+    public static final int MAX_LINE = 1024;
+    // 一行命令最多的词数，超出部分并入最后一个词之后被忽略
+    public static final int MAX_TOKENS = 32;
+    // GTP坐标的列字母（跳过I）
+    private static final String COLUMNS = "ABCDEFGHJKLMNOPQRST";
+
+    private final InputStream in;
+    private final byte[] buffer = new byte[8192];
+    private int bufferPos = 0;
+    private int bufferEnd = 0;
+
+    private final byte[] line = new byte[MAX_LINE];
+    private int lineLength;
+    private boolean overflow;
+    // 各词在line中的起点与终点（不含），下标0是命令名
+    private final int[] tokenStart = new int[MAX_TOKENS];
+    private final int[] tokenEnd = new int[MAX_TOKENS];
+    private int tokenCount;
+    private int id;
+
+    public GoGtpReader(InputStream in) {
+        this.in = in;
+    }
+
+    /**
+     * 读出下一条非空命令
+     *
+     * @return 输入结束时返回false
+     */
+    public boolean next() throws IOException {
+        while (true) {
+            if (!readLine())
+                return false;
+            tokenize();
+            if (tokenCount > 0 || id >= 0 || overflow)
+                return true;
+        }
+    }
+
+    // 读一行（已预处理）到line，输入结束且没有读到任何字节时返回false
+    private boolean readLine() throws IOException {
+        lineLength = 0;
+        overflow = false;
+        boolean comment = false;
+        boolean any = false;
+        while (true) {
+            if (bufferPos == bufferEnd) {
+                bufferEnd = in.read(buffer);
+                bufferPos = 0;
+                if (bufferEnd <= 0) {
+                    bufferEnd = 0;
+                    return any;
+                }
+            }
+            int b = buffer[bufferPos++] & 0xFF;
+            any = true;
+            if (b == '\n')
+                return true;
+            if (comment || b == '\r' || (b < 32 && b != '\t') || b == 127)
+                continue;
+            if (b == '#') {
+                comment = true;
+                continue;
+            }
+            if (lineLength == MAX_LINE) {
+                overflow = true;
+                continue;
+            }
+            line[lineLength++] = (byte) (b == '\t' ? ' ' : b);
+        }
+    }
+
+    // 按空格切词，取出行首的命令号
+    private void tokenize() {
+        tokenCount = 0;
+        id = -1;
+        int i = 0;
+        while (i < lineLength) {
+            while (i < lineLength && line[i] == ' ')
+                i++;
+            if (i == lineLength)
+                break;
+            int start = i;
+            while (i < lineLength && line[i] != ' ')
+                i++;
+            if (tokenCount == MAX_TOKENS) {
+                tokenEnd[MAX_TOKENS - 1] = i;
+                continue;
+            }
+            tokenStart[tokenCount] = start;
+            tokenEnd[tokenCount] = i;
+            tokenCount++;
+        }
+        if (tokenCount > 0 && isNumber(0)) {
+            id = (int) Math.min(Integer.MAX_VALUE, parseLong(0));
+            for (int t = 1; t < tokenCount; t++) {
+                tokenStart[t - 1] = tokenStart[t];
+                tokenEnd[t - 1] = tokenEnd[t];
+            }
+            tokenCount--;
+        }
+    }
+
+    // 本行超过MAX_LINE字节，超出部分已丢弃
+    public boolean isOverflow() {
+        return overflow;
+    }
+
+    // 命令号，没有时为-1
+    public int getId() {
+        return id;
+    }
+
+    // 命令名与参数的总词数（不含命令号）
+    public int getTokenCount() {
+        return tokenCount;
+    }
+
+    // 参数个数
+    public int getArgCount() {
+        return Math.max(0, tokenCount - 1);
+    }
+
+    /**
+     * 判断第i个词是否等于给定的ASCII字节串（区分大小写，GTP的命令名均为小写）
+     */
+    public boolean tokenEquals(int i, byte[] word) {
+        int start = tokenStart[i];
+        int length = tokenEnd[i] - start;
+        if (length != word.length)
+            return false;
+        for (int k = 0; k < length; k++) {
+            if (line[start + k] != word[k])
+                return false;
+        }
+        return true;
+    }
+
+    // 第i个词是否由数字组成
+    private boolean isNumber(int i) {
+        if (tokenEnd[i] - tokenStart[i] > 18)
+            return false;
+        for (int k = tokenStart[i]; k < tokenEnd[i]; k++) {
+            if (line[k] < '0' || line[k] > '9')
+                return false;
+        }
+        return true;
+    }
+
+    private long parseLong(int i) {
+        long value = 0;
+        for (int k = tokenStart[i]; k < tokenEnd[i]; k++)
+            value = value * 10 + (line[k] - '0');
+        return value;
+    }
+
+    /**
+     * 解析第i个词为非负整数
+     *
+     * @return 不是非负整数（或超出int范围）时为-1
+     */
+    public int parseInt(int i) {
+        if (!isNumber(i))
+            return -1;
+        long value = parseLong(i);
+        return value > Integer.MAX_VALUE ? -1 : (int) value;
+    }
+
+    /**
+     * 解析第i个词为十进制小数（可带正负号与小数点，不接受指数形式）
+     *
+     * @return 格式不对时为NaN
+     */
+    public double parseDecimal(int i) {
+        int k = tokenStart[i];
+        int end = tokenEnd[i];
+        boolean negative = false;
+        if (k < end && (line[k] == '-' || line[k] == '+'))
+            negative = line[k++] == '-';
+        double value = 0;
+        double scale = 0;
+        int digits = 0;
+        for (; k < end; k++) {
+            int c = line[k];
+            if (c == '.' && scale == 0) {
+                scale = 1;
+            } else if (c >= '0' && c <= '9') {
+                value = value * 10 + (c - '0');
+                scale *= 10;
+                digits++;
+            } else {
+                return Double.NaN;
+            }
+        }
+        if (digits == 0)
+            return Double.NaN;
+        if (scale > 1)
+            value /= scale;
+        return negative ? -value : value;
+    }
+
+    /**
+     * 解析第i个词为颜色（b、w、black、white，不区分大小写）
+     *
+     * @return GoBoard.BLACK、GoBoard.WHITE，格式不对时为GoBoard.EMPTY
+     */
+    public int parseColor(int i) {
+        int start = tokenStart[i];
+        int length = tokenEnd[i] - start;
+        int c = line[start] | 0x20;
+        if (c == 'b' && (length == 1 || equalsIgnoreCase(start, length, "black")))
+            return GoBoard.BLACK;
+        if (c == 'w' && (length == 1 || equalsIgnoreCase(start, length, "white")))
+            return GoBoard.WHITE;
+        return GoBoard.EMPTY;
+    }
+
+    /**
+     * 解析第i个词为棋盘坐标（列字母跳过I，行号从下往上数，不区分大小写；pass表示停一手）
+     * GTP的第1行是棋盘最下面一行，对应y = size；列A对应x = 1
+     *
+     * @param size 棋盘边长
+     * @return 点位编码，pass为GoBoard.PASS，格式不对或在棋盘外时为-1
+     */
+    public int parseVertex(int i, int size) {
+        int start = tokenStart[i];
+        int length = tokenEnd[i] - start;
+        if (equalsIgnoreCase(start, length, "pass"))
+            return GoBoard.PASS;
+        if (length < 2 || length > 3)
+            return -1;
+        int x = COLUMNS.indexOf(Character.toUpperCase((char) line[start])) + 1;
+        int row = 0;
+        for (int k = start + 1; k < start + length; k++) {
+            if (line[k] < '0' || line[k] > '9')
+                return -1;
+            row = row * 10 + (line[k] - '0');
+        }
+        if (x < 1 || x > size || row < 1 || row > size)
+            return -1;
+        return GoBoard.toPos(x, size + 1 - row);
+    }
+
+    /**
+     * 把点位编码写成GTP坐标（停一手写作pass）
+     */
+    public static void appendVertex(StringBuilder out, int pos, int size) {
+        if (pos == GoBoard.PASS) {
+            out.append("pass");
+            return;
+        }
+        out.append(COLUMNS.charAt(pos / GoBoard.BOARD_SIZE - 1)).append(size + 1 - pos % GoBoard.BOARD_SIZE);
+    }
+
+    // 第i列（从1开始）的GTP列字母
+    static char columnName(int x) {
+        return COLUMNS.charAt(x - 1);
+    }
+
+    /**
+     * 把第i个词写到out（用于回显未知命令等）
+     */
+    public void appendToken(StringBuilder out, int i) {
+        for (int k = tokenStart[i]; k < tokenEnd[i]; k++)
+            out.append((char) line[k]);
+    }
+
+    private boolean equalsIgnoreCase(int start, int length, String word) {
+        if (length != word.length())
+            return false;
+        for (int k = 0; k < length; k++) {
+            if ((line[start + k] | 0x20) != word.charAt(k))
+                return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,76 @@
+package com.github.lemonadedream.boardgame.module.GoGameModel.GoTools;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.List;
+
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoAI.GoOpeningBook;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoAI.GoOpeningBookBuilder;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoBoard;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoRecord.GoGameRecord;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoRecord.GoRecordFile;
+
+/**
+ * 定式库工具
+ * build：由对局记录文件生成定式库
+ * bench：用对局记录中的开局局面测量查询耗时与命中率
+ *
+ * 用法：java ...GoOpeningBookTool build 定式库 收录手数 最少次数 对局记录...
+ *       java ...GoOpeningBookTool bench 定式库 对局记录
+ */
+public class GoOpeningBookTool {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length >= 5 && "build".equals(args[0])) {
+            build(args);
+        } else if (args.length == 3 && "bench".equals(args[0])) {
+            bench(args[1], args[2]);
+        } else {
+            System.out.println("用法：java ...GoOpeningBookTool build 定式库 收录手数 最少次数 对局记录...");
+            System.out.println("      java ...GoOpeningBookTool bench 定式库 对局记录");
+        }
+    }
+
+    private static void build(String[] args) throws IOException {
+        int depth = Integer.parseInt(args[2]);
+        int minCount = Integer.parseInt(args[3]);
+        GoOpeningBookBuilder builder = new GoOpeningBookBuilder(depth);
+        long start = System.nanoTime();
+        for (int i = 4; i < args.length; i++)
+            builder.addAll(Paths.get(args[i]));
+        int entries = builder.write(Paths.get(args[1]), minCount);
+        System.out.printf("收录%d局，写入%d条，用时%.1f秒%n", builder.getGames(), entries,
+                (System.nanoTime() - start) / 1e9);
+    }
+
+    // 逐局重放前若干手，在每个局面上查询一次
+    private static void bench(String bookFile, String recordFile) throws IOException {
+        long lookups = 0;
+        long hits = 0;
+        long nanos = 0;
+        GoGameRecord record = new GoGameRecord();
+        try (GoOpeningBook book = GoOpeningBook.open(Paths.get(bookFile));
+                GoRecordFile file = new GoRecordFile(Paths.get(recordFile))) {
+            System.out.printf("定式库%d条，收录前%d手%n", book.size(), book.getMaxDepth());
+            while (file.next()) {
+                file.read(record);
+                GoBoard board = new GoBoard(record.getSize());
+                int depth = Math.min(book.getMaxDepth(), record.getMoveCount());
+                for (int i = 0; i < depth; i++) {
+                    int pos = record.getMovePos(i);
+                    if (pos == GoGameRecord.RESIGN)
+                        break;
+                    long t = System.nanoTime();
+                    List<GoOpeningBook.Candidate> candidates = book.lookup(board, record.getMoveColor(i));
+                    nanos += System.nanoTime() - t;
+                    lookups++;
+                    if (!candidates.isEmpty())
+                        hits++;
+                    board.play(pos, record.getMoveColor(i));
+                }
+            }
+        }
+        System.out.printf("查询%d次，命中率%.1f%%，平均%.2f微秒/次%n", lookups, 100.0 * hits / Math.max(1, lookups),
+                nanos / 1e3 / Math.max(1, lookups));
+    }
+}
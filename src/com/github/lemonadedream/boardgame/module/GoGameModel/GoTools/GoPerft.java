@@ -0,0 +1,249 @@
+package com.github.lemonadedream.boardgame.module.GoGameModel.GoTools;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoBoard;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoGeometry;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoLogic.GoPlaceProcessor;
+
+/**
+ * 走法树枚举（perft）：从给定局面出发，按GoPlaceProcessor的规则列举深度N以内的全部合法着法序列
+ * 统计叶子数、叶子上的提子数和因超级劫被拒绝的着法数，并给出每秒节点数
+ * 同一局面、同一深度的计数是确定的，可以作为规则引擎每次优化前后的对照
+ *
+ * 不枚举停一手；路径上的每一手都计入超级劫历史
+ * 用法：java ...GoPerft 深度 [局面名|empty] [--region N] [--parallel] [--divide]
+ */
+public class GoPerft {
+
+    /**
+     * 枚举计数
+     */
+    public static class Counts {
+        // 深度为N的叶子数
+        public long leaves;
+        // 叶子着法中提子的次数
+        public long captures;
+        // 最后一层因超级劫被拒绝的着法数
+        public long koRejections;
+        // 全部节点数（含内部节点，用于计算速度）
+        public long nodes;
+
+        void add(Counts other) {
+            leaves += other.leaves;
+            captures += other.captures;
+            koRejections += other.koRejections;
+            nodes += other.nodes;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("叶子 %d，提子 %d，超级劫拒绝 %d", leaves, captures, koRejections);
+        }
+    }
+
+    private final GoBoard board;
+    private final GoPlaceProcessor processor;
+    // 只在左上角region×region的范围内落子
+    private final int region;
+
+    /**
+     * @param board  起始局面（会被反复试走、撤销，结束后恢复原状）
+     * @param region 落子范围的边长，棋盘边长表示整个棋盘
+     */
+    public GoPerft(GoBoard board, int region) {
+        this.board = board;
+        this.processor = new GoPlaceProcessor(board);
+        this.region = region;
+    }
+
+    /**
+     * 单线程枚举
+     *
+     * @param color 第一手的颜色
+     * @param depth 深度，至少为1
+     */
+    public Counts run(int color, int depth) {
+        Counts counts = new Counts();
+        search(color, depth, counts);
+        return counts;
+    }
+
+    /**
+     * 在根节点按第一手拆分，用fork/join并行枚举，每个子任务在自己的棋盘副本上搜索
+     */
+    public static Counts runParallel(GoBoard board, int region, int color, int depth, ForkJoinPool pool) {
+        GoPerft root = new GoPerft(board, region);
+        // 第一层的超级劫拒绝只在深度为1时属于叶子一层
+        Counts rootCounts = new Counts();
+        List<RootTask> tasks = new ArrayList<>();
+        for (int pos : root.legalMoves(color, depth == 1 ? rootCounts : null))
+            tasks.add(new RootTask(board, region, pos, color, depth));
+        return pool.invoke(new RecursiveTask<Counts>() {
+            @Override
+            protected Counts compute() {
+                invokeAll(tasks);
+                Counts total = new Counts();
+                total.add(rootCounts);
+                for (RootTask task : tasks)
+                    total.add(task.join());
+                return total;
+            }
+        });
+    }
+
+    /**
+     * 根节点的一个分支：复制棋盘、走第一手，再单线程枚举剩下的深度
+     */
+    private static class RootTask extends RecursiveTask<Counts> {
+        private final GoBoard board;
+        private final int region;
+        private final int pos;
+        private final int color;
+        private final int depth;
+
+        RootTask(GoBoard board, int region, int pos, int color, int depth) {
+            this.board = board;
+            this.region = region;
+            this.pos = pos;
+            this.color = color;
+            this.depth = depth;
+        }
+
+        @Override
+        protected Counts compute() {
+            GoPerft perft;
+            // 复制时要读取原棋盘的历史，多个任务同时复制需要串行
+            synchronized (board) {
+                perft = new GoPerft(board.copy(), region);
+            }
+            return perft.divide(pos, color, depth);
+        }
+    }
+
+    /**
+     * 走一手后枚举剩下的深度，--divide用它输出每个第一手下的叶子数
+     */
+    public Counts divide(int pos, int color, int depth) {
+        Counts counts = new Counts();
+        int captured = play(pos, color);
+        if (depth == 1) {
+            counts.leaves++;
+            counts.nodes++;
+            if (captured > 0)
+                counts.captures++;
+        } else {
+            counts.nodes++;
+            search(3 - color, depth - 1, counts);
+        }
+        unplay();
+        return counts;
+    }
+
+    // 列出一方在落子范围内的合法着法，同时统计被超级劫拒绝的点数
+    List<Integer> legalMoves(int color, Counts counts) {
+        List<Integer> moves = new ArrayList<>();
+        GoGeometry geometry = board.getGeometry();
+        for (int i = 0; i < geometry.pointCount(); i++) {
+            int pos = geometry.point(i);
+            int x = pos / GoBoard.BOARD_SIZE;
+            int y = pos % GoBoard.BOARD_SIZE;
+            if (x > region || y > region)
+                continue;
+            int result = processor.check(x, y, color, 0);
+            if (result == 0)
+                moves.add(pos);
+            else if (result == 2 && counts != null)
+                counts.koRejections++;
+        }
+        return moves;
+    }
+
+    private void search(int color, int depth, Counts counts) {
+        GoGeometry geometry = board.getGeometry();
+        for (int i = 0; i < geometry.pointCount(); i++) {
+            int pos = geometry.point(i);
+            int x = pos / GoBoard.BOARD_SIZE;
+            int y = pos % GoBoard.BOARD_SIZE;
+            if (x > region || y > region)
+                continue;
+            int result = processor.check(x, y, color, 0);
+            if (result == 2 && depth == 1)
+                counts.koRejections++;
+            if (result != 0)
+                continue;
+            counts.nodes++;
+            int captured = play(pos, color);
+            if (depth == 1) {
+                counts.leaves++;
+                if (captured > 0)
+                    counts.captures++;
+            } else {
+                search(3 - color, depth - 1, counts);
+            }
+            unplay();
+        }
+    }
+
+    // 落子并计入超级劫历史
+    private int play(int pos, int color) {
+        int captured = board.play(pos, color);
+        board.boardStatusPush();
+        return captured;
+    }
+
+    private void unplay() {
+        board.boardStatusPopOnly();
+        board.undo();
+    }
+
+    public static void main(String[] args) {
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : 2;
+        String name = "empty";
+        int region = GoGeometry.MAX_SIZE;
+        boolean parallel = false;
+        boolean divide = false;
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--region":
+                    region = Integer.parseInt(args[++i]);
+                    break;
+                case "--parallel":
+                    parallel = true;
+                    break;
+                case "--divide":
+                    divide = true;
+                    break;
+                default:
+                    name = args[i];
+            }
+        }
+
+        GoBoard board = "empty".equals(name) ? new GoBoard() : GoPositions.byName(name);
+        int color = GoPositions.toMove(board);
+        System.out.printf("局面 %s，深度 %d，范围 %d×%d，%s%n", name, depth, region, region,
+                parallel ? "并行（" + ForkJoinPool.commonPool().getParallelism() + "线程）" : "单线程");
+
+        long start = System.nanoTime();
+        Counts counts;
+        if (parallel) {
+            counts = runParallel(board, region, color, depth, ForkJoinPool.commonPool());
+        } else if (divide) {
+            GoPerft perft = new GoPerft(board, region);
+            counts = new Counts();
+            for (int pos : perft.legalMoves(color, depth == 1 ? counts : null)) {
+                Counts sub = perft.divide(pos, color, depth);
+                System.out.printf("(%d,%d) %d%n", pos / GoBoard.BOARD_SIZE, pos % GoBoard.BOARD_SIZE, sub.leaves);
+                counts.add(sub);
+            }
+        } else {
+            counts = new GoPerft(board, region).run(color, depth);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.println(counts);
+        System.out.printf("节点 %d，用时 %.3f秒，%.0f节点/秒%n", counts.nodes, seconds, counts.nodes / seconds);
+    }
+}
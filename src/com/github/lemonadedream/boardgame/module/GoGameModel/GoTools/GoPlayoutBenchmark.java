@@ -0,0 +1,115 @@
+package com.github.lemonadedream.boardgame.module.GoGameModel.GoTools;
+
+import java.lang.management.ManagementFactory;
+
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoAI.GoPatternTable;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoAI.GoPlayout;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoBoard;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoGeometry;
+
+/**
+ * 随机对局吞吐量：每个线程使用自己的GoPlayout实例，从同一局面反复下到终局，
+ * 按1、2、4……到核心数的线程数分别测量每秒对局数、相对单线程的加速比与每局分配的字节数
+ *
+ * 用法：java ...GoPlayoutBenchmark [局面名|empty] [每轮秒数] [--patterns] [--tactics]
+ * --patterns：随机对局按3×3棋形权重抽样
+ * --tactics：随机对局应对叫吃（GoTactics）
+ */
+public class GoPlayoutBenchmark {
+    // 贴目，只用于统计黑方胜率，确认对局确实下到了终局
+    private static final double KOMI = 7.5;
+
+    public static void main(String[] args) throws InterruptedException {
+        String name = args.length > 0 ? args[0] : "empty";
+        double seconds = args.length > 1 ? Double.parseDouble(args[1]) : 2.0;
+        boolean patterns = false;
+        boolean tactics = false;
+        for (int i = 2; i < args.length; i++) {
+            patterns |= "--patterns".equals(args[i]);
+            tactics |= "--tactics".equals(args[i]);
+        }
+        GoBoard start = "empty".equals(name) ? new GoBoard() : GoPositions.byName(name);
+        int toMove = GoPositions.toMove(start);
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        // 预热，让JIT完成编译
+        run(start, toMove, 1, Math.min(seconds, 1.0), patterns, tactics);
+        System.out.printf("局面 %s，核心数 %d，%s%s%n", name, cores, patterns ? "棋形抽样" : "均匀随机",
+                tactics ? "，应对叫吃" : "");
+        System.out.printf("%6s %14s %8s %12s %10s %10s%n", "线程", "对局/秒", "加速比", "平均手数", "黑胜率", "字节/局");
+        double single = 0;
+        for (int threads = 1; ; threads = Math.min(threads * 2, cores)) {
+            long[] totals = run(start, toMove, threads, seconds, patterns, tactics);
+            double rate = totals[0] / seconds;
+            if (threads == 1)
+                single = rate;
+            System.out.printf("%6d %14.0f %8.2f %12.1f %9.1f%% %10.2f%n", threads, rate, rate / single,
+                    (double) totals[1] / totals[0], 100.0 * totals[2] / totals[0], (double) totals[3] / totals[0]);
+            if (threads == cores)
+                break;
+        }
+    }
+
+    /**
+     * 用指定线程数运行一段时间
+     *
+     * @return {对局数, 总手数, 黑胜局数, 分配的字节数}
+     */
+    static long[] run(GoBoard start, int toMove, int threads, double seconds, boolean patterns,
+            boolean tactics) throws InterruptedException {
+        long[][] results = new long[threads][];
+        Thread[] workers = new Thread[threads];
+        long deadline = System.nanoTime() + (long) (seconds * 1e9);
+        for (int t = 0; t < threads; t++) {
+            int index = t;
+            workers[t] = new Thread(() -> results[index] = work(start, toMove, index, deadline, patterns, tactics));
+            workers[t].start();
+        }
+        long[] totals = new long[4];
+        for (int t = 0; t < threads; t++) {
+            workers[t].join();
+            for (int i = 0; i < totals.length; i++)
+                totals[i] += results[t][i];
+        }
+        return totals;
+    }
+
+    // 单个线程的测量循环，准备工作放在计量分配之前
+    private static long[] work(GoBoard start, int toMove, int index, long deadline, boolean patterns,
+            boolean tactics) {
+        GoPlayout playout = new GoPlayout(GoGeometry.of(GoGeometry.MAX_SIZE));
+        if (patterns)
+            playout.setPatternTable(GoPatternTable.getDefault());
+        playout.setTactics(tactics);
+        byte[] points = start.getPoints().clone();
+        com.sun.management.ThreadMXBean threads = threadBean();
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = threads != null ? threads.getThreadAllocatedBytes(threadId) : 0L;
+        long games = 0;
+        long moves = 0;
+        long blackWins = 0;
+        long seed = index * 1_000_003L;
+        while (System.nanoTime() < deadline) {
+            playout.getBoard().reset(points, GoBoard.PASS);
+            playout.setSeed(seed++);
+            moves += playout.run(toMove);
+            if (playout.getBoard().score(KOMI) > 0)
+                blackWins++;
+            games++;
+        }
+        long allocated = threads != null ? threads.getThreadAllocatedBytes(threadId) - allocatedBefore : 0L;
+        return new long[] { games, moves, blackWins, allocated };
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+            if (threads.isThreadAllocatedMemorySupported()) {
+                threads.setThreadAllocatedMemoryEnabled(true);
+                return threads;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,92 @@
+package com.github.lemonadedream.boardgame.module.GoGameModel.GoTools;
+
+import java.util.Random;
+
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoBoard;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoLogic.GoPlaceProcessor;
+
+/**
+ * 基准测试与工具共用的固定局面
+ * 局面由固定种子的随机对局生成，每次运行都完全相同，便于前后对比
+ */
+public final class GoPositions {
+    // 全部局面的名字，按棋局进程排列
+    public static final String[] NAMES = { "opening", "middle", "endgame", "ko" };
+
+    private GoPositions() {
+    }
+
+    /**
+     * 按名字取出局面
+     *
+     * @param name opening、middle、endgame或ko
+     */
+    public static GoBoard byName(String name) {
+        switch (name) {
+            case "opening":
+                return opening();
+            case "middle":
+                return middleGame();
+            case "endgame":
+                return endgame();
+            case "ko":
+                return koFight();
+            default:
+                throw new IllegalArgumentException("未知局面: " + name);
+        }
+    }
+
+    // 布局：双方各下十手
+    public static GoBoard opening() {
+        return randomGame(1L, 20, 19);
+    }
+
+    // 中盘：一百二十手，已有提子
+    public static GoBoard middleGame() {
+        return randomGame(2L, 120, 19);
+    }
+
+    // 官子：二百六十手，棋盘拥挤、空点多为单官和眼位
+    public static GoBoard endgame() {
+        return randomGame(3L, 260, 19);
+    }
+
+    // 劫争：在5×5的角上反复提子，历史中大量局面哈希相同，超级劫判断频繁命中
+    public static GoBoard koFight() {
+        return randomGame(4L, 400, 5);
+    }
+
+    /**
+     * 用固定种子在左上角region×region的范围内随机下棋（只下合法点）
+     *
+     * @param seed   随机种子
+     * @param moves  尝试的手数，某一方找不到合法点时这一手跳过
+     * @param region 落子范围的边长
+     * @return 下完后的棋盘，对局历史完整保留
+     */
+    public static GoBoard randomGame(long seed, int moves, int region) {
+        Random random = new Random(seed);
+        GoBoard board = new GoBoard();
+        GoPlaceProcessor processor = new GoPlaceProcessor(board);
+        int color = GoBoard.BLACK;
+        for (int step = 0; step < moves; step++) {
+            for (int t = 0; t < 200; t++) {
+                int x = 1 + random.nextInt(region);
+                int y = 1 + random.nextInt(region);
+                if (processor.check(x, y, color, 1) == 0)
+                    break;
+            }
+            color = 3 - color;
+        }
+        return board;
+    }
+
+    /**
+     * 取出局面中下一手的颜色
+     */
+    public static int toMove(GoBoard board) {
+        if (board.stackTop < 0)
+            return GoBoard.BLACK;
+        return 3 - board.getHistory().getColor(board.stackTop);
+    }
+}
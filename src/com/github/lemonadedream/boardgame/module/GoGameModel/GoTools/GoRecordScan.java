@@ -0,0 +1,85 @@
+package com.github.lemonadedream.boardgame.module.GoGameModel.GoTools;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoBoard;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoRecord.GoGameRecord;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoRecord.GoRecordFile;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoRecord.GoRecordReader;
+
+/**
+ * 扫描对局记录文件：统计局数、总手数、执黑胜率与停一手数，给出每秒扫描的局数
+ * 默认用内存映射（GoRecordFile）逐局读取着法，--stream时改用顺序读取器（GoRecordReader）整局解码
+ * 加--print时同时打印前N局的头信息
+ *
+ * 用法：java ...GoRecordScan 文件 [--stream] [--print N]
+ */
+public class GoRecordScan {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("用法：java ...GoRecordScan 文件 [--stream] [--print N]");
+            return;
+        }
+        Path path = Paths.get(args[0]);
+        boolean stream = false;
+        int print = 0;
+        for (int i = 1; i < args.length; i++) {
+            if ("--stream".equals(args[i]))
+                stream = true;
+            else if ("--print".equals(args[i]) && i + 1 < args.length)
+                print = Integer.parseInt(args[++i]);
+            else
+                throw new IllegalArgumentException("未知参数: " + args[i]);
+        }
+
+        long start = System.nanoTime();
+        long games = 0;
+        long moves = 0;
+        long passes = 0;
+        long blackWins = 0;
+        if (stream) {
+            GoGameRecord record = new GoGameRecord();
+            try (GoRecordReader reader = new GoRecordReader(path)) {
+                while (reader.next(record)) {
+                    if (games < print)
+                        System.out.println(record);
+                    games++;
+                    moves += record.getMoveCount();
+                    for (int i = 0; i < record.getMoveCount(); i++) {
+                        if (record.getMovePos(i) == GoBoard.PASS)
+                            passes++;
+                    }
+                    if (record.getWinner() == GoBoard.BLACK)
+                        blackWins++;
+                }
+            }
+        } else {
+            GoGameRecord record = new GoGameRecord();
+            try (GoRecordFile file = new GoRecordFile(path)) {
+                while (file.next()) {
+                    if (games < print) {
+                        file.read(record);
+                        System.out.println(record);
+                    }
+                    games++;
+                    int count = file.getMoveCount();
+                    moves += count;
+                    for (int i = 0; i < count; i++) {
+                        if (GoGameRecord.posOf(file.getMove(i)) == GoBoard.PASS)
+                            passes++;
+                    }
+                    if (file.getWinner() == GoBoard.BLACK)
+                        blackWins++;
+                }
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%d局，%d手（停一手%d），平均%.1f手，执黑胜率%.1f%%%n", games, moves, passes,
+                (double) moves / Math.max(1, games), 100.0 * blackWins / Math.max(1, games));
+        System.out.printf("%s读取用时%.3f秒，%.0f局/秒%n", stream ? "顺序" : "内存映射", seconds, games / seconds);
+    }
+}
@@ -0,0 +1,343 @@
+package com.github.lemonadedream.boardgame.module.GoGameModel.GoTools;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoAI.GoPlayoutBoard;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoBoard;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoGeometry;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoLogic.GoMoveChecker;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoLogic.GoPlaceProcessor;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoServer.GoGameServer;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoServer.GoServerProtocol;
+
+/**
+ * 对局服务器的压力测试：在本进程中启动GoGameServer，用本机回环连接模拟大量客户端
+ * 一部分连接只连上不说话（空闲连接），其余两两配对下随机棋：每个客户端自己摆一份棋盘，
+ * 轮到自己时从合法点中（不填自己的眼）随机选一手，每隔几手发一句聊天；一局结束后在测试时间内重新JOIN
+ *
+ * 全部客户端由一个线程用选择器驱动，统计每手从发出到收到服务器确认的延迟、每秒手数、
+ * 服务器同时保持的连接数，以及被拒绝的着法与双方棋盘不一致的次数（两者都应为0）
+ *
+ * 用法：java ...GoServerLoadTest [--idle N] [--games N] [--seconds S] [--size N] [--seed S]
+ */
+public class GoServerLoadTest {
+    // 每隔几手自己的着法发一句聊天
+    private static final int CHAT_INTERVAL = 8;
+    // 测试时间结束后等待进行中的对局下完的最长时间（毫秒）
+    private static final long DRAIN_MILLIS = 30_000;
+    // 最多记录的延迟样本数
+    private static final int MAX_SAMPLES = 1 << 22;
+
+    /**
+     * 一个下棋的客户端
+     */
+    private static final class Client {
+        final SocketChannel channel;
+        final SelectionKey key;
+        final ByteBuffer in = ByteBuffer.allocate(GoServerProtocol.HEADER_BYTES + GoServerProtocol.MAX_PAYLOAD);
+        final ByteBuffer out = ByteBuffer.allocate(1 << 12);
+        final Random random;
+        final long[] mask = new long[GoMoveChecker.MASK_WORDS];
+        final int[] candidates = new int[GoBoard.POINT_COUNT];
+        GoBoard board;
+        GoPlaceProcessor processor;
+        GoPlayoutBoard eyes;
+        int color;
+        int maxMoves;
+        int moves;
+        int passes;
+        int ownMoves;
+        long sentAt;
+        boolean inGame;
+
+        Client(SocketChannel channel, SelectionKey key, long seed) {
+            this.channel = channel;
+            this.key = key;
+            this.random = new Random(seed);
+        }
+    }
+
+    // 统计
+    private final long[] latencies = new long[MAX_SAMPLES];
+    private int samples;
+    private long movesSent;
+    private long gamesFinished;
+    private long chatsReceived;
+    private long rejected;
+    private long mismatches;
+
+    private final int size;
+    private final long deadline;
+
+    private GoServerLoadTest(int size, long deadline) {
+        this.size = size;
+        this.deadline = deadline;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int idle = 2000;
+        int games = 200;
+        int seconds = 10;
+        int size = 9;
+        long seed = 1L;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--idle":
+                    idle = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--games":
+                    games = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--seconds":
+                    seconds = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--size":
+                    size = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(args[i + 1]);
+                    break;
+                default:
+                    throw new IllegalArgumentException("未知参数: " + args[i]);
+            }
+        }
+        GoGeometry.of(size);
+
+        Thread serverThread;
+        try (GoGameServer server = new GoGameServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))) {
+            serverThread = new Thread(server, "GoGameServer");
+            serverThread.start();
+            InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort());
+            System.out.printf("%d个空闲连接，%d局同时进行（%d路），测试%d秒%n", idle, games, size, seconds);
+
+            Selector selector = Selector.open();
+            List<SocketChannel> idleChannels = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int i = 0; i < idle; i++) {
+                SocketChannel channel = SocketChannel.open(address);
+                channel.configureBlocking(false);
+                channel.register(selector, SelectionKey.OP_READ);
+                idleChannels.add(channel);
+            }
+            double connectSeconds = (System.nanoTime() - start) / 1e9;
+
+            GoServerLoadTest test = new GoServerLoadTest(size, System.nanoTime() + seconds * 1_000_000_000L);
+            List<Client> clients = new ArrayList<>();
+            for (int i = 0; i < games * 2; i++) {
+                SocketChannel channel = SocketChannel.open(address);
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+                Client client = new Client(channel, key, seed + i * 0x9E3779B97F4A7C15L);
+                key.attach(client);
+                clients.add(client);
+                test.join(client);
+                flush(client);
+            }
+            System.out.printf("建立%d个连接用时%.2f秒%n", idle + games * 2, connectSeconds);
+
+            long playStart = System.nanoTime();
+            int peakConnections = test.loop(selector, clients, server);
+            double playSeconds = (System.nanoTime() - playStart) / 1e9;
+
+            int idleAlive = 0;
+            for (SocketChannel channel : idleChannels) {
+                if (channel.isOpen() && channel.isConnected())
+                    idleAlive++;
+            }
+            test.report(server, playSeconds, peakConnections, idleAlive, idle);
+
+            for (SocketChannel channel : idleChannels)
+                channel.close();
+            for (Client client : clients)
+                client.channel.close();
+            selector.close();
+        }
+        // 退出try时已关闭服务器，等选择器线程收尾
+        serverThread.join();
+    }
+
+    /**
+     * 驱动全部客户端直到测试时间结束且进行中的对局都已下完
+     *
+     * @return 服务器同时保持的连接数的峰值
+     */
+    private int loop(Selector selector, List<Client> clients, GoGameServer server) throws IOException {
+        int peak = 0;
+        long drainEnd = deadline + DRAIN_MILLIS * 1_000_000L;
+        while (System.nanoTime() < drainEnd) {
+            peak = Math.max(peak, server.getConnectionCount());
+            if (System.nanoTime() > deadline && !anyInGame(clients))
+                break;
+            selector.select(100);
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+                if (!key.isValid())
+                    continue;
+                Client client = (Client) key.attachment();
+                if (client == null) {
+                    // 空闲连接被服务器断开
+                    key.cancel();
+                    continue;
+                }
+                if (key.isReadable())
+                    read(client);
+                if (key.isValid() && key.isWritable())
+                    flush(client);
+            }
+        }
+        return peak;
+    }
+
+    private static boolean anyInGame(List<Client> clients) {
+        for (Client client : clients) {
+            if (client.inGame)
+                return true;
+        }
+        return false;
+    }
+
+    private void read(Client client) throws IOException {
+        ByteBuffer in = client.in;
+        if (client.channel.read(in) < 0)
+            throw new IOException("服务器断开了对局连接");
+        in.flip();
+        while (in.remaining() >= GoServerProtocol.HEADER_BYTES) {
+            int p = in.position();
+            int length = in.getShort(p) & 0xFFFF;
+            if (in.remaining() < GoServerProtocol.HEADER_BYTES + length)
+                break;
+            in.position(p + GoServerProtocol.HEADER_BYTES);
+            handle(client, in.get(p + 2), in);
+            in.position(p + GoServerProtocol.HEADER_BYTES + length);
+        }
+        in.compact();
+        flush(client);
+    }
+
+    private void handle(Client client, int type, ByteBuffer in) {
+        switch (type) {
+            case GoServerProtocol.MATCHED: {
+                in.getInt();
+                client.color = in.get();
+                int n = in.get();
+                client.board = new GoBoard(n);
+                client.processor = new GoPlaceProcessor(client.board);
+                client.eyes = new GoPlayoutBoard(client.board.getGeometry());
+                client.maxMoves = client.board.getGeometry().pointCount() * 3;
+                client.moves = 0;
+                client.passes = 0;
+                client.ownMoves = 0;
+                client.inGame = true;
+                if (client.color == GoBoard.BLACK)
+                    sendMove(client);
+                break;
+            }
+            case GoServerProtocol.MOVED: {
+                int color = in.get();
+                int pos = in.getShort() & 0xFFFF;
+                apply(client, color, pos);
+                if (color == client.color) {
+                    if (samples < MAX_SAMPLES)
+                        latencies[samples++] = System.nanoTime() - client.sentAt;
+                } else if (client.passes < 2 && client.moves < client.maxMoves) {
+                    sendMove(client);
+                }
+                break;
+            }
+            case GoServerProtocol.REJECTED:
+                rejected++;
+                break;
+            case GoServerProtocol.CHAT_FROM:
+                chatsReceived++;
+                break;
+            case GoServerProtocol.GAME_OVER:
+                client.inGame = false;
+                if (client.color == GoBoard.BLACK)
+                    gamesFinished++;
+                if (System.nanoTime() < deadline)
+                    join(client);
+                break;
+            default:
+                throw new IllegalStateException("未知的帧类型: " + type);
+        }
+    }
+
+    // 把服务器确认的一手摆到自己的棋盘上，摆不上说明双方棋盘不一致
+    private void apply(Client client, int color, int pos) {
+        client.moves++;
+        if (pos == GoBoard.PASS) {
+            client.board.play(GoBoard.PASS, color);
+            client.board.boardStatusPush();
+            client.passes++;
+            return;
+        }
+        client.passes = 0;
+        if (client.processor.check(pos / GoBoard.BOARD_SIZE, pos % GoBoard.BOARD_SIZE, color, 1) != 0)
+            mismatches++;
+    }
+
+    private void join(Client client) {
+        GoServerProtocol.putJoin(client.out, size);
+    }
+
+    // 从合法点中（不填自己的眼）随机选一手，没有时停一手
+    private void sendMove(Client client) {
+        int pos = GoBoard.PASS;
+        if (GoTournament.hasUsefulMove(client.processor, client.eyes, client.color, client.mask)) {
+            GoGeometry geometry = client.board.getGeometry();
+            int count = 0;
+            for (int i = 0; i < geometry.pointCount(); i++) {
+                int p = geometry.point(i);
+                if (GoMoveChecker.isLegal(client.mask, p) && !client.eyes.isOwnEye(p, client.color))
+                    client.candidates[count++] = p;
+            }
+            pos = client.candidates[client.random.nextInt(count)];
+        }
+        // 聊天放在着法之前：这一手可能结束对局，之后的聊天会被拒绝
+        if (++client.ownMoves % CHAT_INTERVAL == 0)
+            GoServerProtocol.putChat(client.out, "第" + (client.moves + 1) + "手");
+        client.sentAt = System.nanoTime();
+        GoServerProtocol.putMove(client.out, pos);
+        movesSent++;
+    }
+
+    private static void flush(Client client) throws IOException {
+        ByteBuffer out = client.out;
+        if (out.position() == 0 && (client.key.interestOps() & SelectionKey.OP_WRITE) == 0)
+            return;
+        out.flip();
+        client.channel.write(out);
+        out.compact();
+        int ops = out.position() > 0 ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ;
+        if (client.key.interestOps() != ops)
+            client.key.interestOps(ops);
+    }
+
+    private void report(GoGameServer server, double seconds, int peakConnections, int idleAlive, int idle) {
+        System.out.printf("服务器同时保持的连接数峰值 %d，空闲连接仍在线 %d/%d%n", peakConnections, idleAlive, idle);
+        System.out.printf("下完%d局（服务器计%d局），共%d手（服务器计%d手），%.1f秒，%.0f手/秒%n", gamesFinished,
+                server.getFinishedGames(), movesSent, server.getMovesPlayed(), seconds, movesSent / seconds);
+        if (samples > 0) {
+            long[] sorted = Arrays.copyOf(latencies, samples);
+            Arrays.sort(sorted);
+            System.out.printf("每手确认延迟：中位数%.0f微秒，p99 %.0f微秒，最大%.0f微秒%n", sorted[samples / 2] / 1e3,
+                    sorted[(int) (samples * 0.99)] / 1e3, sorted[samples - 1] / 1e3);
+        }
+        System.out.printf("收到聊天%d条，被拒绝的着法%d手，棋盘不一致%d次%n", chatsReceived, rejected, mismatches);
+    }
+}
@@ -0,0 +1,397 @@
+package com.github.lemonadedream.boardgame.module.GoGameModel.GoTools;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoAI.GoMctsPlayer;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoAI.GoPlayoutBoard;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoAI.GoTranspositionTable;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoBoard;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoGeometry;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoLogic.GoMoveChecker;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoLogic.GoPlaceProcessor;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoLogic.GoScore;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoLogic.GoScorer;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoLogic.GoWinLose;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoRecord.GoGameRecord;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoRecord.GoRecordWriter;
+
+/**
+ * 无界面的电脑对局赛：两组棋手设置（A、B）在指定大小的棋盘上对下多局，每局交换先后手
+ * 落子由GoPlaceProcessor判定（含超级劫），终局后由GoWinLose按数子法判定胜负，
+ * 最后给出A的胜率、95%置信区间（Wilson区间）与折算的等级分差
+ *
+ * 一方除了填自己的眼以外无处可下时停一手，双方连续停一手即终局，此时盘上只剩活棋与单官，数子即可；
+ * 手数超过点数的3倍时按当时局面数子
+ *
+ * 对局之间并行：每个工作线程持有一对单线程搜索的棋手，依次领取下一局，工作线程数默认等于核心数
+ * 用法：java ...GoTournament [--games N] [--size N] [--komi K] [--threads N] [--seed S] [--csv 文件]
+ *       [--records 对局记录文件] [--a 设置] [--b 设置]
+ * 指定--records时每局连同每手的搜索统计追加到对局记录文件（GoRecordWriter格式）
+ * 设置形如 playouts=1000,ms=60000,patterns=on,tactics=on,tt=4（tt为置换表的MB数，0表示不用置换表）
+ */
+public class GoTournament {
+    // 95%置信区间对应的正态分位数
+    private static final double Z95 = 1.96;
+    // 每局随机数种子的递增量
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    /**
+     * 一组棋手设置
+     */
+    static final class EngineConfig {
+        final String spec;
+        int playouts = 1000;
+        long millis = 60_000;
+        boolean patterns = true;
+        boolean tactics = false;
+        int tableMb = 4;
+
+        private EngineConfig(String spec) {
+            this.spec = spec;
+        }
+
+        static EngineConfig parse(String spec) {
+            EngineConfig config = new EngineConfig(spec);
+            if (spec.isEmpty())
+                return config;
+            for (String item : spec.split(",")) {
+                String[] kv = item.split("=", 2);
+                if (kv.length != 2)
+                    throw new IllegalArgumentException("棋手设置格式错误: " + item);
+                switch (kv[0].trim()) {
+                    case "playouts":
+                        config.playouts = Integer.parseInt(kv[1].trim());
+                        break;
+                    case "ms":
+                        config.millis = Long.parseLong(kv[1].trim());
+                        break;
+                    case "patterns":
+                        config.patterns = "on".equals(kv[1].trim());
+                        break;
+                    case "tactics":
+                        config.tactics = "on".equals(kv[1].trim());
+                        break;
+                    case "tt":
+                        config.tableMb = Integer.parseInt(kv[1].trim());
+                        break;
+                    default:
+                        throw new IllegalArgumentException("未知的棋手设置: " + kv[0]);
+                }
+            }
+            return config;
+        }
+
+        GoMctsPlayer create(double komi) {
+            GoMctsPlayer player = new GoMctsPlayer();
+            player.setThreads(1);
+            player.setMaxPlayouts(playouts);
+            player.setThinkMillis(millis);
+            player.setPatternPlayouts(patterns);
+            player.setTacticalPlayouts(tactics);
+            player.setKomi(komi);
+            player.setTranspositionTable(tableMb == 0 ? null
+                    : new GoTranspositionTable((long) tableMb << 20, GoTranspositionTable.ReplacementPolicy.KEEP_VISITED));
+            return player;
+        }
+    }
+
+    /**
+     * 一局的结果
+     */
+    static final class GameResult {
+        int game;
+        // A是否执黑
+        boolean aBlack;
+        // 胜方颜色，平局为GoBoard.EMPTY
+        int winner;
+        // 数子法的胜负差（黑减白，已扣贴目）
+        double margin;
+        int moves;
+
+        // A的得分：胜1，平0.5，负0
+        double scoreOfA() {
+            if (winner == GoBoard.EMPTY)
+                return 0.5;
+            return (winner == GoBoard.BLACK) == aBlack ? 1.0 : 0.0;
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int games = 100;
+        int size = 9;
+        double komi = GoScorer.DEFAULT_KOMI;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long seed = 1L;
+        String csv = null;
+        String records = null;
+        String specA = "";
+        String specB = "";
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--games":
+                    games = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--size":
+                    size = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--komi":
+                    komi = Double.parseDouble(args[i + 1]);
+                    break;
+                case "--threads":
+                    threads = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(args[i + 1]);
+                    break;
+                case "--csv":
+                    csv = args[i + 1];
+                    break;
+                case "--records":
+                    records = args[i + 1];
+                    break;
+                case "--a":
+                    specA = args[i + 1];
+                    break;
+                case "--b":
+                    specB = args[i + 1];
+                    break;
+                default:
+                    throw new IllegalArgumentException("未知参数: " + args[i]);
+            }
+        }
+        EngineConfig a = EngineConfig.parse(specA);
+        EngineConfig b = EngineConfig.parse(specB);
+        GoGeometry.of(size);
+
+        System.out.printf("%d路，贴目%.1f，%d局，%d个工作线程%n", size, komi, games, threads);
+        System.out.println("A: " + (a.spec.isEmpty() ? "默认" : a.spec));
+        System.out.println("B: " + (b.spec.isEmpty() ? "默认" : b.spec));
+        long start = System.nanoTime();
+        GameResult[] results;
+        if (records == null) {
+            results = run(a, b, games, size, komi, threads, seed, null);
+        } else {
+            try (GoRecordWriter writer = new GoRecordWriter(Paths.get(records))) {
+                results = run(a, b, games, size, komi, threads, seed, writer);
+            }
+            System.out.println("对局记录已追加到 " + records);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        report(results, seconds);
+        if (csv != null) {
+            try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(Paths.get(csv), StandardCharsets.UTF_8))) {
+                out.println("game,a_color,winner,margin,moves");
+                for (GameResult r : results) {
+                    out.printf("%d,%s,%s,%.1f,%d%n", r.game, r.aBlack ? "B" : "W", colorName(r.winner), r.margin,
+                            r.moves);
+                }
+            }
+            System.out.println("逐局结果已写入 " + csv);
+        }
+    }
+
+    /**
+     * 并行下完全部对局
+     *
+     * @param writer 对局记录的写入器，为null时不记录
+     * @return 按局号排列的结果
+     */
+    static GameResult[] run(EngineConfig a, EngineConfig b, int games, int size, double komi, int threads,
+            long seed, GoRecordWriter writer) throws InterruptedException {
+        GameResult[] results = new GameResult[games];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger finished = new AtomicInteger();
+        int step = Math.max(1, games / 10);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            // 以Callable提交（末尾return null），写记录时的IOException随Future抛出
+            workers.add(pool.submit(() -> {
+                GoMctsPlayer playerA = a.create(komi);
+                GoMctsPlayer playerB = b.create(komi);
+                GoGameRecord record = writer == null ? null : new GoGameRecord();
+                try {
+                    int game;
+                    while ((game = next.getAndIncrement()) < games) {
+                        long gameSeed = seed + game * GOLDEN_GAMMA;
+                        playerA.setSeed(gameSeed);
+                        playerB.setSeed(gameSeed ^ 0x632BE59BD9B4E019L);
+                        results[game] = playGame(game, playerA, playerB, size, komi, record);
+                        if (writer != null) {
+                            String nameA = "A " + a.spec;
+                            String nameB = "B " + b.spec;
+                            boolean aBlack = results[game].aBlack;
+                            record.setPlayers(aBlack ? nameA : nameB, aBlack ? nameB : nameA);
+                            writer.write(record);
+                        }
+                        int done = finished.incrementAndGet();
+                        if (done % step == 0)
+                            System.out.printf("已完成 %d/%d%n", done, games);
+                    }
+                } finally {
+                    playerA.shutdown();
+                    playerB.shutdown();
+                }
+                return null;
+            }));
+        }
+        pool.shutdown();
+        try {
+            for (Future<?> worker : workers)
+                worker.get();
+        } catch (ExecutionException e) {
+            pool.shutdownNow();
+            throw new IllegalStateException("对局线程出错", e.getCause());
+        }
+        return results;
+    }
+
+    /**
+     * 下一局：偶数局A执黑，奇数局B执黑
+     *
+     * @param record 存放着法与结果的记录（原有内容被清空），为null时不记录
+     */
+    static GameResult playGame(int game, GoMctsPlayer a, GoMctsPlayer b, int size, double komi,
+            GoGameRecord record) {
+        clearTable(a);
+        clearTable(b);
+        GoBoard board = new GoBoard(size);
+        GoPlaceProcessor processor = new GoPlaceProcessor(board);
+        GoWinLose winLose = new GoWinLose(processor);
+        GoPlayoutBoard eyes = new GoPlayoutBoard(board.getGeometry());
+        long[] mask = new long[GoMoveChecker.MASK_WORDS];
+        boolean aBlack = game % 2 == 0;
+        int maxMoves = board.getGeometry().pointCount() * 3;
+        if (record != null) {
+            record.clear();
+            record.setSize(size);
+            record.setKomi(komi);
+        }
+
+        int color = GoBoard.BLACK;
+        int passes = 0;
+        int moves = 0;
+        while (passes < 2 && moves < maxMoves) {
+            if (!hasUsefulMove(processor, eyes, color, mask)) {
+                // 停一手也下在棋盘上，之前的劫点随之失效，棋盘历史与棋谱一致（与GoServerGame、GoGtpEngine相同）
+                board.play(GoBoard.PASS, color);
+                board.boardStatusPush();
+                passes++;
+                if (record != null)
+                    record.addMove(GoBoard.PASS, color, 0, 0.0);
+            } else {
+                GoMctsPlayer player = (color == GoBoard.BLACK) == aBlack ? a : b;
+                int pos = player.genMove(board, color, player.getThinkMillis());
+                if (processor.check(pos / GoBoard.BOARD_SIZE, pos % GoBoard.BOARD_SIZE, color, 1) != 0)
+                    throw new IllegalStateException("第" + game + "局第" + moves + "手不合法: " + pos);
+                if (record != null)
+                    record.addMove(pos, color, player.getLastPlayouts(), player.getLastWinRate());
+                passes = 0;
+            }
+            moves++;
+            color = 3 - color;
+        }
+
+        GoScore score = winLose.score(komi);
+        GameResult result = new GameResult();
+        result.game = game;
+        result.aBlack = aBlack;
+        result.winner = score.getAreaWinner();
+        result.margin = score.getAreaMargin();
+        result.moves = moves;
+        if (record != null)
+            record.setResult(result.winner, passes >= 2 ? GoGameRecord.REASON_SCORE : GoGameRecord.REASON_UNFINISHED,
+                    result.margin);
+        return result;
+    }
+
+    // 每局开始前清空置换表，各局互不影响
+    private static void clearTable(GoMctsPlayer player) {
+        if (player.getTranspositionTable() != null)
+            player.getTranspositionTable().clear();
+    }
+
+    // 判断一方是否还有填自己的眼以外的合法点
+    static boolean hasUsefulMove(GoPlaceProcessor processor, GoPlayoutBoard eyes, int color, long[] mask) {
+        if (processor.legalMoves(color, mask) == 0)
+            return false;
+        GoBoard board = processor.getBoardModel();
+        eyes.reset(board);
+        GoGeometry geometry = board.getGeometry();
+        for (int i = 0; i < geometry.pointCount(); i++) {
+            int pos = geometry.point(i);
+            if (GoMoveChecker.isLegal(mask, pos) && !eyes.isOwnEye(pos, color))
+                return true;
+        }
+        return false;
+    }
+
+    // 输出A的胜率、置信区间、等级分差，以及先手胜率与平均手数
+    static void report(GameResult[] results, double seconds) {
+        int n = results.length;
+        double scoreA = 0;
+        int blackWins = 0;
+        long moves = 0;
+        for (GameResult r : results) {
+            scoreA += r.scoreOfA();
+            if (r.winner == GoBoard.BLACK)
+                blackWins++;
+            moves += r.moves;
+        }
+        double[] a = wilson(scoreA, n);
+        double[] black = wilson(blackWins, n);
+        System.out.printf("A得分 %.1f/%d，胜率 %.1f%%（95%%置信区间 %.1f%% ~ %.1f%%）%n", scoreA, n, a[0] * 100,
+                a[1] * 100, a[2] * 100);
+        System.out.printf("等级分差 %+.0f（%+.0f ~ %+.0f）%n", elo(a[0]), elo(a[1]), elo(a[2]));
+        System.out.printf("执黑胜率 %.1f%%（%.1f%% ~ %.1f%%），平均手数 %.1f%n", black[0] * 100, black[1] * 100,
+                black[2] * 100, (double) moves / Math.max(1, n));
+        System.out.printf("用时 %.1f秒，%.2f局/秒%n", seconds, n / seconds);
+    }
+
+    /**
+     * 胜率及其95%置信区间（Wilson区间，局数少或胜率接近0、1时比正态近似可靠）
+     *
+     * @param wins 得分（平局计0.5）
+     * @param n    局数
+     * @return {胜率, 下限, 上限}
+     */
+    static double[] wilson(double wins, int n) {
+        if (n == 0)
+            return new double[] { 0.0, 0.0, 1.0 };
+        double p = wins / n;
+        double z2 = Z95 * Z95;
+        double denominator = 1 + z2 / n;
+        double center = (p + z2 / (2.0 * n)) / denominator;
+        double half = Z95 * Math.sqrt(p * (1 - p) / n + z2 / (4.0 * n * n)) / denominator;
+        return new double[] { p, Math.max(0.0, center - half), Math.min(1.0, center + half) };
+    }
+
+    // 胜率折算的等级分差（胜率为0或1时截断在±800）
+    static double elo(double p) {
+        if (p <= 0.0)
+            return -800;
+        if (p >= 1.0)
+            return 800;
+        return Math.max(-800, Math.min(800, -400 * Math.log10(1 / p - 1)));
+    }
+
+    private static String colorName(int color) {
+        if (color == GoBoard.BLACK)
+            return "B";
+        if (color == GoBoard.WHITE)
+            return "W";
+        return "-";
+    }
+}
@@ -0,0 +1,140 @@
+package com.github.lemonadedream.boardgame.module.GoGameModel.GoTools;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoAI.GoTsumego;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoAI.GoTsumegoPool;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoAI.GoTsumegoSolver;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoBoard;
+
+/**
+ * 死活题求解工具：用GoTsumegoPool并行求解内置的几道题（每道题分别让攻方、守方先走），与已知答案对照
+ *
+ * 用法：java ...GoTsumegoTool [--threads N] [--nodes N] [--ms N]
+ *
+ * 题图每行对应一个y（从1开始），每个字符对应一个x：X黑子、O白子、.区域内的空点、+区域外的空点，
+ * 小写的x、o表示区域内的棋子（守方的目标从区域内的棋子中选出）
+ */
+public class GoTsumegoTool {
+
+    /**
+     * 一道内置题
+     */
+    private static final class Problem {
+        final String name;
+        final int size;
+        final String[] rows;
+        final int attacker;
+        // 攻方先走、守方先走时的已知答案
+        final GoTsumegoSolver.Result attackerFirst;
+        final GoTsumegoSolver.Result defenderFirst;
+
+        Problem(String name, int size, int attacker, GoTsumegoSolver.Result attackerFirst,
+                GoTsumegoSolver.Result defenderFirst, String... rows) {
+            this.name = name;
+            this.size = size;
+            this.rows = rows;
+            this.attacker = attacker;
+            this.attackerFirst = attackerFirst;
+            this.defenderFirst = defenderFirst;
+        }
+    }
+
+    private static final Problem[] PROBLEMS = {
+            new Problem("直三", 9, GoBoard.BLACK, GoTsumegoSolver.Result.KILL, GoTsumegoSolver.Result.LIVE,
+                    "...oX",
+                    "ooooX",
+                    "XXXXX"),
+            new Problem("两眼", 9, GoBoard.BLACK, GoTsumegoSolver.Result.LIVE, GoTsumegoSolver.Result.LIVE,
+                    ".o.oX",
+                    "ooooX",
+                    "XXXXX"),
+            new Problem("直二", 9, GoBoard.BLACK, GoTsumegoSolver.Result.KILL, GoTsumegoSolver.Result.KILL,
+                    "..oX",
+                    "oooX",
+                    "XXXX"),
+            new Problem("直四", 9, GoBoard.BLACK, GoTsumegoSolver.Result.LIVE, GoTsumegoSolver.Result.LIVE,
+                    "....oX",
+                    "oooooX",
+                    "XXXXXX"),
+            new Problem("角上曲三", 9, GoBoard.WHITE, GoTsumegoSolver.Result.KILL, GoTsumegoSolver.Result.LIVE,
+                    "..xO",
+                    ".xxO",
+                    "xxOO",
+                    "OO++"),
+            new Problem("劫活", 9, GoBoard.BLACK, GoTsumegoSolver.Result.KO, GoTsumegoSolver.Result.KO,
+                    ".o.oX",
+                    "oooXX",
+                    "XXXX"),
+    };
+
+    public static void main(String[] args) throws InterruptedException {
+        int threads = Runtime.getRuntime().availableProcessors();
+        long nodes = GoTsumegoSolver.DEFAULT_NODE_LIMIT;
+        long millis = GoTsumegoSolver.DEFAULT_TIME_MILLIS;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--threads":
+                    threads = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--nodes":
+                    nodes = Long.parseLong(args[i + 1]);
+                    break;
+                case "--ms":
+                    millis = Long.parseLong(args[i + 1]);
+                    break;
+                default:
+                    throw new IllegalArgumentException("未知参数: " + args[i]);
+            }
+        }
+
+        List<GoTsumego> problems = new ArrayList<>();
+        List<GoTsumegoSolver.Result> expected = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        for (Problem p : PROBLEMS) {
+            for (int first = 0; first < 2; first++) {
+                int toMove = first == 0 ? p.attacker : 3 - p.attacker;
+                problems.add(parse(p, toMove));
+                expected.add(first == 0 ? p.attackerFirst : p.defenderFirst);
+                names.add(p.name + (first == 0 ? " 攻方先" : " 守方先"));
+            }
+        }
+
+        long start = System.nanoTime();
+        List<GoTsumegoSolver.Solution> solutions;
+        try (GoTsumegoPool pool = new GoTsumegoPool(threads, GoTsumegoSolver.DEFAULT_TABLE_BYTES, nodes, millis)) {
+            solutions = pool.solveAll(problems);
+        }
+        long elapsed = (System.nanoTime() - start) / 1_000_000L;
+
+        int correct = 0;
+        for (int i = 0; i < problems.size(); i++) {
+            GoTsumegoSolver.Solution s = solutions.get(i);
+            boolean ok = s.result == expected.get(i);
+            if (ok)
+                correct++;
+            System.out.printf("%-12s %s（应为%s）%s%n", names.get(i), s, expected.get(i), ok ? "" : "  ×");
+        }
+        System.out.printf("%d/%d正确，%d线程，共%d毫秒%n", correct, problems.size(), threads, elapsed);
+    }
+
+    // 按题图摆出局面与区域
+    private static GoTsumego parse(Problem p, int toMove) {
+        byte[] status = new byte[GoBoard.POINT_COUNT];
+        boolean[] region = new boolean[GoBoard.POINT_COUNT];
+        for (int y = 0; y < p.rows.length; y++) {
+            String row = p.rows[y];
+            for (int x = 0; x < row.length(); x++) {
+                int pos = GoBoard.toPos(x + 1, y + 1);
+                char c = row.charAt(x);
+                status[pos] = (byte) (Character.toUpperCase(c) == 'X' ? GoBoard.BLACK
+                        : Character.toUpperCase(c) == 'O' ? GoBoard.WHITE : GoBoard.EMPTY);
+                region[pos] = c == '.' || c == 'x' || c == 'o';
+            }
+        }
+        GoBoard board = new GoBoard(p.size);
+        board.restoreStatus(status);
+        return new GoTsumego(board, region, p.attacker, toMove);
+    }
+}
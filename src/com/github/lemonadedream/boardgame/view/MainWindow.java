@@ -2,9 +2,16 @@ package com.github.lemonadedream.boardgame.view;
 
 import java.awt.*;
 import java.awt.event.ActionEvent;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import javax.swing.*;
 
 import com.github.lemonadedream.boardgame.controller.MusicPlayer;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoAI.GoMctsPlayer;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoAI.GoOpeningBook;
+import com.github.lemonadedream.boardgame.module.GoGameModel.GoComponents.GoBoard;
 import com.github.lemonadedream.boardgame.view.panel.AchievementPanel;
 import com.github.lemonadedream.boardgame.view.panel.GameChoosePanel;
 import com.github.lemonadedream.boardgame.view.panel.MainPanel;
@@ -14,21 +21,27 @@ import com.github.lemonadedream.boardgame.view.panel.mainGamePanel.GoChoosePanel
 import com.github.lemonadedream.boardgame.view.skins.SkinChooser;
 
 public class MainWindow extends JFrame {
-    // CardLayoutһJPanelл
+    // 创建CardLayout和一个内容JPanel来切换窗口
     CardLayout cardLayout = new CardLayout();
     JPanel contentPanel = new JPanel(cardLayout);
-    // ڵPanelʵ
+    // 创建各个窗口的Panel实例
     MainPanel mainPanel;
     GameChoosePanel gameChoosePanel;
     AchievementPanel achievementPanel;
     SettingPanel settingPanel;
     GoChoosePanel goChoosePanel;
 
-    // ΧϷƤѡӳٳʼ
+    // 围棋游戏面板和皮肤选择器（延迟初始化）
     private GoPanel goPanel;
     private SkinChooser skinChooser;
 
-    // ģʽ,̰߳ȫд
+    // 定式库文件（存在时人机对局的电脑与定式提示都使用它）
+    private static final String OPENING_BOOK_PATH = "src/resources/opening.gob";
+    private GoOpeningBook openingBook;
+    private boolean openingBookLoaded = false;
+    private GoMctsPlayer computerPlayer;
+
+    // 单例设计模式,采用线程安全的写法
     private static class MainWindowHolder {
         private static final MainWindow instance = new MainWindow();
     }
@@ -40,92 +53,128 @@ public class MainWindow extends JFrame {
         return MainWindowHolder.instance;
     }
 
-    // ťлܿƺ
+    // 按钮的切换功能总控制函数
     public void switchPanel(ActionEvent e) {
         String command = e.getActionCommand();
         switch (command) {
-            case "ʼ":
-                cardLayout.show(contentPanel, "Ϸѡ");
+            case "开始":
+                cardLayout.show(contentPanel, "游戏选择界面");
+                break;
+            case "设置":
+                cardLayout.show(contentPanel, "设置界面");
                 break;
-            case "":
-                cardLayout.show(contentPanel, "ý");
+            case "成就":
+                cardLayout.show(contentPanel, "成就界面");
                 break;
-            case "ɾ":
-                cardLayout.show(contentPanel, "ɾͽ");
+            case "返回":
+                cardLayout.show(contentPanel, "主界面");
                 break;
-            case "":
-                cardLayout.show(contentPanel, "");
+            case "围棋游戏":
+                cardLayout.show(contentPanel, "围棋选择界面");
                 break;
-            case "ΧϷ":
-                cardLayout.show(contentPanel, "Χѡ");
+            case "进入围棋游戏":
+                this.initGame();
+                cardLayout.show(contentPanel, "围棋游戏界面");
                 break;
-            case "ΧϷ":
+            case "人机对局":
+                // 玩家执黑先行，电脑执白
                 this.initGame();
-                cardLayout.show(contentPanel, "ΧϷ");
+                goPanel.getMouseController().setOpeningBook(loadOpeningBook());
+                goPanel.getMouseController().setComputerPlayer(GoBoard.WHITE, getComputerPlayer());
+                cardLayout.show(contentPanel, "围棋游戏界面");
                 break;
-            case "˳":
+            case "退出":
                 System.exit(0);
         }
     }
 
-    // ʼ
+    // 各局共用的电脑棋手（搜索线程池随之复用），第一次人机对局时创建
+    private GoMctsPlayer getComputerPlayer() {
+        if (computerPlayer == null) {
+            computerPlayer = new GoMctsPlayer();
+            computerPlayer.setOpeningBook(loadOpeningBook());
+        }
+        return computerPlayer;
+    }
+
+    // 打开定式库（只尝试一次），文件不存在或损坏时返回null
+    private GoOpeningBook loadOpeningBook() {
+        if (!openingBookLoaded) {
+            openingBookLoaded = true;
+            Path path = Paths.get(OPENING_BOOK_PATH);
+            if (Files.exists(path)) {
+                try {
+                    openingBook = GoOpeningBook.open(path);
+                    System.out.println("已载入定式库: " + openingBook.size() + "条");
+                } catch (IOException e) {
+                    System.err.println("定式库载入失败: " + e.getMessage());
+                }
+            }
+        }
+        return openingBook;
+    }
+
+    // 初始化类
     public void init() {
-        // ʼPanelʵ
+        // 初始化各个Panel实例
         this.mainPanel = new MainPanel();
         this.gameChoosePanel = new GameChoosePanel();
         this.achievementPanel = new AchievementPanel();
         this.settingPanel = new SettingPanel();
         this.goChoosePanel = new GoChoosePanel();
 
-        // ʱƤѡ GoPanel
+        // 创建临时皮肤选择器（不依赖 GoPanel）
         this.skinChooser = new SkinChooser(null);
         goChoosePanel.setSkinChooser(skinChooser);
 
-        // 
+        // 设置外层主窗口属性
         this.setTitle("Borad Game");
         this.setSize(1523, 1000);
         this.setLocationRelativeTo(null);
         this.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-        // JPanelӴĸʵ
-        contentPanel.add(mainPanel, "");
-        contentPanel.add(gameChoosePanel, "Ϸѡ");
-        contentPanel.add(achievementPanel, "ɾͽ");
-        contentPanel.add(settingPanel, "ý");
-        contentPanel.add(goChoosePanel, "Χѡ");
-
-        // 㴰ڼJPanel
+        // 向JPanel添加创建的各个窗口实例
+        contentPanel.add(mainPanel, "主界面");
+        contentPanel.add(gameChoosePanel, "游戏选择界面");
+        contentPanel.add(achievementPanel, "成就界面");
+        contentPanel.add(settingPanel, "设置界面");
+        contentPanel.add(goChoosePanel, "围棋选择界面");
+
+        // 外层窗口加载JPanel容器
         this.setContentPane(contentPanel);
     }
 
-    // Ϸʼ
+    // 游戏初始化
     public void initGame() {
-        // ϷѴڣƳɵ
+        // 如果游戏面板已存在，先停止旧对局中电脑的搜索与后台思考，再移除旧的
         if (goPanel != null) {
+            if (goPanel.getMouseController() != null) {
+                goPanel.getMouseController().reset();
+            }
             contentPanel.remove(goPanel);
         }
 
-        // µϷ
+        // 创建新的游戏面板
         goPanel = GoPanel.getGoPanel();
 
-        // Ƥѡ󶨵´ GoPanel
+        // 将皮肤选择器绑定到新创建的 GoPanel
         skinChooser.setGoPanel(goPanel);
 
-        // ӦõǰѡƤ
+        // 应用当前已选择的皮肤
         skinChooser.applySavedSkin();
 
-        // ӵ
-        contentPanel.add(goPanel, "ΧϷ");
+        // 添加到内容面板
+        contentPanel.add(goPanel, "围棋游戏界面");
     }
 
     static public void main(String[] args) throws Exception {
-        // ʵģʽ
+        // 创建程序外层主窗口实例（单例模式）
         MainWindow outerWindow = getInstance();
-        // óʼ
+        // 调用初始化函数
         outerWindow.init();
-        // ÿɼ
+        // 设置可见
         outerWindow.setVisible(true);
 
-        // ʾֲ
+        // 窗口显示后启动音乐播放
         SwingUtilities.invokeLater(() -> {
             MusicPlayer.getInstance().play();
         });
@@ -6,30 +6,30 @@ import java.awt.image.BufferedImage;
 import com.github.lemonadedream.boardgame.controller.ImageLoader;
 
 /**
- * Զʽť࣬ΪťӱͼƬ
+ * 自定义样式按钮工具类，用于为按钮添加背景图片
  */
 public class StyledButton {
     private static BufferedImage buttonBackground = null;
 
     /**
-     * ΪťӦñͼƬʽ
+     * 为按钮应用背景图片样式
      * 
-     * @param button ҪӦʽİť
+     * @param button 要应用样式的按钮
      */
     public static void applyButtonStyle(JButton button) {
-        // ӳټرͼƬ
+        // 延迟加载背景图片
         if (buttonBackground == null) {
             buttonBackground = ImageLoader.load("resources/images/buttonbackground/ever0307.png");
         }
 
         if (buttonBackground != null) {
-            // ðťΪ͸ԱƱ
+            // 设置按钮为不透明，以便绘制背景
             button.setOpaque(false);
             button.setContentAreaFilled(false);
             button.setBorderPainted(false);
             button.setFocusPainted(false);
 
-            // ʹԶUIƱ
+            // 使用自定义UI来绘制背景
             final BufferedImage bg = buttonBackground;
             button.setUI(new javax.swing.plaf.basic.BasicButtonUI() {
                 @Override
@@ -37,15 +37,15 @@ public class StyledButton {
                     JButton btn = (JButton) c;
                     Graphics2D g2d = (Graphics2D) g.create();
 
-                    // ƱͼƬ
+                    // 绘制背景图片
                     g2d.drawImage(bg, 0, 0, c.getWidth(), c.getHeight(), null);
 
-                    // ť£һ͸ǲ
+                    // 如果按钮被按下，添加一个半透明覆盖层
                     if (btn.getModel().isPressed()) {
                         g2d.setColor(new Color(0, 0, 0, 50));
                         g2d.fillRect(0, 0, c.getWidth(), c.getHeight());
                     }
-                    // ͣһǲ
+                    // 如果鼠标悬停，添加一个高亮覆盖层
                     else if (btn.getModel().isRollover()) {
                         g2d.setColor(new Color(255, 255, 255, 30));
                         g2d.fillRect(0, 0, c.getWidth(), c.getHeight());
@@ -53,7 +53,7 @@ public class StyledButton {
 
                     g2d.dispose();
 
-                    // ı
+                    // 绘制文本
                     super.paint(g, c);
                 }
             });
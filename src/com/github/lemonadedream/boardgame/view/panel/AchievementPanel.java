@@ -9,36 +9,36 @@ import com.github.lemonadedream.boardgame.view.MainWindow;
 import com.github.lemonadedream.boardgame.view.component.RatioButton;
 
 public class AchievementPanel extends JPanel {
-    // Ϸѡ水ť - ťʹ500
-    RatioButton backButton = new RatioButton("", 500, 0.5f);
+    // 创建游戏选择界面按钮组件 - 单个按钮，使用500宽度
+    RatioButton backButton = new RatioButton("返回", 500, 0.5f);
 
-    // ͼƬ
+    // 背景图片
     private BufferedImage backgroundImage;
 
-    // ðť
+    // 设置按钮字体
     private void setButtonFonts() {
-        Font buttonFont = new Font("΢ź", Font.BOLD, 24);
+        Font buttonFont = new Font("微软雅黑", Font.BOLD, 24);
         backButton.setFont(buttonFont);
     }
 
-    // ť󶨹
+    // 给各个按钮绑定功能
     public void initButtons() {
-        // аť¼,OuterWindowswitchPanelл
+        // 所有按钮都添加事件监听器,用OuterWindow的switchPanel切换
         backButton.addActionListener(e -> {
             MainWindow.getInstance().switchPanel(e);
         });
     }
 
-    // װѡť
+    // 组装选择按钮
     public void init() {
-        // رͼƬ
+        // 加载背景图片
         backgroundImage = ImageLoader.load("resources/images/outerbackground/helektra_bath.png");
-        // ðť
+        // 设置按钮字体
         setButtonFonts();
-        // ðťлܵĺ
+        // 调用按钮绑定切换功能的函数
         initButtons();
 
-        // ʹGridBagLayout
+        // 使用GridBagLayout居中
         this.setLayout(new GridBagLayout());
         this.add(backButton);
     }
@@ -46,15 +46,15 @@ public class AchievementPanel extends JPanel {
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
-        // ƱͼƬ
+        // 绘制背景图片
         if (backgroundImage != null) {
             g.drawImage(backgroundImage, 0, 0, getWidth(), getHeight(), this);
         }
     }
 
-    // 췽
+    // 构造方法
     public AchievementPanel() {
-        // ʼ
+        // 初始化面板
         init();
     }
 }
\ No newline at end of file
@@ -9,23 +9,23 @@ import com.github.lemonadedream.boardgame.view.MainWindow;
 import com.github.lemonadedream.boardgame.view.component.RatioButton;
 
 public class GameChoosePanel extends JPanel {
-    // Ϸѡ水ť - 2ťţʹ500
-    RatioButton goChoose = new RatioButton("ΧϷ", 500, 0.5f);
-    RatioButton backButton = new RatioButton("", 500, 0.5f);
+    // 创建游戏选择界面按钮组件 - 2个按钮竖着排，使用500宽度
+    RatioButton goChoose = new RatioButton("围棋游戏", 500, 0.5f);
+    RatioButton backButton = new RatioButton("返回", 500, 0.5f);
 
-    // ͼƬ
+    // 背景图片
     private BufferedImage backgroundImage;
 
-    // ðť
+    // 设置按钮字体
     private void setButtonFonts() {
-        Font buttonFont = new Font("΢ź", Font.BOLD, 24);
+        Font buttonFont = new Font("微软雅黑", Font.BOLD, 24);
         goChoose.setFont(buttonFont);
         backButton.setFont(buttonFont);
     }
 
-    // ť󶨹
+    // 给各个按钮绑定功能
     public void initButtons() {
-        // аť¼,OuterWindowswitchPanelл
+        // 所有按钮都添加事件监听器,用OuterWindow的switchPanel切换
         goChoose.addActionListener(e -> {
             MainWindow.getInstance().switchPanel(e);
         });
@@ -34,16 +34,16 @@ public class GameChoosePanel extends JPanel {
         });
     }
 
-    // װѡť
+    // 组装选择按钮
     public void init() {
-        // رͼƬ
+        // 加载背景图片
         backgroundImage = ImageLoader.load("resources/images/outerbackground/helektra_bath.png");
-        // ðť
+        // 设置按钮字体
         setButtonFonts();
-        // ðťлܵĺ
+        // 调用按钮绑定切换功能的函数
         initButtons();
 
-        // ʹGridBagLayoutдֱ
+        // 使用GridBagLayout居中垂直排列
         this.setLayout(new GridBagLayout());
         GridBagConstraints gbc = new GridBagConstraints();
         gbc.gridx = 0;
@@ -59,7 +59,7 @@ public class GameChoosePanel extends JPanel {
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
-        // ƱͼƬ
+        // 绘制背景图片
         if (backgroundImage != null) {
             g.drawImage(backgroundImage, 0, 0, getWidth(), getHeight(), this);
         }
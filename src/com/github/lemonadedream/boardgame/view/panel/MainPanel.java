@@ -9,27 +9,27 @@ import com.github.lemonadedream.boardgame.view.MainWindow;
 import com.github.lemonadedream.boardgame.view.component.RatioButton;
 
 public class MainPanel extends JPanel {
-    // 水ť - ʹRatioButton400͸50%2x2ҪСһİť
-    RatioButton beginButton = new RatioButton("ʼ", 400, 0.5f);
-    RatioButton settingButton = new RatioButton("", 400, 0.5f);
-    RatioButton achivementButton = new RatioButton("ɾ", 400, 0.5f);
-    RatioButton closeButton = new RatioButton("˳", 400, 0.5f);
+    // 创建主界面按钮组件 - 使用RatioButton，宽度400，透明度50%（2x2布局需要小一点的按钮）
+    RatioButton beginButton = new RatioButton("开始", 400, 0.5f);
+    RatioButton settingButton = new RatioButton("设置", 400, 0.5f);
+    RatioButton achivementButton = new RatioButton("成就", 400, 0.5f);
+    RatioButton closeButton = new RatioButton("退出", 400, 0.5f);
 
-    // ͼƬ
+    // 背景图片
     private BufferedImage backgroundImage;
 
-    // ðť壨RatioButtonѾĬ壬Ըǣ
+    // 设置按钮字体（RatioButton已经有默认字体，可以覆盖）
     private void setButtonFonts() {
-        Font buttonFont = new Font("΢ź", Font.BOLD, 24);
+        Font buttonFont = new Font("微软雅黑", Font.BOLD, 24);
         beginButton.setFont(buttonFont);
         settingButton.setFont(buttonFont);
         closeButton.setFont(buttonFont);
         achivementButton.setFont(buttonFont);
     }
 
-    // ť󶨹
+    // 给各个按钮绑定功能
     public void initButtons() {
-        // аť¼,OuterWindowswitchPanelл
+        // 所有按钮都添加事件监听器,用OuterWindow的switchPanel切换
         beginButton.addActionListener(e -> {
             MainWindow.getInstance().switchPanel(e);
         });
@@ -44,36 +44,36 @@ public class MainPanel extends JPanel {
         });
     }
 
-    // ʼ,ťŰ
+    // 初始化函数,给按钮进行排版
     public void init() {
-        // رͼƬ
+        // 加载背景图片
         backgroundImage = ImageLoader.load("resources/images/outerbackground/helektra_bath.png");
-        // ðť
+        // 设置按钮字体
         setButtonFonts();
-        // ðťлܵĺ
+        // 调用按钮绑定切换功能的函数
         initButtons();
 
-        // ʹGridBagLayoutʵ2x2֣ʾ
+        // 使用GridBagLayout实现2x2布局，居中显示
         this.setLayout(new GridBagLayout());
         GridBagConstraints gbc = new GridBagConstraints();
-        gbc.insets = new Insets(20, 20, 20, 20); // ť֮ļ
+        gbc.insets = new Insets(20, 20, 20, 20); // 按钮之间的间距
 
-        // һеһ - ʼť
+        // 第一行第一列 - 开始按钮
         gbc.gridx = 0;
         gbc.gridy = 0;
         this.add(beginButton, gbc);
 
-        // һеڶ - ðť
+        // 第一行第二列 - 设置按钮
         gbc.gridx = 1;
         gbc.gridy = 0;
         this.add(settingButton, gbc);
 
-        // ڶеһ - ɾͰť
+        // 第二行第一列 - 成就按钮
         gbc.gridx = 0;
         gbc.gridy = 1;
         this.add(achivementButton, gbc);
 
-        // ڶеڶ - ˳ť
+        // 第二行第二列 - 退出按钮
         gbc.gridx = 1;
         gbc.gridy = 1;
         this.add(closeButton, gbc);
@@ -82,15 +82,15 @@ public class MainPanel extends JPanel {
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
-        // ƱͼƬ
+        // 绘制背景图片
         if (backgroundImage != null) {
             g.drawImage(backgroundImage, 0, 0, getWidth(), getHeight(), this);
         }
     }
 
-    // 췽
+    // 构造方法
     public MainPanel() {
-        // óʼ
+        // 调用初始化函数
         init();
     }
 }
\ No newline at end of file
@@ -10,71 +10,71 @@ import com.github.lemonadedream.boardgame.view.MainWindow;
 import com.github.lemonadedream.boardgame.view.component.RatioButton;
 
 public class SettingPanel extends JPanel {
-    // ť - ʹ200γ2x2
-    RatioButton backButton = new RatioButton("", 200, 0.5f);
-    RatioButton muteButton = new RatioButton("", 200, 0.5f);
-    RatioButton previousButton = new RatioButton("һ", 200, 0.5f);
-    RatioButton nextButton = new RatioButton("һ", 200, 0.5f);
+    // 创建按钮组件 - 使用200宽度形成2x2布局
+    RatioButton backButton = new RatioButton("返回", 200, 0.5f);
+    RatioButton muteButton = new RatioButton("静音", 200, 0.5f);
+    RatioButton previousButton = new RatioButton("上一首", 200, 0.5f);
+    RatioButton nextButton = new RatioButton("下一首", 200, 0.5f);
 
-    // ͼƬ
+    // 背景图片
     private BufferedImage backgroundImage;
 
-    // ðť
+    // 设置按钮字体
     private void setButtonFonts() {
-        Font buttonFont = new Font("΢ź", Font.BOLD, 24);
+        Font buttonFont = new Font("微软雅黑", Font.BOLD, 24);
         backButton.setFont(buttonFont);
         muteButton.setFont(buttonFont);
         previousButton.setFont(buttonFont);
         nextButton.setFont(buttonFont);
     }
 
-    // ť󶨹
+    // 给各个按钮绑定功能
     public void initButtons() {
         MusicPlayer player = MusicPlayer.getInstance();
 
-        // ذť
+        // 返回按钮
         backButton.addActionListener(e -> {
             MainWindow.getInstance().switchPanel(e);
         });
 
-        // ť
+        // 静音按钮
         muteButton.addActionListener(e -> {
             player.toggleMute();
             updateMuteButtonText();
         });
 
-        // һװť
+        // 上一首按钮
         previousButton.addActionListener(e -> {
             player.previous();
         });
 
-        // һװť
+        // 下一首按钮
         nextButton.addActionListener(e -> {
             player.next();
         });
     }
 
-    // ¾ťı
+    // 更新静音按钮文本
     private void updateMuteButtonText() {
         MusicPlayer player = MusicPlayer.getInstance();
-        muteButton.setText(player.isMuted() ? "ȡ" : "");
+        muteButton.setText(player.isMuted() ? "取消静音" : "静音");
     }
 
-    // װѡť
+    // 组装选择按钮
     public void init() {
-        // رͼƬ
+        // 加载背景图片
         backgroundImage = ImageLoader.load("resources/images/outerbackground/helektra_bath.png");
-        // ðť
+        // 设置按钮字体
         setButtonFonts();
-        // ðťлܵĺ
+        // 调用按钮绑定切换功能的函数
         initButtons();
 
-        // ʹGridBagLayout2x2
+        // 使用GridBagLayout创建2x2布局
         this.setLayout(new GridBagLayout());
         GridBagConstraints gbc = new GridBagConstraints();
         gbc.insets = new Insets(15, 15, 15, 15);
 
-        // һУغ;
+        // 第一行：返回和静音
         gbc.gridx = 0;
         gbc.gridy = 0;
         this.add(backButton, gbc);
@@ -83,7 +83,7 @@ public class SettingPanel extends JPanel {
         gbc.gridy = 0;
         this.add(muteButton, gbc);
 
-        // ڶУһ׺һ
+        // 第二行：上一首和下一首
         gbc.gridx = 0;
         gbc.gridy = 1;
         this.add(previousButton, gbc);
@@ -96,15 +96,15 @@ public class SettingPanel extends JPanel {
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
-        // ƱͼƬ
+        // 绘制背景图片
         if (backgroundImage != null) {
             g.drawImage(backgroundImage, 0, 0, getWidth(), getHeight(), this);
         }
     }
 
-    // 췽
+    // 构造方法
     public SettingPanel() {
-        // ʼ
+        // 初始化面板
         init();
     }
 }
@@ -10,35 +10,37 @@ import com.github.lemonadedream.boardgame.view.component.RatioButton;
 
 public class GoChoosePanel extends JPanel {
 
-    // ƤԤ谴ť - 22֣ʹ400
+    // 皮肤预设按钮 - 2×2布局，使用400宽度
     private RatioButton preset1Button;
     private RatioButton preset2Button;
     private RatioButton preset3Button;
     private RatioButton preset4Button;
 
-    // Ԥ谴ť - 12֣ʹ400
+    // 棋盘预设按钮 - 1×2布局，使用400宽度
     private RatioButton boardPreset1Button;
     private RatioButton boardPreset2Button;
 
-    // Ԥ谴ť - 12֣ʹ400
+    // 背景预设按钮 - 1×2布局，使用400宽度
     private RatioButton bgPreset1Button;
     private RatioButton bgPreset2Button;
 
-    // ͸ѡť - 12֣ʹ200
+    // 透明度选项按钮 - 1×2布局，使用200宽度
     private RatioButton opacityFullButton;
     private RatioButton opacity80Button;
 
-    // ʼϷť - һʹ500
+    // 开始游戏按钮 - 单独一个，使用500宽度
     private RatioButton startGameButton;
+    // 人机对局按钮 - 与开始游戏按钮并排
+    private RatioButton computerGameButton;
 
-    // ƤѡҪϷ崴ʼ
+    // 皮肤选择器（需要在游戏面板创建后初始化）
     private SkinChooser skinChooser;
 
-    // ͼƬ
+    // 背景图片
     private BufferedImage backgroundImage;
 
     public GoChoosePanel() {
-        // رͼƬ
+        // 加载背景图片
         backgroundImage = ImageLoader.load("resources/images/outerbackground/helektra_bath.png");
         initComponents();
         layoutComponents();
@@ -47,117 +49,122 @@ public class GoChoosePanel extends JPanel {
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
-        // ƱͼƬ
+        // 绘制背景图片
         if (backgroundImage != null) {
             g.drawImage(backgroundImage, 0, 0, getWidth(), getHeight(), this);
         }
     }
 
     private void initComponents() {
-        // ʼƤԤ谴ť - 200
-        preset1Button = new RatioButton("Ԥ1: Ĭ", 200, 0.5f);
-        preset2Button = new RatioButton("Ԥ2: ", 200, 0.5f);
-        preset3Button = new RatioButton("Ԥ3: ", 200, 0.5f);
-        preset4Button = new RatioButton("Ԥ4: ϰ", 200, 0.5f);
+        // 初始化皮肤预设按钮 - 200宽度
+        preset1Button = new RatioButton("预设1: 默认", 200, 0.5f);
+        preset2Button = new RatioButton("预设2: 绿蓝", 200, 0.5f);
+        preset3Button = new RatioButton("预设3: 红蓝", 200, 0.5f);
+        preset4Button = new RatioButton("预设4: 紫白", 200, 0.5f);
 
-        // ʼԤ谴ť - 200
-        boardPreset1Button = new RatioButton("Ĭ", 200, 0.5f);
-        boardPreset2Button = new RatioButton("ɫ", 200, 0.5f);
+        // 初始化棋盘预设按钮 - 200宽度
+        boardPreset1Button = new RatioButton("默认棋盘", 200, 0.5f);
+        boardPreset2Button = new RatioButton("无色棋盘", 200, 0.5f);
 
-        // ʼԤ谴ť - 200
-        bgPreset1Button = new RatioButton("Ĭϱ", 200, 0.5f);
-        bgPreset2Button = new RatioButton("Ano", 200, 0.5f);
+        // 初始化背景预设按钮 - 200宽度
+        bgPreset1Button = new RatioButton("默认背景", 200, 0.5f);
+        bgPreset2Button = new RatioButton("Ano背景", 200, 0.5f);
 
-        // ʼ͸ѡť - 200
-        opacityFullButton = new RatioButton("͸", 200, 0.5f);
-        opacity80Button = new RatioButton("80%͸", 200, 0.5f);
+        // 初始化透明度选项按钮 - 200宽度
+        opacityFullButton = new RatioButton("不透明", 200, 0.5f);
+        opacity80Button = new RatioButton("80%透明", 200, 0.5f);
 
-        // Ԥ谴ť¼
+        // 绑定预设按钮事件
         preset1Button.addActionListener(e -> {
             if (skinChooser != null) {
                 skinChooser.setStoneSkin("default");
-                JOptionPane.showMessageDialog(this, "ѡĬƤϷЧ", "ʾ", JOptionPane.INFORMATION_MESSAGE);
+                JOptionPane.showMessageDialog(this, "已选择默认皮肤，进入游戏后生效", "提示", JOptionPane.INFORMATION_MESSAGE);
             }
         });
 
         preset2Button.addActionListener(e -> {
             if (skinChooser != null) {
                 skinChooser.setStoneSkin("green_lightblue");
-                JOptionPane.showMessageDialog(this, "ѡƤϷЧ", "ʾ", JOptionPane.INFORMATION_MESSAGE);
+                JOptionPane.showMessageDialog(this, "已选择绿蓝皮肤，进入游戏后生效", "提示", JOptionPane.INFORMATION_MESSAGE);
             }
         });
 
         preset3Button.addActionListener(e -> {
             if (skinChooser != null) {
                 skinChooser.setStoneSkin("red_pureblue");
-                JOptionPane.showMessageDialog(this, "ѡƤϷЧ", "ʾ", JOptionPane.INFORMATION_MESSAGE);
+                JOptionPane.showMessageDialog(this, "已选择红蓝皮肤，进入游戏后生效", "提示", JOptionPane.INFORMATION_MESSAGE);
             }
         });
 
         preset4Button.addActionListener(e -> {
             if (skinChooser != null) {
                 skinChooser.setStoneSkin("pr_white");
-                JOptionPane.showMessageDialog(this, "ѡϰƤϷЧ", "ʾ", JOptionPane.INFORMATION_MESSAGE);
+                JOptionPane.showMessageDialog(this, "已选择紫白皮肤，进入游戏后生效", "提示", JOptionPane.INFORMATION_MESSAGE);
             }
         });
 
-        // Ԥ谴ť¼
+        // 绑定棋盘预设按钮事件
         boardPreset1Button.addActionListener(e -> {
             if (skinChooser != null) {
                 skinChooser.setBoardPreset("default");
-                JOptionPane.showMessageDialog(this, "ѡỊ̆ϷЧ", "ʾ", JOptionPane.INFORMATION_MESSAGE);
+                JOptionPane.showMessageDialog(this, "已选择默认棋盘，进入游戏后生效", "提示", JOptionPane.INFORMATION_MESSAGE);
             }
         });
 
         boardPreset2Button.addActionListener(e -> {
             if (skinChooser != null) {
                 skinChooser.setBoardPreset("colorless");
-                JOptionPane.showMessageDialog(this, "ѡɫ̣ϷЧ", "ʾ", JOptionPane.INFORMATION_MESSAGE);
+                JOptionPane.showMessageDialog(this, "已选择无色棋盘，进入游戏后生效", "提示", JOptionPane.INFORMATION_MESSAGE);
             }
         });
 
-        // 󶨱Ԥ谴ť¼
+        // 绑定背景预设按钮事件
         bgPreset1Button.addActionListener(e -> {
             if (skinChooser != null) {
                 skinChooser.setBackgroundPreset("default");
-                JOptionPane.showMessageDialog(this, "ѡĬϱϷЧ", "ʾ", JOptionPane.INFORMATION_MESSAGE);
+                JOptionPane.showMessageDialog(this, "已选择默认背景，进入游戏后生效", "提示", JOptionPane.INFORMATION_MESSAGE);
             }
         });
 
         bgPreset2Button.addActionListener(e -> {
             if (skinChooser != null) {
                 skinChooser.setBackgroundPreset("ano");
-                JOptionPane.showMessageDialog(this, "ѡAnoϷЧ", "ʾ", JOptionPane.INFORMATION_MESSAGE);
+                JOptionPane.showMessageDialog(this, "已选择Ano背景，进入游戏后生效", "提示", JOptionPane.INFORMATION_MESSAGE);
             }
         });
 
-        // ͸ѡť¼
+        // 绑定透明度选项按钮事件
         opacityFullButton.addActionListener(e -> {
             if (skinChooser != null) {
                 skinChooser.setBoardOpacity(1.0f);
-                JOptionPane.showMessageDialog(this, "̲͸ϷЧ", "ʾ", JOptionPane.INFORMATION_MESSAGE);
+                JOptionPane.showMessageDialog(this, "已设置棋盘不透明，进入游戏后生效", "提示", JOptionPane.INFORMATION_MESSAGE);
             }
         });
 
         opacity80Button.addActionListener(e -> {
             if (skinChooser != null) {
                 skinChooser.setBoardOpacity(0.2f);
-                JOptionPane.showMessageDialog(this, "80%͸ȣϷЧ", "ʾ", JOptionPane.INFORMATION_MESSAGE);
+                JOptionPane.showMessageDialog(this, "已设置棋盘80%透明度，进入游戏后生效", "提示", JOptionPane.INFORMATION_MESSAGE);
             }
         });
 
-        // ʼʼϷť - 200
-        startGameButton = new RatioButton("ΧϷ", 200, 0.5f);
-        startGameButton.setFont(new Font("΢ź", Font.BOLD, 20));
+        // 初始化开始游戏按钮 - 200宽度
+        startGameButton = new RatioButton("进入围棋游戏", 200, 0.5f);
+        startGameButton.setFont(new Font("微软雅黑", Font.BOLD, 20));
         startGameButton.addActionListener(e -> MainWindow.getInstance().switchPanel(e));
 
-        // аť
+        // 初始化人机对局按钮 - 200宽度，玩家执黑
+        computerGameButton = new RatioButton("人机对局", 200, 0.5f);
+        computerGameButton.setFont(new Font("微软雅黑", Font.BOLD, 20));
+        computerGameButton.addActionListener(e -> MainWindow.getInstance().switchPanel(e));
+
+        // 设置所有按钮的字体
         setButtonFonts();
     }
 
-    // ðť
+    // 设置按钮字体
     private void setButtonFonts() {
-        Font buttonFont = new Font("΢ź", Font.PLAIN, 18);
+        Font buttonFont = new Font("微软雅黑", Font.PLAIN, 18);
         preset1Button.setFont(buttonFont);
         preset2Button.setFont(buttonFont);
         preset3Button.setFont(buttonFont);
@@ -175,7 +182,7 @@ public class GoChoosePanel extends JPanel {
         GridBagConstraints gbc = new GridBagConstraints();
         gbc.insets = new Insets(15, 15, 15, 15);
 
-        // ƤԤ - 22
+        // 皮肤预设区域 - 2×2布局
         gbc.gridx = 0;
         gbc.gridy = 0;
         add(preset1Button, gbc);
@@ -190,7 +197,7 @@ public class GoChoosePanel extends JPanel {
         gbc.gridx = 1;
         add(preset4Button, gbc);
 
-        // Ԥ - 12
+        // 棋盘预设区域 - 1×2布局
         gbc.gridx = 0;
         gbc.gridy = 2;
         add(boardPreset1Button, gbc);
@@ -198,7 +205,7 @@ public class GoChoosePanel extends JPanel {
         gbc.gridx = 1;
         add(boardPreset2Button, gbc);
 
-        // Ԥ - 12
+        // 背景预设区域 - 1×2布局
         gbc.gridx = 0;
         gbc.gridy = 3;
         add(bgPreset1Button, gbc);
@@ -206,7 +213,7 @@ public class GoChoosePanel extends JPanel {
         gbc.gridx = 1;
         add(bgPreset2Button, gbc);
 
-        // ͸ѡ - 12
+        // 透明度选项区域 - 1×2布局
         gbc.gridx = 0;
         gbc.gridy = 4;
         add(opacityFullButton, gbc);
@@ -214,18 +221,20 @@ public class GoChoosePanel extends JPanel {
         gbc.gridx = 1;
         add(opacity80Button, gbc);
 
-        // ӿʼϷť - У
+        // 添加开始游戏按钮与人机对局按钮 - 并排
         gbc.gridx = 0;
         gbc.gridy = 5;
-        gbc.gridwidth = 2;
         gbc.insets = new Insets(30, 15, 15, 15);
         add(startGameButton, gbc);
+
+        gbc.gridx = 1;
+        add(computerGameButton, gbc);
     }
 
     /**
-     * ƤѡϷ崴ã
+     * 设置皮肤选择器（在游戏面板创建后调用）
      * 
-     * @param skinChooser Ƥѡʵ
+     * @param skinChooser 皮肤选择器实例
      */
     public void setSkinChooser(SkinChooser skinChooser) {
         this.skinChooser = skinChooser;
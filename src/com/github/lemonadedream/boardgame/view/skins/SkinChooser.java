@@ -13,19 +13,19 @@ public class SkinChooser {
     protected ImageLoader imgLoader;
     protected GoPanel goPanel;
 
-    // ԴļĻ·ĿĿ¼
+    // 资源文件的基础路径（相对于项目根目录）
     private static final String RESOURCE_BASE_PATH = "src/resources/images/";
 
-    // ǰѡеƤ·
+    // 当前选中的皮肤路径
     private String currentBlackStonePath = "resources/images/stones/pic1.png";
     private String currentWhiteStonePath = "resources/images/stones/pic2.png";
     private String currentBackgroundPath = "resources/images/board/goBackground.jpg";
     private String currentBoardPath = "resources/images/board/goBoard.png";
 
-    // ǰ͸
+    // 当前棋盘透明度
     private float currentBoardOpacity = 1.0f;
 
-    // ƤԤ
+    // 皮肤预设
     public static class SkinPreset {
         public final String blackPath;
         public final String whitePath;
@@ -44,16 +44,16 @@ public class SkinChooser {
     }
 
     /**
-     *  GoPanelӳٰ󶨣
+     * 设置 GoPanel（用于延迟绑定）
      * 
-     * @param goPanel GoPanel ʵ
+     * @param goPanel GoPanel 实例
      */
     public void setGoPanel(GoPanel goPanel) {
         this.goPanel = goPanel;
     }
 
     /**
-     * ӦõǰѱƤ
+     * 应用当前已保存的皮肤设置
      */
     public void applySavedSkin() {
         if (goPanel != null) {
@@ -65,7 +65,7 @@ public class SkinChooser {
     }
 
     private void registerDefaultPresets() {
-        // עĬϵƤԤ
+        // 注册默认的棋子皮肤预设
         stonePresets.put("default",
                 new SkinPreset("resources/images/stones/pic1.png", "resources/images/stones/white.png"));
         stonePresets.put("green_lightblue",
@@ -76,69 +76,69 @@ public class SkinChooser {
                 new SkinPreset("resources/images/stones/pic_pr.png", "resources/images/stones/white.png"));
     }
 
-    // ԤkeyƤ
+    // 按预设key设置棋子皮肤
     public void setStoneSkin(String presetKey) {
         SkinPreset preset = stonePresets.get(presetKey);
         if (preset != null) {
             currentBlackStonePath = preset.blackPath;
             currentWhiteStonePath = preset.whitePath;
-            //  goPanel ѳʼӦ
+            // 如果 goPanel 已初始化，立即应用
             if (goPanel != null) {
                 goPanel.setStoneImages(preset.blackPath, preset.whitePath);
             }
         }
     }
 
-    // ֱӰ·Ƥ
+    // 直接按路径设置棋子皮肤
     public void setStoneSkin(String blackPath, String whitePath) {
         currentBlackStonePath = blackPath;
         currentWhiteStonePath = whitePath;
-        //  goPanel ѳʼӦ
+        // 如果 goPanel 已初始化，立即应用
         if (goPanel != null) {
             goPanel.setStoneImages(blackPath, whitePath);
         }
     }
 
-    // ļѡûѡڷͼƬ
+    // 弹出文件选择器让用户选择黑方棋子图片
     public void chooseBlackStone(JComponent parent) {
-        String path = chooseImageFile(parent, "ѡڷͼƬ");
+        String path = chooseImageFile(parent, "选择黑方棋子图片");
         if (path != null) {
             setStoneSkin(path, currentWhiteStonePath);
         }
     }
 
-    // ļѡûѡ׷ͼƬ
+    // 弹出文件选择器让用户选择白方棋子图片
     public void chooseWhiteStone(JComponent parent) {
-        String path = chooseImageFile(parent, "ѡ׷ͼƬ");
+        String path = chooseImageFile(parent, "选择白方棋子图片");
         if (path != null) {
             setStoneSkin(currentBlackStonePath, path);
         }
     }
 
-    // ļѡûѡ񱳾ͼƬ
+    // 弹出文件选择器让用户选择背景图片
     public void chooseBackground(JComponent parent) {
-        String path = chooseImageFile(parent, "ѡ񱳾ͼƬ");
+        String path = chooseImageFile(parent, "选择背景图片");
         if (path != null) {
             currentBackgroundPath = path;
-            // TODO: ʵֱлܣҪ GoPanel ֧֣
-            System.out.println("ѡ񱳾: " + path);
+            // TODO: 实现背景切换功能（需要 GoPanel 支持）
+            System.out.println("已选择背景: " + path);
         }
     }
 
-    // ļѡûѡͼƬ
+    // 弹出文件选择器让用户选择棋盘图片
     public void chooseBoard(JComponent parent) {
-        String path = chooseImageFile(parent, "ѡͼƬ");
+        String path = chooseImageFile(parent, "选择棋盘图片");
         if (path != null) {
             currentBoardPath = path;
-            // TODO: ʵлܣҪ GoPanel ֧֣
-            System.out.println("ѡ: " + path);
+            // TODO: 实现棋盘切换功能（需要 GoPanel 支持）
+            System.out.println("已选择棋盘: " + path);
         }
     }
 
-    // ========== Ԥѡ񷽷 ==========
+    // ========== 新增：预设选择方法 ==========
 
     /**
-     * Ԥ
+     * 设置棋盘预设
      * 
      * @param presetKey "default" = goBoard.png, "colorless" = goBoard_colorless.png
      */
@@ -151,19 +151,19 @@ public class SkinChooser {
                 currentBoardPath = "resources/images/board/goBoard_colorless.png";
                 break;
             default:
-                System.out.println("δ֪Ԥ: " + presetKey);
+                System.out.println("未知的棋盘预设: " + presetKey);
                 return;
         }
-        System.out.println("Ԥ: " + presetKey + " -> " + currentBoardPath);
+        System.out.println("已设置棋盘预设: " + presetKey + " -> " + currentBoardPath);
 
-        //  goPanel ѳʼӦ
+        // 如果 goPanel 已初始化，立即应用
         if (goPanel != null) {
             goPanel.setBoardImage(currentBoardPath);
         }
     }
 
     /**
-     * ñԤ
+     * 设置背景预设
      * 
      * @param presetKey "default" = goBackground.jpg, "ano" = AnobackGround.png
      */
@@ -176,29 +176,29 @@ public class SkinChooser {
                 currentBackgroundPath = "resources/images/board/AnobackGround.png";
                 break;
             default:
-                System.out.println("δ֪ıԤ: " + presetKey);
+                System.out.println("未知的背景预设: " + presetKey);
                 return;
         }
-        System.out.println("ñԤ: " + presetKey + " -> " + currentBackgroundPath);
+        System.out.println("已设置背景预设: " + presetKey + " -> " + currentBackgroundPath);
 
-        //  goPanel ѳʼӦ
+        // 如果 goPanel 已初始化，立即应用
         if (goPanel != null) {
             goPanel.setBackgroundImage(currentBackgroundPath);
         }
     }
 
-    // ͨõͼƬļѡ
+    // 通用的图片文件选择器
     private String chooseImageFile(JComponent parent, String title) {
         JFileChooser fileChooser = new JFileChooser();
 
-        // ĬϴĿ¼ΪԴļ
+        // 设置默认打开目录为资源文件夹
         File defaultDir = new File(RESOURCE_BASE_PATH);
         if (defaultDir.exists()) {
             fileChooser.setCurrentDirectory(defaultDir);
         }
 
         fileChooser.setDialogTitle(title);
-        fileChooser.setFileFilter(new FileNameExtensionFilter("ͼƬļ (*.png, *.jpg, *.jpeg)", "png", "jpg", "jpeg"));
+        fileChooser.setFileFilter(new FileNameExtensionFilter("图片文件 (*.png, *.jpg, *.jpeg)", "png", "jpg", "jpeg"));
 
         int result = fileChooser.showOpenDialog(parent);
         if (result == JFileChooser.APPROVE_OPTION) {
@@ -207,12 +207,12 @@ public class SkinChooser {
         return null;
     }
 
-    // ȡпõԤ
+    // 获取所有可用的预设名称
     public String[] getAvailablePresets() {
         return stonePresets.keySet().toArray(new String[0]);
     }
 
-    // Getter
+    // Getter方法
     public String getCurrentBlackStonePath() {
         return currentBlackStonePath;
     }
@@ -230,22 +230,22 @@ public class SkinChooser {
     }
 
     /**
-     * ͸
+     * 设置棋盘透明度
      * 
-     * @param opacity ͸ֵ (0.0f = ȫ͸, 1.0f = ȫ͸)
+     * @param opacity 透明度值 (0.0f = 完全透明, 1.0f = 完全不透明)
      */
     public void setBoardOpacity(float opacity) {
         currentBoardOpacity = Math.max(0.0f, Math.min(1.0f, opacity));
-        //  goPanel ѳʼӦ
+        // 如果 goPanel 已初始化，立即应用
         if (goPanel != null) {
             goPanel.setBoardOpacity(currentBoardOpacity);
         }
     }
 
     /**
-     * ȡǰ͸
+     * 获取当前棋盘透明度
      * 
-     * @return ǰ͸ֵ
+     * @return 当前透明度值
      */
     public float getBoardOpacity() {
         return currentBoardOpacity;